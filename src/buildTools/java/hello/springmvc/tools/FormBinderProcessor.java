@@ -0,0 +1,313 @@
+package hello.springmvc.tools;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.beans.Introspector;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @GenerateFormBinder 애노테이션 프로세서 (main 컴파일 시 annotationProcessor 로 실행)
+ *
+ * 폼 객체마다 hello.springmvc.web.bind.FormBinder 구현을 생성
+ *  - 필드 (상위 클래스 포함, static / final / transient 제외) 마다 요청 파라미터를 읽어서 setter 를 직접 호출
+ *  - 요청 파라미터 / 에러 필드 이름은 WebDataBinder 와 같은 빈 프로퍼티 이름 (boolean isActive -> active)
+ *  - 변환은 FormValues 의 정적 메서드, 실패는 FormValues.typeMismatch()
+ *
+ * 생성물
+ *  - {패키지}/{클래스 이름}FormBinder.java
+ *  - META-INF/services/hello.springmvc.web.bind.FormBinder : 생성한 클래스 목록
+ *
+ * setter 는 롬복 (@Data, @Setter) 이 만드는 이름으로 호출하므로, 프로세서 실행 순서와 무관하게 컴파일된다.
+ */
+@SupportedAnnotationTypes(FormBinderProcessor.ANNOTATION)
+public class FormBinderProcessor extends AbstractProcessor {
+
+    static final String ANNOTATION = "hello.springmvc.web.bind.GenerateFormBinder";
+    static final String SERVICE = "hello.springmvc.web.bind.FormBinder";
+
+    /**
+     * 필드 타입 -> FormValues 변환 메서드
+     */
+    private static final Map<String, String> CONVERTERS = Map.of(
+            "java.lang.String", "toString",
+            "int", "toInt",
+            "java.lang.Integer", "toInteger",
+            "long", "toLong",
+            "java.lang.Long", "toLongObject",
+            "double", "toDouble",
+            "java.lang.Double", "toDoubleObject",
+            "boolean", "toBoolean",
+            "java.lang.Boolean", "toBooleanObject");
+
+    private final List<String> generated = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+
+        if (roundEnv.processingOver()) {
+            writeServices();
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+
+                if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    error(element, "@GenerateFormBinder requires a concrete class");
+                    continue;
+                }
+
+                try {
+                    generate((TypeElement) element);
+                } catch (IOException e) {
+                    error(element, "failed to generate form binder: " + e.getMessage());
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+
+        if (!hasDefaultConstructor(type)) {
+            error(type, "@GenerateFormBinder requires a public no-arg constructor");
+            return;
+        }
+
+        List<VariableElement> fields = fields(type);
+
+        for (VariableElement field : fields) {
+            if (!CONVERTERS.containsKey(typeName(field.asType()))) {
+                error(field, "unsupported form field type " + field.asType() + " (supported: " + CONVERTERS.keySet() + ")");
+                return;
+            }
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String targetName = type.getQualifiedName().toString();
+        String className = type.getSimpleName() + "FormBinder";
+        String qualifiedName = packageName.isEmpty() ? className : packageName + "." + className;
+
+        StringBuilder names = new StringBuilder();
+        StringBuilder types = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+
+        for (VariableElement field : fields) {
+
+            String name = property(field);
+            String fieldType = typeName(field.asType());
+            String converter = CONVERTERS.get(fieldType);
+
+            if (names.length() > 0) {
+                names.append(", ");
+                types.append(", ");
+            }
+
+            names.append('"').append(name).append('"');
+            types.append(fieldType).append(".class");
+
+            body.append("\n");
+            body.append("        values = parameters.get(\"").append(name).append("\");\n");
+            body.append("        if (values != null) {\n");
+
+            if (fieldType.equals("java.lang.String")) {
+                body.append("            target.").append(setter(field)).append("(FormValues.toString(values));\n");
+            } else {
+                body.append("            try {\n");
+                body.append("                target.").append(setter(field)).append("(FormValues.").append(converter).append("(values));\n");
+                body.append("            } catch (IllegalArgumentException e) {\n");
+                body.append("                parameters.typeMismatch(target, \"").append(name).append("\", values, ")
+                        .append(fieldType).append(".class, e);\n");
+                body.append("            }\n");
+            }
+
+            body.append("        }\n");
+        }
+
+        String source = (packageName.isEmpty() ? "" : "package " + packageName + ";\n\n")
+                + "import hello.springmvc.web.bind.FormBinder;\n"
+                + "import hello.springmvc.web.bind.FormValues;\n"
+                + "\n"
+                + "/**\n"
+                + " * " + targetName + " 에서 생성 (FormBinderProcessor) - 직접 수정하지 말 것\n"
+                + " */\n"
+                + "public final class " + className + " implements FormBinder<" + targetName + "> {\n"
+                + "\n"
+                + "    private static final String[] FIELD_NAMES = {" + names + "};\n"
+                + "    private static final Class<?>[] FIELD_TYPES = {" + types + "};\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public Class<" + targetName + "> getTargetType() {\n"
+                + "        return " + targetName + ".class;\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public String[] getFieldNames() {\n"
+                + "        return FIELD_NAMES;\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public Class<?>[] getFieldTypes() {\n"
+                + "        return FIELD_TYPES;\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public " + targetName + " create() {\n"
+                + "        return new " + targetName + "();\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public void bind(" + targetName + " target, FormValues parameters) {\n"
+                + "\n"
+                + "        String[] values;\n"
+                + body
+                + "    }\n"
+                + "}\n";
+
+        JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, type);
+
+        try (Writer writer = file.openWriter()) {
+            writer.write(source);
+        }
+
+        generated.add(qualifiedName);
+    }
+
+    private static boolean hasDefaultConstructor(TypeElement type) {
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return true;
+            }
+        }
+
+        // 생성자를 선언하지 않은 public 클래스 (기본 생성자)
+        return constructors.isEmpty() && type.getModifiers().contains(Modifier.PUBLIC);
+    }
+
+    /**
+     * 상위 클래스 필드 먼저 (선언 순서)
+     */
+    private static List<VariableElement> fields(TypeElement type) {
+
+        List<VariableElement> fields = new ArrayList<>();
+        TypeMirror superclass = type.getSuperclass();
+
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement parent = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!parent.getQualifiedName().contentEquals("java.lang.Object")) {
+                fields.addAll(fields(parent));
+            }
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+
+            Set<Modifier> modifiers = field.getModifiers();
+
+            if (!modifiers.contains(Modifier.STATIC) && !modifiers.contains(Modifier.FINAL) && !modifiers.contains(Modifier.TRANSIENT)) {
+                fields.add(field);
+            }
+        }
+
+        return fields;
+    }
+
+    /**
+     * @return 기본 타입은 int, boolean ... 그 외는 패키지를 포함한 클래스 이름 (타입 애노테이션 제외)
+     */
+    private static String typeName(TypeMirror type) {
+
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase();
+        }
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            return ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        }
+
+        return type.toString();
+    }
+
+    /**
+     * 롬복 setter 가 만드는 빈 프로퍼티 이름 (boolean isActive -> setActive -> active)
+     */
+    static String property(VariableElement field) {
+
+        String name = field.getSimpleName().toString();
+
+        if (field.asType().getKind() == TypeKind.BOOLEAN
+                && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            return Introspector.decapitalize(name.substring(2));
+        }
+
+        return name;
+    }
+
+    /**
+     * 롬복 setter 이름 (boolean isActive -> setActive)
+     */
+    static String setter(VariableElement field) {
+
+        String name = field.getSimpleName().toString();
+
+        if (field.asType().getKind() == TypeKind.BOOLEAN
+                && name.length() > 2 && name.startsWith("is") && Character.isUpperCase(name.charAt(2))) {
+            name = name.substring(2);
+        }
+
+        return "set" + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private void writeServices() {
+
+        if (generated.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + SERVICE);
+
+            try (Writer writer = file.openWriter()) {
+                for (String name : generated) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "failed to write " + SERVICE + ": " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
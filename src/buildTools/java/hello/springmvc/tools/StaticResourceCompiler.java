@@ -0,0 +1,305 @@
+package hello.springmvc.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 정적 리소스 (static) -> 지문 (콘텐츠 해시) 파일 이름 + 미리 압축한 파일 (빌드 시 compileStaticResources 태스크가 실행)
+ *
+ * 파일마다
+ *  - {이름}-{해시}.{확장자} : HTML 은 다른 정적 리소스를 가리키는 href / src 를 지문 이름으로 바꿔서 저장
+ *  - 같은 이름 + .gz : gzip (최고 압축), 원본보다 작을 때만
+ *  - 같은 이름 + .br : brotli (-q 11), 빌드 환경에 brotli 명령이 있고 원본보다 작을 때만
+ *
+ * 해시는 저장하는 내용 (링크를 바꾼 뒤) 으로 계산하므로, 가리키는 리소스가 바뀌면 가리키는 HTML 의 이름도 바뀐다.
+ * (서로를 가리키는 순환 링크는 먼저 처리 중인 쪽의 원본 내용 해시를 사용)
+ *
+ * 생성물
+ *  - {resources}/static-assets/{지문 이름}(.gz, .br)
+ *  - {resources}/static-assets/manifest.properties : 원래 경로=지문 경로
+ *
+ * 사용법 : StaticResourceCompiler {static 디렉토리} {resources 출력 디렉토리}
+ */
+public class StaticResourceCompiler {
+
+    static final String OUTPUT = "static-assets";
+    static final String MANIFEST = "manifest.properties";
+
+    private static final int MIN_COMPRESS_SIZE = 256;
+
+    private static final Set<String> COMPRESSIBLE = Set.of("html", "htm", "css", "js", "mjs", "json", "svg", "txt", "xml", "map");
+
+    private static final Pattern LINK = Pattern.compile("(\\s(?:href|src)\\s*=\\s*)([\"'])([^\"'?#]+)([^\"']*)\\2", Pattern.CASE_INSENSITIVE);
+
+    private final Path root;
+    private final Path output;
+    private final boolean brotli;
+
+    private final Set<String> paths;
+    private final Map<String, String> fingerprints = new TreeMap<>();
+    private final Set<String> visiting = new HashSet<>();
+
+    StaticResourceCompiler(Path root, Path output, Set<String> paths, boolean brotli) {
+        this.root = root;
+        this.output = output;
+        this.paths = paths;
+        this.brotli = brotli;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length != 2) {
+            throw new IllegalArgumentException("usage: StaticResourceCompiler <static> <resources>");
+        }
+
+        Path root = Paths.get(args[0]);
+        Path output = Paths.get(args[1]).resolve(OUTPUT);
+
+        Files.createDirectories(output);
+
+        Set<String> paths;
+
+        try (Stream<Path> walk = Files.walk(root)) {
+            paths = walk.filter(Files::isRegularFile)
+                    .map(file -> root.relativize(file).toString().replace('\\', '/'))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        boolean brotli = brotliAvailable();
+
+        if (!brotli) {
+            System.out.println("brotli command not found, skipping .br variants");
+        }
+
+        StaticResourceCompiler compiler = new StaticResourceCompiler(root, output, paths, brotli);
+
+        for (String path : paths) {
+            compiler.fingerprint(path);
+        }
+
+        List<String> manifest = new ArrayList<>();
+
+        for (Map.Entry<String, String> entry : compiler.fingerprints.entrySet()) {
+            manifest.add(entry.getKey() + "=" + entry.getValue());
+        }
+
+        Files.write(output.resolve(MANIFEST), manifest, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return 지문 경로 (처리 중인 순환 링크면 원본 내용 기준)
+     */
+    String fingerprint(String path) throws IOException {
+
+        String done = fingerprints.get(path);
+
+        if (done != null) {
+            return done;
+        }
+
+        byte[] content = Files.readAllBytes(root.resolve(path));
+
+        if (!visiting.add(path)) {
+            return fingerprintedPath(path, hash(content));
+        }
+
+        try {
+            if (isHtml(path)) {
+                content = rewriteLinks(path, new String(content, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            }
+
+            String fingerprinted = fingerprintedPath(path, hash(content));
+            Path target = output.resolve(fingerprinted);
+
+            Files.createDirectories(target.getParent());
+            Files.write(target, content);
+
+            if (isCompressible(path) && content.length >= MIN_COMPRESS_SIZE) {
+                writeGzip(target, content);
+                if (brotli) {
+                    writeBrotli(target, content.length);
+                }
+            }
+
+            fingerprints.put(path, fingerprinted);
+
+            System.out.println("static " + path + " -> " + fingerprinted);
+
+            return fingerprinted;
+        } finally {
+            visiting.remove(path);
+        }
+    }
+
+    /**
+     * href / src 가 다른 정적 리소스를 가리키면 마지막 경로 세그먼트를 지문 이름으로 바꾼다.
+     *  - /basic/hello-form.html -> /basic/hello-form-1a2b3c4d5e6f7a8b.html
+     *  - 컨트롤러 경로, 외부 URL 은 그대로
+     */
+    String rewriteLinks(String path, String html) throws IOException {
+
+        Matcher link = LINK.matcher(html);
+        StringBuilder result = new StringBuilder(html.length() + 64);
+        int position = 0;
+
+        while (link.find()) {
+
+            String url = link.group(3);
+            String target = resolve(path, url);
+
+            if (target == null || target.equals(path) || !paths.contains(target)) {
+                continue;
+            }
+
+            String fingerprinted = fingerprint(target);
+            String rewritten = url.substring(0, url.lastIndexOf('/') + 1)
+                    + fingerprinted.substring(fingerprinted.lastIndexOf('/') + 1);
+
+            result.append(html, position, link.start(3)).append(rewritten);
+            position = link.end(3);
+        }
+
+        return result.append(html, position, html.length()).toString();
+    }
+
+    /**
+     * @return static 기준 경로 (외부 URL 이면 null)
+     */
+    static String resolve(String from, String url) {
+
+        if (url.isEmpty() || url.startsWith("//") || url.indexOf(':') >= 0) {
+            return null;
+        }
+
+        Path base = url.startsWith("/") ? Paths.get("") : parent(from);
+        Path resolved = base.resolve(url.startsWith("/") ? url.substring(1) : url).normalize();
+        String result = resolved.toString().replace('\\', '/');
+
+        return result.startsWith("..") ? null : result;
+    }
+
+    private static Path parent(String path) {
+        Path parent = Paths.get(path).getParent();
+        return parent != null ? parent : Paths.get("");
+    }
+
+    static String fingerprintedPath(String path, String hash) {
+
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+
+        if (dot <= slash + 1) {
+            return path + "-" + hash;
+        }
+
+        return path.substring(0, dot) + "-" + hash + path.substring(dot);
+    }
+
+    /**
+     * @return SHA-256 앞 16 자리 (hex)
+     */
+    static String hash(byte[] content) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder hex = new StringBuilder(16);
+
+            for (int i = 0; i < 8; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xf, 16)).append(Character.forDigit(digest[i] & 0xf, 16));
+            }
+
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isHtml(String path) {
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".html") || lower.endsWith(".htm");
+    }
+
+    private static boolean isCompressible(String path) {
+        int dot = path.lastIndexOf('.');
+        return dot >= 0 && COMPRESSIBLE.contains(path.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private static void writeGzip(Path target, byte[] content) throws IOException {
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length);
+
+        try (OutputStream out = new BestGzipOutputStream(compressed)) {
+            out.write(content);
+        }
+
+        if (compressed.size() < content.length) {
+            Files.write(Paths.get(target + ".gz"), compressed.toByteArray());
+        }
+    }
+
+    private static void writeBrotli(Path target, int originalLength) throws IOException {
+
+        Path compressed = Paths.get(target + ".br");
+
+        int exit = run("brotli", "-f", "-q", "11", "-o", compressed.toString(), target.toString());
+
+        if (exit != 0 || Files.size(compressed) >= originalLength) {
+            Files.deleteIfExists(compressed);
+        }
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            return run("brotli", "--version") == 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int run(String... command) throws IOException {
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+
+        try {
+            if (!process.waitFor(1, TimeUnit.MINUTES)) {
+                process.destroyForcibly();
+                throw new IOException("timed out: " + String.join(" ", command));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+
+        return process.exitValue();
+    }
+
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 8192);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
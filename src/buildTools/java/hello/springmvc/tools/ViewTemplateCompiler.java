@@ -0,0 +1,347 @@
+package hello.springmvc.tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 뷰 템플릿 (Thymeleaf) -> Java 렌더 클래스 컴파일러 (빌드 시 compileTemplates 태스크가 실행)
+ *
+ * 지원하는 템플릿
+ *  - 정적 마크업 + th:text="${변수}" (자식 태그가 없는 요소)
+ *  - xmlns:th 속성은 Thymeleaf 와 같이 출력에서 제거
+ *
+ * 그 외 (th:each, th:if, <th:block>, 인라인 [[...]], 변수 외의 표현식 ...) 가 있는 템플릿은 건너뛰고,
+ * 런타임에 Thymeleaf 가 그대로 처리한다.
+ *
+ * 생성물
+ *  - {sources}/hello/springmvc/web/view/compiled/*Template.java : PrecompiledTemplate 구현
+ *  - {resources}/META-INF/services/hello.springmvc.web.view.PrecompiledTemplate : 생성한 클래스 목록
+ *
+ * 사용법 : ViewTemplateCompiler {templates 디렉토리} {sources 출력 디렉토리} {resources 출력 디렉토리}
+ */
+public class ViewTemplateCompiler {
+
+    private static final String PACKAGE = "hello.springmvc.web.view.compiled";
+    private static final String SERVICE = "hello.springmvc.web.view.PrecompiledTemplate";
+
+    private static final Pattern TAG = Pattern.compile(
+            "<(/?)([A-Za-z][A-Za-z0-9:_-]*)((?:[^>\"']|\"[^\"]*\"|'[^']*')*?)(/?)>");
+    private static final Pattern ATTRIBUTE = Pattern.compile(
+            "(\\s+)([^\\s=/>]+)(?:\\s*=\\s*(\"[^\"]*\"|'[^']*'|[^\\s>]+))?");
+    private static final Pattern VARIABLE = Pattern.compile("\\$\\{\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*}");
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length != 3) {
+            throw new IllegalArgumentException("usage: ViewTemplateCompiler <templates> <sources> <resources>");
+        }
+
+        Path templates = Paths.get(args[0]);
+        Path sources = Paths.get(args[1]);
+        Path resources = Paths.get(args[2]);
+
+        Path packageDir = sources.resolve(PACKAGE.replace('.', '/'));
+        Path servicesFile = resources.resolve("META-INF/services/" + SERVICE);
+
+        Files.createDirectories(packageDir);
+        Files.createDirectories(servicesFile.getParent());
+
+        List<Path> files;
+
+        try (Stream<Path> walk = Files.walk(templates)) {
+            files = walk.filter(file -> file.toString().endsWith(".html")).sorted().collect(Collectors.toList());
+        }
+
+        List<String> compiled = new ArrayList<>();
+
+        for (Path file : files) {
+
+            String relative = templates.relativize(file).toString().replace('\\', '/');
+            String templateName = relative.substring(0, relative.length() - ".html".length());
+            String html = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+            try {
+                List<Part> parts = parse(html);
+                String className = className(templateName);
+
+                Files.write(packageDir.resolve(className + ".java"),
+                        generate(templateName, className, parts).getBytes(StandardCharsets.UTF_8));
+
+                compiled.add(PACKAGE + "." + className);
+
+                System.out.println("compiled template " + templateName + " -> " + className);
+            } catch (UnsupportedTemplateException e) {
+                System.out.println("skipped template " + templateName + " (rendered by Thymeleaf): " + e.getMessage());
+            }
+        }
+
+        Files.write(servicesFile, compiled, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 템플릿을 정적 문자열 / 변수 출력 순서로 나눈다.
+     */
+    static List<Part> parse(String html) {
+
+        if (html.contains("[[") || html.contains("[(")) {
+            throw new UnsupportedTemplateException("inline expression");
+        }
+
+        if (html.contains("<!--/*") || html.contains("/*/-->")) {
+            throw new UnsupportedTemplateException("parser-level comment");
+        }
+
+        List<Part> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        Matcher tag = TAG.matcher(html);
+        int position = 0;
+
+        while (tag.find(position)) {
+
+            literal.append(html, position, tag.start());
+            position = tag.end();
+
+            String attributes = tag.group(3);
+
+            // <th:block> 같은 Thymeleaf 요소는 태그 자체가 출력되지 않으므로 그대로 복사하면 결과가 달라진다.
+            if (isThymeleafElement(tag.group(2))) {
+                throw new UnsupportedTemplateException("<" + tag.group(1) + tag.group(2) + ">");
+            }
+
+            if (!tag.group(1).isEmpty() || !hasThymeleafAttribute(attributes)) {
+                literal.append(tag.group());
+                continue;
+            }
+
+            String name = tag.group(2);
+            String text = null;
+
+            literal.append('<').append(name);
+
+            Matcher attribute = ATTRIBUTE.matcher(attributes);
+            int attributeEnd = 0;
+
+            while (attribute.find() && attribute.start() == attributeEnd) {
+
+                attributeEnd = attribute.end();
+
+                String attributeName = attribute.group(2);
+
+                if (attributeName.equals("xmlns:th")) {
+                    continue;
+                }
+
+                if (attributeName.equals("th:text") || attributeName.equals("data-th-text")) {
+                    text = unquote(attribute.group(3));
+                    continue;
+                }
+
+                if (attributeName.startsWith("th:") || attributeName.startsWith("data-th-")) {
+                    throw new UnsupportedTemplateException(attributeName + " on <" + name + ">");
+                }
+
+                literal.append(attribute.group());
+            }
+
+            literal.append(attributes.substring(attributeEnd)).append(tag.group(4)).append('>');
+
+            if (text == null) {
+                continue;
+            }
+
+            Matcher variable = VARIABLE.matcher(text);
+
+            if (!variable.matches()) {
+                throw new UnsupportedTemplateException("th:text=\"" + text + "\"");
+            }
+
+            if (!tag.group(4).isEmpty()) {
+                throw new UnsupportedTemplateException("th:text on self-closing <" + name + ">");
+            }
+
+            int close = html.indexOf("</" + name, position);
+
+            if (close < 0 || html.substring(position, close).indexOf('<') >= 0) {
+                throw new UnsupportedTemplateException("th:text on <" + name + "> with child elements");
+            }
+
+            parts.add(Part.literal(literal.toString()));
+            parts.add(Part.variable(variable.group(1)));
+            literal.setLength(0);
+
+            // 원래 내용 (기본값) 은 출력하지 않음
+            position = close;
+        }
+
+        literal.append(html, position, html.length());
+        parts.add(Part.literal(literal.toString()));
+
+        return parts;
+    }
+
+    private static boolean isThymeleafElement(String name) {
+
+        String lowerCase = name.toLowerCase(Locale.ROOT);
+
+        return lowerCase.startsWith("th:") || lowerCase.startsWith("th-");
+    }
+
+    private static boolean hasThymeleafAttribute(String attributes) {
+        return attributes.contains("th:") || attributes.contains("data-th-") || attributes.contains("xmlns:th");
+    }
+
+    private static String unquote(String value) {
+
+        if (value == null) {
+            return "";
+        }
+
+        if (value.length() >= 2 && (value.charAt(0) == '"' || value.charAt(0) == '\'')) {
+            return value.substring(1, value.length() - 1);
+        }
+
+        return value;
+    }
+
+    static String className(String templateName) {
+
+        StringBuilder name = new StringBuilder();
+
+        for (String word : templateName.split("[^A-Za-z0-9]+")) {
+            if (!word.isEmpty()) {
+                name.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+            }
+        }
+
+        if (name.length() == 0 || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            name.insert(0, 'T');
+        }
+
+        return name.append("Template").toString();
+    }
+
+    private static String generate(String templateName, String className, List<Part> parts) {
+
+        StringBuilder constants = new StringBuilder();
+        StringBuilder body = new StringBuilder();
+        int chunk = 0;
+
+        for (Part part : parts) {
+
+            if (part.variable != null) {
+                body.append("        TemplateOutput.text(model.get(\"").append(part.variable).append("\"), out);\n");
+                continue;
+            }
+
+            if (part.literal.isEmpty()) {
+                continue;
+            }
+
+            constants.append("    private static final byte[] CHUNK_").append(chunk)
+                    .append(" = TemplateOutput.bytes(\"").append(javaString(part.literal)).append("\");\n");
+            body.append("        out.write(CHUNK_").append(chunk).append(");\n");
+            chunk++;
+        }
+
+        return "package " + PACKAGE + ";\n"
+                + "\n"
+                + "import hello.springmvc.web.view.PrecompiledTemplate;\n"
+                + "import hello.springmvc.web.view.TemplateOutput;\n"
+                + "\n"
+                + "import java.io.IOException;\n"
+                + "import java.io.OutputStream;\n"
+                + "import java.util.Map;\n"
+                + "\n"
+                + "/**\n"
+                + " * templates/" + templateName + ".html 에서 생성 (ViewTemplateCompiler) - 직접 수정하지 말 것\n"
+                + " */\n"
+                + "public final class " + className + " implements PrecompiledTemplate {\n"
+                + "\n"
+                + constants
+                + "\n"
+                + "    @Override\n"
+                + "    public String getTemplateName() {\n"
+                + "        return \"" + javaString(templateName) + "\";\n"
+                + "    }\n"
+                + "\n"
+                + "    @Override\n"
+                + "    public void render(Map<String, ?> model, OutputStream out) throws IOException {\n"
+                + body
+                + "    }\n"
+                + "}\n";
+    }
+
+    private static String javaString(String value) {
+
+        StringBuilder result = new StringBuilder(value.length() + 16);
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            switch (c) {
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+
+        return result.toString();
+    }
+
+    static final class Part {
+
+        final String literal;
+        final String variable;
+
+        private Part(String literal, String variable) {
+            this.literal = literal;
+            this.variable = variable;
+        }
+
+        static Part literal(String literal) {
+            return new Part(literal, null);
+        }
+
+        static Part variable(String variable) {
+            return new Part(null, variable);
+        }
+    }
+
+    static final class UnsupportedTemplateException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedTemplateException(String message) {
+            super(message);
+        }
+    }
+}
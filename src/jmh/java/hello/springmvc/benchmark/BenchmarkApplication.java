@@ -0,0 +1,96 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.SpringmvcApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.servlet.ServletContext;
+import java.io.Closeable;
+import java.util.Arrays;
+
+/**
+ * 벤치마크용 애플리케이션
+ *
+ * 실제 애플리케이션과 같은 설정으로 스프링 부트를 띄우고, 요청을 두 가지 경로로 전달
+ *  - MockMvc : 테스트에서 사용하는 방식 그대로 (RequestBuilder, ResultActions 비용 포함)
+ *  - DispatcherServlet 직접 호출 : MockMvc 의 부가 비용 없이 service() 만 호출
+ *
+ * 핸들러의 log.info 호출이 측정값을 흐리지 않도록 hello.springmvc 로그 레벨은 warn 으로 올린다.
+ */
+public class BenchmarkApplication implements Closeable {
+
+    private static final String[] DEFAULT_ARGS = {
+            "--server.port=0",
+            "--spring.main.banner-mode=off",
+            "--logging.level.hello.springmvc=warn"
+    };
+
+    private final ConfigurableApplicationContext context;
+    private final MockMvc mockMvc;
+    private final DispatcherServlet dispatcherServlet;
+
+    public BenchmarkApplication(String... args) throws Exception {
+
+        String[] allArgs = Arrays.copyOf(DEFAULT_ARGS, DEFAULT_ARGS.length + args.length);
+        System.arraycopy(args, 0, allArgs, DEFAULT_ARGS.length, args.length);
+
+        this.context = new SpringApplicationBuilder(SpringmvcApplication.class).run(allArgs);
+
+        WebApplicationContext wac = (WebApplicationContext) context;
+
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(wac).build();
+
+        // 이미 refresh 된 컨텍스트를 넘기면 DispatcherServlet 은 전략 빈만 초기화한다.
+        this.dispatcherServlet = new DispatcherServlet(wac);
+        this.dispatcherServlet.init(new MockServletConfig(wac.getServletContext(), "benchmarkDispatcher"));
+    }
+
+    public ConfigurableApplicationContext getContext() {
+        return context;
+    }
+
+    public ServletContext getServletContext() {
+        return ((WebApplicationContext) context).getServletContext();
+    }
+
+    /**
+     * MockMvc 를 통해 요청
+     *
+     * @param requestBuilder
+     * @return HTTP 응답 상태 코드
+     * @throws Exception
+     */
+    public int perform(RequestBuilder requestBuilder) throws Exception {
+
+        return mockMvc.perform(requestBuilder).andReturn().getResponse().getStatus();
+    }
+
+    /**
+     * DispatcherServlet 을 직접 호출
+     *
+     * @param request
+     * @return HTTP 응답 상태 코드
+     * @throws Exception
+     */
+    public int service(MockHttpServletRequest request) throws Exception {
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        dispatcherServlet.service(request, response);
+
+        return response.getStatus();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,123 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.web.TrieRequestMappingHandlerMapping;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 등록된 매핑 수에 따른 핸들러 조회 비용
+ *
+ * 매핑 routes 쌍을 등록 (GET /api/v1/resource{i}, GET /api/v1/resource{i}/{id})
+ * 하고, 경로 변수가 있는 URL 로 조회한다.
+ *  - default : 스프링 기본 RequestMappingHandlerMapping (경로 변수가 있으면 모든 매핑을 검사)
+ *  - trie : TrieRequestMappingHandlerMapping
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandlerLookupBenchmark {
+
+    private static final int REQUESTS = 1024;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int routes;
+
+    @Param({"default", "trie"})
+    public String mapping;
+
+    private RequestMappingHandlerMapping handlerMapping;
+
+    private MockHttpServletRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        GenericWebApplicationContext context = new GenericWebApplicationContext(new MockServletContext());
+        context.refresh();
+
+        handlerMapping = "trie".equals(mapping) ? new TrieRequestMappingHandlerMapping() : new RequestMappingHandlerMapping();
+        handlerMapping.setApplicationContext(context);
+        handlerMapping.setPatternParser(new PathPatternParser());
+        handlerMapping.afterPropertiesSet();
+
+        RequestMappingInfo.BuilderConfiguration options = builderConfiguration(handlerMapping);
+        RouteHandler handler = new RouteHandler();
+        Method method = RouteHandler.class.getMethod("handle");
+
+        for (int i = 0; i < routes; i++) {
+            handlerMapping.registerMapping(RequestMappingInfo.paths("/api/v1/resource" + i)
+                    .methods(RequestMethod.GET).options(options).build(), handler, method);
+            handlerMapping.registerMapping(RequestMappingInfo.paths("/api/v1/resource" + i + "/{id}")
+                    .methods(RequestMethod.GET).options(options).build(), handler, method);
+        }
+
+        Random random = new Random(1);
+        requests = new MockHttpServletRequest[REQUESTS];
+
+        for (int i = 0; i < REQUESTS; i++) {
+            requests[i] = new MockHttpServletRequest("GET", "/api/v1/resource" + random.nextInt(routes) + "/" + i);
+        }
+    }
+
+    /**
+     * 매핑이 @RequestMapping 을 등록할 때 쓰는 것과 같은 설정 (RequestMappingHandlerMapping 은 밖으로 노출하지 않음)
+     */
+    @SuppressWarnings("deprecation")
+    static RequestMappingInfo.BuilderConfiguration builderConfiguration(RequestMappingHandlerMapping handlerMapping) {
+
+        RequestMappingInfo.BuilderConfiguration options = new RequestMappingInfo.BuilderConfiguration();
+
+        if (handlerMapping.getPatternParser() != null) {
+            options.setPatternParser(handlerMapping.getPatternParser());
+        } else {
+            options.setUrlPathHelper(handlerMapping.getUrlPathHelper());
+            options.setPathMatcher(handlerMapping.getPathMatcher());
+            options.setSuffixPatternMatch(handlerMapping.useSuffixPatternMatch());
+            options.setRegisteredSuffixPatternMatch(handlerMapping.useRegisteredSuffixPatternMatch());
+        }
+
+        options.setTrailingSlashMatch(handlerMapping.useTrailingSlashMatch());
+        options.setContentNegotiationManager(handlerMapping.getContentNegotiationManager());
+
+        return options;
+    }
+
+    @Benchmark
+    public HandlerExecutionChain lookup() throws Exception {
+
+        MockHttpServletRequest request = requests[ThreadLocalRandom.current().nextInt(REQUESTS)];
+
+        // DispatcherServlet 이 요청마다 하는 것과 같이 경로를 파싱해 둔다.
+        ServletRequestPathUtils.parseAndCache(request);
+
+        return handlerMapping.getHandler(request);
+    }
+
+    public static class RouteHandler {
+
+        public String handle() {
+            return "OK";
+        }
+    }
+}
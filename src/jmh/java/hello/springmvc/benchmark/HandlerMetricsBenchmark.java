@@ -0,0 +1,82 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.web.metrics.HandlerMetrics;
+import hello.springmvc.web.metrics.HandlerMetricsInterceptor;
+import hello.springmvc.web.metrics.HandlerMetricsRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 핸들러 지연 시간 기록 비용 (목표 : 수백 ns 이하)
+ *
+ *  - record : HandlerMetrics.start / stop 만 (히스토그램 + 카운터)
+ *  - interceptor : HandlerMetricsInterceptor.preHandle / afterCompletion (요청 속성, System.nanoTime 포함)
+ *
+ * 같은 핸들러를 여러 쓰레드가 동시에 기록 (@Threads)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class HandlerMetricsBenchmark {
+
+    private HandlerMetrics metrics;
+
+    private HandlerMetricsInterceptor interceptor;
+
+    private HandlerMethod handler;
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            request = new MockHttpServletRequest("GET", "/hello-basic");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+
+        HandlerMetricsRegistry registry = new HandlerMetricsRegistry(TimeUnit.MINUTES.toNanos(1), 2);
+
+        handler = new HandlerMethod(new RouteHandler(), RouteHandler.class.getMethod("handle"));
+        metrics = registry.get(handler);
+        interceptor = new HandlerMetricsInterceptor(registry);
+    }
+
+    @Benchmark
+    public void record() {
+        metrics.start();
+        metrics.stop(12_345, false);
+    }
+
+    @Benchmark
+    public void interceptor(Exchange exchange) {
+        interceptor.preHandle(exchange.request, exchange.response, handler);
+        interceptor.afterCompletion(exchange.request, exchange.response, handler, null);
+    }
+
+    public static class RouteHandler {
+
+        public String handle() {
+            return "OK";
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.Cookie;
+
+/**
+ * 헤더가 많은 요청의 헤더 / 쿠키 조회 비용
+ *
+ * 헤더 headers 개 + 쿠키 20 개인 요청으로
+ *  - /headers : @RequestHeader MultiValueMap, Locale, HttpMethod, @CookieValue (모든 헤더 복사, 모든 쿠키 파싱)
+ *  - /headers-v2 : RequestHeaders (조회한 헤더와 쿠키만 읽음)
+ * 를 호출한다. 할당량은 gc 프로파일러의 gc.alloc.rate.norm 으로 비교
+ */
+@State(Scope.Benchmark)
+public class HeaderAccessBenchmark {
+
+    private static final int COOKIES = 20;
+
+    @Param({"/headers", "/headers-v2"})
+    public String path;
+
+    @Param({"10", "50", "100"})
+    public int headers;
+
+    private BenchmarkApplication application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = new BenchmarkApplication();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int headers() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(application.getServletContext(), "GET", path);
+
+        request.addHeader("Host", "localhost:8080");
+        request.addHeader("Accept-Language", "ko-KR,ko;q=0.9,en-US;q=0.8,en;q=0.7");
+
+        for (int i = 0; i < headers; i++) {
+            request.addHeader("X-Custom-Header-" + i, "value-" + i);
+        }
+
+        Cookie[] cookies = new Cookie[COOKIES];
+
+        for (int i = 0; i < COOKIES - 1; i++) {
+            cookies[i] = new Cookie("cookie" + i, "value" + i);
+        }
+        cookies[COOKIES - 1] = new Cookie("myCookie", "hello");
+
+        // Cookie 헤더도 함께 설정된다.
+        request.setCookies(cookies);
+
+        return application.service(request);
+    }
+}
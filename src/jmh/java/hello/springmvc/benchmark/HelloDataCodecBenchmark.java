@@ -0,0 +1,72 @@
+package hello.springmvc.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hello.springmvc.basic.HelloData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HelloData JSON 변환 비용 비교
+ *
+ *  - jackson : 기본 ObjectMapper, 호출마다 readValue(json, HelloData.class)
+ *  - codec : HelloDataCodec 과 같은 방식 (BlackbirdModule + 미리 만든 ObjectReader / ObjectWriter)
+ */
+@State(Scope.Benchmark)
+public class HelloDataCodecBenchmark {
+
+    private static final byte[] JSON = "{\"username\":\"hello\",\"age\":20}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"jackson", "codec"})
+    public String codec;
+
+    private ObjectMapper objectMapper;
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private HelloData helloData;
+
+    @Setup
+    public void setUp() {
+
+        objectMapper = new ObjectMapper();
+
+        if ("codec".equals(codec)) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        reader = objectMapper.readerFor(HelloData.class);
+        writer = objectMapper.writerFor(HelloData.class);
+
+        helloData = new HelloData();
+        helloData.setUsername("hello");
+        helloData.setAge(20);
+    }
+
+    @Benchmark
+    public HelloData read() throws IOException {
+
+        if ("codec".equals(codec)) {
+            return reader.readValue(JSON);
+        }
+
+        return objectMapper.readValue(JSON, HelloData.class);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+
+        if ("codec".equals(codec)) {
+            return writer.writeValueAsBytes(helloData);
+        }
+
+        return objectMapper.writeValueAsBytes(helloData);
+    }
+}
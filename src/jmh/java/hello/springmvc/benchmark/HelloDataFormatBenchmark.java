@@ -0,0 +1,90 @@
+package hello.springmvc.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.binary.HelloDataBinaryFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+
+/**
+ * HelloData 형식별 크기 (bytes on wire) 와 변환 비용
+ *
+ *  - json / cbor / smile : HelloDataCodec 과 같은 방식 (BlackbirdModule + 미리 만든 ObjectReader / ObjectWriter)
+ *  - binary : HelloDataBinaryFormat (application/vnd.hello.hello-data)
+ *
+ * 인코딩 크기 (bytes on wire) 는 시작할 때 출력 (# size format=... bytes=...)
+ */
+@State(Scope.Benchmark)
+public class HelloDataFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "binary"})
+    public String format;
+
+    private ObjectReader reader;
+    private ObjectWriter writer;
+    private HelloData helloData;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        helloData = new HelloData();
+        helloData.setUsername("hello");
+        helloData.setAge(20);
+
+        if (!"binary".equals(format)) {
+
+            ObjectMapper objectMapper;
+
+            switch (format) {
+                case "cbor":
+                    objectMapper = new ObjectMapper(new CBORFactory());
+                    break;
+                case "smile":
+                    objectMapper = new ObjectMapper(new SmileFactory());
+                    break;
+                default:
+                    objectMapper = new ObjectMapper();
+            }
+
+            objectMapper.registerModule(new BlackbirdModule());
+
+            reader = objectMapper.readerFor(HelloData.class);
+            writer = objectMapper.writerFor(HelloData.class);
+        }
+
+        encoded = write();
+
+        System.out.println("# size format=" + format + " bytes=" + encoded.length);
+    }
+
+    @Benchmark
+    public HelloData read() throws IOException {
+
+        if ("binary".equals(format)) {
+            return HelloDataBinaryFormat.read(encoded);
+        }
+
+        return reader.readValue(encoded);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+
+        if ("binary".equals(format)) {
+            return HelloDataBinaryFormat.writeAsBytes(helloData);
+        }
+
+        return writer.writeValueAsBytes(helloData);
+    }
+}
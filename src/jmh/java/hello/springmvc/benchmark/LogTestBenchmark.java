@@ -0,0 +1,90 @@
+package hello.springmvc.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import hello.springmvc.support.logging.OverflowPolicy;
+import hello.springmvc.support.logging.RingBufferAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.File;
+
+/**
+ * /log-test 요청 쓰레드의 로그 비용 비교
+ *
+ *  - sync : 파일 appender 를 root 에 바로 연결 (요청 쓰레드가 포맷팅, 쓰기까지 수행)
+ *  - ring : 같은 파일 appender 를 RingBufferAppender 뒤에 연결 (요청 쓰레드는 슬롯에 복사만)
+ *
+ * 콘솔 출력이 JMH 출력에 섞이지 않도록 임시 파일로 출력하고, hello.springmvc 로그 레벨은 info 로 되돌린다.
+ * ring 은 BLOCK 정책으로 실행해서 이벤트를 버려서 빨라지는 경우는 제외
+ */
+@State(Scope.Benchmark)
+public class LogTestBenchmark {
+
+    @Param({"sync", "ring"})
+    public String appender;
+
+    private BenchmarkApplication application;
+    private File logFile;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws Exception {
+
+        application = new BenchmarkApplication();
+
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger("hello.springmvc").setLevel(Level.INFO);
+
+        logFile = File.createTempFile("log-test-benchmark", ".log");
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(loggerContext);
+        file.setName("FILE");
+        file.setFile(logFile.getAbsolutePath());
+        file.setEncoder(encoder);
+        file.start();
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+
+        if ("ring".equals(appender)) {
+
+            RingBufferAppender ring = new RingBufferAppender();
+            ring.setContext(loggerContext);
+            ring.setName("ASYNC");
+            ring.setPolicy(OverflowPolicy.BLOCK);
+            ring.addAppender(file);
+            ring.start();
+
+            root.addAppender(ring);
+        } else {
+            root.addAppender(file);
+        }
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() {
+        application.close();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public int logTest() throws Exception {
+        return application.service(new MockHttpServletRequest(application.getServletContext(), "GET", "/log-test"));
+    }
+}
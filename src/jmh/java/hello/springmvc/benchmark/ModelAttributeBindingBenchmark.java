@@ -0,0 +1,50 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * @ModelAttribute 바인딩 - 생성된 FormBinder vs 스프링 기본 WebDataBinder
+ *
+ * hello-form.html 과 같은 폼 (username, age) 을 model-attribute-v1 / v2 로 보낸다.
+ *  - generated : hello.mvc.generated-binders=true (HelloDataFormBinder)
+ *  - stock : hello.mvc.generated-binders=false (BeanWrapper + ConversionService)
+ */
+@State(Scope.Benchmark)
+public class ModelAttributeBindingBenchmark {
+
+    @Param({"/model-attribute-v1", "/model-attribute-v2"})
+    public String path;
+
+    @Param({"generated", "stock"})
+    public String binder;
+
+    private BenchmarkApplication application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = new BenchmarkApplication("--hello.mvc.generated-binders=" + "generated".equals(binder));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int bind() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(application.getServletContext(), "POST", path);
+        request.setContentType("application/x-www-form-urlencoded");
+        request.setParameter("username", "hello");
+        request.setParameter("age", "20");
+
+        return application.service(request);
+    }
+}
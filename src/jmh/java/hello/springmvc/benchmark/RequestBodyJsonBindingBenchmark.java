@@ -0,0 +1,67 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * HTTP 메시지 바디 (JSON) 바인딩 방식별 비용 비교
+ *
+ * RequestBodyJsonController 의 v1 ~ v5 를 같은 JSON 바디로 호출한다.
+ *  - v1, v2 : 바디를 문자로 읽고 objectMapper 로 직접 변환
+ *  - v3, v4, v5 : HTTP 메시지 컨버터가 객체로 변환 (v5 는 응답도 JSON 변환)
+ */
+@State(Scope.Benchmark)
+public class RequestBodyJsonBindingBenchmark {
+
+    private static final byte[] BODY = "{\"username\":\"hello\", \"age\":20}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({
+            "/request-body-json-v1",
+            "/request-body-json-v2",
+            "/request-body-json-v3",
+            "/request-body-json-v4",
+            "/request-body-json-v5"
+    })
+    public String path;
+
+    @Param({"mockMvc", "dispatcherServlet"})
+    public String driver;
+
+    private BenchmarkApplication application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = new BenchmarkApplication();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int bind() throws Exception {
+
+        if ("mockMvc".equals(driver)) {
+            return application.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(BODY));
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest(application.getServletContext(), "POST", path);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setCharacterEncoding("UTF-8");
+        request.setContent(BODY);
+
+        return application.service(request);
+    }
+}
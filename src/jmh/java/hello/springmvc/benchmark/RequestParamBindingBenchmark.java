@@ -0,0 +1,79 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 요청 파라미터 바인딩 방식별 비용 비교
+ *
+ * RequestParamController 의 v1 ~ v4, request-param-map (v2), model-attribute-v1/v2 를
+ * 같은 쿼리 파라미터 (username=hello&age=20) 에 다른 파라미터 extraParams 개를 더해서 호출한다.
+ * (핸들러는 username, age 만 읽는다)
+ */
+@State(Scope.Benchmark)
+public class RequestParamBindingBenchmark {
+
+    @Param({
+            "/request-param-v1",
+            "/request-param-v2",
+            "/request-param-v3",
+            "/request-param-v4",
+            "/request-param-map",
+            "/request-param-map-v2",
+            "/model-attribute-v1",
+            "/model-attribute-v2"
+    })
+    public String path;
+
+    @Param({"mockMvc", "dispatcherServlet"})
+    public String driver;
+
+    @Param({"0", "30"})
+    public int extraParams;
+
+    private BenchmarkApplication application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = new BenchmarkApplication();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int bind() throws Exception {
+
+        if ("mockMvc".equals(driver)) {
+
+            MockHttpServletRequestBuilder builder = get(path).param("username", "hello").param("age", "20");
+
+            for (int i = 0; i < extraParams; i++) {
+                builder.param("param" + i, "value" + i);
+            }
+
+            return application.perform(builder);
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest(application.getServletContext(), "GET", path);
+        request.setParameter("username", "hello");
+        request.setParameter("age", "20");
+
+        for (int i = 0; i < extraParams; i++) {
+            request.setParameter("param" + i, "value" + i);
+        }
+
+        return application.service(request);
+    }
+}
@@ -0,0 +1,72 @@
+package hello.springmvc.benchmark;
+
+import hello.springmvc.basic.user.User;
+import hello.springmvc.basic.user.UserStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserStore 조회 확장성
+ *
+ * 같은 조회를 1, 2, 4, 8 쓰레드로 실행해서 전체 처리량을 비교
+ *  - 조회는 잠금이 없으므로 코어 수까지는 쓰레드 수에 비례해서 처리량이 늘어나야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserStoreReadBenchmark {
+
+    @Param({"1000000"})
+    public int users;
+
+    private UserStore userStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        userStore = new UserStore();
+
+        for (int i = 0; i < users; i++) {
+            userStore.save("user" + i, i % 100);
+        }
+    }
+
+    private User read() {
+        return userStore.findById(1 + ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public User read1() {
+        return read();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public User read2() {
+        return read();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User read4() {
+        return read();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public User read8() {
+        return read();
+    }
+}
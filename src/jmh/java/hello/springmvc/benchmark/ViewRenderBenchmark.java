@@ -0,0 +1,48 @@
+package hello.springmvc.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * response/hello 뷰 렌더링 비용 비교
+ *
+ *  - thymeleaf : 매 요청 Thymeleaf 엔진으로 렌더링 (hello.view.precompiled=false)
+ *  - precompiled : 빌드 시 생성된 ResponseHelloTemplate 으로 렌더링
+ *
+ * @ResponseCache 가 렌더링을 건너뛰지 않도록 응답 캐시는 끈다.
+ * op 당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 참고
+ */
+@State(Scope.Benchmark)
+public class ViewRenderBenchmark {
+
+    @Param({"/response-view-v1", "/response-view-v2", "/response/hello"})
+    public String path;
+
+    @Param({"thymeleaf", "precompiled"})
+    public String engine;
+
+    private BenchmarkApplication application;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        application = new BenchmarkApplication(
+                "--hello.view.precompiled=" + "precompiled".equals(engine),
+                "--hello.response-cache.enabled=false");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public int render() throws Exception {
+        return application.service(new MockHttpServletRequest(application.getServletContext(), "GET", path));
+    }
+}
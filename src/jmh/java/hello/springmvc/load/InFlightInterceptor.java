@@ -0,0 +1,43 @@
+package hello.springmvc.load;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 동시에 처리 중인 요청 수 (최대값) 측정
+ *
+ * 비동기로 실행되는 핸들러는 처음 dispatch 의 preHandle 에서 시작해서,
+ * async dispatch 의 afterCompletion 에서 끝난다.
+ */
+public class InFlightInterceptor implements HandlerInterceptor {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (request.getDispatcherType() == DispatcherType.REQUEST) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        inFlight.decrementAndGet();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public void reset() {
+        maxInFlight.set(inFlight.get());
+    }
+}
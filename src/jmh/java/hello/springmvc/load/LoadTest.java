@@ -0,0 +1,322 @@
+package hello.springmvc.load;
+
+import hello.springmvc.SpringmvcApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부하 테스트
+ *
+ * 두 종류의 클라이언트를 동시에 실행
+ *  - slow : 요청 바디 (JSON) 를 조금씩 나눠서 천천히 보내는 클라이언트 (POST slowPath)
+ *  - fast : 짧은 요청을 쉬지 않고 보내는 클라이언트 (fastMethod fastPath)
+ *
+ * 결과
+ *  - 응답 시간 p50 / p99 / max, 요청 수, 오류 수, goodput (성공한 요청 수 / 초)
+ *  - 최대 동시 처리 요청 수 (client : 보냈지만 응답을 받지 못한 요청, server : 실행 중인 핸들러)
+ *
+ * 사용법 (key=value)
+ *  ./gradlew loadTest -PloadArgs="modes=platform,bounded,virtual slowClients=400 duration=20"
+ *   - modes : 애플리케이션을 hello.mvc.execution.mode 별로 띄워서 차례로 측정
+ *   - target : 이미 떠 있는 서버 주소 (예: http://localhost:8081), 지정하면 modes 는 무시
+ *   - tomcatThreads : Tomcat 워커 쓰레드 수 (기본 50, 차이를 보기 쉽게 기본값 200 보다 작게)
+ *   - slowClients=0 이면 fast 클라이언트만 실행 (처리량 측정)
+ *     예) target=http://localhost:8081 slowClients=0 fastMethod=POST fastPath=/request-body-json-v5
+ *   - admission : 요청 수용 제어 (hello.mvc.admission.enabled, 기본 false), 켜면 거절된 요청은 오류로 세고 goodput 으로 비교
+ *     예) modes=platform admission=true slowClients=400
+ *   - slowPath : 쉼표로 여러 개를 주면 경로마다 차례로 측정
+ *     예) 블로킹 vs 논블로킹 (ReadListener) 읽기
+ *         modes=platform slowClients=2000 slowPath=/request-body-json-v1,/request-body-json-v6
+ *
+ * 애플리케이션을 직접 띄운 경우 Tomcat 워커 쓰레드 사용량 (최대, 평균) 도 출력 (WorkerThreadSampler)
+ */
+public class LoadTest {
+
+    private static final byte[] JSON_BODY = "{\"username\":\"hello\",\"age\":20}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, String> options;
+    private final int durationSeconds;
+    private final int slowClients;
+    private final int fastClients;
+    private final long bodyMillis;
+    private final List<String> slowPaths;
+    private final String fastMethod;
+    private final String fastPath;
+
+    private final AtomicInteger clientInFlight = new AtomicInteger();
+    private final AtomicInteger clientMaxInFlight = new AtomicInteger();
+
+    public LoadTest(Map<String, String> options) {
+        this.options = options;
+        this.durationSeconds = Integer.parseInt(options.getOrDefault("duration", "20"));
+        this.slowClients = Integer.parseInt(options.getOrDefault("slowClients", "400"));
+        this.fastClients = Integer.parseInt(options.getOrDefault("fastClients", "16"));
+        this.bodyMillis = Long.parseLong(options.getOrDefault("bodyMillis", "2000"));
+        this.slowPaths = Arrays.asList(options.getOrDefault("slowPath", "/request-body-json-v1").split(","));
+        this.fastMethod = options.getOrDefault("fastMethod", "GET");
+        this.fastPath = options.getOrDefault("fastPath", "/mapping-get-v1");
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> options = new HashMap<>();
+
+        for (String arg : args) {
+            int index = arg.indexOf('=');
+            if (index > 0) {
+                options.put(arg.substring(0, index), arg.substring(index + 1));
+            }
+        }
+
+        LoadTest loadTest = new LoadTest(options);
+
+        if (options.containsKey("target")) {
+            for (String slowPath : loadTest.slowPaths) {
+                loadTest.run(options.get("target"), URI.create(options.get("target")), slowPath, null, null);
+            }
+            return;
+        }
+
+        for (String mode : options.getOrDefault("modes", "platform,bounded,virtual").split(",")) {
+
+            try (ConfigurableApplicationContext context = loadTest.start(mode);
+                 WorkerThreadSampler workers = new WorkerThreadSampler(context, 10)) {
+
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+                for (String slowPath : loadTest.slowPaths) {
+                    loadTest.run("mode=" + mode, URI.create("http://localhost:" + port), slowPath, context.getBean(InFlightInterceptor.class), workers);
+                }
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start(String mode) {
+
+        return new SpringApplicationBuilder(SpringmvcApplication.class, LoadTestConfig.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.hello.springmvc=warn",
+                "--hello.users.log.enabled=false",
+                "--server.tomcat.threads.max=" + options.getOrDefault("tomcatThreads", "50"),
+                "--hello.mvc.execution.mode=" + mode,
+                "--hello.mvc.admission.enabled=" + options.getOrDefault("admission", "false"),
+                "--hello.mvc.execution.max-threads=" + options.getOrDefault("boundedThreads", "200"));
+    }
+
+    private void run(String name, URI target, String slowPath, InFlightInterceptor server, WorkerThreadSampler workers) throws Exception {
+
+        clientInFlight.set(0);
+        clientMaxInFlight.set(0);
+
+        if (workers != null) {
+            workers.reset();
+        }
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        Recorder slow = new Recorder();
+        Recorder fast = new Recorder();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < slowClients; i++) {
+            threads.add(start(() -> {
+                Recorder.Buffer buffer = slow.newBuffer();
+                while (System.nanoTime() < deadline) {
+                    buffer.record(() -> sendSlowly(target, slowPath));
+                }
+            }));
+        }
+
+        for (int i = 0; i < fastClients; i++) {
+            threads.add(start(() -> {
+                HttpRequest request = fastRequest(target);
+                Recorder.Buffer buffer = fast.newBuffer();
+                while (System.nanoTime() < deadline) {
+                    buffer.record(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        System.out.println();
+        System.out.println("== " + name + " (" + durationSeconds + "s, slowClients=" + slowClients + ", fastClients=" + fastClients + ")");
+        System.out.println("  slow POST " + slowPath + " : " + slow.summary(durationSeconds));
+        System.out.println("  fast " + fastMethod + " " + fastPath + " : " + fast.summary(durationSeconds));
+        System.out.println("  max in-flight : client=" + clientMaxInFlight.get()
+                + (server != null ? ", server handlers=" + server.getMaxInFlight() : ""));
+
+        if (workers != null) {
+            System.out.println("  tomcat : " + workers.summary());
+        }
+
+        if (server != null) {
+            server.reset();
+        }
+    }
+
+    /**
+     * GET / DELETE 는 바디 없이, 그 외 (POST, PATCH ...) 는 JSON 바디 ({"username":"hello","age":20}) 를 보냄
+     */
+    private HttpRequest fastRequest(URI target) {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(target.resolve(fastPath)).timeout(Duration.ofSeconds(60));
+
+        if ("GET".equals(fastMethod) || "DELETE".equals(fastMethod)) {
+            return builder.method(fastMethod, HttpRequest.BodyPublishers.noBody()).build();
+        }
+
+        return builder.header("Content-Type", "application/json")
+                .method(fastMethod, HttpRequest.BodyPublishers.ofByteArray(JSON_BODY))
+                .build();
+    }
+
+    private static Thread start(Runnable runnable) {
+
+        Thread thread = new Thread(runnable);
+
+        thread.setDaemon(true);
+        thread.start();
+
+        return thread;
+    }
+
+    /**
+     * 헤더를 보낸 뒤 바디를 bodyMillis 동안 나눠서 보냄
+     *
+     * @return HTTP 상태 코드
+     */
+    private int sendSlowly(URI target, String path) throws IOException, InterruptedException {
+
+        try (Socket socket = new Socket(target.getHost(), target.getPort())) {
+
+            socket.setSoTimeout(60_000);
+
+            OutputStream out = socket.getOutputStream();
+            String header = "POST " + path + " HTTP/1.1\r\n"
+                    + "Host: " + target.getHost() + ":" + target.getPort() + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + "Content-Length: " + JSON_BODY.length + "\r\n"
+                    + "Connection: close\r\n\r\n";
+
+            out.write(header.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            int chunks = 4;
+            int chunkSize = (JSON_BODY.length + chunks - 1) / chunks;
+
+            for (int offset = 0; offset < JSON_BODY.length; offset += chunkSize) {
+                Thread.sleep(bodyMillis / chunks);
+                out.write(JSON_BODY, offset, Math.min(chunkSize, JSON_BODY.length - offset));
+                out.flush();
+            }
+
+            InputStream in = socket.getInputStream();
+            byte[] response = in.readAllBytes();
+            String statusLine = new String(response, 0, Math.min(response.length, 12), StandardCharsets.US_ASCII);
+
+            return (statusLine.length() >= 12) ? Integer.parseInt(statusLine.substring(9, 12)) : -1;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        int call() throws Exception;
+    }
+
+    /**
+     * 응답 시간 기록 (클라이언트 쓰레드마다 Buffer 하나, 측정이 끝난 뒤 합쳐서 백분위 계산)
+     */
+    private class Recorder {
+
+        private final List<Buffer> buffers = new ArrayList<>();
+
+        synchronized Buffer newBuffer() {
+
+            Buffer buffer = new Buffer();
+
+            buffers.add(buffer);
+
+            return buffer;
+        }
+
+        synchronized String summary(int durationSeconds) {
+
+            long[] latencies = buffers.stream()
+                    .flatMapToLong(buffer -> Arrays.stream(buffer.latencies, 0, buffer.size))
+                    .sorted()
+                    .toArray();
+            int errors = buffers.stream().mapToInt(buffer -> buffer.errors).sum();
+
+            if (latencies.length == 0) {
+                return "no requests";
+            }
+
+            return String.format("n=%d (%.0f req/s) errors=%d goodput=%.0f req/s p50=%.1fms p99=%.1fms max=%.1fms",
+                    latencies.length, (double) latencies.length / durationSeconds, errors,
+                    (double) (latencies.length - errors) / durationSeconds,
+                    millis(latencies, 0.50), millis(latencies, 0.99), latencies[latencies.length - 1] / 1e6);
+        }
+
+        private double millis(long[] sorted, double percentile) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+        }
+
+        class Buffer {
+
+            private long[] latencies = new long[1024];
+            private int size;
+            private int errors;
+
+            void record(Call call) {
+
+                int inFlight = clientInFlight.incrementAndGet();
+                clientMaxInFlight.accumulateAndGet(inFlight, Math::max);
+
+                long started = System.nanoTime();
+                int status;
+
+                try {
+                    status = call.call();
+                } catch (Exception e) {
+                    status = -1;
+                } finally {
+                    clientInFlight.decrementAndGet();
+                }
+
+                if (status < 200 || status >= 400) {
+                    errors++;
+                }
+
+                if (size == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, size * 2);
+                }
+
+                latencies[size++] = System.nanoTime() - started;
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package hello.springmvc.load;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 부하 테스트 때만 추가하는 설정
+ *
+ * 벤치마크에서 띄우는 애플리케이션의 컴포넌트 스캔에 걸리지 않도록 @Configuration 을 붙이지 않고,
+ * LoadTest 가 SpringApplicationBuilder 에 직접 넘긴다.
+ */
+public class LoadTestConfig implements WebMvcConfigurer {
+
+    private final InFlightInterceptor inFlightInterceptor = new InFlightInterceptor();
+
+    @Bean
+    public InFlightInterceptor inFlightInterceptor() {
+        return inFlightInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(inFlightInterceptor);
+    }
+}
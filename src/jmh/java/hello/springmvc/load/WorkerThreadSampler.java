@@ -0,0 +1,79 @@
+package hello.springmvc.load;
+
+import org.apache.catalina.connector.Connector;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.Closeable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Tomcat 워커 쓰레드 사용량 샘플링 (intervalMillis 마다 활성 쓰레드 수를 읽음)
+ *
+ * 블로킹 읽기는 느린 클라이언트가 바디를 보내는 동안 워커를 붙잡고,
+ * 논블로킹 읽기 (ReadListener) 는 바이트가 도착했을 때만 워커를 쓰므로 두 값이 크게 다르다.
+ */
+class WorkerThreadSampler implements Closeable {
+
+    private final ThreadPoolExecutor executor;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private int max;
+    private long sum;
+    private long samples;
+
+    WorkerThreadSampler(ConfigurableApplicationContext context, long intervalMillis) {
+
+        TomcatWebServer webServer = (TomcatWebServer) ((WebServerApplicationContext) context).getWebServer();
+        Connector connector = webServer.getTomcat().getConnector();
+        Executor workers = connector.getProtocolHandler().getExecutor();
+
+        if (!(workers instanceof ThreadPoolExecutor)) {
+            throw new IllegalStateException("unexpected Tomcat executor " + workers);
+        }
+
+        this.executor = (ThreadPoolExecutor) workers;
+        this.thread = new Thread(() -> {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(intervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "worker-sampler");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private synchronized void sample() {
+
+        int active = executor.getActiveCount();
+
+        max = Math.max(max, active);
+        sum += active;
+        samples++;
+    }
+
+    synchronized String summary() {
+        return String.format("busy workers max=%d avg=%.1f (pool=%d)",
+                max, samples == 0 ? 0.0 : (double) sum / samples, executor.getMaximumPoolSize());
+    }
+
+    synchronized void reset() {
+        max = 0;
+        sum = 0;
+        samples = 0;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
@@ -1,5 +1,6 @@
 package hello.springmvc.basic;
 
+import hello.springmvc.web.bind.GenerateFormBinder;
 import lombok.Data;
 
 /**
@@ -8,8 +9,12 @@ import lombok.Data;
  * @Data
  *  : 롬복
  *  : @Getter , @Setter , @ToString , @EqualsAndHashCode , @RequiredArgsConstructor 를 자동으로 적용
+ *
+ * @GenerateFormBinder
+ *  : @ModelAttribute 바인딩용 HelloDataFormBinder 를 컴파일 시 생성 (리플렉션 없이 setter 호출)
  */
 @Data
+@GenerateFormBinder
 public class HelloData {
 
     private String username;
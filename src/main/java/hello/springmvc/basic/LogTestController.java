@@ -19,6 +19,8 @@ import org.springframework.web.bind.annotation.RestController;
  *   특히 파일로 남길 때는 일별, 특정 용량에 따라 로그를 분할하는 것도 가능
  *
  * @Slf4j 어노테이션을 통해 로그 선언 없이도 사용 가능
+ *
+ * 로그 출력은 logback-spring.xml 의 RingBufferAppender 를 통해 별도 쓰레드에서 수행
  */
 //@Slf4j
 @RestController
@@ -33,9 +35,8 @@ public class LogTestController {
 
         String name = "Spring";
 
-        System.out.println("name = " + name);
-
-        // 로그 호출
+        // System.out.println 은 요청 쓰레드에서 동기로 콘솔에 출력하므로 사용하지 않는다.
+        // 로그 호출 (출력은 RingBufferAppender 의 출력 쓰레드가 담당)
         log.trace("trace log = {}", name);
         log.debug("debug log = {}", name);
         log.info("info log = {}", name);
@@ -0,0 +1,32 @@
+package hello.springmvc.basic.ingest;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * 레코드를 읽다가 실패해서 대량 등록을 중단한 경우
+ *
+ * 실패한 레코드 앞의 레코드는 이미 처리되었으므로, 처리된 결과 (result) 와 실패한 레코드 번호를 함께 전달
+ */
+@Getter
+public class BulkIngestException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 실패 전까지 처리된 결과
+     */
+    private final transient BulkIngestResult result;
+
+    /**
+     * 실패한 레코드 번호 (1 부터)
+     */
+    private final long recordNumber;
+
+    public BulkIngestException(BulkIngestResult result, long recordNumber, Throwable cause) {
+        super("ingest aborted at record " + recordNumber + " after " + result.getTotal() + " records", cause);
+        this.result = result;
+        this.recordNumber = recordNumber;
+    }
+}
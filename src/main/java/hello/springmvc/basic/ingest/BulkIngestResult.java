@@ -0,0 +1,35 @@
+package hello.springmvc.basic.ingest;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 대량 등록 결과
+ *
+ * total : 처리된 전체 건수
+ * batchCounts : 배치별 처리 건수 (제출 순서)
+ * failedRecord : 중간에 실패한 경우 실패한 레코드 번호 (1 부터), 그 앞의 레코드는 모두 처리됨
+ * error : 실패 사유
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkIngestResult {
+
+    private final long total;
+    private final List<Integer> batchCounts;
+    private final Long failedRecord;
+    private final String error;
+
+    public BulkIngestResult(long total, List<Integer> batchCounts) {
+        this(total, batchCounts, null, null);
+    }
+
+    public BulkIngestResult(long total, List<Integer> batchCounts, Long failedRecord, String error) {
+        this.total = total;
+        this.batchCounts = batchCounts;
+        this.failedRecord = failedRecord;
+        this.error = error;
+    }
+}
@@ -0,0 +1,185 @@
+package hello.springmvc.basic.ingest;
+
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * HelloData 대량 등록 파이프라인
+ *
+ * 요청에서 읽은 레코드를 batchSize 단위로 묶어서 작업 쓰레드에 넘긴다.
+ *
+ * 배압 (backpressure)
+ *  - 처리 중인 배치는 애플리케이션 전체에서 maxInFlightBatches 개까지만 허용
+ *  - 한도에 도달하면 다음 배치를 제출하는 쪽 (요청 쓰레드) 이 대기하므로, 요청 바디 파싱도 함께 멈춘다.
+ *  - 따라서 한 요청이 수십만 건을 보내도 메모리에는 (maxInFlightBatches + 1) 개의 배치만 올라간다.
+ *
+ * 중간 실패
+ *  - 레코드를 읽다가 실패하면 그 앞의 레코드까지는 처리하고 (모으던 배치도 제출), BulkIngestException 으로 처리 건수를 알린다.
+ *  - 이미 처리된 배치는 되돌리지 않는다.
+ */
+@Slf4j
+@Component
+public class HelloDataIngestPipeline implements DisposableBean {
+
+    private final int batchSize;
+    private final Semaphore inFlightBatches;
+    private final ExecutorService workers;
+
+    public HelloDataIngestPipeline(
+            @Value("${hello.ingest.batch-size:1000}") int batchSize,
+            @Value("${hello.ingest.max-in-flight-batches:8}") int maxInFlightBatches,
+            @Value("${hello.ingest.workers:2}") int workers
+    ) {
+
+        if (batchSize <= 0 || maxInFlightBatches <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("batch-size, max-in-flight-batches, workers 는 0 보다 커야 한다.");
+        }
+
+        this.batchSize = batchSize;
+        this.inFlightBatches = new Semaphore(maxInFlightBatches);
+        this.workers = Executors.newFixedThreadPool(workers, new CustomizableThreadFactory("ingest-"));
+    }
+
+    /**
+     * 레코드를 끝까지 읽어서 배치 단위로 처리하고, 모든 배치가 끝나면 결과를 반환
+     *
+     * @param records 레코드를 하나씩 읽어오는 소스 (예: NDJSON 파서)
+     * @return 배치별 처리 건수
+     * @throws BulkIngestException 레코드를 읽는 중 오류 (그 앞의 레코드는 처리됨)
+     * @throws IOException 처리 대기 중 인터럽트
+     */
+    public BulkIngestResult ingest(RecordSource records) throws IOException {
+
+        List<CompletableFuture<Integer>> submitted = new ArrayList<>();
+        List<HelloData> batch = new ArrayList<>(batchSize);
+
+        long read = 0;
+
+        while (true) {
+
+            HelloData record;
+
+            try {
+                record = records.next();
+            } catch (IOException | RuntimeException e) {
+
+                if (!batch.isEmpty()) {
+                    submitted.add(submit(batch));
+                }
+
+                throw new BulkIngestException(collect(submitted), read + 1, e);
+            }
+
+            if (record == null) {
+                break;
+            }
+
+            read++;
+            batch.add(record);
+
+            if (batch.size() == batchSize) {
+                submitted.add(submit(batch));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            submitted.add(submit(batch));
+        }
+
+        return collect(submitted);
+    }
+
+    private CompletableFuture<Integer> submit(List<HelloData> batch) throws IOException {
+
+        try {
+            inFlightBatches.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for ingest capacity", e);
+        }
+
+        try {
+            return CompletableFuture
+                    .supplyAsync(() -> process(batch), workers)
+                    .whenComplete((count, ex) -> inFlightBatches.release());
+        } catch (RejectedExecutionException e) {
+            inFlightBatches.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 배치 하나를 처리 (작업 쓰레드에서 호출)
+     *
+     * @param batch
+     * @return 처리 건수
+     */
+    protected int process(List<HelloData> batch) {
+
+        long ageSum = 0;
+
+        for (HelloData helloData : batch) {
+            ageSum += helloData.getAge();
+        }
+
+        log.debug("ingest batch size = {}, ageSum = {}", batch.size(), ageSum);
+
+        return batch.size();
+    }
+
+    private BulkIngestResult collect(List<CompletableFuture<Integer>> submitted) throws IOException {
+
+        List<Integer> batchCounts = new ArrayList<>(submitted.size());
+        long total = 0;
+
+        try {
+            for (CompletableFuture<Integer> future : submitted) {
+
+                int count = future.get();
+
+                batchCounts.add(count);
+                total += count;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for ingest batches", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("ingest batch failed", e.getCause());
+        }
+
+        return new BulkIngestResult(total, batchCounts);
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+
+    /**
+     * 레코드를 하나씩 꺼내오는 소스
+     */
+    @FunctionalInterface
+    public interface RecordSource {
+
+        /**
+         * @return 다음 레코드, 더 이상 없으면 null
+         * @throws IOException
+         */
+        HelloData next() throws IOException;
+    }
+}
@@ -0,0 +1,21 @@
+package hello.springmvc.basic.order;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 주문
+ *
+ * 인덱스에서 여러 쓰레드가 잠금 없이 읽으므로 불변 객체
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class Order {
+
+    private final long id;
+    private final long userId;
+    private final String itemName;
+    private final int quantity;
+}
@@ -0,0 +1,10 @@
+package hello.springmvc.basic.order;
+
+import lombok.Data;
+
+@Data
+public class OrderForm {
+
+    private String itemName;
+    private Integer quantity;
+}
@@ -0,0 +1,80 @@
+package hello.springmvc.basic.order;
+
+import hello.springmvc.support.LongObjectConcurrentMap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 저장소 (메모리)
+ *
+ * 회원 id -> UserOrderIndex (회원별 주문 id 정렬 인덱스)
+ *  - 범위 조회는 해당 회원의 인덱스에서 범위에 해당하는 구간만 읽으므로, 회원의 전체 주문 수와 무관
+ */
+@Component
+public class OrderStore {
+
+    private final LongObjectConcurrentMap<UserOrderIndex> indexes = new LongObjectConcurrentMap<>(64, 1024);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    public Order save(long userId, String itemName, int quantity) {
+
+        UserOrderIndex index = indexes.computeIfAbsent(userId, id -> new UserOrderIndex());
+
+        // 회원별 잠금 안에서 id 를 발급해야 인덱스에 항상 오름차순으로 추가된다.
+        synchronized (index) {
+
+            Order order = new Order(sequence.incrementAndGet(), userId, itemName, quantity);
+
+            index.append(order);
+
+            return order;
+        }
+    }
+
+    /**
+     * @param userId
+     * @param orderId
+     * @return 주문, 없으면 null
+     */
+    public Order findById(long userId, long orderId) {
+
+        UserOrderIndex index = indexes.get(userId);
+
+        return (index != null) ? index.find(orderId) : null;
+    }
+
+    /**
+     * 회원의 주문을 id 범위로 조회
+     *
+     * @param userId
+     * @param from 시작 주문 id (포함)
+     * @param to 끝 주문 id (포함)
+     * @param limit 최대 건수
+     * @return 주문 id 오름차순
+     */
+    public List<Order> findRange(long userId, long from, long to, int limit) {
+
+        UserOrderIndex index = indexes.get(userId);
+
+        if (index == null || limit <= 0 || from > to) {
+            return new ArrayList<>();
+        }
+
+        return index.range(from, to, limit);
+    }
+
+    /**
+     * @param userId
+     * @return 회원의 주문 수
+     */
+    public int countByUser(long userId) {
+
+        UserOrderIndex index = indexes.get(userId);
+
+        return (index != null) ? index.size() : 0;
+    }
+}
@@ -0,0 +1,101 @@
+package hello.springmvc.basic.order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 회원 한 명의 주문 인덱스
+ *
+ * 주문 id 오름차순으로 정렬된 long[] 과, 같은 위치에 Order 를 담은 Order[]
+ *  - 주문 id 는 회원별 잠금 안에서 발급하므로 항상 뒤에 추가 (정렬 유지, 삽입 위치 탐색 불필요)
+ *  - 조회는 이진 탐색으로 시작 위치를 찾고, 범위에 해당하는 구간만 읽음
+ *
+ * 동시성
+ *  - 추가는 synchronized, 조회는 잠금 없이 volatile snapshot 만 읽음
+ *  - 배열의 size 이전 칸은 한 번 쓰고 나면 바뀌지 않으므로, 배열을 늘리기 전까지 snapshot 들이 배열을 공유
+ */
+class UserOrderIndex {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private volatile Snapshot snapshot = new Snapshot(new long[INITIAL_CAPACITY], new Order[INITIAL_CAPACITY], 0);
+
+    synchronized void append(Order order) {
+
+        Snapshot current = snapshot;
+        long[] ids = current.ids;
+        Order[] orders = current.orders;
+        int size = current.size;
+
+        if (size > 0 && ids[size - 1] >= order.getId()) {
+            throw new IllegalArgumentException("order id must increase: " + order.getId());
+        }
+
+        if (size == ids.length) {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            orders = Arrays.copyOf(orders, capacity);
+        }
+
+        ids[size] = order.getId();
+        orders[size] = order;
+
+        snapshot = new Snapshot(ids, orders, size + 1);
+    }
+
+    /**
+     * @param orderId
+     * @return 주문, 없으면 null
+     */
+    Order find(long orderId) {
+
+        Snapshot current = snapshot;
+        int index = Arrays.binarySearch(current.ids, 0, current.size, orderId);
+
+        return (index >= 0) ? current.orders[index] : null;
+    }
+
+    /**
+     * from <= 주문 id <= to 인 주문을 id 오름차순으로 최대 limit 건
+     *
+     * @param from
+     * @param to
+     * @param limit
+     * @return
+     */
+    List<Order> range(long from, long to, int limit) {
+
+        Snapshot current = snapshot;
+        int start = Arrays.binarySearch(current.ids, 0, current.size, from);
+
+        if (start < 0) {
+            start = -start - 1;
+        }
+
+        List<Order> result = new ArrayList<>(Math.min(limit, current.size - start));
+
+        for (int i = start; i < current.size && result.size() < limit && current.ids[i] <= to; i++) {
+            result.add(current.orders[i]);
+        }
+
+        return result;
+    }
+
+    int size() {
+        return snapshot.size;
+    }
+
+    private static final class Snapshot {
+
+        final long[] ids;
+        final Order[] orders;
+        final int size;
+
+        Snapshot(long[] ids, Order[] orders, int size) {
+            this.ids = ids;
+            this.orders = orders;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package hello.springmvc.basic.request;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 읽어 들이는 바이트 중 앞부분만 최대 limit 바이트까지 복사해 두는 InputStream
+ *
+ * 바디 전체를 문자로 복사하지 않고 스트림에서 바로 파싱하면서도, 로그용 바디는 남길 수 있도록 사용
+ *  - limit = 0 이면 복사하지 않음
+ *  - toString() 은 로그 레벨이 활성화된 경우에만 호출되므로 문자 변환 비용도 그때만 발생
+ */
+public class CapturingInputStream extends FilterInputStream {
+
+    private final int limit;
+
+    private byte[] captured;
+    private int capturedLength;
+    private long totalLength;
+
+    public CapturingInputStream(InputStream in, int limit) {
+        super(in);
+        this.limit = Math.max(limit, 0);
+    }
+
+    @Override
+    public int read() throws IOException {
+
+        int b = super.read();
+
+        if (b != -1) {
+            capture(b);
+        }
+
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+
+        int n = super.read(b, off, len);
+
+        if (n > 0) {
+            capture(b, off, n);
+        }
+
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+
+        // 건너뛴 바이트는 복사하지 않지만 전체 길이에는 포함
+        long skipped = super.skip(n);
+
+        totalLength += skipped;
+
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * @return 지금까지 읽은 전체 바이트 수
+     */
+    public long getTotalLength() {
+        return totalLength;
+    }
+
+    private void capture(int b) {
+
+        totalLength++;
+
+        if (capturedLength < limit) {
+            buffer()[capturedLength++] = (byte) b;
+        }
+    }
+
+    private void capture(byte[] b, int off, int n) {
+
+        totalLength += n;
+
+        int count = Math.min(n, limit - capturedLength);
+
+        if (count > 0) {
+            System.arraycopy(b, off, buffer(), capturedLength, count);
+            capturedLength += count;
+        }
+    }
+
+    private byte[] buffer() {
+
+        if (captured == null) {
+            captured = new byte[limit];
+        }
+
+        return captured;
+    }
+
+    /**
+     * 복사해 둔 앞부분을 UTF-8 문자로 반환
+     *
+     * limit 을 넘는 부분은 잘라내고 전체 길이만 표시
+     */
+    @Override
+    public String toString() {
+
+        String body = (capturedLength == 0) ? "" : new String(captured, 0, capturedLength, StandardCharsets.UTF_8);
+
+        if (totalLength > capturedLength) {
+            return body + "...(" + totalLength + " bytes)";
+        }
+
+        return body;
+    }
+}
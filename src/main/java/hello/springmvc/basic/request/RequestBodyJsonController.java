@@ -1,20 +1,32 @@
 package hello.springmvc.basic.request;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.ingest.BulkIngestException;
+import hello.springmvc.basic.ingest.BulkIngestResult;
+import hello.springmvc.basic.ingest.HelloDataIngestPipeline;
+import hello.springmvc.json.HelloDataCodec;
+import hello.springmvc.web.nio.NonBlockingBodyReader;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 
 /**
  * HTTP 요청 메시지 - JSON
@@ -24,14 +36,30 @@ import java.nio.charset.StandardCharsets;
  */
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestBodyJsonController {
 
-    private ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * 직접 변환할 때도 HTTP 메시지 컨버터와 같은 ObjectMapper 빈을 사용 (new ObjectMapper() 로 따로 만들지 않음)
+     */
+    private final HelloDataCodec helloDataCodec;
+
+    private final HelloDataIngestPipeline ingestPipeline;
+
+    private final NonBlockingBodyReader nonBlockingBodyReader;
+
+    /**
+     * 로그에 남길 메시지 바디의 최대 바이트 수 (0 이면 남기지 않음)
+     */
+    @Value("${hello.request-body.capture-limit:256}")
+    private int captureLimit;
 
     /**
-     * HttpServletRequest 를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽어와서, 문자로 변환
+     * HttpServletRequest 를 사용해서 직접 HTTP 메시지 바디에서 데이터를 읽어와서, 자바 객체로 변환
      *
-     * 문자로 된 JSON 데이터를 Jackson 라이브러리인 objectMapper 를 사용해서 자바 객체로 변환
+     * 바디 전체를 문자로 복사 (StreamUtils.copyToString) 한 뒤 변환하면 바이트 + 문자로 바디가 두 번 할당된다.
+     * helloDataCodec 이 InputStream 에서 바로 토큰 단위로 파싱하도록 하고 (파싱 버퍼는 Jackson 이 재사용),
+     * 로그용 바디는 앞부분만 captureLimit 바이트까지 복사해 둔다.
      *
      * @param request
      * @param response
@@ -42,11 +70,11 @@ public class RequestBodyJsonController {
 
         ServletInputStream inputStream = request.getInputStream();
 
-        String messageBody = StreamUtils.copyToString(inputStream, StandardCharsets.UTF_8);
+        CapturingInputStream messageBody = new CapturingInputStream(inputStream, captureLimit);
 
-        log.info("messageBody = {}", messageBody);
+        HelloData helloData = helloDataCodec.read(messageBody);
 
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+        log.info("messageBody = {}", messageBody);
 
         log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
 
@@ -57,7 +85,10 @@ public class RequestBodyJsonController {
      * @RequestBody 문자 변환
      *
      * @RequestBody 를 사용해서 HTTP 메시지에서 데이터를 꺼내고 messageBody 에 저장
-     * 문자로 된 JSON 데이터인 messageBody 를 objectMapper 를 통해서 자바 객체로 변환
+     * 문자로 된 JSON 데이터인 messageBody 를 helloDataCodec (ObjectMapper 빈) 을 통해서 자바 객체로 변환
+     *
+     * 문자 변환은 핸들러 호출 전에 StringHttpMessageConverter 가 수행하므로 바디 복사를 피할 수 없다.
+     *  => 바디가 큰 요청은 v1 (스트림 파싱) 또는 v3 (@RequestBody 객체 변환) 사용
      *
      * @param messageBody
      * @return
@@ -69,7 +100,7 @@ public class RequestBodyJsonController {
 
         log.info("messageBody = {}", messageBody);
 
-        HelloData helloData = objectMapper.readValue(messageBody, HelloData.class);
+        HelloData helloData = helloDataCodec.read(messageBody);
 
         log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
 
@@ -95,6 +126,75 @@ public class RequestBodyJsonController {
         return "OK";
     }
 
+    /**
+     * @RequestBody 객체 변환 - 대량 등록 (NDJSON)
+     *
+     * 한 줄에 HelloData 하나씩 담긴 요청 바디 (content-type: application/x-ndjson) 를 한 건씩 파싱해서
+     * 파이프라인에 배치 단위로 넘기고, 배치별 처리 건수를 반환
+     *  - 예)
+     *      {"username":"hello", "age":20}
+     *      {"username":"spring", "age":30}
+     *
+     * 바디 전체를 객체 목록으로 변환하지 않으므로, 수십만 건을 보내도 메모리 사용량은 배치 크기에 비례
+     *
+     * 잘못된 줄 (JSON 오류, null) 이 있으면 HTTP 400
+     *  - 400 이어도 그 앞의 줄은 이미 등록되었을 수 있다. (되돌리지 않음)
+     *  - 응답 바디의 total / batchCounts 는 등록된 건수, failedRecord 는 실패한 줄 번호 (1 부터), error 는 사유
+     *
+     * @param inputStream
+     * @return
+     * @throws IOException
+     */
+    @ResponseBody
+    @PostMapping(value = "/request-body-json-bulk", consumes = "application/x-ndjson")
+    public ResponseEntity<BulkIngestResult> requestBodyJsonBulk(InputStream inputStream) throws IOException {
+
+        BulkIngestResult result;
+
+        try {
+            // readValues 는 첫 토큰을 바로 읽으므로 첫 줄이 잘못된 경우도 여기서 400
+            MappingIterator<HelloData> records = helloDataCodec.readValues(inputStream);
+
+            result = ingestPipeline.ingest(() -> nextRecord(records));
+        } catch (BulkIngestException e) {
+
+            if (!(e.getCause() instanceof JsonProcessingException)) {
+                throw e;
+            }
+
+            BulkIngestResult accepted = e.getResult();
+
+            log.info("bulk ingest failed at record {}, total = {}", e.getRecordNumber(), accepted.getTotal());
+
+            return ResponseEntity.badRequest().body(new BulkIngestResult(accepted.getTotal(), accepted.getBatchCounts(),
+                    e.getRecordNumber(), ((JsonProcessingException) e.getCause()).getOriginalMessage()));
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage(), e);
+        }
+
+        log.info("total = {}, batches = {}", result.getTotal(), result.getBatchCounts().size());
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * @return 다음 레코드, 끝이면 null (null 레코드는 끝과 구분되도록 오류)
+     */
+    private static HelloData nextRecord(MappingIterator<HelloData> records) throws IOException {
+
+        if (!records.hasNextValue()) {
+            return null;
+        }
+
+        HelloData record = records.nextValue();
+
+        if (record == null) {
+            throw MismatchedInputException.from(records.getParser(), HelloData.class, "null record");
+        }
+
+        return record;
+    }
+
     /**
      * HttpEntity 사용
      *
@@ -132,4 +232,37 @@ public class RequestBodyJsonController {
 
         return data;
     }
+
+    /**
+     * 논블로킹 I/O - 바디가 도착할 때만 쓰레드 사용
+     *
+     * v1 과 같이 helloDataCodec 으로 직접 변환하지만, 바디는 ReadListener 로 도착한 만큼씩 모은다.
+     * (바디를 기다리는 동안 컨테이너 쓰레드를 붙잡지 않음, NonBlockingBodyReader)
+     *  - 다 읽은 뒤 변환하므로 바디 크기는 hello.request-body.non-blocking.max-size 로 제한
+     *  - JSON 형식 오류는 400
+     *
+     * 느린 클라이언트 부하 테스트 : ./gradlew loadTest -PloadArgs="slowPath=/request-body-json-v1,/request-body-json-v6"
+     *
+     * @param request
+     * @return
+     */
+    @ResponseBody
+    @PostMapping("/request-body-json-v6")
+    public DeferredResult<String> requestBodyJsonV6(HttpServletRequest request) {
+
+        return nonBlockingBodyReader.read(request, body -> {
+
+            HelloData helloData;
+
+            try {
+                helloData = helloDataCodec.read(body);
+            } catch (JsonProcessingException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage(), e);
+            }
+
+            log.info("username = {}, age = {}", helloData.getUsername(), helloData.getAge());
+
+            return "OK";
+        });
+    }
 }
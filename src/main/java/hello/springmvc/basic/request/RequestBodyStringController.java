@@ -1,5 +1,10 @@
 package hello.springmvc.basic.request;
 
+import hello.springmvc.basic.upload.BodySink;
+import hello.springmvc.basic.upload.StreamedBody;
+import hello.springmvc.basic.upload.StreamingBodyReader;
+import hello.springmvc.web.nio.NonBlockingBodyReader;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpEntity;
 import org.springframework.stereotype.Controller;
@@ -7,6 +12,7 @@ import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
@@ -26,8 +32,13 @@ import java.nio.charset.StandardCharsets;
  */
 @Slf4j
 @Controller
+@RequiredArgsConstructor
 public class RequestBodyStringController {
 
+    private final StreamingBodyReader streamingBodyReader;
+
+    private final NonBlockingBodyReader nonBlockingBodyReader;
+
     /**
      * HTTP 메시지 바디의 데이터를 InputStream 을 사용해서 직접 읽을 수 있다.
      *
@@ -120,4 +131,54 @@ public class RequestBodyStringController {
 
         return "OK";
     }
+
+    /**
+     * 스트리밍 - 바디를 문자로 만들지 않고 고정 크기 조각으로 처리
+     *
+     * v1 ~ v4 는 바디 전체를 String 으로 만든 뒤 통째로 로그에 남기므로, 수 MB 이상의 바디는 힙과 GC 에 부담이 된다.
+     * StreamingBodyReader 는 풀의 direct 버퍼로 조각씩 읽으면서 체크섬, 줄 수를 계산하고 BodySink 로 넘긴다.
+     *  - 바디 크기와 무관하게 메모리 사용량이 일정 (1GB 바디도 가능)
+     *  - hello.request-body.streaming.max-size 를 넘으면 413 (Content-Length 가 있으면 읽기 전에)
+     *  - 로그에는 앞부분만 (hello.request-body.capture-limit)
+     *
+     * @param request
+     * @return 바이트 수, 줄 수, CRC32C
+     * @throws IOException
+     */
+    @ResponseBody
+    @PostMapping("/request-body-string-v5")
+    public StreamedBody requestBodyStringV5(HttpServletRequest request) throws IOException {
+
+        StreamedBody messageBody = streamingBodyReader.read(request.getInputStream(), request.getContentLengthLong(), BodySink.DISCARD);
+
+        log.info("messageBody = {}", messageBody);
+
+        return messageBody;
+    }
+
+    /**
+     * 논블로킹 I/O - 바디가 도착할 때만 쓰레드 사용
+     *
+     * v1 ~ v4 는 바디가 다 도착할 때까지 컨테이너 쓰레드가 읽기에서 대기하므로,
+     * 바디를 천천히 보내는 클라이언트가 많으면 쓰레드가 모자라 다른 요청까지 밀린다.
+     * NonBlockingBodyReader 는 ReadListener 로 도착한 바이트만 읽고 쓰레드를 반납, 다 읽으면 DeferredResult 로 응답
+     *
+     * 느린 클라이언트 부하 테스트 : ./gradlew loadTest -PloadArgs="slowPath=/request-body-string-v1,/request-body-string-v6"
+     *
+     * @param request
+     * @return
+     */
+    @ResponseBody
+    @PostMapping("/request-body-string-v6")
+    public DeferredResult<String> requestBodyStringV6(HttpServletRequest request) {
+
+        return nonBlockingBodyReader.read(request, body -> {
+
+            String messageBody = new String(body, StandardCharsets.UTF_8);
+
+            log.info("messageBody = {}", messageBody);
+
+            return "OK";
+        });
+    }
 }
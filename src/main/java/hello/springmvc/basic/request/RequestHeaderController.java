@@ -1,5 +1,6 @@
 package hello.springmvc.basic.request;
 
+import hello.springmvc.web.header.RequestHeaders;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpMethod;
 import org.springframework.util.MultiValueMap;
@@ -72,4 +73,26 @@ public class RequestHeaderController {
 
         return "OK";
     }
+
+    /**
+     * RequestHeaders
+     * - 헤더, 쿠키를 필요할 때 하나씩 조회 (모든 헤더를 맵에 복사하지 않음)
+     * - 쿠키는 Cookie 헤더에서 요청한 이름만 찾는다. (모든 쿠키를 Cookie 객체로 만들지 않음)
+     * - HttpMethod, Locale 도 조회할 때 결정
+     *
+     * 헤더가 많은 요청에서 /headers 보다 할당이 적다. (HeaderAccessBenchmark)
+     *
+     * @param headers
+     * @return
+     */
+    @RequestMapping("/headers-v2")
+    public String headersV2(RequestHeaders headers) {
+
+        log.info("httpMethod = {}", headers.method());
+        log.info("locale = {}", headers.locale());
+        log.info("host = {}", headers.get("host"));
+        log.info("cookie = {}", headers.cookie("myCookie"));
+
+        return "OK";
+    }
 }
@@ -1,6 +1,7 @@
 package hello.springmvc.basic.request;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.web.param.RequestParams;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.ModelAttribute;
@@ -189,6 +190,31 @@ public class RequestParamController {
         return "OK";
     }
 
+    /**
+     * RequestParams 로 조회하기 - requestParamMapV2
+     *
+     * @RequestParam Map 은 모든 파라미터를 새 맵에 복사하지만, RequestParams 는 조회한 파라미터만 읽는다.
+     *  - 숫자는 getInt(name, 기본값) 처럼 primitive 로 바로 변환 (Integer 박싱 없음)
+     *  - 값이 없거나 빈 값이면 기본값, 숫자가 아니면 400
+     *
+     * 파라미터가 많은 요청에서 /request-param-map 보다 할당이 적다. (RequestParamBindingBenchmark)
+     *
+     * @param params
+     * @return
+     */
+    @ResponseBody
+    @RequestMapping("/request-param-map-v2")
+    public String requestParamMapV2(RequestParams params) {
+
+        String username = params.get("username");
+        int age = params.getInt("age", -1);
+
+        log.info("username = {}", username);
+        log.info("age = {}", age);
+
+        return "OK";
+    }
+
     /**
      * @ModelAttribute 사용
      *
@@ -1,34 +1,56 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.basic.user.User;
+import hello.springmvc.basic.user.UserForm;
+import hello.springmvc.basic.user.UserStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 회원 관리 API
+ *
+ * 회원은 UserStore 에 저장 (변경은 UserLog 로 디스크에 기록되어 재시작 후에도 유지)
  */
 @RestController
 @RequestMapping("/mapping/users")
+@RequiredArgsConstructor
 public class MappingClassController {
 
+    private final UserStore userStore;
+
     /**
      * 회원 목록 조회
      *
+     * @param limit 최대 건수 (순서 보장 X)
      * @return
      */
     @GetMapping
-    public String user() {
+    public List<User> user(@RequestParam(defaultValue = "100") int limit) {
 
-        return "get users";
+        return userStore.findAll(limit);
     }
 
     /**
      * 회원 등록
      *
+     * @param form
      * @return
      */
     @PostMapping
-    public String addUser() {
+    public ResponseEntity<User> addUser(@RequestBody UserForm form) {
+
+        if (form.getUsername() == null) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        return "post user";
+        int age = (form.getAge() != null) ? form.getAge() : 0;
+
+        return new ResponseEntity<>(userStore.save(form.getUsername(), age), HttpStatus.CREATED);
     }
 
     /**
@@ -38,21 +60,22 @@ public class MappingClassController {
      * @return
      */
     @GetMapping("/{userId}")
-    public String findUser(@PathVariable String userId) {
+    public ResponseEntity<User> findUser(@PathVariable long userId) {
 
-        return "get userId = " + userId;
+        return ResponseEntity.of(Optional.ofNullable(userStore.findById(userId)));
     }
 
     /**
      * 회원 수정
      *
      * @param userId
+     * @param form 값이 있는 항목만 반영
      * @return
      */
     @PatchMapping("/{userId}")
-    public String updateUser(@PathVariable String userId) {
+    public ResponseEntity<User> updateUser(@PathVariable long userId, @RequestBody UserForm form) {
 
-        return "update userId = " + userId;
+        return ResponseEntity.of(Optional.ofNullable(userStore.update(userId, form)));
     }
 
     /**
@@ -62,8 +85,12 @@ public class MappingClassController {
      * @return
      */
     @DeleteMapping("/{userId}")
-    public String deleteUser(@PathVariable String userId) {
+    public ResponseEntity<Void> deleteUser(@PathVariable long userId) {
+
+        if (userStore.delete(userId) == null) {
+            return ResponseEntity.notFound().build();
+        }
 
-        return "delete userId = " + userId;
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,17 +1,38 @@
 package hello.springmvc.basic.requestmapping;
 
+import hello.springmvc.basic.order.Order;
+import hello.springmvc.basic.order.OrderForm;
+import hello.springmvc.basic.order.OrderStore;
+import hello.springmvc.basic.user.UserStore;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * 요청 매핑
  */
 @RestController
+@RequiredArgsConstructor
 public class MappingController {
 
     private Logger log = LoggerFactory.getLogger(getClass());
 
+    private final UserStore userStore;
+    private final OrderStore orderStore;
+
+    /**
+     * 주문 범위 조회 한 번에 돌려주는 최대 건수 (limit 이 더 크면 이 값으로 줄인다.)
+     */
+    @Value("${hello.orders.max-limit:1000}")
+    private int maxOrdersLimit;
+
     /**
      * 기본 요청
      *
@@ -88,11 +109,59 @@ public class MappingController {
      * @return
      */
     @GetMapping("/mapping/user/{userId}/orders/{orderId}")
-    public String mappingPath(@PathVariable String userId, @PathVariable Long orderId) {
+    public ResponseEntity<Order> mappingPath(@PathVariable long userId, @PathVariable long orderId) {
 
         log.info("mappingPath userId = {}, orderId = {}", userId, orderId);
 
-        return "OK";
+        return ResponseEntity.of(Optional.ofNullable(orderStore.findById(userId, orderId)));
+    }
+
+    /**
+     * 회원의 주문 범위 조회
+     *
+     * 회원별 주문 id 정렬 인덱스에서 from ~ to 구간만 읽는다.
+     *  - 다음 페이지는 마지막 주문 id + 1 을 from 으로 다시 요청
+     *
+     * @param userId
+     * @param from 시작 주문 id (포함)
+     * @param to 끝 주문 id (포함)
+     * @param limit 최대 건수 (hello.orders.max-limit 까지)
+     * @return 주문 id 오름차순
+     */
+    @GetMapping("/mapping/user/{userId}/orders")
+    public List<Order> mappingOrders(@PathVariable long userId,
+                                     @RequestParam(defaultValue = "0") long from,
+                                     @RequestParam(defaultValue = "9223372036854775807") long to,
+                                     @RequestParam(defaultValue = "100") int limit) {
+
+        log.info("mappingOrders userId = {}, from = {}, to = {}, limit = {}", userId, from, to, limit);
+
+        return orderStore.findRange(userId, from, to, Math.min(limit, maxOrdersLimit));
+    }
+
+    /**
+     * 회원의 주문 등록
+     *
+     * 회원이 없으면 HTTP 404
+     *
+     * @param userId
+     * @param form
+     * @return
+     */
+    @PostMapping("/mapping/user/{userId}/orders")
+    public ResponseEntity<Order> addOrder(@PathVariable long userId, @RequestBody OrderForm form) {
+
+        if (userStore.findById(userId) == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (form.getItemName() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        int quantity = (form.getQuantity() != null) ? form.getQuantity() : 1;
+
+        return new ResponseEntity<>(orderStore.save(userId, form.getItemName(), quantity), HttpStatus.CREATED);
     }
 
     /**
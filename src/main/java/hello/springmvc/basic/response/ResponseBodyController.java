@@ -1,6 +1,7 @@
 package hello.springmvc.basic.response;
 
 import hello.springmvc.basic.HelloData;
+import hello.springmvc.web.cache.ResponseCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +21,9 @@ import java.io.IOException;
  * @RestController 어노테이션
  *  : 해당 컨트롤러에 모두 @ResponseBody 가 적용
  *  : 뷰 템플릿을 사용하는 것이 아니라, HTTP 메시지 바디에 직접 데이터를 입력
+ *
+ * JSON 변환은 ObjectMapper 빈을 사용하는 HTTP 메시지 컨버터가 수행 (JsonCodecConfig, HelloDataCodec 참고)
+ *  - 항상 같은 JSON 을 반환하는 핸들러는 @ResponseCache 로 변환 결과를 재사용
  */
 @Slf4j
 @Controller
@@ -69,6 +73,7 @@ public class ResponseBodyController {
      *
      * @return
      */
+    @ResponseCache
     @GetMapping("/response-body-json-v1")
     public ResponseEntity<HelloData> responseBodyJsonV1() {
 
@@ -86,6 +91,7 @@ public class ResponseBodyController {
      * 
      * @return
      */
+    @ResponseCache
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
     @GetMapping("/response-body-json-v2")
@@ -1,5 +1,6 @@
 package hello.springmvc.basic.response;
 
+import hello.springmvc.web.cache.ResponseCache;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,6 +26,7 @@ import org.springframework.web.servlet.ModelAndView;
  * 뷰 템플릿
  *  - 뷰 템플릿을 거쳐서 HTML 이 생성되고, 뷰가 응답을 만들어서 전달
  *  - 스프링 부트는 기본 뷰 템플릿 경로를 제공
+ *  - 모델이 항상 같은 v1, v2 는 @ResponseCache 로 렌더링 결과를 재사용 (GET 만)
  */
 @Controller
 public class ResponseViewController {
@@ -34,6 +36,7 @@ public class ResponseViewController {
      *
      * @return
      */
+    @ResponseCache
     @RequestMapping("/response-view-v1")
     public ModelAndView responseViewV1() {
 
@@ -54,6 +57,7 @@ public class ResponseViewController {
      * @param model
      * @return
      */
+    @ResponseCache
     @RequestMapping("/response-view-v2")
     public String responseViewV2(Model model) {
 
@@ -0,0 +1,55 @@
+package hello.springmvc.basic.upload;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 크기가 같은 direct ByteBuffer 풀
+ *
+ * 버퍼는 생성할 때 모두 할당하고 더 늘리지 않는다. (요청 수, 바디 크기와 무관하게 버퍼 메모리 = buffers * chunkSize)
+ * direct 버퍼라서 힙 / GC 대상이 아니고, 채널 (FileChannel, SocketChannel) 로 넘길 때 복사가 없다.
+ */
+class BodyBufferPool {
+
+    private final BlockingQueue<ByteBuffer> buffers;
+
+    BodyBufferPool(int count, int bufferSize) {
+
+        if (count <= 0 || bufferSize <= 0) {
+            throw new IllegalArgumentException("buffers, chunk-size 는 0 보다 커야 한다.");
+        }
+
+        this.buffers = new ArrayBlockingQueue<>(count);
+
+        for (int i = 0; i < count; i++) {
+            buffers.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+    }
+
+    /**
+     * @return 비워진 버퍼, timeoutMillis 안에 반납된 버퍼가 없으면 null
+     */
+    ByteBuffer acquire(long timeoutMillis) throws InterruptedException {
+
+        ByteBuffer buffer = buffers.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+
+        if (buffer != null) {
+            buffer.clear();
+        }
+
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        buffers.offer(buffer);
+    }
+
+    /**
+     * @return 지금 사용할 수 있는 버퍼 수
+     */
+    int available() {
+        return buffers.size();
+    }
+}
@@ -0,0 +1,23 @@
+package hello.springmvc.basic.upload;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * 스트리밍으로 읽은 바디 조각을 넘겨받는 곳 (파일, 다른 서버 ...)
+ *
+ * chunk 는 풀의 버퍼이므로 write() 안에서만 사용하고 보관하지 않는다. (반환 후 다음 조각으로 덮어씀)
+ */
+@FunctionalInterface
+public interface BodySink {
+
+    /**
+     * 바디를 버림 (체크섬, 줄 수만 필요할 때)
+     */
+    BodySink DISCARD = chunk -> chunk.position(chunk.limit());
+
+    /**
+     * @param chunk position ~ limit 이 이번 조각 (예: FileChannel.write(chunk))
+     */
+    void write(ByteBuffer chunk) throws IOException;
+}
@@ -0,0 +1,44 @@
+package hello.springmvc.basic.upload;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 스트리밍으로 읽은 바디 요약
+ *
+ * bytes : 전체 바이트 수
+ * lines : 줄 수 (마지막 줄이 줄바꿈으로 끝나지 않아도 한 줄)
+ * checksum : CRC32C (16진수 8자리)
+ * prefix : 로그용 앞부분 (hello.request-body.capture-limit 바이트까지, 응답에는 포함하지 않음)
+ */
+@Getter
+@RequiredArgsConstructor
+public class StreamedBody {
+
+    private final long bytes;
+    private final long lines;
+    private final String checksum;
+
+    @JsonIgnore
+    private final byte[] prefix;
+
+    /**
+     * 앞부분을 UTF-8 문자로 반환 (CapturingInputStream 과 같은 형식)
+     *
+     * 잘린 부분은 전체 길이만 표시
+     */
+    @Override
+    public String toString() {
+
+        String body = new String(prefix, StandardCharsets.UTF_8);
+
+        if (bytes > prefix.length) {
+            return body + "...(" + bytes + " bytes)";
+        }
+
+        return body;
+    }
+}
@@ -0,0 +1,28 @@
+package hello.springmvc.basic.upload;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * StreamingBodyReader 빈 등록
+ *
+ * 버퍼 풀은 애플리케이션에 하나 (buffers * chunk-size 만큼의 direct 메모리를 시작할 때 할당)
+ */
+@Configuration
+@EnableConfigurationProperties(StreamingBodyProperties.class)
+public class StreamingBodyConfig {
+
+    @Bean
+    public StreamingBodyReader streamingBodyReader(StreamingBodyProperties properties,
+                                                   @Value("${hello.request-body.capture-limit:256}") int captureLimit) {
+
+        BodyBufferPool pool = new BodyBufferPool(properties.getBuffers(), (int) properties.getChunkSize().toBytes());
+
+        return new StreamingBodyReader(pool,
+                properties.getMaxSize().toBytes(),
+                properties.getAcquireTimeout().toMillis(),
+                captureLimit);
+    }
+}
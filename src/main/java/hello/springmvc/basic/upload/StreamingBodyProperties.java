@@ -0,0 +1,35 @@
+package hello.springmvc.basic.upload;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 스트리밍 바디 읽기 설정 (hello.request-body.streaming.*)
+ */
+@Data
+@ConfigurationProperties("hello.request-body.streaming")
+public class StreamingBodyProperties {
+
+    /**
+     * 바디 최대 크기 (넘으면 413, Content-Length 가 있으면 읽기 전에 거절)
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(2);
+
+    /**
+     * 한 번에 처리하는 조각 크기 (버퍼 하나의 크기)
+     */
+    private DataSize chunkSize = DataSize.ofKilobytes(64);
+
+    /**
+     * 풀에 미리 만들어 두는 direct 버퍼 수 (= 동시에 스트리밍할 수 있는 요청 수)
+     */
+    private int buffers = 16;
+
+    /**
+     * 버퍼가 모두 사용 중일 때 기다리는 시간 (넘으면 503)
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+}
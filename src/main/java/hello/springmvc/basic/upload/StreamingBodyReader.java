@@ -0,0 +1,171 @@
+package hello.springmvc.basic.upload;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * HTTP 메시지 바디를 고정 크기 조각으로 읽으면서 처리 (바디 전체를 메모리에 올리지 않음)
+ *
+ * 조각마다
+ *  - CRC32C 체크섬, 줄 수 (\n) 계산
+ *  - 앞부분 captureLimit 바이트만 로그용으로 복사
+ *  - BodySink 로 전달
+ *
+ * 메모리
+ *  - 조각 버퍼는 BodyBufferPool 의 direct 버퍼를 빌려 쓰고 반납 (요청마다 새로 할당하지 않음)
+ *  - 요청마다 할당하는 것은 로그용 앞부분과 채널 어댑터 (Channels.newChannel, 8KB 이하 전달 버퍼) 뿐
+ *  => 바디 크기와 무관하게 사용 메모리가 일정
+ *
+ * 크기 제한
+ *  - Content-Length 가 maxSize 보다 크면 읽기 전에 413
+ *  - 길이를 모르는 요청 (chunked) 은 읽은 양이 maxSize 를 넘는 순간 413
+ */
+public class StreamingBodyReader {
+
+    private final BodyBufferPool pool;
+    private final long maxSize;
+    private final long acquireTimeoutMillis;
+    private final int captureLimit;
+
+    StreamingBodyReader(BodyBufferPool pool, long maxSize, long acquireTimeoutMillis, int captureLimit) {
+        this.pool = pool;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.captureLimit = Math.max(captureLimit, 0);
+    }
+
+    /**
+     * @param in 요청 바디
+     * @param contentLength Content-Length (모르면 -1)
+     * @param sink 조각을 넘겨받는 곳
+     * @return 바디 요약
+     * @throws ResponseStatusException 413 (크기 초과), 503 (버퍼 없음)
+     */
+    public StreamedBody read(InputStream in, long contentLength, BodySink sink) throws IOException {
+
+        if (contentLength > maxSize) {
+            throw tooLarge();
+        }
+
+        ByteBuffer buffer = acquire();
+
+        try {
+            return read(Channels.newChannel(in), buffer, sink);
+        } finally {
+            pool.release(buffer);
+        }
+    }
+
+    private StreamedBody read(ReadableByteChannel channel, ByteBuffer buffer, BodySink sink) throws IOException {
+
+        CRC32C checksum = new CRC32C();
+        byte[] prefix = new byte[captureLimit];
+        int prefixLength = 0;
+
+        long bytes = 0;
+        long lines = 0;
+        byte last = '\n';
+        boolean eof = false;
+
+        while (!eof) {
+
+            buffer.clear();
+            eof = fill(channel, buffer);
+            buffer.flip();
+
+            int length = buffer.remaining();
+
+            if (length == 0) {
+                break;
+            }
+
+            bytes += length;
+
+            if (bytes > maxSize) {
+                throw tooLarge();
+            }
+
+            if (prefixLength < prefix.length) {
+                int count = Math.min(length, prefix.length - prefixLength);
+                buffer.get(prefix, prefixLength, count);
+                buffer.position(0);
+                prefixLength += count;
+            }
+
+            lines += countLines(buffer);
+            last = buffer.get(length - 1);
+
+            checksum.update(buffer);
+            buffer.position(0);
+
+            sink.write(buffer);
+        }
+
+        if (last != '\n') {
+            lines++;
+        }
+
+        byte[] captured = (prefixLength == prefix.length) ? prefix : Arrays.copyOf(prefix, prefixLength);
+
+        return new StreamedBody(bytes, lines, String.format("%08x", checksum.getValue()), captured);
+    }
+
+    /**
+     * 버퍼가 가득 차거나 바디가 끝날 때까지 읽기 (조각 수를 줄여서 조각마다 드는 비용을 줄임)
+     *
+     * @return 바디 끝이면 true
+     */
+    private static boolean fill(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static long countLines(ByteBuffer buffer) {
+
+        long lines = 0;
+
+        for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+
+        return lines;
+    }
+
+    private ByteBuffer acquire() throws IOException {
+
+        ByteBuffer buffer;
+
+        try {
+            buffer = pool.acquire(acquireTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for a body buffer", e);
+        }
+
+        if (buffer == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "no body buffer available");
+        }
+
+        return buffer;
+    }
+
+    private ResponseStatusException tooLarge() {
+        return new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "request body exceeds " + maxSize + " bytes");
+    }
+}
@@ -0,0 +1,34 @@
+package hello.springmvc.basic.user;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * 회원
+ *
+ * 저장소에서 여러 쓰레드가 잠금 없이 읽으므로 불변 객체로 만들고, 수정은 새 객체로 교체
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class User {
+
+    private final long id;
+    private final String username;
+    private final int age;
+
+    /**
+     * form 에 값이 있는 항목만 바꾼 새 회원 객체를 반환
+     *
+     * @param form
+     * @return
+     */
+    public User update(UserForm form) {
+
+        String username = (form.getUsername() != null) ? form.getUsername() : this.username;
+        int age = (form.getAge() != null) ? form.getAge() : this.age;
+
+        return new User(id, username, age);
+    }
+}
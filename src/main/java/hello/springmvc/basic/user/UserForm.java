@@ -0,0 +1,17 @@
+package hello.springmvc.basic.user;
+
+import lombok.Data;
+
+/**
+ * 회원 등록 / 수정 요청
+ *
+ * {"username":"hello", "age":20}
+ *
+ * 수정 (PATCH) 은 값이 있는 항목만 반영하므로 age 는 null 을 받을 수 있는 Integer 사용
+ */
+@Data
+public class UserForm {
+
+    private String username;
+    private Integer age;
+}
@@ -0,0 +1,881 @@
+package hello.springmvc.basic.user;
+
+import hello.springmvc.support.LongObjectConcurrentMap;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * 회원 변경 기록 로그 (append-only)
+ *
+ * 파일 구성
+ *  - 세그먼트 파일 : {순번 20자리}.log, 가장 마지막 세그먼트에만 기록 (active), 나머지는 읽기 전용 (sealed)
+ *  - 레코드 : [payload 길이 int][payload CRC32 int][payload]
+ *    payload = PUT (1) id, age, username 길이, username (UTF-8) / DELETE (2) id
+ *
+ * 쓰기 - group commit
+ *  - 요청 쓰레드는 변경 작업을 큐에 넣고 기록이 끝날 때까지 대기
+ *  - 전용 쓰기 쓰레드가 큐에 쌓인 작업을 한 번에 꺼내서 순서대로 레코드를 인코딩하고,
+ *    FileChannel 로 한 번 쓰고 한 번 force (fsync) 한 뒤, 각 작업이 반환한 commit 으로 메모리에 반영하고 완료 처리
+ *  - 변경이 한 쓰레드에서 로그 순서대로 실행되므로, 복구 결과는 항상 메모리 상태와 같다.
+ *  - 메모리 반영은 fsync 가 끝난 뒤에만 일어나므로, 다른 요청은 기록되지 않은 값을 볼 수 없고
+ *    쓰기 / fsync 가 실패하면 메모리도 바뀌지 않는다.
+ *
+ * 복구
+ *  - 세그먼트를 mmap 으로 읽어서 순서대로 재실행
+ *  - 마지막 세그먼트 끝의 잘린 레코드 (쓰는 도중 종료) 는 CRC 로 감지해서 잘라낸다.
+ *
+ * 컴팩션
+ *  - 백그라운드에서 주기적으로 sealed 세그먼트를 모두 읽어 살아있는 회원만 새 세그먼트 하나로 다시 쓴다.
+ *    (이후 PATCH 로 덮어쓴 값, DELETE 로 지운 회원의 레코드는 사라진다.)
+ *  - {순번}.log.compacting 에 쓰고 -> .compacted 로 이름 변경 -> 이전 세그먼트 삭제 -> {순번}.log 로 이름 변경
+ *    중간에 종료되면 다음 시작 시 .compacting 은 버리고, .compacted 는 나머지 단계를 마저 수행
+ *
+ * 잠금
+ *  - open 시 디렉토리의 LOCK 파일에 배타적 FileLock 을 잡는다. (다른 프로세스 / 인스턴스가 같은 로그에 쓰지 못하도록)
+ */
+@Slf4j
+public class UserLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("(\\d{20})\\.log(\\.compacting|\\.compacted)?");
+    private static final String COMPACTING_SUFFIX = ".compacting";
+    private static final String COMPACTED_SUFFIX = ".compacted";
+    private static final String LOCK_FILE = "LOCK";
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_BATCH = 4096;
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private static final PendingWrite SHUTDOWN = new PendingWrite(null);
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final Duration compactionInterval;
+    private final int compactionMinSegments;
+
+    private final BlockingQueue<PendingWrite> queue = new ArrayBlockingQueue<>(MAX_BATCH * 16);
+
+    /**
+     * sealed 세그먼트 순번 (오름차순), segmentsLock 으로 보호
+     */
+    private final List<Long> sealedSegments = new ArrayList<>();
+    private final Object segmentsLock = new Object();
+
+    private FileChannel lockChannel;
+    private FileLock lock;
+
+    private Thread writer;
+    private ScheduledExecutorService compactor;
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // 아래는 쓰기 쓰레드만 사용
+    private FileChannel active;
+    private long activeSequence;
+    private RecordEncoder encoder;
+
+    public UserLog(Path directory, long segmentBytes, boolean fsync, Duration compactionInterval, int compactionMinSegments) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        this.compactionInterval = compactionInterval;
+        this.compactionMinSegments = Math.max(compactionMinSegments, 2);
+    }
+
+    /**
+     * 로그를 처음부터 재실행해서 sink 로 전달하고, 이후 쓰기를 시작
+     *
+     * @param sink 복구된 레코드를 받는 곳
+     * @throws IOException
+     */
+    public synchronized void open(RecordSink sink) throws IOException {
+
+        if (writer != null) {
+            throw new IllegalStateException("user log already opened");
+        }
+
+        long started = System.nanoTime();
+
+        Files.createDirectories(directory);
+
+        lock();
+
+        List<Long> segments;
+
+        try {
+            finishInterruptedCompaction();
+
+            segments = listSegments();
+
+            for (int i = 0; i < segments.size(); i++) {
+
+                Path path = segmentPath(segments.get(i));
+                boolean last = (i == segments.size() - 1);
+                long validBytes = replay(path, sink, last);
+
+                if (last && validBytes < Files.size(path)) {
+                    log.warn("truncating torn tail of {} at {} (size = {})", path, validBytes, Files.size(path));
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                        channel.truncate(validBytes);
+                    }
+                }
+            }
+
+            if (segments.isEmpty()) {
+                activeSequence = 1;
+            } else {
+                activeSequence = segments.get(segments.size() - 1);
+                synchronized (segmentsLock) {
+                    sealedSegments.addAll(segments.subList(0, segments.size() - 1));
+                }
+            }
+
+            active = openSegment(activeSequence);
+            encoder = new RecordEncoder(BUFFER_BYTES);
+        } catch (IOException | RuntimeException e) {
+            unlock();
+            throw e;
+        }
+
+        log.info("user log recovered {} segments from {} in {} ms",
+                segments.size(), directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        writer = new Thread(this::runWriter, "user-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long interval = compactionInterval.toMillis();
+        compactor.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 변경 작업을 로그 순서대로 실행하고, 기록 (fsync) 이 끝날 때까지 대기
+     *
+     * operation 은 쓰기 쓰레드에서 실행되며, 변경 내용을 sink 에 기록하고 메모리에 반영할 commit 을 반환한다.
+     * commit 은 기록 (fsync) 이 성공한 뒤에만 쓰기 쓰레드에서 실행된다.
+     *
+     * @param operation
+     */
+    public void write(Operation operation) {
+
+        if (closed) {
+            throw new IllegalStateException("user log closed");
+        }
+
+        IOException failed = failure;
+
+        if (failed != null) {
+            throw new UncheckedIOException("user log failed", failed);
+        }
+
+        PendingWrite pending = new PendingWrite(operation);
+
+        try {
+            queue.put(pending);
+            pending.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while writing user log", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * sealed 세그먼트를 하나로 합친다. (백그라운드에서 주기적으로 호출)
+     *
+     * @return 컴팩션을 수행했으면 true
+     * @throws IOException
+     */
+    public boolean compact() throws IOException {
+
+        List<Long> segments;
+
+        synchronized (segmentsLock) {
+            if (sealedSegments.size() < compactionMinSegments) {
+                return false;
+            }
+            segments = new ArrayList<>(sealedSegments);
+        }
+
+        long started = System.nanoTime();
+        long last = segments.get(segments.size() - 1);
+
+        LongObjectConcurrentMap<User> live = new LongObjectConcurrentMap<>(1, 1024);
+        LiveUsers liveUsers = new LiveUsers(live);
+
+        for (long sequence : segments) {
+            replay(segmentPath(sequence), liveUsers, false);
+        }
+
+        Path compacting = directory.resolve(segmentName(last) + COMPACTING_SUFFIX);
+        Path compacted = directory.resolve(segmentName(last) + COMPACTED_SUFFIX);
+
+        try (FileChannel out = FileChannel.open(compacting,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            RecordEncoder compactEncoder = new RecordEncoder(BUFFER_BYTES);
+
+            try {
+                live.forEachWhile((id, user) -> {
+                    compactEncoder.put(user);
+                    if (compactEncoder.size() >= BUFFER_BYTES / 2) {
+                        compactEncoder.flushTo(out);
+                    }
+                    return true;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            // 가장 큰 id 의 회원이 삭제되었다면 삭제 기록을 남겨서, 재시작 후 같은 id 가 다시 발급되지 않게 한다.
+            if (liveUsers.maxId > 0 && live.get(liveUsers.maxId) == null) {
+                compactEncoder.delete(liveUsers.maxId);
+            }
+
+            compactEncoder.flushTo(out);
+            out.force(true);
+        }
+
+        Files.move(compacting, compacted, StandardCopyOption.ATOMIC_MOVE);
+
+        for (long sequence : segments) {
+            Files.deleteIfExists(segmentPath(sequence));
+        }
+
+        Files.move(compacted, segmentPath(last), StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+
+        synchronized (segmentsLock) {
+            sealedSegments.removeAll(segments);
+            sealedSegments.add(0, last);
+        }
+
+        log.info("user log compacted {} segments into {} ({} users) in {} ms",
+                segments.size(), segmentName(last), live.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        return true;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (compactor != null) {
+            compactor.shutdownNow();
+        }
+
+        if (writer != null) {
+
+            try {
+                queue.put(SHUTDOWN);
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            PendingWrite pending;
+
+            while ((pending = queue.poll()) != null) {
+                pending.fail(new IOException("user log closed"));
+            }
+
+            try {
+                active.close();
+            } finally {
+                unlock();
+            }
+        }
+    }
+
+    private void runWriter() {
+
+        List<PendingWrite> batch = new ArrayList<>(MAX_BATCH);
+
+        while (true) {
+
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            queue.drainTo(batch, MAX_BATCH - 1);
+
+            boolean shutdown = writeBatch(batch);
+
+            batch.clear();
+
+            if (shutdown) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 종료 요청이 포함되어 있으면 true
+     */
+    private boolean writeBatch(List<PendingWrite> batch) {
+
+        boolean shutdown = false;
+        List<PendingWrite> written = new ArrayList<>(batch.size());
+
+        encoder.clear();
+
+        for (PendingWrite pending : batch) {
+
+            if (pending == SHUTDOWN) {
+                shutdown = true;
+                continue;
+            }
+
+            if (failure != null) {
+                pending.fail(failure);
+                continue;
+            }
+
+            int mark = encoder.size();
+
+            try {
+                pending.commit = pending.operation.apply(encoder);
+                written.add(pending);
+            } catch (RuntimeException e) {
+                encoder.reset(mark);
+                pending.fail(e);
+            }
+        }
+
+        long start = -1;
+
+        try {
+            start = active.position();
+
+            encoder.flushTo(active);
+
+            if (fsync) {
+                active.force(false);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // 메모리에는 반영하지 않고 (commit 을 실행하지 않음), 이번 배치가 쓴 부분도 되돌린다.
+            fail(e);
+            discardFrom(start);
+            for (PendingWrite pending : written) {
+                pending.fail(failure);
+            }
+            return shutdown;
+        }
+
+        for (PendingWrite pending : written) {
+            pending.commit();
+        }
+
+        try {
+            if (active.position() >= segmentBytes) {
+                roll();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // 이번 배치는 이미 기록되었으므로 이후 쓰기만 거절
+            fail(e);
+        }
+
+        return shutdown;
+    }
+
+    /**
+     * 실패한 배치가 쓴 부분을 잘라낸다. (재시작 후 복구 결과가 메모리와 같도록, 잘라내지 못하면 로그만 남김)
+     */
+    private void discardFrom(long position) {
+
+        if (position < 0) {
+            return;
+        }
+
+        try {
+            active.truncate(position);
+            active.position(position);
+        } catch (IOException e) {
+            log.error("could not discard failed batch from {} at {}", segmentName(activeSequence), position, e);
+        }
+    }
+
+    private void fail(Exception e) {
+
+        IOException cause = (e instanceof UncheckedIOException) ? ((UncheckedIOException) e).getCause() : (IOException) e;
+
+        log.error("user log write failed, rejecting further writes", cause);
+
+        failure = cause;
+    }
+
+    private void roll() throws IOException {
+
+        active.force(true);
+        active.close();
+
+        synchronized (segmentsLock) {
+            sealedSegments.add(activeSequence);
+        }
+
+        activeSequence++;
+        active = openSegment(activeSequence);
+        syncDirectory();
+    }
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.error("user log compaction failed", e);
+        }
+    }
+
+    /**
+     * 세그먼트 하나를 mmap 으로 읽어서 재실행
+     *
+     * @param allowTornTail 마지막 세그먼트면 true (끝부분의 깨진 레코드를 허용)
+     * @return 정상적으로 읽은 바이트 수
+     */
+    private long replay(Path path, RecordSink sink, boolean allowTornTail) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            long size = channel.size();
+
+            if (size == 0) {
+                return 0;
+            }
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("segment too large: " + path);
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            int position = 0;
+
+            while (position + HEADER_BYTES <= size) {
+
+                int length = mapped.getInt(position);
+                int checksum = mapped.getInt(position + 4);
+                int start = position + HEADER_BYTES;
+
+                if (length <= 0 || start + (long) length > size) {
+                    break;
+                }
+
+                ByteBuffer payload = mapped.duplicate();
+                payload.limit(start + length).position(start);
+
+                crc.reset();
+                crc.update(payload);
+
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                payload.position(start);
+                decode(payload, sink);
+
+                position = start + length;
+            }
+
+            if (position < size && !allowTornTail) {
+                throw new IOException("corrupted record in " + path + " at " + position);
+            }
+
+            return position;
+        }
+    }
+
+    private static void decode(ByteBuffer payload, RecordSink sink) throws IOException {
+
+        byte type = payload.get();
+        long id = payload.getLong();
+
+        if (type == DELETE) {
+            sink.delete(id);
+            return;
+        }
+
+        if (type != PUT) {
+            throw new IOException("unknown record type: " + type);
+        }
+
+        int age = payload.getInt();
+        int length = payload.getInt();
+        String username = null;
+
+        if (length >= 0) {
+            byte[] bytes = new byte[length];
+            payload.get(bytes);
+            username = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        sink.put(new User(id, username, age));
+    }
+
+    /**
+     * 디렉토리의 LOCK 파일에 배타적 잠금, 이미 다른 곳에서 잡고 있으면 IOException
+     */
+    private void lock() throws IOException {
+
+        Path path = directory.resolve(LOCK_FILE);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        if (lock == null) {
+            channel.close();
+            throw new IOException("user log directory " + directory + " is already locked");
+        }
+
+        lockChannel = channel;
+    }
+
+    private void unlock() throws IOException {
+
+        if (lockChannel == null) {
+            return;
+        }
+
+        try {
+            lock.release();
+        } finally {
+            lockChannel.close();
+            lockChannel = null;
+            lock = null;
+        }
+    }
+
+    private void finishInterruptedCompaction() throws IOException {
+
+        for (Path file : listFiles()) {
+
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+
+            if (!matcher.matches() || matcher.group(2) == null) {
+                continue;
+            }
+
+            if (COMPACTING_SUFFIX.equals(matcher.group(2))) {
+                log.warn("discarding unfinished compaction {}", file);
+                Files.delete(file);
+                continue;
+            }
+
+            long sequence = Long.parseLong(matcher.group(1));
+
+            log.warn("finishing interrupted compaction {}", file);
+
+            for (long segment : listSegments()) {
+                if (segment <= sequence) {
+                    Files.delete(segmentPath(segment));
+                }
+            }
+
+            Files.move(file, segmentPath(sequence), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private List<Long> listSegments() throws IOException {
+
+        List<Long> segments = new ArrayList<>();
+
+        for (Path file : listFiles()) {
+
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+
+            if (matcher.matches() && matcher.group(2) == null) {
+                segments.add(Long.parseLong(matcher.group(1)));
+            }
+        }
+
+        Collections.sort(segments);
+
+        return segments;
+    }
+
+    private List<Path> listFiles() throws IOException {
+
+        List<Path> files = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * 쓰기용 세그먼트 파일을 열고 끝으로 이동 (테스트에서 실패하는 채널로 바꿀 수 있도록 package-private)
+     */
+    FileChannel openSegment(long sequence) throws IOException {
+
+        FileChannel channel = FileChannel.open(segmentPath(sequence), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+        channel.position(channel.size());
+
+        return channel;
+    }
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve(segmentName(sequence));
+    }
+
+    private static String segmentName(long sequence) {
+        return String.format("%020d.log", sequence);
+    }
+
+    /**
+     * 파일 생성 / 이름 변경을 디렉토리에 반영 (지원하지 않는 OS 에서는 무시)
+     */
+    private void syncDirectory() {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("directory sync not supported: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로그에 기록하거나 로그에서 복구한 레코드를 받는 곳
+     */
+    public interface RecordSink {
+
+        void put(User user);
+
+        void delete(long id);
+    }
+
+    /**
+     * 쓰기 쓰레드에서 로그 순서대로 실행되는 변경 작업
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * 바뀔 내용을 sink 에 기록하고, 메모리에 반영하는 작업을 반환 (메모리는 여기서 바꾸지 않는다.)
+         *
+         * @param sink
+         * @return 기록 (fsync) 이 성공한 뒤 실행할 commit, 반영할 것이 없으면 null
+         */
+        Runnable apply(RecordSink sink);
+    }
+
+    private static final class PendingWrite {
+
+        final Operation operation;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Runnable commit;
+
+        PendingWrite(Operation operation) {
+            this.operation = operation;
+        }
+
+        void commit() {
+
+            try {
+                if (commit != null) {
+                    commit.run();
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+
+            future.complete(null);
+        }
+
+        void fail(Throwable cause) {
+            future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * 컴팩션용 : 살아있는 회원만 모으고, 지금까지 나온 가장 큰 id 를 기억
+     */
+    private static final class LiveUsers implements RecordSink {
+
+        final LongObjectConcurrentMap<User> live;
+        long maxId;
+
+        LiveUsers(LongObjectConcurrentMap<User> live) {
+            this.live = live;
+        }
+
+        @Override
+        public void put(User user) {
+            live.put(user.getId(), user);
+            maxId = Math.max(maxId, user.getId());
+        }
+
+        @Override
+        public void delete(long id) {
+            live.remove(id);
+            maxId = Math.max(maxId, id);
+        }
+    }
+
+    /**
+     * 레코드를 ByteBuffer (direct) 에 인코딩
+     */
+    private static final class RecordEncoder implements RecordSink {
+
+        private final CRC32 crc = new CRC32();
+        private ByteBuffer buffer;
+
+        RecordEncoder(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        @Override
+        public void put(User user) {
+
+            byte[] username = (user.getUsername() != null) ? user.getUsername().getBytes(StandardCharsets.UTF_8) : null;
+            int length = (username != null) ? username.length : 0;
+            int start = begin(1 + 8 + 4 + 4 + length);
+
+            buffer.put(PUT).putLong(user.getId()).putInt(user.getAge());
+
+            if (username != null) {
+                buffer.putInt(username.length).put(username);
+            } else {
+                buffer.putInt(-1);
+            }
+
+            end(start);
+        }
+
+        @Override
+        public void delete(long id) {
+
+            int start = begin(1 + 8);
+
+            buffer.put(DELETE).putLong(id);
+
+            end(start);
+        }
+
+        int size() {
+            return buffer.position();
+        }
+
+        void reset(int size) {
+            buffer.position(size);
+        }
+
+        void clear() {
+            buffer.clear();
+        }
+
+        void flushTo(FileChannel channel) {
+
+            buffer.flip();
+
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                buffer.clear();
+            }
+        }
+
+        private int begin(int payloadBytes) {
+
+            int required = HEADER_BYTES + payloadBytes;
+
+            if (buffer.remaining() < required) {
+
+                ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + required));
+
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+
+            int start = buffer.position();
+
+            buffer.position(start + HEADER_BYTES);
+
+            return start;
+        }
+
+        private void end(int start) {
+
+            int end = buffer.position();
+            int payloadStart = start + HEADER_BYTES;
+
+            ByteBuffer payload = buffer.duplicate();
+            payload.limit(end).position(payloadStart);
+
+            crc.reset();
+            crc.update(payload);
+
+            buffer.putInt(start, end - payloadStart);
+            buffer.putInt(start + 4, (int) crc.getValue());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package hello.springmvc.basic.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 회원 로그 설정 (hello.users.log.*)
+ */
+@Data
+@ConfigurationProperties("hello.users.log")
+public class UserLogProperties {
+
+    /**
+     * false 면 메모리에만 저장 (재시작하면 사라짐)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 세그먼트 파일을 둘 디렉토리
+     */
+    private String dir = "data/users";
+
+    /**
+     * 세그먼트가 이 크기를 넘으면 새 세그먼트로 넘어감
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 묶어서 쓴 뒤 매번 fsync 할지 여부 (false 면 OS 가 내려쓸 때까지 유실 가능)
+     */
+    private boolean fsync = true;
+
+    /**
+     * 컴팩션 검사 주기
+     */
+    private Duration compactionInterval = Duration.ofMinutes(1);
+
+    /**
+     * sealed 세그먼트가 이 개수 이상일 때만 컴팩션
+     */
+    private int compactionMinSegments = 2;
+}
@@ -0,0 +1,208 @@
+package hello.springmvc.basic.user;
+
+import hello.springmvc.support.LongObjectConcurrentMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 회원 저장소
+ *
+ * 회원 id (long) -> User 를 LongObjectConcurrentMap 에 저장
+ *  - 키를 박싱하지 않고 엔트리마다 Node 객체도 만들지 않으므로, 수백만 명도 작은 메모리로 보관
+ *  - 조회는 잠금 없이 수행, 수정은 세그먼트 단위로만 잠금
+ *
+ * UserLog 를 지정하면 변경 (등록 / 수정 / 삭제) 을 디스크에 기록하고, 시작할 때 로그에서 복구
+ *  - 변경은 로그의 쓰기 쓰레드에서 로그 순서대로 실행되고, 기록 (fsync) 이 끝난 뒤에 메모리에 반영하고 반환
+ *  - 조회는 로그와 관계없이 메모리에서 바로 수행 (기록이 끝나지 않은 변경은 보이지 않음)
+ *
+ * 빈 등록은 UserStoreConfig 참고
+ */
+public class UserStore {
+
+    private final LongObjectConcurrentMap<User> users = new LongObjectConcurrentMap<>(256, 1 << 16);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final UserLog userLog;
+
+    /**
+     * 기록 중 (fsync 전) 인 변경, 쓰기 쓰레드만 사용
+     *  - 같은 배치의 뒤쪽 작업이 앞쪽 작업의 결과를 보도록 메모리보다 먼저 확인
+     *  - 삭제는 null 값으로 표시, commit 에서 같은 값일 때만 제거
+     */
+    private final Map<Long, User> staged = new HashMap<>();
+
+    /**
+     * 메모리 전용 저장소
+     */
+    public UserStore() {
+        this.userLog = null;
+    }
+
+    /**
+     * 로그에서 복구한 뒤, 이후 변경을 로그에 기록하는 저장소
+     *
+     * @param userLog 아직 열지 않은 로그
+     * @throws IOException
+     */
+    public UserStore(UserLog userLog) throws IOException {
+
+        this.userLog = userLog;
+
+        userLog.open(new UserLog.RecordSink() {
+
+            @Override
+            public void put(User user) {
+                users.put(user.getId(), user);
+                sequence.accumulateAndGet(user.getId(), Math::max);
+            }
+
+            @Override
+            public void delete(long id) {
+                users.remove(id);
+                sequence.accumulateAndGet(id, Math::max);
+            }
+        });
+    }
+
+    public User save(String username, int age) {
+
+        User user = new User(sequence.incrementAndGet(), username, age);
+
+        if (userLog == null) {
+            users.put(user.getId(), user);
+            return user;
+        }
+
+        userLog.write(sink -> {
+            sink.put(user);
+            return stage(user.getId(), user);
+        });
+
+        return user;
+    }
+
+    /**
+     * @param id
+     * @return 회원, 없으면 null
+     */
+    public User findById(long id) {
+        return users.get(id);
+    }
+
+    /**
+     * 회원 목록 조회 (순서 보장 X)
+     *
+     * @param limit 최대 건수
+     * @return
+     */
+    public List<User> findAll(int limit) {
+
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        List<User> result = new ArrayList<>(Math.min(limit, users.size()));
+
+        users.forEachWhile((id, user) -> {
+            result.add(user);
+            return result.size() < limit;
+        });
+
+        return result;
+    }
+
+    /**
+     * @param id
+     * @param form 값이 있는 항목만 반영
+     * @return 수정된 회원, 없으면 null
+     */
+    public User update(long id, UserForm form) {
+
+        if (userLog == null) {
+            return users.computeIfPresent(id, user -> user.update(form));
+        }
+
+        User[] updated = new User[1];
+
+        userLog.write(sink -> {
+
+            User current = current(id);
+
+            if (current == null) {
+                return null;
+            }
+
+            updated[0] = current.update(form);
+            sink.put(updated[0]);
+
+            return stage(id, updated[0]);
+        });
+
+        return updated[0];
+    }
+
+    /**
+     * @param id
+     * @return 삭제된 회원, 없으면 null
+     */
+    public User delete(long id) {
+
+        if (userLog == null) {
+            return users.remove(id);
+        }
+
+        User[] deleted = new User[1];
+
+        userLog.write(sink -> {
+
+            deleted[0] = current(id);
+
+            if (deleted[0] == null) {
+                return null;
+            }
+
+            sink.delete(id);
+
+            return stage(id, null);
+        });
+
+        return deleted[0];
+    }
+
+    /**
+     * 쓰기 쓰레드에서 기록 중인 변경까지 반영한 회원
+     */
+    private User current(long id) {
+        return staged.containsKey(id) ? staged.get(id) : users.get(id);
+    }
+
+    /**
+     * @param user 삭제면 null
+     * @return fsync 후 메모리에 반영하는 commit
+     */
+    private Runnable stage(long id, User user) {
+
+        staged.put(id, user);
+
+        return () -> {
+
+            if (user != null) {
+                users.put(id, user);
+            } else {
+                users.remove(id);
+            }
+
+            staged.remove(id, user);
+        };
+    }
+
+    public int size() {
+        return users.size();
+    }
+}
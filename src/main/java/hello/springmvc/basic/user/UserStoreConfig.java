@@ -0,0 +1,39 @@
+package hello.springmvc.basic.user;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * UserStore 빈 등록
+ *
+ * hello.users.log.enabled=true (기본) 이면 UserLog 로 복구 / 기록하고, false 면 메모리 전용
+ */
+@Configuration
+@EnableConfigurationProperties(UserLogProperties.class)
+public class UserStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "hello.users.log", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public UserLog userLog(UserLogProperties properties) {
+
+        return new UserLog(Paths.get(properties.getDir()),
+                properties.getSegmentSize().toBytes(),
+                properties.isFsync(),
+                properties.getCompactionInterval(),
+                properties.getCompactionMinSegments());
+    }
+
+    @Bean
+    public UserStore userStore(ObjectProvider<UserLog> userLog) throws IOException {
+
+        UserLog log = userLog.getIfAvailable();
+
+        return (log != null) ? new UserStore(log) : new UserStore();
+    }
+}
@@ -0,0 +1,45 @@
+package hello.springmvc.binary;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * JSON 외의 바이너리 형식 (Accept / Content-Type 으로 선택)
+ *
+ *  - application/cbor : CBOR
+ *  - application/x-jackson-smile : Smile
+ *  - application/vnd.hello.hello-data : HelloData 전용 형식 (HelloDataBinaryFormat)
+ *
+ * CBOR, Smile 컨버터는 JSON 과 같은 설정 (Jackson2ObjectMapperBuilder 빈, BlackbirdModule 포함) 으로 만들고,
+ * 빈으로 등록하면 스프링 부트가 같은 타입의 기본 컨버터 자리에 넣는다. (JSON 뒤)
+ *
+ * HelloData 전용 컨버터는 목록 맨 뒤에 추가한다.
+ *  => Accept 가 없거나 *\/* 이면 지금처럼 JSON
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new HelloDataBinaryHttpMessageConverter());
+    }
+}
@@ -0,0 +1,215 @@
+package hello.springmvc.binary;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HelloData 전용 바이너리 형식 (스키마 고정, 필드 이름 없음)
+ *
+ * 필드 순서가 스키마이므로 JSON / CBOR / Smile 과 달리 필드 이름을 싣지 않는다.
+ *
+ * 형식 (버전 1)
+ *  - 1 바이트 : 버전 (1)
+ *  - username : varint (UTF-8 바이트 수 + 1, 0 이면 null) + UTF-8 바이트
+ *  - age : zigzag varint (작은 음수도 1 바이트)
+ *
+ * 예) {"username":"hello","age":20} (29 바이트) -> 01 06 68 65 6c 6c 6f 28 (8 바이트)
+ */
+public final class HelloDataBinaryFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.hello.hello-data";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    static final int VERSION = 1;
+
+    /**
+     * username 최대 바이트 수 (잘못된 길이로 큰 배열을 할당하지 않도록)
+     */
+    static final int MAX_STRING_LENGTH = 64 * 1024;
+
+    private HelloDataBinaryFormat() {
+    }
+
+    public static void write(OutputStream out, HelloData helloData) throws IOException {
+
+        byte[] username = (helloData.getUsername() != null) ? helloData.getUsername().getBytes(StandardCharsets.UTF_8) : null;
+
+        out.write(VERSION);
+
+        if (username == null) {
+            writeVarint(out, 0);
+        } else {
+            writeVarint(out, username.length + 1);
+            out.write(username);
+        }
+
+        writeVarint(out, zigzag(helloData.getAge()));
+    }
+
+    public static byte[] writeAsBytes(HelloData helloData) {
+
+        byte[] username = (helloData.getUsername() != null) ? helloData.getUsername().getBytes(StandardCharsets.UTF_8) : null;
+        int usernameLength = (username != null) ? username.length : 0;
+        int lengthPrefix = (username != null) ? usernameLength + 1 : 0;
+        int age = zigzag(helloData.getAge());
+
+        byte[] bytes = new byte[1 + varintSize(lengthPrefix) + usernameLength + varintSize(age)];
+        int position = 0;
+
+        bytes[position++] = VERSION;
+        position = putVarint(bytes, position, lengthPrefix);
+
+        if (username != null) {
+            System.arraycopy(username, 0, bytes, position, usernameLength);
+            position += usernameLength;
+        }
+
+        putVarint(bytes, position, age);
+
+        return bytes;
+    }
+
+    /**
+     * @return 인코딩한 바이트 수 (Content-Length)
+     */
+    public static int size(HelloData helloData) {
+
+        String username = helloData.getUsername();
+        int usernameLength = (username != null) ? utf8Length(username) : 0;
+
+        return 1 + varintSize((username != null) ? usernameLength + 1 : 0) + usernameLength + varintSize(zigzag(helloData.getAge()));
+    }
+
+    public static HelloData read(InputStream in) throws IOException {
+
+        int version = in.read();
+
+        if (version != VERSION) {
+            throw (version < 0) ? new EOFException("empty hello-data") : new IOException("unsupported hello-data version " + version);
+        }
+
+        HelloData helloData = new HelloData();
+
+        int lengthPrefix = readVarint(in);
+
+        if (lengthPrefix > 0) {
+
+            int length = lengthPrefix - 1;
+
+            if (length > MAX_STRING_LENGTH) {
+                throw new IOException("username too long: " + length + " bytes");
+            }
+
+            byte[] username = in.readNBytes(length);
+
+            if (username.length != length) {
+                throw new EOFException("truncated username");
+            }
+
+            helloData.setUsername(new String(username, StandardCharsets.UTF_8));
+        }
+
+        helloData.setAge(unzigzag(readVarint(in)));
+
+        return helloData;
+    }
+
+    public static HelloData read(byte[] bytes) throws IOException {
+        return read(new ByteArrayInputStream(bytes));
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(OutputStream out, int value) throws IOException {
+
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        out.write(value);
+    }
+
+    private static int putVarint(byte[] bytes, int position, int value) {
+
+        while ((value & ~0x7f) != 0) {
+            bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        bytes[position++] = (byte) value;
+
+        return position;
+    }
+
+    private static int readVarint(InputStream in) throws IOException {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+
+            int b = in.read();
+
+            if (b < 0) {
+                throw new EOFException("truncated varint");
+            }
+
+            value |= (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("malformed varint");
+    }
+
+    private static int varintSize(int value) {
+
+        int size = 1;
+
+        while ((value & ~0x7f) != 0) {
+            value >>>= 7;
+            size++;
+        }
+
+        return size;
+    }
+
+    private static int utf8Length(String value) {
+
+        int length = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+
+            char c = value.charAt(i);
+
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // 짝이 없는 surrogate 는 getBytes(UTF_8) 가 '?' (1 바이트) 로 바꾼다.
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,48 @@
+package hello.springmvc.binary;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * HelloData <-> application/vnd.hello.hello-data (HelloDataBinaryFormat)
+ *
+ * @RequestBody HelloData : Content-Type 이 이 형식이면 사용
+ * @ResponseBody HelloData : Accept 가 이 형식이면 사용 (Content-Length 설정)
+ */
+public class HelloDataBinaryHttpMessageConverter extends AbstractHttpMessageConverter<HelloData> {
+
+    public HelloDataBinaryHttpMessageConverter() {
+        super(HelloDataBinaryFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return HelloData.class == clazz;
+    }
+
+    @Override
+    protected HelloData readInternal(Class<? extends HelloData> clazz, HttpInputMessage inputMessage) throws IOException {
+
+        try {
+            return HelloDataBinaryFormat.read(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid hello-data: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(HelloData helloData, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(HelloDataBinaryFormat.writeAsBytes(helloData));
+    }
+
+    @Override
+    protected Long getContentLength(HelloData helloData, MediaType contentType) {
+        return (long) HelloDataBinaryFormat.size(helloData);
+    }
+}
@@ -0,0 +1,82 @@
+package hello.springmvc.json;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * HelloData 전용 JSON 변환기
+ *
+ * ObjectMapper 빈에서 HelloData 전용 ObjectReader / ObjectWriter 를 미리 만들어 두고 재사용
+ *  - 호출할 때마다 타입으로 (역)직렬화기를 찾는 과정을 생략
+ *  - 애플리케이션 시작 시점에 한 번 변환해서, 첫 요청이 (역)직렬화기 생성 비용을 내지 않도록 캐시를 채워 둔다.
+ *    (HTTP 메시지 컨버터도 같은 ObjectMapper 를 사용하므로 @RequestBody, @ResponseBody 경로도 함께 준비된다.)
+ *
+ * ObjectReader, ObjectWriter 는 불변 객체라서 여러 쓰레드에서 공유해도 안전
+ */
+@Slf4j
+@Component
+public class HelloDataCodec {
+
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+
+    public HelloDataCodec(ObjectMapper objectMapper) throws IOException {
+
+        this.reader = objectMapper.readerFor(HelloData.class);
+        this.writer = objectMapper.writerFor(HelloData.class);
+
+        warmUp();
+    }
+
+    public HelloData read(InputStream inputStream) throws IOException {
+        return reader.readValue(inputStream);
+    }
+
+    public HelloData read(String json) throws IOException {
+        return reader.readValue(json);
+    }
+
+    public HelloData read(byte[] json) throws IOException {
+        return reader.readValue(json);
+    }
+
+    /**
+     * 여러 개의 HelloData 가 이어진 스트림 (예: NDJSON) 을 한 건씩 읽는 iterator
+     *
+     * @param inputStream
+     * @return
+     * @throws IOException
+     */
+    public MappingIterator<HelloData> readValues(InputStream inputStream) throws IOException {
+        return reader.readValues(inputStream);
+    }
+
+    public void write(OutputStream outputStream, HelloData helloData) throws IOException {
+        writer.writeValue(outputStream, helloData);
+    }
+
+    public byte[] writeAsBytes(HelloData helloData) throws IOException {
+        return writer.writeValueAsBytes(helloData);
+    }
+
+    private void warmUp() throws IOException {
+
+        HelloData helloData = new HelloData();
+
+        helloData.setUsername("warm-up");
+        helloData.setAge(1);
+
+        HelloData copy = read(writeAsBytes(helloData));
+
+        log.debug("HelloData codec warmed up = {}", copy);
+    }
+}
@@ -0,0 +1,24 @@
+package hello.springmvc.json;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 애플리케이션 공통 JSON 설정
+ *
+ * 스프링 부트는 Module 타입 빈을 찾아서 ObjectMapper 빈에 등록하고,
+ * HTTP 메시지 컨버터 (MappingJackson2HttpMessageConverter) 도 같은 ObjectMapper 빈을 사용한다.
+ *  => 컨트롤러에서 직접 변환하는 경우에도 new ObjectMapper() 대신 ObjectMapper 빈 (또는 HelloDataCodec) 을 주입받아 사용
+ *
+ * BlackbirdModule
+ *  : 게터/세터/생성자 호출을 리플렉션 대신 LambdaMetafactory 로 생성한 접근자로 바꿔서 직렬화/역직렬화 비용을 줄인다.
+ */
+@Configuration
+public class JsonCodecConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,541 @@
+package hello.springmvc.support;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * long 키 -> 객체 동시성 해시 맵
+ *
+ * ConcurrentHashMap&lt;Long, V&gt; 와 달리
+ *  - 키를 Long 으로 박싱하지 않고 long[] 에 그대로 저장
+ *  - 엔트리마다 Node 객체를 만들지 않고 long[] keys + Object[] values 두 배열에 오픈 어드레싱 (선형 탐사) 으로 저장
+ *   => 엔트리당 약 16 ~ 21 바이트 (부하율 0.75 기준)
+ *
+ * 동시성
+ *  - 키의 해시로 세그먼트 (stripe) 를 고르고, 쓰기는 세그먼트 단위로 잠금
+ *  - 읽기는 잠금 없이 수행 (절대 대기하지 않음)
+ *    : 쓰기는 값을 먼저 기록하고 키를 나중에 기록 (release), 읽기는 키를 읽은 뒤 값을 읽는다 (acquire)
+ *    : 삭제는 키를 남겨두고 값을 TOMBSTONE 으로 바꾼다. 한 테이블에서 같은 슬롯의 키는 절대 바뀌지 않는다.
+ *    : 테이블이 가득 차면 새 테이블을 만들어 한 번에 교체 (volatile), 읽는 중이던 쓰레드는 이전 테이블을 계속 안전하게 읽는다.
+ *
+ * 키 0 은 빈 슬롯 표시에 사용하므로 세그먼트의 별도 필드에 저장
+ *
+ * @param <V> 값 타입
+ */
+public class LongObjectConcurrentMap<V> {
+
+    private static final long EMPTY = 0L;
+    private static final Object TOMBSTONE = new Object();
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    public LongObjectConcurrentMap() {
+        this(64, 1024);
+    }
+
+    /**
+     * @param stripes 세그먼트 수 (2 의 거듭제곱으로 올림)
+     * @param initialCapacity 예상 엔트리 수
+     */
+    public LongObjectConcurrentMap(int stripes, int initialCapacity) {
+
+        if (stripes <= 0 || initialCapacity < 0) {
+            throw new IllegalArgumentException("stripes = " + stripes + ", initialCapacity = " + initialCapacity);
+        }
+
+        int segmentCount = ceilingPowerOfTwo(stripes);
+        int segmentCapacity = tableCapacity(Math.max(initialCapacity / segmentCount, 1));
+
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * 잠금 없이 조회
+     *
+     * @param key
+     * @return 값, 없으면 null
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+
+        long hash = hash(key);
+        Segment segment = segmentFor(hash);
+
+        if (key == EMPTY) {
+            return (V) segment.zeroValue;
+        }
+
+        Table table = segment.table;
+        long[] keys = table.keys;
+        Object[] values = table.values;
+        int mask = keys.length - 1;
+
+        for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+
+            long k = (long) KEYS.getAcquire(keys, i);
+
+            if (k == key) {
+                Object value = VALUES.getAcquire(values, i);
+                return (value == TOMBSTONE) ? null : (V) value;
+            }
+
+            if (k == EMPTY) {
+                return null;
+            }
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * @param key
+     * @param value null 불가
+     * @return 이전 값, 없었으면 null
+     */
+    public V put(long key, V value) {
+        return segmentFor(hash(key)).put(key, hash(key), requireValue(value), false);
+    }
+
+    /**
+     * @param key
+     * @param value null 불가
+     * @return 이미 있던 값 (이 경우 저장하지 않음), 없었으면 null
+     */
+    public V putIfAbsent(long key, V value) {
+        return segmentFor(hash(key)).put(key, hash(key), requireValue(value), true);
+    }
+
+    /**
+     * 값이 없을 때만 mappingFunction 으로 만든 값을 저장
+     *
+     * mappingFunction 은 세그먼트 잠금을 잡은 상태에서 호출되므로 짧게 유지하고, 이 맵을 다시 호출하지 않아야 한다.
+     *
+     * @param key
+     * @param mappingFunction
+     * @return 현재 값 (이미 있던 값 또는 새로 저장한 값)
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+
+        V value = get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        return segmentFor(hash(key)).computeIfAbsent(key, hash(key), mappingFunction);
+    }
+
+    /**
+     * 값이 있을 때만 remappingFunction 의 결과로 교체 (결과가 null 이면 삭제)
+     *
+     * remappingFunction 은 세그먼트 잠금을 잡은 상태에서 호출되므로 짧게 유지하고, 이 맵을 다시 호출하지 않아야 한다.
+     *
+     * @param key
+     * @param remappingFunction
+     * @return 새 값, 값이 없었거나 삭제되었으면 null
+     */
+    public V computeIfPresent(long key, UnaryOperator<V> remappingFunction) {
+        return segmentFor(hash(key)).computeIfPresent(key, hash(key), remappingFunction);
+    }
+
+    /**
+     * @param key
+     * @return 삭제된 값, 없었으면 null
+     */
+    public V remove(long key) {
+        return segmentFor(hash(key)).remove(key, hash(key));
+    }
+
+    public int size() {
+
+        int size = 0;
+
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * 모든 엔트리를 순회 (순서 보장 X)
+     *
+     * 잠금 없이 세그먼트별 테이블 스냅샷을 순회하므로, 순회 중 변경된 엔트리는 포함될 수도 있고 아닐 수도 있다.
+     *
+     * @param visitor false 를 반환하면 순회 중단
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachWhile(EntryVisitor<? super V> visitor) {
+
+        for (Segment segment : segments) {
+
+            Object zeroValue = segment.zeroValue;
+
+            if (zeroValue != null && !visitor.visit(EMPTY, (V) zeroValue)) {
+                return;
+            }
+
+            Table table = segment.table;
+            long[] keys = table.keys;
+            Object[] values = table.values;
+
+            for (int i = 0; i < keys.length; i++) {
+
+                long k = (long) KEYS.getAcquire(keys, i);
+
+                if (k == EMPTY) {
+                    continue;
+                }
+
+                Object value = VALUES.getAcquire(values, i);
+
+                if (value != TOMBSTONE && !visitor.visit(k, (V) value)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Segment segmentFor(long hash) {
+        return (segments.length == 1) ? segments[0] : segments[(int) (hash >>> segmentShift)];
+    }
+
+    private static <V> V requireValue(V value) {
+
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+
+        return value;
+    }
+
+    /**
+     * murmur3 fmix64 : 연속된 id 도 테이블 전체에 고르게 퍼지도록 섞는다.
+     */
+    private static long hash(long key) {
+
+        long h = key;
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    private static int ceilingPowerOfTwo(int n) {
+        return (n <= 1) ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    private static int tableCapacity(int expectedSize) {
+        return ceilingPowerOfTwo((int) Math.ceil(expectedSize / LOAD_FACTOR) + 1);
+    }
+
+    /**
+     * 엔트리 순회 콜백
+     *
+     * @param <V>
+     */
+    @FunctionalInterface
+    public interface EntryVisitor<V> {
+
+        /**
+         * @return 계속 순회하려면 true
+         */
+        boolean visit(long key, V value);
+    }
+
+    private static final class Table {
+
+        final long[] keys;
+        final Object[] values;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+        }
+    }
+
+    /**
+     * 쓰기는 모두 synchronized (this) 로 직렬화
+     */
+    private static final class Segment {
+
+        volatile Table table;
+        volatile Object zeroValue;
+        volatile int size;
+
+        /**
+         * 키가 기록된 슬롯 수 (살아있는 엔트리 + TOMBSTONE)
+         */
+        int used;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <V> V put(long key, long hash, Object value, boolean onlyIfAbsent) {
+
+            if (key == EMPTY) {
+
+                Object previous = zeroValue;
+
+                if (previous == null) {
+                    zeroValue = value;
+                    size++;
+                } else if (!onlyIfAbsent) {
+                    zeroValue = value;
+                }
+
+                return (V) previous;
+            }
+
+            int slot = findSlot(key, hash);
+            Table table = this.table;
+            Object previous = (slot >= 0) ? table.values[slot] : null;
+
+            if (previous != null && previous != TOMBSTONE) {
+
+                if (!onlyIfAbsent) {
+                    VALUES.setRelease(table.values, slot, value);
+                }
+
+                return (V) previous;
+            }
+
+            insert(key, hash, value, slot);
+
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <V> V computeIfAbsent(long key, long hash, LongFunction<? extends V> mappingFunction) {
+
+            if (key == EMPTY) {
+
+                if (zeroValue == null) {
+
+                    V value = mappingFunction.apply(key);
+
+                    if (value != null) {
+                        zeroValue = value;
+                        size++;
+                    }
+                }
+
+                return (V) zeroValue;
+            }
+
+            int slot = findSlot(key, hash);
+            Object current = (slot >= 0) ? table.values[slot] : null;
+
+            if (current != null && current != TOMBSTONE) {
+                return (V) current;
+            }
+
+            V value = mappingFunction.apply(key);
+
+            if (value != null) {
+                insert(key, hash, value, slot);
+            }
+
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <V> V computeIfPresent(long key, long hash, UnaryOperator<V> remappingFunction) {
+
+            if (key == EMPTY) {
+
+                if (zeroValue == null) {
+                    return null;
+                }
+
+                V value = remappingFunction.apply((V) zeroValue);
+
+                zeroValue = value;
+
+                if (value == null) {
+                    size--;
+                }
+
+                return value;
+            }
+
+            int slot = findSlot(key, hash);
+
+            if (slot < 0) {
+                return null;
+            }
+
+            Table table = this.table;
+            Object current = table.values[slot];
+
+            if (current == TOMBSTONE) {
+                return null;
+            }
+
+            V value = remappingFunction.apply((V) current);
+
+            if (value == null) {
+                VALUES.setRelease(table.values, slot, TOMBSTONE);
+                size--;
+            } else {
+                VALUES.setRelease(table.values, slot, value);
+            }
+
+            return value;
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <V> V remove(long key, long hash) {
+
+            if (key == EMPTY) {
+
+                Object previous = zeroValue;
+
+                if (previous != null) {
+                    zeroValue = null;
+                    size--;
+                }
+
+                return (V) previous;
+            }
+
+            int slot = findSlot(key, hash);
+
+            if (slot < 0) {
+                return null;
+            }
+
+            Table table = this.table;
+            Object previous = table.values[slot];
+
+            if (previous == TOMBSTONE) {
+                return null;
+            }
+
+            VALUES.setRelease(table.values, slot, TOMBSTONE);
+            size--;
+
+            return (V) previous;
+        }
+
+        /**
+         * @return 키가 있는 슬롯 (TOMBSTONE 포함), 없으면 -1
+         */
+        private int findSlot(long key, long hash) {
+
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+
+                long k = keys[i];
+
+                if (k == key) {
+                    return i;
+                }
+
+                if (k == EMPTY) {
+                    return -1;
+                }
+            }
+        }
+
+        /**
+         * @param slot 같은 키의 TOMBSTONE 슬롯, 없으면 -1
+         */
+        private void insert(long key, long hash, Object value, int slot) {
+
+            if (slot >= 0) {
+                // 같은 키의 TOMBSTONE 슬롯은 그대로 재사용 (키가 바뀌지 않으므로 읽기에 안전)
+                VALUES.setRelease(this.table.values, slot, value);
+                size++;
+                return;
+            }
+
+            if (used + 1 > table.keys.length * LOAD_FACTOR) {
+                rehash();
+            }
+
+            Table table = this.table;
+            long[] keys = table.keys;
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+
+            while (keys[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+
+            // 값을 먼저, 키를 나중에 기록해야 읽는 쪽이 키를 보고 값을 놓치지 않는다.
+            VALUES.setRelease(table.values, i, value);
+            KEYS.setRelease(keys, i, key);
+
+            used++;
+            size++;
+        }
+
+        /**
+         * TOMBSTONE 을 정리한 새 테이블로 교체 (살아있는 엔트리가 많으면 크기를 두 배로)
+         */
+        private void rehash() {
+
+            Table old = this.table;
+            int capacity = old.keys.length;
+
+            if (size + 1 > capacity * LOAD_FACTOR / 2) {
+                capacity <<= 1;
+            }
+
+            Table table = new Table(capacity);
+            int mask = capacity - 1;
+            int live = 0;
+
+            for (int j = 0; j < old.keys.length; j++) {
+
+                long k = old.keys[j];
+                Object value = old.values[j];
+
+                if (k == EMPTY || value == TOMBSTONE) {
+                    continue;
+                }
+
+                int i = (int) hash(k) & mask;
+
+                while (table.keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+
+                table.keys[i] = k;
+                table.values[i] = value;
+                live++;
+            }
+
+            // volatile 쓰기로 교체 : 위의 일반 쓰기가 새 테이블을 읽는 쪽에 모두 보인다.
+            this.used = live;
+            this.table = table;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package hello.springmvc.support.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+
+/**
+ * LogLevelEscalation 으로 레벨이 지정된 쓰레드의 로그를 logger 레벨과 무관하게 출력
+ *
+ * 로그 이벤트를 만들기 전 (logger 레벨 비교 전) 에 호출되므로
+ *  - 지정된 쓰레드가 없으면 : 카운터만 읽고 NEUTRAL (기존 레벨 비교 그대로)
+ *  - 지정된 쓰레드 : 지정 레벨 이상이고 허용된 logger 면 ACCEPT
+ *
+ * logback-spring.xml 예)
+ *  <turboFilter class="hello.springmvc.support.logging.EscalationTurboFilter">
+ *      <loggers>hello.springmvc</loggers>
+ *  </turboFilter>
+ */
+public class EscalationTurboFilter extends TurboFilter {
+
+    /**
+     * 레벨을 올릴 수 있는 logger 이름 (하위 logger 포함)
+     */
+    private String[] loggers = {"hello.springmvc"};
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+
+        if (!LogLevelEscalation.isActive()) {
+            return FilterReply.NEUTRAL;
+        }
+
+        Level escalated = LogLevelEscalation.get();
+
+        if (escalated == null || level == null || !level.isGreaterOrEqual(escalated) || !isAllowed(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        return FilterReply.ACCEPT;
+    }
+
+    private boolean isAllowed(String name) {
+
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || name.charAt(prefix.length()) == '.')) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param loggers 쉼표로 구분한 logger 이름
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,76 @@
+package hello.springmvc.support.logging;
+
+import ch.qos.logback.classic.Level;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 요청 (쓰레드) 단위 로그 레벨 상향
+ *
+ * 현재 쓰레드에 레벨을 지정하면 EscalationTurboFilter 가 그 레벨 이상의 로그를 logging.level.* 과 무관하게 출력한다.
+ *  - 지정한 쓰레드에서만 적용되므로 다른 요청의 로그 양은 그대로
+ *  - 지정된 쓰레드가 하나도 없으면 EscalationTurboFilter 는 카운터 하나만 읽고 바로 반환 (ThreadLocal 조회 없음)
+ *
+ * 사용 예)
+ *  LogLevelEscalation.set(Level.DEBUG);
+ *  try {
+ *      ...
+ *  } finally {
+ *      LogLevelEscalation.clear();
+ *  }
+ */
+public final class LogLevelEscalation {
+
+    private static final ThreadLocal<Level> LEVEL = new ThreadLocal<>();
+
+    /**
+     * 레벨이 지정된 쓰레드 수
+     */
+    private static final AtomicInteger active = new AtomicInteger();
+
+    private LogLevelEscalation() {
+    }
+
+    /**
+     * @return 레벨이 지정된 쓰레드가 하나라도 있으면 true
+     */
+    public static boolean isActive() {
+        return active.get() != 0;
+    }
+
+    /**
+     * @return 현재 쓰레드에 지정된 레벨 (없으면 null)
+     */
+    public static Level get() {
+        return LEVEL.get();
+    }
+
+    /**
+     * 현재 쓰레드에 레벨 지정 (null 이면 해제)
+     */
+    public static void set(Level level) {
+
+        Level previous = LEVEL.get();
+
+        if (level == null) {
+            if (previous != null) {
+                LEVEL.remove();
+                active.decrementAndGet();
+            }
+            return;
+        }
+
+        if (previous == null) {
+            active.incrementAndGet();
+        }
+
+        LEVEL.set(level);
+    }
+
+    /**
+     * 현재 쓰레드의 레벨 해제
+     */
+    public static void clear() {
+        set(null);
+    }
+}
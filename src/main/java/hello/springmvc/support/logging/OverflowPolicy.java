@@ -0,0 +1,17 @@
+package hello.springmvc.support.logging;
+
+/**
+ * 링 버퍼가 가득 찼을 때의 처리
+ */
+public enum OverflowPolicy {
+
+    /**
+     * INFO 이하 이벤트는 버리고 개수만 센다. (WARN, ERROR 는 자리가 날 때까지 대기)
+     */
+    DROP,
+
+    /**
+     * 모든 이벤트가 자리가 날 때까지 대기 (요청 쓰레드가 출력 속도에 묶임)
+     */
+    BLOCK
+}
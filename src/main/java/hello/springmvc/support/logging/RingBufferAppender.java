@@ -0,0 +1,340 @@
+package hello.springmvc.support.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 비동기 로그 appender
+ *
+ * 요청 쓰레드는 미리 만들어 둔 슬롯 (RingBufferEvent) 에 값을 복사만 하고 반환,
+ * 출력 쓰레드 하나가 슬롯을 순서대로 꺼내서 하위 appender (appender-ref) 로 출력
+ *  - 여러 쓰레드가 동시에 쓸 수 있는 고정 크기 링 버퍼 (잠금 없음)
+ *  - 큐 노드, 이벤트 복사본을 만들지 않으므로 ch.qos.logback.classic.AsyncAppender 보다 할당이 적다.
+ *  - 가득 차면 policy 에 따라 버리거나 (DROP) 대기 (BLOCK)
+ *
+ * logback-spring.xml 예)
+ *  <appender name="ASYNC" class="hello.springmvc.support.logging.RingBufferAppender">
+ *      <capacity>8192</capacity>
+ *      <policy>DROP</policy>
+ *      <appender-ref ref="CONSOLE"/>
+ *  </appender>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int SPINS = 100;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int capacity = 8192;
+    private OverflowPolicy policy = OverflowPolicy.DROP;
+    private boolean deferFormatting = false;
+    private int maxFlushTime = 1000;
+
+    private RingBufferEvent[] slots;
+    private int mask;
+
+    /**
+     * 다음에 쓸 위치 (요청 쓰레드들이 CAS 로 차지)
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * 다음에 읽을 위치 (출력 쓰레드만 사용)
+     */
+    private long head;
+
+    private final LongAdder dropped = new LongAdder();
+    private long reportedDropped;
+
+    private volatile boolean running;
+    private volatile boolean sleeping;
+    private Thread worker;
+
+    @Override
+    public void start() {
+
+        if (isStarted()) {
+            return;
+        }
+
+        if (appenders.iteratorForAppenders().hasNext() == false) {
+            addError("No appender-ref configured for [" + name + "]");
+            return;
+        }
+
+        if (capacity < 2) {
+            addError("Invalid capacity [" + capacity + "] for [" + name + "]");
+            return;
+        }
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+
+        slots = new RingBufferEvent[size];
+        mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            slots[i] = new RingBufferEvent(i);
+        }
+
+        tail.set(0);
+        head = 0;
+        running = true;
+
+        worker = new Thread(this::drainLoop, "log-ring-" + name);
+        worker.setDaemon(true);
+        worker.start();
+
+        super.start();
+        addInfo("Started [" + name + "] with capacity " + size + ", policy " + policy);
+    }
+
+    @Override
+    public void stop() {
+
+        if (isStarted() == false) {
+            return;
+        }
+
+        super.stop();
+
+        running = false;
+        LockSupport.unpark(worker);
+
+        try {
+            worker.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive()) {
+            addWarn("Max flush time (" + maxFlushTime + " ms) exceeded, " + (tail.get() - head) + " events may be discarded");
+        }
+
+        appenders.detachAndStopAllAppenders();
+    }
+
+    /**
+     * 요청 쓰레드에서 호출
+     */
+    @Override
+    protected void append(ILoggingEvent event) {
+
+        boolean mayDrop = (policy == OverflowPolicy.DROP) && !event.getLevel().isGreaterOrEqual(Level.WARN);
+        int spins = 0;
+
+        while (offer(event) == false) {
+
+            if (mayDrop || Thread.currentThread().isInterrupted()) {
+                dropped.increment();
+                return;
+            }
+
+            if (spins++ < SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * @return 가득 차서 쓰지 못했으면 false
+     */
+    private boolean offer(ILoggingEvent event) {
+
+        long position = tail.get();
+
+        for (;;) {
+
+            RingBufferEvent slot = slots[(int) (position & mask)];
+            long diff = slot.sequence - position;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slot.copyFrom(event, deferFormatting);
+                    slot.sequence = position + 1;
+                    wakeUpWorker();
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                // 한 바퀴 전 이벤트를 아직 출력하지 않음
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void wakeUpWorker() {
+        if (sleeping) {
+            sleeping = false;
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * 출력 쓰레드
+     */
+    private void drainLoop() {
+
+        while (running || isReady(head)) {
+
+            if (drain() == 0) {
+                reportDropped();
+
+                sleeping = true;
+                if (isReady(head) == false && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+            }
+        }
+
+        reportDropped();
+    }
+
+    /**
+     * @return 출력한 이벤트 수
+     */
+    private int drain() {
+
+        int count = 0;
+
+        while (isReady(head)) {
+
+            RingBufferEvent slot = slots[(int) (head & mask)];
+
+            try {
+                appenders.appendLoopOnAppenders(slot);
+            } catch (RuntimeException e) {
+                addError("Failed to append event", e);
+            }
+
+            slot.clear();
+            slot.sequence = head + slots.length;
+            head++;
+            count++;
+        }
+
+        return count;
+    }
+
+    private boolean isReady(long position) {
+        return slots[(int) (position & mask)].sequence == position + 1;
+    }
+
+    /**
+     * 버린 이벤트가 있으면 하위 appender 로 WARN 로그를 남긴다.
+     */
+    private void reportDropped() {
+
+        long total = dropped.sum();
+
+        if (total == reportedDropped) {
+            return;
+        }
+
+        Logger logger = ((LoggerContext) getContext()).getLogger(RingBufferAppender.class);
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, Level.WARN,
+                "{} log events dropped by [{}] (total {})", null, new Object[]{total - reportedDropped, name, total});
+
+        appenders.appendLoopOnAppenders(event);
+        reportedDropped = total;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param capacity 슬롯 수 (2 의 거듭제곱으로 올림)
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public void setPolicy(OverflowPolicy policy) {
+        this.policy = policy;
+    }
+
+    public boolean isDeferFormatting() {
+        return deferFormatting;
+    }
+
+    /**
+     * @param deferFormatting true 면 인자가 모두 불변 타입 (String, 숫자, enum, java.time ...) 인 이벤트만 출력 쓰레드에서 포맷팅
+     */
+    public void setDeferFormatting(boolean deferFormatting) {
+        this.deferFormatting = deferFormatting;
+    }
+
+    public int getMaxFlushTime() {
+        return maxFlushTime;
+    }
+
+    /**
+     * @param maxFlushTime 종료 시 남은 이벤트를 출력하며 기다릴 최대 시간 (ms)
+     */
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,189 @@
+package hello.springmvc.support.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.LoggerContextVO;
+import org.slf4j.Marker;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 링 버퍼의 슬롯
+ *
+ * 애플리케이션 시작 시 한 번만 만들고, 로그 이벤트의 값을 복사해서 재사용
+ *  - 요청 쓰레드에서 만든 LoggingEvent 는 복사 직후 버려지므로 young 영역에서 바로 회수된다.
+ *  - 하위 appender 는 append 가 끝난 뒤 이벤트를 보관하면 안 된다. (Console, File appender 는 보관하지 않음)
+ */
+final class RingBufferEvent implements ILoggingEvent {
+
+    /**
+     * 포맷팅을 출력 쓰레드로 미뤄도 되는 인자 타입 (그 외 java.time, enum, null)
+     */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, UUID.class);
+
+    /**
+     * 쓰기 완료 표시 (링 버퍼의 위치 + 1 이면 읽을 수 있음)
+     */
+    volatile long sequence;
+
+    private Level level;
+    private String loggerName;
+    private String threadName;
+    private String message;
+    private Object[] argumentArray;
+    private String formattedMessage;
+    private IThrowableProxy throwableProxy;
+    private Marker marker;
+    private Map<String, String> mdcPropertyMap;
+    private LoggerContextVO loggerContextVO;
+    private long timeStamp;
+
+    RingBufferEvent(long sequence) {
+        this.sequence = sequence;
+    }
+
+    /**
+     * 요청 쓰레드에서 호출
+     *
+     * @param event
+     * @param deferFormatting true 면 메시지 포맷팅을 출력 쓰레드로 미룬다
+     *                        인자 중 불변 타입이 아닌 것이 있으면 (출력 전에 바뀔 수 있음) 미루지 않고 바로 포맷팅
+     */
+    void copyFrom(ILoggingEvent event, boolean deferFormatting) {
+        level = event.getLevel();
+        loggerName = event.getLoggerName();
+        threadName = event.getThreadName();
+        message = event.getMessage();
+        argumentArray = event.getArgumentArray();
+        formattedMessage = (deferFormatting && isImmutable(argumentArray)) ? null : event.getFormattedMessage();
+        throwableProxy = event.getThrowableProxy();
+        marker = event.getMarker();
+        mdcPropertyMap = event.getMDCPropertyMap();
+        loggerContextVO = event.getLoggerContextVO();
+        timeStamp = event.getTimeStamp();
+    }
+
+    private static boolean isImmutable(Object[] arguments) {
+
+        if (arguments == null) {
+            return true;
+        }
+
+        for (Object argument : arguments) {
+
+            if (argument == null) {
+                continue;
+            }
+
+            Class<?> type = argument.getClass();
+
+            if (!IMMUTABLE_TYPES.contains(type) && !(argument instanceof Enum) && !type.getName().startsWith("java.time.")) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * 출력 후 참조를 끊어서 슬롯이 객체를 붙잡고 있지 않도록 함
+     */
+    void clear() {
+        message = null;
+        argumentArray = null;
+        formattedMessage = null;
+        throwableProxy = null;
+        marker = null;
+        mdcPropertyMap = null;
+    }
+
+    @Override
+    public String getThreadName() {
+        return threadName;
+    }
+
+    @Override
+    public Level getLevel() {
+        return level;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public Object[] getArgumentArray() {
+        return argumentArray;
+    }
+
+    @Override
+    public String getFormattedMessage() {
+
+        if (formattedMessage == null) {
+            formattedMessage = (argumentArray == null) ? message : MessageFormatter.arrayFormat(message, argumentArray).getMessage();
+        }
+
+        return formattedMessage;
+    }
+
+    @Override
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    @Override
+    public LoggerContextVO getLoggerContextVO() {
+        return loggerContextVO;
+    }
+
+    @Override
+    public IThrowableProxy getThrowableProxy() {
+        return throwableProxy;
+    }
+
+    @Override
+    public StackTraceElement[] getCallerData() {
+        return CallerData.EMPTY_CALLER_DATA_ARRAY;
+    }
+
+    @Override
+    public boolean hasCallerData() {
+        return false;
+    }
+
+    @Override
+    public Marker getMarker() {
+        return marker;
+    }
+
+    @Override
+    public Map<String, String> getMDCPropertyMap() {
+        return mdcPropertyMap;
+    }
+
+    @Override
+    @Deprecated
+    public Map<String, String> getMdc() {
+        return mdcPropertyMap;
+    }
+
+    @Override
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    @Override
+    public void prepareForDeferredProcessing() {
+        getFormattedMessage();
+    }
+}
@@ -0,0 +1,22 @@
+package hello.springmvc.web;
+
+/**
+ * 핸들러 실행 방식
+ */
+public enum HandlerExecutionMode {
+
+    /**
+     * 서블릿 컨테이너 (Tomcat) 워커 쓰레드에서 그대로 실행 (스프링 기본)
+     */
+    PLATFORM,
+
+    /**
+     * 크기가 정해진 전용 쓰레드 풀에서 실행 (Callable 과 같은 비동기 처리)
+     */
+    BOUNDED,
+
+    /**
+     * 요청마다 가상 쓰레드에서 실행 (JDK 21 이상, 지원하지 않으면 BOUNDED)
+     */
+    VIRTUAL
+}
@@ -0,0 +1,38 @@
+package hello.springmvc.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 핸들러 실행 방식 설정 (hello.mvc.execution.*)
+ */
+@Data
+@ConfigurationProperties("hello.mvc.execution")
+public class HandlerExecutionProperties {
+
+    private HandlerExecutionMode mode = HandlerExecutionMode.PLATFORM;
+
+    /**
+     * BOUNDED 쓰레드 풀 크기
+     */
+    private int maxThreads = 200;
+
+    /**
+     * BOUNDED 대기열 크기 (가득 차면 요청 실패)
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * 전용 executor 에서 실행하는 핸들러의 제한 시간 (넘으면 503), 0 이하면 제한 없음
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * 전용 executor 에서 실행할 컨트롤러의 패키지 (하위 패키지 포함)
+     */
+    private List<String> packages = new ArrayList<>(List.of("hello.springmvc.basic"));
+}
@@ -0,0 +1,139 @@
+package hello.springmvc.web;
+
+import ch.qos.logback.classic.Level;
+import hello.springmvc.support.logging.LogLevelEscalation;
+import org.springframework.context.i18n.LocaleContext;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 핸들러를 전용 executor 에서 실행하는 RequestMappingHandlerAdapter
+ *
+ * 핸들러가 Callable 을 반환한 것과 같이 처리
+ *  1. 컨테이너 쓰레드 : 핸들러 호출 (인자 바인딩 + 메서드 실행) 을 WebAsyncTask 로 감싸서 반환 -> 비동기 시작, 쓰레드 반납
+ *  2. executor 쓰레드 : 인자 바인딩 (요청 바디 읽기 포함) 과 메서드 실행
+ *  3. 컨테이너 쓰레드 (async dispatch) : 반환값 처리 (메시지 컨버터, 뷰 렌더링)
+ *  => 요청 바디를 느리게 보내는 클라이언트가 있어도 컨테이너 쓰레드를 붙잡지 않는다.
+ *
+ * 다음 경우는 기존과 같이 바로 실행
+ *  - 대상 패키지 밖의 컨트롤러
+ *  - 이미 비동기 타입 (Callable, DeferredResult ...) 을 반환하는 핸들러
+ *  - 비동기를 지원하지 않는 요청 (async-supported 가 아닌 필터 / 서블릿을 거친 경우)
+ *
+ * 제한 시간 (hello.mvc.execution.timeout) 을 넘으면 AsyncRequestTimeoutException (503), 0 이하면 제한 없음
+ *
+ * Server-Timing 측정 요청이면 인자 바인딩 / 핸들러 실행 시간은 executor 쓰레드에서 기록 (PhaseTimingInvocableHandlerMethod)
+ */
+public class OffloadingRequestMappingHandlerAdapter extends PhaseTimingRequestMappingHandlerAdapter {
+
+    private final AsyncTaskExecutor executor;
+
+    private final List<String> packages;
+
+    /**
+     * WebAsyncTask 제한 시간 (밀리초), -1 이면 제한 없음
+     */
+    private final long timeoutMillis;
+
+    public OffloadingRequestMappingHandlerAdapter(AsyncTaskExecutor executor, List<String> packages, Duration timeout) {
+        this.executor = executor;
+        this.packages = packages;
+        this.timeoutMillis = (timeout == null || timeout.isZero() || timeout.isNegative()) ? -1 : timeout.toMillis();
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+
+        if (!isOffloaded(handlerMethod)) {
+            return super.createInvocableHandlerMethod(handlerMethod);
+        }
+
+        return new OffloadingInvocableHandlerMethod(handlerMethod);
+    }
+
+    private boolean isOffloaded(HandlerMethod handlerMethod) {
+
+        Class<?> returnType = handlerMethod.getReturnType().getParameterType();
+
+        if (Callable.class.isAssignableFrom(returnType)
+                || DeferredResult.class.isAssignableFrom(returnType)
+                || WebAsyncTask.class.isAssignableFrom(returnType)
+                || CompletionStage.class.isAssignableFrom(returnType)
+                || ResponseBodyEmitter.class.isAssignableFrom(returnType)
+                || StreamingResponseBody.class.isAssignableFrom(returnType)) {
+            return false;
+        }
+
+        String className = handlerMethod.getBeanType().getName();
+
+        for (String name : packages) {
+            if (className.startsWith(name + ".")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private class OffloadingInvocableHandlerMethod extends PhaseTimingInvocableHandlerMethod {
+
+        OffloadingInvocableHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+
+        @Override
+        public Object invokeForRequest(NativeWebRequest request, ModelAndViewContainer mavContainer, Object... providedArgs) throws Exception {
+
+            HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+
+            if (servletRequest == null || !servletRequest.isAsyncSupported()
+                    || WebAsyncUtils.getAsyncManager(request).hasConcurrentResult()) {
+                return super.invokeForRequest(request, mavContainer, providedArgs);
+            }
+
+            RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+            LocaleContext localeContext = LocaleContextHolder.getLocaleContext();
+            Level logLevel = LogLevelEscalation.get();
+
+            Callable<Object> invocation = () -> {
+
+                // 핸들러나 인자 리졸버가 RequestContextHolder / LocaleContextHolder 를 사용할 수 있도록 옮겨 준다.
+                RequestContextHolder.setRequestAttributes(requestAttributes);
+                LocaleContextHolder.setLocaleContext(localeContext);
+                // 요청 단위 로그 레벨 (LogEscalationFilter)
+                LogLevelEscalation.set(logLevel);
+
+                try {
+                    return OffloadingInvocableHandlerMethod.super.invokeForRequest(request, mavContainer, providedArgs);
+                } catch (InterruptedException e) {
+                    // 제한 시간이 지나면 작업을 interrupt 로 취소한다. 핸들러가 interrupt 로 먼저 실패해도 타임아웃 (503) 으로 응답
+                    throw new AsyncRequestTimeoutException();
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                    LocaleContextHolder.resetLocaleContext();
+                    LogLevelEscalation.clear();
+                }
+            };
+
+            return new WebAsyncTask<>(timeoutMillis, executor, invocation);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package hello.springmvc.web;
+
+import hello.springmvc.web.timing.ServerTiming;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 인자 바인딩 / 핸들러 실행 시간을 ServerTiming 에 기록하는 ServletInvocableHandlerMethod
+ *
+ * 측정 대상 (ServerTimingFilter) 이 아닌 요청은 요청 속성 하나만 조회하고 그대로 호출
+ */
+public class PhaseTimingInvocableHandlerMethod extends ServletInvocableHandlerMethod {
+
+    public PhaseTimingInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        super(handlerMethod);
+    }
+
+    @Override
+    public Object invokeForRequest(NativeWebRequest request, ModelAndViewContainer mavContainer, Object... providedArgs) throws Exception {
+
+        ServerTiming timing = serverTiming(request);
+
+        if (timing == null) {
+            return super.invokeForRequest(request, mavContainer, providedArgs);
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return super.invokeForRequest(request, mavContainer, providedArgs);
+        } finally {
+            timing.invoked(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    protected Object[] getMethodArgumentValues(NativeWebRequest request, ModelAndViewContainer mavContainer, Object... providedArgs) throws Exception {
+
+        ServerTiming timing = serverTiming(request);
+
+        if (timing == null) {
+            return super.getMethodArgumentValues(request, mavContainer, providedArgs);
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            return super.getMethodArgumentValues(request, mavContainer, providedArgs);
+        } finally {
+            timing.addArgs(System.nanoTime() - start);
+        }
+    }
+
+    private static ServerTiming serverTiming(NativeWebRequest request) {
+
+        HttpServletRequest servletRequest = request.getNativeRequest(HttpServletRequest.class);
+
+        return (servletRequest != null) ? ServerTiming.get(servletRequest) : null;
+    }
+}
@@ -0,0 +1,18 @@
+package hello.springmvc.web;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+/**
+ * 핸들러 호출을 PhaseTimingInvocableHandlerMethod 로 하는 RequestMappingHandlerAdapter
+ *
+ * Server-Timing 측정 요청 (hello.mvc.server-timing) 의 인자 바인딩 / 핸들러 실행 시간을 기록
+ */
+public class PhaseTimingRequestMappingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        return new PhaseTimingInvocableHandlerMethod(handlerMethod);
+    }
+}
@@ -0,0 +1,203 @@
+package hello.springmvc.web;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * URL 패턴을 경로 세그먼트 ('/' 사이) 단위로 나눠 담은 trie
+ *
+ * 세그먼트 종류
+ *  - 리터럴 (users, request-param-v1 ...) : 자식 Map 에서 바로 찾음
+ *  - 경로 변수 ({userId}, {id:\d+}) : 어떤 세그먼트든 한 개와 대응하는 자식 하나
+ *  - 그 외 (**, {*path}, *.html, 인코딩이 필요한 문자 ...) : 이 노드 이후 모든 경로의 후보 (catch-all)
+ *
+ * 요청 세그먼트는 디코딩해서 리터럴과 비교 (PathPattern 과 같이 %77 == w)
+ *
+ * 조회 결과는 "패턴이 일치할 수도 있는" 후보일 뿐이며, 실제 일치 여부는 호출한 쪽에서 다시 확인해야 한다.
+ * 대신 일치할 수 있는 패턴은 빠짐없이 포함한다.
+ *
+ * 조회 비용은 경로 길이 (세그먼트 수) 에 비례하고, 등록된 패턴 수와는 거의 무관
+ * 등록은 단일 쓰레드에서 모두 끝낸 뒤 조회만 하는 용도 (등록이 바뀌면 새로 만든다)
+ */
+class RouteTrie<T> {
+
+    private final Node<T> root = new Node<>();
+
+    void add(String pattern, T value) {
+
+        Node<T> node = root;
+
+        for (String segment : segments(pattern, false)) {
+
+            if (isVariable(segment)) {
+                node = node.variable();
+            } else if (isLiteral(segment)) {
+                node = node.literal(segment);
+            } else {
+                node.catchAll = append(node.catchAll, value);
+                return;
+            }
+        }
+
+        node.terminal = append(node.terminal, value);
+    }
+
+    /**
+     * @param path 요청 경로 (URL 인코딩된 상태 그대로)
+     * @return 후보 (중복 없음, 순서 보장 X)
+     */
+    List<T> candidates(String path) {
+
+        List<T> result = new ArrayList<>(4);
+
+        collect(root, segments(path, true), 0, result);
+
+        return result;
+    }
+
+    private void collect(Node<T> node, List<String> segments, int index, List<T> result) {
+
+        addAll(node.catchAll, result);
+
+        if (index == segments.size()) {
+            addAll(node.terminal, result);
+            return;
+        }
+
+        Node<T> literal = node.literals.isEmpty() ? null : node.literals.get(decode(segments.get(index)));
+
+        if (literal != null) {
+            collect(literal, segments, index + 1, result);
+        }
+
+        if (node.variable != null) {
+            collect(node.variable, segments, index + 1, result);
+        }
+    }
+
+    /**
+     * PathPattern 은 리터럴 세그먼트를 디코딩한 값과 비교한다. (ne%77 -> new)
+     */
+    private static String decode(String segment) {
+
+        if (segment.indexOf('%') < 0) {
+            return segment;
+        }
+
+        try {
+            return StringUtils.uriDecode(segment, StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            // 잘못된 인코딩 - 리터럴과는 일치하지 않음 (경로 변수 / catch-all 후보만)
+            return segment;
+        }
+    }
+
+    private static <T> void addAll(List<T> values, List<T> result) {
+        for (T value : values) {
+            if (!result.contains(value)) {
+                result.add(value);
+            }
+        }
+    }
+
+    private static <T> List<T> append(List<T> values, T value) {
+
+        List<T> result = values.isEmpty() ? new ArrayList<>(1) : values;
+
+        result.add(value);
+
+        return result;
+    }
+
+    /**
+     * 빈 세그먼트는 무시 (끝의 '/', 연속된 '/')
+     *
+     * @param stripMatrix 요청 경로면 true (세그먼트의 ';' 이후 matrix 변수 제거)
+     */
+    private static List<String> segments(String path, boolean stripMatrix) {
+
+        List<String> result = new ArrayList<>(8);
+        int length = path.length();
+        int start = 0;
+
+        while (start < length) {
+
+            int end = path.indexOf('/', start);
+
+            if (end < 0) {
+                end = length;
+            }
+
+            int segmentEnd = end;
+
+            if (stripMatrix) {
+                int matrix = path.indexOf(';', start);
+                if (matrix >= 0 && matrix < end) {
+                    segmentEnd = matrix;
+                }
+            }
+
+            if (segmentEnd > start) {
+                result.add(path.substring(start, segmentEnd));
+            }
+
+            start = end + 1;
+        }
+
+        return result;
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2
+                && segment.charAt(0) == '{'
+                && segment.charAt(segment.length() - 1) == '}'
+                && segment.charAt(1) != '*';
+    }
+
+    private static boolean isLiteral(String segment) {
+
+        for (int i = 0; i < segment.length(); i++) {
+
+            char c = segment.charAt(i);
+
+            // 요청 경로에서 그대로 나타나지 않을 수 있는 문자 (와일드카드, 인코딩 대상) 는 리터럴로 취급하지 않음
+            if (c <= 0x20 || c >= 0x7f || c == '*' || c == '?' || c == '{' || c == '}' || c == '%' || c == ';') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static final class Node<T> {
+
+        Map<String, Node<T>> literals = Collections.emptyMap();
+        Node<T> variable;
+        List<T> terminal = Collections.emptyList();
+        List<T> catchAll = Collections.emptyList();
+
+        Node<T> literal(String segment) {
+
+            if (literals.isEmpty()) {
+                literals = new HashMap<>();
+            }
+
+            return literals.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        Node<T> variable() {
+
+            if (variable == null) {
+                variable = new Node<>();
+            }
+
+            return variable;
+        }
+    }
+}
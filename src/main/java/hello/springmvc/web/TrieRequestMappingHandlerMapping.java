@@ -0,0 +1,170 @@
+package hello.springmvc.web;
+
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @RequestMapping 조회를 trie 로 하는 RequestMappingHandlerMapping
+ *
+ * 기본 RequestMappingHandlerMapping
+ *  - 경로 변수가 없는 패턴은 Map 에서 바로 찾지만,
+ *    없으면 등록된 모든 매핑에 대해 조건 (경로 패턴, 메서드, params, headers, consumes, produces) 을 검사
+ *    => 경로 변수가 있는 URL 은 등록된 매핑 수에 비례해서 느려진다.
+ *
+ * 이 클래스
+ *  - 모든 매핑의 경로 패턴을 RouteTrie 로 만들어 두고, 요청 경로와 세그먼트가 맞는 후보만 조건 검사
+ *  - 후보 중 가장 구체적인 매핑을 고르는 규칙, 모호한 매핑 오류, CORS preflight, 404 / 405 / 415 / 406 처리는 기본과 같다.
+ *    (후보 중 일치하는 것이 없거나 판단이 애매한 경우는 기본 조회로 넘긴다.)
+ *  - 매핑이 추가 / 삭제되면 다음 조회 때 trie 를 다시 만든다.
+ *    (변경마다 generation 을 올리고, trie 는 만들기 시작할 때의 generation 을 기억
+ *     -> 만드는 도중 변경이 있었으면 다음 조회에서 다시 만든다.)
+ */
+public class TrieRequestMappingHandlerMapping extends RequestMappingHandlerMapping {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Routes routes;
+
+    @Override
+    protected HandlerMethod lookupHandlerMethod(String lookupPath, HttpServletRequest request) throws Exception {
+
+        RouteTrie<Route> trie = currentRoutes();
+
+        List<Match> matches = new ArrayList<>(2);
+
+        for (Route candidate : trie.candidates(lookupPath)) {
+
+            // 요청에 맞춰 좁힌 (일치한 패턴, 메서드 ...) 새 RequestMappingInfo, 일치하지 않으면 null
+            RequestMappingInfo info = getMatchingMapping(candidate.info, request);
+
+            if (info != null) {
+                matches.add(new Match(info, candidate.handlerMethod));
+            }
+        }
+
+        if (matches.isEmpty()) {
+            return super.lookupHandlerMethod(lookupPath, request);
+        }
+
+        Match best = matches.get(0);
+
+        if (matches.size() > 1) {
+
+            if (CorsUtils.isPreFlightRequest(request)) {
+                return super.lookupHandlerMethod(lookupPath, request);
+            }
+
+            Comparator<RequestMappingInfo> comparator = getMappingComparator(request);
+
+            matches.sort((first, second) -> comparator.compare(first.info, second.info));
+            best = matches.get(0);
+
+            if (comparator.compare(best.info, matches.get(1).info) == 0) {
+                // 모호한 매핑 - 기본 조회가 같은 오류를 낸다.
+                return super.lookupHandlerMethod(lookupPath, request);
+            }
+        }
+
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, best.handlerMethod);
+        handleMatch(best.info, lookupPath, request);
+
+        return best.handlerMethod;
+    }
+
+    @Override
+    protected void registerHandlerMethod(Object handler, Method method, RequestMappingInfo mapping) {
+        super.registerHandlerMethod(handler, method, mapping);
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void registerMapping(RequestMappingInfo mapping, Object handler, Method method) {
+        super.registerMapping(mapping, handler, method);
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public void unregisterMapping(RequestMappingInfo mapping) {
+        super.unregisterMapping(mapping);
+        generation.incrementAndGet();
+    }
+
+    /**
+     * 지금 generation 으로 만든 trie, 없거나 이전 generation 이면 다시 만든다.
+     */
+    private RouteTrie<Route> currentRoutes() {
+
+        // 매핑을 읽기 전에 generation 을 읽어야, 만드는 도중의 변경이 다음 조회에서 반영된다.
+        long current = generation.get();
+        Routes built = routes;
+
+        if (built != null && built.generation == current) {
+            return built.trie;
+        }
+
+        built = new Routes(buildRoutes(), current);
+        routes = built;
+
+        return built.trie;
+    }
+
+    private RouteTrie<Route> buildRoutes() {
+
+        RouteTrie<Route> trie = new RouteTrie<>();
+
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : getHandlerMethods().entrySet()) {
+
+            Route route = new Route(entry.getKey(), entry.getValue());
+
+            for (String pattern : entry.getKey().getPatternValues()) {
+                trie.add(pattern, route);
+            }
+        }
+
+        return trie;
+    }
+
+    private static final class Routes {
+
+        final RouteTrie<Route> trie;
+        final long generation;
+
+        Routes(RouteTrie<Route> trie, long generation) {
+            this.trie = trie;
+            this.generation = generation;
+        }
+    }
+
+    private static final class Route {
+
+        final RequestMappingInfo info;
+        final HandlerMethod handlerMethod;
+
+        Route(RequestMappingInfo info, HandlerMethod handlerMethod) {
+            this.info = info;
+            this.handlerMethod = handlerMethod;
+        }
+    }
+
+    private static final class Match {
+
+        final RequestMappingInfo info;
+        final HandlerMethod handlerMethod;
+
+        Match(RequestMappingInfo info, HandlerMethod handlerMethod) {
+            this.info = info;
+            this.handlerMethod = handlerMethod;
+        }
+    }
+}
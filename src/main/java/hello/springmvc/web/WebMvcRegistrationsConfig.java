@@ -0,0 +1,106 @@
+package hello.springmvc.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 스프링 MVC 기본 구성요소 교체
+ *
+ * 스프링 부트는 WebMvcRegistrations 빈이 (하나) 있으면, 반환한 객체를 기본 구성요소 대신 사용한다.
+ * 설정 (인터셉터, 메시지 컨버터, PathPatternParser ...) 은 기본과 똑같이 적용된다.
+ *
+ * hello.mvc.trie-mapping
+ *  - true (기본) : TrieRequestMappingHandlerMapping
+ *  - false : 기본 RequestMappingHandlerMapping
+ *
+ * hello.mvc.execution.mode
+ *  - platform (기본) : 컨테이너 쓰레드에서 실행
+ *      hello.mvc.server-timing.enabled=true 면 PhaseTimingRequestMappingHandlerAdapter, 아니면 기본 RequestMappingHandlerAdapter
+ *  - bounded / virtual : OffloadingRequestMappingHandlerAdapter (전용 executor 에서 실행)
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(HandlerExecutionProperties.class)
+public class WebMvcRegistrationsConfig implements WebMvcRegistrations, DisposableBean {
+
+    @Value("${hello.mvc.trie-mapping:true}")
+    private boolean trieMapping;
+
+    @Value("${hello.mvc.server-timing.enabled:true}")
+    private boolean serverTiming;
+
+    private final HandlerExecutionProperties execution;
+
+    private ExecutorService executorService;
+
+    public WebMvcRegistrationsConfig(HandlerExecutionProperties execution) {
+        this.execution = execution;
+    }
+
+    @Override
+    public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
+        return trieMapping ? new TrieRequestMappingHandlerMapping() : null;
+    }
+
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+
+        if (execution.getMode() == HandlerExecutionMode.PLATFORM) {
+            return serverTiming ? new PhaseTimingRequestMappingHandlerAdapter() : null;
+        }
+
+        return new OffloadingRequestMappingHandlerAdapter(createExecutor(), execution.getPackages(), execution.getTimeout());
+    }
+
+    private AsyncTaskExecutor createExecutor() {
+
+        if (execution.getMode() == HandlerExecutionMode.VIRTUAL) {
+
+            try {
+                // JDK 21 이상에서만 있는 메서드 (컴파일 대상은 11)
+                executorService = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+                log.info("handler execution mode = virtual");
+
+                return new TaskExecutorAdapter(executorService);
+            } catch (ReflectiveOperationException e) {
+                log.warn("virtual threads are not supported on java {}, falling back to bounded executor",
+                        System.getProperty("java.version"));
+            }
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(execution.getMaxThreads());
+        executor.setMaxPoolSize(execution.getMaxThreads());
+        executor.setQueueCapacity(execution.getQueueCapacity());
+        executor.setThreadNamePrefix("handler-");
+        executor.initialize();
+
+        executorService = executor.getThreadPoolExecutor();
+
+        log.info("handler execution mode = bounded (threads = {}, queue = {})",
+                execution.getMaxThreads(), execution.getQueueCapacity());
+
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executorService != null) {
+            executorService.shutdown();
+        }
+    }
+}
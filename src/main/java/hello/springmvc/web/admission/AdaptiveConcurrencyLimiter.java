@@ -0,0 +1,189 @@
+package hello.springmvc.web.admission;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간을 보고 스스로 조정하는 동시 처리 제한 (gradient 방식)
+ *
+ * 동시에 처리 중인 요청이 limit 이상이면 바로 거절한다.
+ * limit 은 주기 (window) 마다 다시 계산
+ *  - shortRtt : 이번 주기의 평균 지연 시간
+ *  - longRtt : 지연 시간의 장기 평균 (주기마다 조금씩 따라감, 부하가 없을 때의 지연 시간에 가깝다)
+ *  - gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+ *    => 지연 시간이 평소의 tolerance 배를 넘으면 (대기열이 생기기 시작) 1 보다 작아져서 limit 이 줄어든다.
+ *  - newLimit = limit * gradient + sqrt(limit) (sqrt(limit) 만큼은 늘려 보면서 여유를 찾음)
+ *  - limit = limit * (1 - smoothing) + newLimit * smoothing, [minLimit, maxLimit]
+ *
+ * 동시 처리 요청이 limit 의 절반도 안 되면 (부하가 적어서) 늘리지 않는다. (줄이는 것은 그대로)
+ *
+ * 요청 쓰레드 : CAS 로 inFlight 증가 / 감소, 지연 시간은 LongAdder 에 합산
+ * 주기가 지나면 처음 끝난 요청 쓰레드 하나만 (updating) 다시 계산하고, 다른 쓰레드는 기다리지 않는다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LONG_RTT_WEIGHT = 0.02;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minSamples;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private volatile int limit;
+
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicBoolean updating = new AtomicBoolean();
+
+    /**
+     * updating 을 가진 쓰레드만 읽고 쓴다.
+     */
+    private double estimatedLimit;
+    private volatile double longRtt;
+    private volatile double shortRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long windowNanos,
+                                      int minSamples, double tolerance, double smoothing) {
+
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+        }
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.minSamples = minSamples;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimatedLimit;
+    }
+
+    /**
+     * @return false 면 거절 (제한 초과)
+     */
+    public boolean tryAcquire() {
+
+        while (true) {
+
+            int current = inFlight.get();
+
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+
+            if (inFlight.compareAndSet(current, current + 1)) {
+
+                if (current + 1 > maxInFlight.get()) {
+                    maxInFlight.accumulateAndGet(current + 1, Math::max);
+                }
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리 완료
+     *
+     * @param rttNanos 처리 시간
+     * @param sample false 면 (예외) 지연 시간을 반영하지 않는다.
+     */
+    public void release(long rttNanos, boolean sample) {
+        release(rttNanos, sample, System.nanoTime());
+    }
+
+    /**
+     * @param now 현재 시각 (System.nanoTime() 기준, 테스트에서 주기를 직접 진행)
+     */
+    void release(long rttNanos, boolean sample, long now) {
+
+        inFlight.decrementAndGet();
+
+        if (!sample) {
+            return;
+        }
+
+        rttSum.add(rttNanos);
+        samples.increment();
+
+        if (now - windowStart.get() >= windowNanos && updating.compareAndSet(false, true)) {
+            try {
+                update(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    private void update(long now) {
+
+        long count = samples.sum();
+
+        if (count < minSamples) {
+            return;
+        }
+
+        // 합산 중인 값이 다음 주기로 조금 넘어갈 수 있지만 평균에는 영향이 적다.
+        double rtt = (double) rttSum.sumThenReset() / samples.sumThenReset();
+        int peak = maxInFlight.getAndSet(inFlight.get());
+
+        windowStart.set(now);
+        shortRtt = rtt;
+
+        double previousLongRtt = longRtt;
+        double currentLongRtt = (previousLongRtt == 0) ? rtt : previousLongRtt * (1 - LONG_RTT_WEIGHT) + rtt * LONG_RTT_WEIGHT;
+
+        // 지연 시간이 크게 줄었으면 (부하가 사라짐) 장기 평균도 빨리 따라 내려간다.
+        if (currentLongRtt > rtt * 2) {
+            currentLongRtt *= 0.95;
+        }
+
+        longRtt = currentLongRtt;
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * currentLongRtt / rtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+
+        if (newLimit > estimatedLimit && peak < estimatedLimit / 2) {
+            return;
+        }
+
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public Map<String, Object> stats() {
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        stats.put("limit", limit);
+        stats.put("inFlight", inFlight.get());
+        stats.put("rejected", rejected.sum());
+        stats.put("shortRttMicros", TimeUnit.NANOSECONDS.toMicros((long) shortRtt));
+        stats.put("longRttMicros", TimeUnit.NANOSECONDS.toMicros((long) longRtt));
+
+        return stats;
+    }
+}
@@ -0,0 +1,59 @@
+package hello.springmvc.web.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 수용 제어 설정
+ *
+ * AdmissionFilter : 로그 레벨 필터 (LogEscalationFilter) 다음, 다른 필터보다 먼저 실행해서 거절할 요청에 비용을 쓰지 않는다.
+ * AdmissionController : 현재 제한 / 거절 수 (/internal/admission)
+ *
+ * hello.mvc.admission.enabled=false 면 필터를 등록하지 않는다.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionFilter admissionFilter(AdmissionProperties properties) {
+
+        List<AdmissionRoute> routes = new ArrayList<>();
+
+        properties.getRoutes().forEach((name, route) -> {
+
+            routes.add(new AdmissionRoute(name, route.getPatterns(), route.getPermitsPerSecond(), route.getBurst()));
+
+            log.info("admission route {} {} ({} req/s, burst = {})", name, route.getPatterns(), route.getPermitsPerSecond(), route.getBurst());
+        });
+
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        AdaptiveConcurrencyLimiter limiter = null;
+
+        if (concurrency.isEnabled()) {
+            limiter = new AdaptiveConcurrencyLimiter(concurrency.getInitialLimit(), concurrency.getMinLimit(), concurrency.getMaxLimit(),
+                    concurrency.getWindow().toNanos(), concurrency.getMinSamples(), concurrency.getTolerance(), concurrency.getSmoothing());
+        }
+
+        return new AdmissionFilter(properties.getExcludePatterns(), routes, limiter, properties.getRetryAfter().toNanos());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilterRegistration(AdmissionFilter admissionFilter, AdmissionProperties properties) {
+
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(admissionFilter);
+
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        registration.setEnabled(properties.isEnabled());
+
+        return registration;
+    }
+}
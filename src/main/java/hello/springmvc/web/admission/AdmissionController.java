@@ -0,0 +1,24 @@
+package hello.springmvc.web.admission;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 요청 수용 제어 상태 (동시 처리 limit, 경로별 허용 / 거절 수)
+ */
+@RestController
+@RequestMapping("/internal/admission")
+@RequiredArgsConstructor
+public class AdmissionController {
+
+    private final AdmissionFilter admissionFilter;
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        return admissionFilter.stats();
+    }
+}
@@ -0,0 +1,199 @@
+package hello.springmvc.web.admission;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 수용 제어 (부하가 처리량을 넘으면 빨리 거절)
+ *
+ * 요청마다 차례로 확인
+ *  1. 경로별 요청 수 제한 (AdmissionRoute, 토큰 버킷) : 비싼 경로 (예: /request-body-json-*) 가 다른 경로의 몫까지 쓰지 않도록
+ *  2. 동시 처리 제한 (AdaptiveConcurrencyLimiter) : 지연 시간이 늘기 시작하면 동시에 처리하는 요청 수를 줄인다.
+ *
+ * 거절한 요청은 핸들러 / 에러 페이지를 거치지 않고 바로 503 + Retry-After (바디 없음)
+ *  => 넘치는 요청이 Tomcat 대기열과 워커 쓰레드에 쌓여서 모든 요청이 느려지는 대신,
+ *     받은 요청은 평소 지연 시간으로 처리하고 나머지는 클라이언트가 나중에 다시 시도한다.
+ *
+ * 비동기 요청 (DeferredResult, 전용 executor 에서 실행하는 핸들러 ...) 은 비동기 처리가 끝날 때 (AsyncListener.onComplete) 반환
+ *
+ * 필터를 거치지 않는 배치 (/batch) 의 하위 요청은 BatchDispatcher 가 tryAcquireRoute 로 경로별 제한에 반영한다.
+ * (동시 처리 제한은 바깥 /batch 요청 하나로 계산, 병렬 실행은 배치 전용 쓰레드 풀이 제한)
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final List<PathPattern> excludePatterns;
+    private final List<AdmissionRoute> routes;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final long retryAfterNanos;
+
+    /**
+     * @param limiter null 이면 동시 처리 제한 없음
+     */
+    public AdmissionFilter(List<String> excludePatterns, List<AdmissionRoute> routes,
+                           AdaptiveConcurrencyLimiter limiter, long retryAfterNanos) {
+        this.excludePatterns = AdmissionRoute.parse(excludePatterns);
+        this.routes = List.copyOf(routes);
+        this.limiter = limiter;
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+
+        if (AdmissionRoute.matches(excludePatterns, path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionRoute route = route(path);
+
+        if (route != null) {
+
+            long wait = route.tryAcquire();
+
+            if (wait > 0) {
+                reject(response, wait);
+                return;
+            }
+        }
+
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            reject(response, retryAfterNanos);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean released = false;
+
+        try {
+            filterChain.doFilter(request, response);
+
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseListener(started));
+            } else {
+                limiter.release(System.nanoTime() - started, true);
+            }
+
+            released = true;
+        } finally {
+            if (!released) {
+                limiter.release(System.nanoTime() - started, false);
+            }
+        }
+    }
+
+    /**
+     * 필터를 거치지 않는 요청 (배치의 하위 요청) 을 경로별 요청 수 제한에 반영
+     *
+     * @param path 컨텍스트 경로를 뺀 경로
+     * @return 0 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 시간 (나노초)
+     */
+    public long tryAcquireRoute(String path) {
+
+        PathContainer container = PathContainer.parsePath(path);
+
+        if (AdmissionRoute.matches(excludePatterns, container)) {
+            return 0;
+        }
+
+        AdmissionRoute route = route(container);
+
+        return (route != null) ? route.tryAcquire() : 0;
+    }
+
+    private AdmissionRoute route(PathContainer path) {
+
+        for (AdmissionRoute route : routes) {
+            if (route.matches(path)) {
+                return route;
+            }
+        }
+
+        return null;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+        response.setContentLength(0);
+    }
+
+    /**
+     * @return Retry-After 값 (초 단위 올림, 최소 1초)
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    Map<String, Object> stats() {
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<String, Object> routeStats = new LinkedHashMap<>();
+
+        for (AdmissionRoute route : routes) {
+            routeStats.put(route.getName(), route.stats());
+        }
+
+        stats.put("concurrency", (limiter != null) ? limiter.stats() : Map.of());
+        stats.put("routes", routeStats);
+
+        return stats;
+    }
+
+    /**
+     * 비동기 처리가 끝나면 (오류 / 타임아웃 후에도 onComplete 는 호출됨) 반환
+     */
+    private class ReleaseListener implements AsyncListener {
+
+        private final long started;
+
+        private volatile boolean failed;
+
+        ReleaseListener(long started) {
+            this.started = started;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            limiter.release(System.nanoTime() - started, !failed);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
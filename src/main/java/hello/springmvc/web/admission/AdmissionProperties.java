@@ -0,0 +1,97 @@
+package hello.springmvc.web.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 수용 제어 설정 (hello.mvc.admission.*)
+ */
+@Data
+@ConfigurationProperties("hello.mvc.admission")
+public class AdmissionProperties {
+
+    /**
+     * false 면 필터를 등록하지 않는다.
+     */
+    private boolean enabled = true;
+
+    /**
+     * 제한하지 않는 경로 (PathPattern)
+     */
+    private List<String> excludePatterns = new ArrayList<>(List.of("/internal/**"));
+
+    /**
+     * 동시 처리 제한으로 거절할 때의 Retry-After (경로별 제한은 토큰이 다시 쌓이는 시간)
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * 경로별 초당 요청 수 제한 (이름 -> 설정, 선언 순서대로 처음 일치하는 경로 하나만 적용)
+     */
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    private Concurrency concurrency = new Concurrency();
+
+    @Data
+    public static class Route {
+
+        /**
+         * 대상 경로 (PathPattern, 예: /request-body-json-*)
+         */
+        private List<String> patterns = new ArrayList<>();
+
+        /**
+         * 초당 허용 요청 수
+         */
+        private double permitsPerSecond = 1000;
+
+        /**
+         * 한꺼번에 허용할 수 있는 요청 수 (버킷 크기)
+         */
+        private int burst = 100;
+    }
+
+    /**
+     * 지연 시간을 보고 조정하는 동시 처리 제한 (AdaptiveConcurrencyLimiter)
+     */
+    @Data
+    public static class Concurrency {
+
+        private boolean enabled = true;
+
+        private int initialLimit = 100;
+
+        private int minLimit = 10;
+
+        /**
+         * Tomcat 워커 쓰레드 수 (server.tomcat.threads.max) 보다 크면 제한하기 전에 Tomcat 대기열에 쌓인다.
+         */
+        private int maxLimit = 200;
+
+        /**
+         * 제한을 다시 계산하는 주기 (이 동안 모은 지연 시간의 평균 사용)
+         */
+        private Duration window = Duration.ofMillis(100);
+
+        /**
+         * 주기 안에 모인 요청이 이보다 적으면 다음 주기까지 모은다.
+         */
+        private int minSamples = 10;
+
+        /**
+         * 지연 시간이 평소 (장기 평균) 의 몇 배가 될 때까지 제한을 줄이지 않을지
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * 새 제한을 반영하는 비율 (0 ~ 1, 클수록 빨리 바뀜)
+         */
+        private double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,79 @@
+package hello.springmvc.web.admission;
+
+import lombok.Getter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 경로별 요청 수 제한 (hello.mvc.admission.routes.{name})
+ */
+public class AdmissionRoute {
+
+    @Getter
+    private final String name;
+
+    private final List<PathPattern> patterns;
+    private final TokenBucket bucket;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AdmissionRoute(String name, List<String> patterns, double permitsPerSecond, int burst) {
+        this.name = name;
+        this.patterns = parse(patterns);
+        this.bucket = new TokenBucket(permitsPerSecond, burst);
+    }
+
+    static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream().map(PathPatternParser.defaultInstance::parse).collect(Collectors.toUnmodifiableList());
+    }
+
+    static boolean matches(List<PathPattern> patterns, PathContainer path) {
+
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean matches(PathContainer path) {
+        return matches(patterns, path);
+    }
+
+    /**
+     * @return 0 이면 허용, 아니면 다시 시도할 수 있을 때까지 남은 시간 (나노초)
+     */
+    long tryAcquire() {
+
+        long wait = bucket.tryAcquire();
+
+        if (wait > 0) {
+            rejected.increment();
+        } else {
+            accepted.increment();
+        }
+
+        return wait;
+    }
+
+    Map<String, Object> stats() {
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        stats.put("patterns", patterns.stream().map(PathPattern::getPatternString).collect(Collectors.toList()));
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+
+        return stats;
+    }
+}
@@ -0,0 +1,61 @@
+package hello.springmvc.web.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없는 토큰 버킷 (GCRA : Generic Cell Rate Algorithm)
+ *
+ * 토큰 수 대신 "버킷이 다시 가득 차는 시각" (theoretical arrival time) 하나만 AtomicLong 에 저장
+ *  - 요청마다 max(tat, 지금) + interval 로 옮기는 CAS 한 번
+ *  - 옮긴 값이 지금 + burst * interval 을 넘으면 거절 (토큰 없음)
+ *
+ * 쓰레드마다 다른 슬롯을 갖는 카운터와 달리 요청 하나하나를 정확히 세지만,
+ * 제한하는 요청 수 자체가 초당 수만 건 이하이므로 CAS 경쟁은 문제 되지 않는다.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;
+    private final long capacityNanos;
+
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param permitsPerSecond 초당 허용 요청 수
+     * @param burst 한꺼번에 허용할 수 있는 요청 수 (처음에는 가득 찬 상태)
+     */
+    public TokenBucket(double permitsPerSecond, int burst) {
+
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+        }
+
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return 0 이면 허용, 아니면 토큰이 생길 때까지 남은 시간 (나노초)
+     */
+    public long tryAcquire() {
+        return tryAcquire(System.nanoTime());
+    }
+
+    long tryAcquire(long now) {
+
+        while (true) {
+
+            long tat = theoreticalArrival.get();
+            long next = ((tat - now) < 0 ? now : tat) + intervalNanos;
+            long wait = (next - now) - capacityNanos;
+
+            if (wait > 0) {
+                return wait;
+            }
+
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package hello.springmvc.web.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.springmvc.web.admission.AdmissionFilter;
+import hello.springmvc.web.admission.AdmissionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * /batch 설정
+ *
+ * 병렬 실행은 전용 쓰레드 풀 (hello.mvc.batch.threads, queue-capacity) 에서 수행
+ *  - 배치 요청이 몰려도 동시에 실행되는 하위 요청 수는 threads 로 제한된다.
+ *  - Executor 빈으로 등록하면 스프링 부트의 applicationTaskExecutor (MVC 비동기 처리에 사용) 가 빠지므로 빈으로 등록하지 않는다.
+ * 하위 요청은 AdmissionFilter 의 경로별 요청 수 제한에 반영 (BatchDispatcher 참고)
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(BatchProperties.class)
+@ConditionalOnProperty(prefix = "hello.mvc.batch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BatchConfig implements DisposableBean {
+
+    private ThreadPoolTaskExecutor executor;
+
+    @Bean
+    public BatchDispatcher batchDispatcher(WebApplicationContext context, WebMvcProperties webMvcProperties,
+                                           ObjectMapper objectMapper, BatchProperties properties,
+                                           ObjectProvider<AdmissionFilter> admissionFilter, AdmissionProperties admissionProperties) {
+
+        executor = createExecutor(properties);
+
+        // 필터를 등록하지 않으면 (hello.mvc.admission.enabled=false) 하위 요청도 제한하지 않는다.
+        AdmissionFilter admission = admissionProperties.isEnabled() ? admissionFilter.getIfAvailable() : null;
+
+        return new BatchDispatcher(context, webMvcProperties, objectMapper, executor, properties, admission);
+    }
+
+    private static ThreadPoolTaskExecutor createExecutor(BatchProperties properties) {
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(properties.getThreads());
+        executor.setMaxPoolSize(properties.getThreads());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("batch-");
+        executor.initialize();
+
+        log.info("batch executor (threads = {}, queue = {})", properties.getThreads(), properties.getQueueCapacity());
+
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package hello.springmvc.web.batch;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 여러 요청을 HTTP 요청 하나로 처리
+ *
+ * POST /batch?parallel=false
+ * [
+ *   {"method": "GET", "path": "/mapping/users/1"},
+ *   {"method": "POST", "path": "/request-body-json-v3", "body": {"username": "hello", "age": 20}}
+ * ]
+ *
+ * 응답은 요청과 같은 순서의 [{"status": 200, "headers": {...}, "body": ..., "durationMicros": 120}, ...]
+ *  - 하위 요청이 실패해도 배치 자체는 200 (하위 요청의 status 로 확인)
+ *  - 요청 형식이 잘못되었거나 (path, method) 하위 요청이 너무 많으면 배치 전체가 400
+ *  - 비동기 핸들러 (DeferredResult, Callable ...) 로 가는 하위 요청은 실행하지 않고 501
+ */
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "hello.mvc.batch", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BatchController {
+
+    private final BatchDispatcher batchDispatcher;
+
+    @PostMapping("/batch")
+    public List<BatchResult> batch(@RequestBody List<BatchOperation> operations,
+                                   @RequestParam(defaultValue = "false") boolean parallel,
+                                   HttpServletRequest request) throws IOException {
+
+        if (BatchDispatcher.isBatchRequest(request)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "nested batch requests are not allowed");
+        }
+
+        return batchDispatcher.dispatch(request, operations, parallel);
+    }
+}
@@ -0,0 +1,527 @@
+package hello.springmvc.web.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import hello.springmvc.web.admission.AdmissionFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.util.StringUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 배치의 하위 요청을 네트워크를 거치지 않고 DispatcherServlet 으로 바로 처리
+ *
+ * 애플리케이션과 같은 컨텍스트로 DispatcherServlet 을 하나 더 만들어서 사용한다. (BenchmarkApplication 과 같은 방식)
+ *  - 이미 refresh 된 컨텍스트를 넘기면 전략 빈 (핸들러 매핑, 어댑터, 예외 리졸버 ...) 만 초기화하므로 같은 빈을 공유
+ *  - 서블릿 필터는 거치지 않는다. (핸들러 인터셉터, 예외 리졸버, 메시지 컨버터는 그대로)
+ *    단 경로별 요청 수 제한 (AdmissionFilter) 은 하위 요청마다 반영하고, 초과하면 그 하위 요청만 503 + Retry-After
+ *  - 하위 요청은 비동기 처리를 시작할 수 없다. (BatchHttpServletRequest.isAsyncSupported() == false)
+ *    비동기 반환 타입 (DeferredResult, Callable ...) 의 핸들러로 가는 하위 요청은 실행하지 않고 501
+ *
+ * 하위 요청 헤더 = 바깥 요청 헤더 (바디 / 협상 관련 헤더 제외) + 하위 요청의 headers
+ * 하위 요청은 바깥 요청 / 응답을 감싸지 않는다. 필요한 값은 요청 쓰레드에서 미리 복사 (BatchHttpServletRequest.Origin)
+ *
+ * 중첩 배치 거부
+ *  - 경로를 정규화 (매트릭스 변수 제거, 디코딩, . / .. 정리) 해서 /batch 면 배치 전체를 400
+ *  - 그 외 표기로 BatchController 에 도달해도 하위 요청 표시 속성 (BATCH_REQUEST_ATTRIBUTE) 으로 거부
+ *
+ * 실행 방식
+ *  - 순차 (기본) : 요청 쓰레드에서 순서대로
+ *  - 병렬 : 전용 executor 에서 동시에, timeout 안에 끝나지 않으면 504, 대기열이 가득 차면 503
+ */
+@Slf4j
+public class BatchDispatcher {
+
+    private static final String PATH = "/batch";
+
+    /**
+     * 배치의 하위 요청에 설정하는 속성
+     */
+    public static final String BATCH_REQUEST_ATTRIBUTE = BatchDispatcher.class.getName() + ".BATCH_REQUEST";
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    /**
+     * 비동기로 처리되는 핸들러 반환 타입 (ResponseEntity 의 바디 타입 포함)
+     */
+    private static final List<Class<?>> ASYNC_RETURN_TYPES = List.of(
+            DeferredResult.class, Callable.class, WebAsyncTask.class, CompletionStage.class, ListenableFuture.class,
+            ResponseBodyEmitter.class, StreamingResponseBody.class);
+
+    /**
+     * 바깥 요청에서 물려받지 않는 헤더 (바디, 응답 형식 협상, 연결 관련)
+     */
+    private static final Set<String> NOT_INHERITED = Set.of(
+            "content-type", "content-length", "transfer-encoding", "content-encoding",
+            "accept", "accept-encoding", "connection", "expect", "upgrade", "te", "trailer",
+            "if-none-match", "if-match", "if-modified-since", "if-unmodified-since", "range");
+
+    private final WebApplicationContext context;
+    private final WebMvcProperties webMvcProperties;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor executor;
+    private final BatchProperties properties;
+    private final AdmissionFilter admissionFilter;
+
+    private volatile DispatcherServlet dispatcherServlet;
+
+    /**
+     * @param admissionFilter null 이면 경로별 요청 수 제한을 반영하지 않는다.
+     */
+    public BatchDispatcher(WebApplicationContext context, WebMvcProperties webMvcProperties, ObjectMapper objectMapper,
+                           AsyncTaskExecutor executor, BatchProperties properties, AdmissionFilter admissionFilter) {
+        this.context = context;
+        this.webMvcProperties = webMvcProperties;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.properties = properties;
+        this.admissionFilter = admissionFilter;
+    }
+
+    public List<BatchResult> dispatch(HttpServletRequest request, List<BatchOperation> operations, boolean parallel) throws IOException {
+
+        if (operations.size() > properties.getMaxRequests()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "too many batch requests (max " + properties.getMaxRequests() + ")");
+        }
+
+        BatchHttpServletRequest.Origin origin = new BatchHttpServletRequest.Origin(request);
+        HttpHeaders inheritedHeaders = inheritedHeaders(request);
+        List<BatchHttpServletRequest> requests = new ArrayList<>(operations.size());
+
+        for (BatchOperation operation : operations) {
+            requests.add(toRequest(origin, inheritedHeaders, operation));
+        }
+
+        if (!parallel || requests.size() <= 1) {
+
+            List<BatchResult> results = new ArrayList<>(requests.size());
+
+            for (BatchHttpServletRequest subRequest : requests) {
+                BatchResult rejected = reject(subRequest);
+                results.add((rejected != null) ? rejected : dispatch(subRequest));
+            }
+
+            return results;
+        }
+
+        return dispatchInParallel(requests);
+    }
+
+    /**
+     * 배치 쓰레드는 하위 요청 / 응답만 사용 (바깥 요청 / 응답은 504 이후 컨테이너가 재사용할 수 있다.)
+     */
+    private List<BatchResult> dispatchInParallel(List<BatchHttpServletRequest> requests) {
+
+        List<CompletableFuture<BatchResult>> futures = new ArrayList<>(requests.size());
+
+        for (BatchHttpServletRequest subRequest : requests) {
+
+            BatchResult rejected = reject(subRequest);
+
+            if (rejected != null) {
+                futures.add(CompletableFuture.completedFuture(rejected));
+                continue;
+            }
+
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> dispatch(subRequest), executor));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.completedFuture(BatchResult.of(HttpStatus.SERVICE_UNAVAILABLE.value())));
+            }
+        }
+
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        List<BatchResult> results = new ArrayList<>(futures.size());
+
+        for (CompletableFuture<BatchResult> future : futures) {
+            results.add(await(future, deadline));
+        }
+
+        return results;
+    }
+
+    private BatchResult await(CompletableFuture<BatchResult> future, long deadline) {
+
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            return BatchResult.of(HttpStatus.GATEWAY_TIMEOUT.value());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return BatchResult.of(HttpStatus.SERVICE_UNAVAILABLE.value());
+        } catch (ExecutionException e) {
+            log.warn("batch request failed", e.getCause());
+            return BatchResult.of(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+
+    /**
+     * @return 실행하지 않을 하위 요청이면 그 결과 (비동기 핸들러 501, 요청 수 제한 503), 실행할 하위 요청이면 null
+     */
+    private BatchResult reject(BatchHttpServletRequest request) {
+
+        if (isAsyncHandler(request)) {
+            return new BatchResult(HttpStatus.NOT_IMPLEMENTED.value(), Map.of(),
+                    TextNode.valueOf("async handlers are not supported in batch requests: " + request.getRequestURI()), null, 0);
+        }
+
+        return admit(request);
+    }
+
+    /**
+     * 하위 요청이 매핑되는 핸들러가 비동기 반환 타입인지
+     *
+     * 핸들러를 찾지 못하면 (404, 405 ...) false - 실행해서 DispatcherServlet 의 결과를 그대로 돌려준다.
+     */
+    private boolean isAsyncHandler(BatchHttpServletRequest request) {
+
+        Object handler = handler(request);
+
+        if (!(handler instanceof HandlerMethod)) {
+            return false;
+        }
+
+        MethodParameter returnType = ((HandlerMethod) handler).getReturnType();
+        Class<?> type = returnType.getParameterType();
+
+        if (HttpEntity.class.isAssignableFrom(type)) {
+            type = ResolvableType.forMethodParameter(returnType).getGeneric().resolve(Object.class);
+        }
+
+        for (Class<?> asyncType : ASYNC_RETURN_TYPES) {
+            if (asyncType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * DispatcherServlet 과 같은 순서로 핸들러 매핑을 조회 (파싱한 경로는 조회 후 원래대로)
+     */
+    private Object handler(BatchHttpServletRequest request) {
+
+        RequestPath previous = (RequestPath) request.getAttribute(ServletRequestPathUtils.PATH_ATTRIBUTE);
+
+        try {
+            List<HandlerMapping> handlerMappings = dispatcherServlet().getHandlerMappings();
+
+            if (handlerMappings == null) {
+                return null;
+            }
+
+            ServletRequestPathUtils.parseAndCache(request);
+
+            for (HandlerMapping handlerMapping : handlerMappings) {
+
+                HandlerExecutionChain chain = handlerMapping.getHandler(request);
+
+                if (chain != null) {
+                    return chain.getHandler();
+                }
+            }
+
+            return null;
+        } catch (Exception e) {
+            // 조회 실패는 실행 단계에서 같은 방식으로 처리된다.
+            return null;
+        } finally {
+            ServletRequestPathUtils.setParsedRequestPath(previous, request);
+        }
+    }
+
+    /**
+     * @return 경로별 요청 수 제한을 넘으면 503 결과, 허용이면 null
+     */
+    private BatchResult admit(BatchHttpServletRequest request) {
+
+        if (admissionFilter == null) {
+            return null;
+        }
+
+        long wait = admissionFilter.tryAcquireRoute(request.getServletPath());
+
+        if (wait <= 0) {
+            return null;
+        }
+
+        return new BatchResult(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                Map.of(HttpHeaders.RETRY_AFTER, String.valueOf(AdmissionFilter.retryAfterSeconds(wait))), null, null, 0);
+    }
+
+    private BatchResult dispatch(BatchHttpServletRequest request) {
+
+        BatchHttpServletResponse response = new BatchHttpServletResponse();
+        long started = System.nanoTime();
+
+        try {
+            dispatcherServlet().service(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            // 예외 리졸버가 처리하지 못한 예외 (컨테이너라면 500 에러 페이지)
+            log.warn("batch request {} {} failed", request.getMethod(), request.getRequestURI(), e);
+            return new BatchResult(HttpStatus.INTERNAL_SERVER_ERROR.value(), Map.of(), null, null, micros(started));
+        }
+
+        return toResult(response, micros(started));
+    }
+
+    private BatchHttpServletRequest toRequest(BatchHttpServletRequest.Origin origin, HttpHeaders inheritedHeaders,
+                                              BatchOperation operation) throws IOException {
+
+        String path = operation.getPath();
+
+        if (path == null || !path.startsWith("/") || path.startsWith("//")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "batch path must start with '/': " + path);
+        }
+
+        String method = (operation.getMethod() != null) ? operation.getMethod().toUpperCase(Locale.ROOT) : "GET";
+
+        if (HttpMethod.resolve(method) == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "unsupported batch method: " + method);
+        }
+
+        int query = path.indexOf('?');
+        String queryString = (query >= 0) ? path.substring(query + 1) : null;
+        String pathOnly = (query >= 0) ? path.substring(0, query) : path;
+
+        if (isBatchPath(pathOnly)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "nested batch requests are not allowed");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(inheritedHeaders);
+
+        if (operation.getHeaders() != null) {
+            operation.getHeaders().forEach(headers::set);
+        }
+
+        byte[] body = toBody(operation.getBody(), headers);
+
+        BatchHttpServletRequest subRequest = new BatchHttpServletRequest(origin, method, pathOnly, queryString, headers, body);
+        subRequest.setAttribute(BATCH_REQUEST_ATTRIBUTE, Boolean.TRUE);
+
+        return subRequest;
+    }
+
+    /**
+     * 핸들러 매핑과 같은 방식으로 정규화한 경로가 /batch (또는 그 아래) 인지
+     */
+    private static boolean isBatchPath(String path) {
+
+        String normalized;
+
+        try {
+            normalized = UriUtils.decode(URL_PATH_HELPER.removeSemicolonContent(path), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid batch path: " + path);
+        }
+
+        normalized = StringUtils.cleanPath(normalized.replaceAll("/{2,}", "/"));
+
+        return normalized.equals(PATH) || normalized.startsWith(PATH + "/");
+    }
+
+    /**
+     * @return 배치의 하위 요청이면 true
+     */
+    public static boolean isBatchRequest(HttpServletRequest request) {
+        return request.getAttribute(BATCH_REQUEST_ATTRIBUTE) != null;
+    }
+
+    private static HttpHeaders inheritedHeaders(HttpServletRequest request) {
+
+        HttpHeaders headers = new HttpHeaders();
+        Enumeration<String> names = request.getHeaderNames();
+
+        while (names.hasMoreElements()) {
+
+            String name = names.nextElement();
+
+            if (!NOT_INHERITED.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.put(name, Collections.list(request.getHeaders(name)));
+            }
+        }
+
+        return headers;
+    }
+
+    /**
+     * 문자열 바디 + text/* 면 문자 그대로, 그 외는 JSON (Content-Type 이 없으면 application/json)
+     */
+    private byte[] toBody(JsonNode body, HttpHeaders headers) throws IOException {
+
+        if (body == null || body.isNull()) {
+            return new byte[0];
+        }
+
+        MediaType contentType = headers.getContentType();
+
+        if (contentType == null) {
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        } else if (body.isTextual() && !isJson(contentType)) {
+            Charset charset = (contentType.getCharset() != null) ? contentType.getCharset() : StandardCharsets.UTF_8;
+            return body.textValue().getBytes(charset);
+        }
+
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private BatchResult toResult(BatchHttpServletResponse response, long durationMicros) {
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        response.headers().forEach((name, values) -> headers.put(name, String.join(", ", values)));
+
+        byte[] bytes = response.body();
+
+        if (bytes.length == 0) {
+            return new BatchResult(response.getStatus(), headers, null, null, durationMicros);
+        }
+
+        MediaType contentType = parse(response.getContentType());
+
+        if (contentType != null && isJson(contentType)) {
+            try {
+                return new BatchResult(response.getStatus(), headers, objectMapper.readTree(bytes), null, durationMicros);
+            } catch (IOException e) {
+                // JSON 이 아니면 문자로
+            }
+        }
+
+        if (contentType == null || isText(contentType)) {
+            Charset charset = Charset.forName(response.getCharacterEncoding());
+            return new BatchResult(response.getStatus(), headers, TextNode.valueOf(new String(bytes, charset)), null, durationMicros);
+        }
+
+        return new BatchResult(response.getStatus(), headers, TextNode.valueOf(Base64.getEncoder().encodeToString(bytes)), "base64", durationMicros);
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                || (contentType.getSubtype().endsWith("+json"));
+    }
+
+    private static boolean isText(MediaType contentType) {
+        return "text".equals(contentType.getType())
+                || MediaType.APPLICATION_XML.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_FORM_URLENCODED.isCompatibleWith(contentType);
+    }
+
+    private static MediaType parse(String contentType) {
+        try {
+            return (contentType != null) ? MediaType.parseMediaType(contentType) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long micros(long started) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started);
+    }
+
+    /**
+     * 처음 사용할 때 초기화 (컨텍스트 refresh 가 끝난 뒤)
+     */
+    private DispatcherServlet dispatcherServlet() throws ServletException {
+
+        DispatcherServlet servlet = dispatcherServlet;
+
+        if (servlet != null) {
+            return servlet;
+        }
+
+        synchronized (this) {
+
+            if (dispatcherServlet == null) {
+
+                DispatcherServlet created = new DispatcherServlet(context);
+
+                created.setPublishContext(false);
+                created.setDispatchOptionsRequest(webMvcProperties.isDispatchOptionsRequest());
+                created.setDispatchTraceRequest(webMvcProperties.isDispatchTraceRequest());
+                created.setThrowExceptionIfNoHandlerFound(webMvcProperties.isThrowExceptionIfNoHandlerFound());
+                created.setPublishEvents(webMvcProperties.isPublishRequestHandledEvents());
+                created.setEnableLoggingRequestDetails(webMvcProperties.isLogRequestDetails());
+                created.init(servletConfig(context.getServletContext()));
+
+                dispatcherServlet = created;
+            }
+
+            return dispatcherServlet;
+        }
+    }
+
+    private static ServletConfig servletConfig(ServletContext servletContext) {
+
+        return new ServletConfig() {
+
+            @Override
+            public String getServletName() {
+                return "batchDispatcher";
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return servletContext;
+            }
+
+            @Override
+            public String getInitParameter(String name) {
+                return null;
+            }
+
+            @Override
+            public Enumeration<String> getInitParameterNames() {
+                return Collections.emptyEnumeration();
+            }
+        };
+    }
+}
@@ -0,0 +1,619 @@
+package hello.springmvc.web.batch;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.UriUtils;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.DispatcherType;
+import javax.servlet.ReadListener;
+import javax.servlet.RequestDispatcher;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletMapping;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpUpgradeHandler;
+import javax.servlet.http.Part;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.security.Principal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 배치의 하위 요청 (DispatcherServlet 에 넘기는 요청)
+ *
+ * 바깥 요청을 감싸지 않는다. (바깥 요청은 스레드 안전하지 않고, 병렬 실행 중 504 로 먼저 응답하면 컨테이너가 재사용한다.)
+ *  - 메서드, 경로, 쿼리, 헤더, 바디, 요청 파라미터 (쿼리 + form 바디) : 하위 요청마다 따로
+ *  - 속성 (attribute) : 빈 맵에서 시작 (바깥 요청의 핸들러 매핑 결과, 파싱한 경로 등을 물려받지 않음)
+ *  - 클라이언트 주소, 컨텍스트 경로, 세션, Locale, 인증 정보 : 요청 쓰레드에서 바깥 요청을 복사해 둔 Origin
+ *
+ * 지원하지 않는 것
+ *  - 비동기 (DeferredResult 핸들러는 실패, 전용 executor 로 넘기는 핸들러는 그 자리에서 실행)
+ *  - 새 세션 생성 (바깥 요청에 세션이 없으면 getSession(true) 는 IllegalStateException), isUserInRole, 로그인 / 로그아웃
+ *  - forward / include (RequestDispatcher), multipart, 프로토콜 업그레이드
+ */
+class BatchHttpServletRequest implements HttpServletRequest {
+
+    private final Origin origin;
+    private final String method;
+    private final String path;
+    private final String queryString;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private MultiValueMap<String, String> parameters;
+    private String characterEncoding;
+
+    BatchHttpServletRequest(Origin origin, String method, String path, String queryString, HttpHeaders headers, byte[] body) {
+        this.origin = origin;
+        this.method = method;
+        this.path = path;
+        this.queryString = queryString;
+        this.headers = headers;
+        this.body = body;
+
+        MediaType contentType = contentType();
+        Charset charset = (contentType != null) ? contentType.getCharset() : null;
+        this.characterEncoding = (charset != null) ? charset.name() : null;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return getContextPath() + path;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+
+        StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+        int port = getServerPort();
+
+        if (port > 0 && !(("http".equals(getScheme()) && port == 80) || ("https".equals(getScheme()) && port == 443))) {
+            url.append(':').append(port);
+        }
+
+        return url.append(getRequestURI());
+    }
+
+    @Override
+    public String getContextPath() {
+        return origin.contextPath;
+    }
+
+    /**
+     * DispatcherServlet 은 "/" 에 매핑되어 있으므로 서블릿 경로 = 경로 전체
+     */
+    @Override
+    public String getServletPath() {
+        return path;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getQueryString() {
+        return queryString;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return Collections.enumeration((values != null) ? values : Collections.emptyList());
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        String value = headers.getFirst(name);
+        return (value != null) ? Integer.parseInt(value) : -1;
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return headers.getFirstDate(name);
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+
+        List<String> values = headers.get(HttpHeaders.COOKIE);
+
+        if (values == null) {
+            return null;
+        }
+
+        List<Cookie> cookies = new ArrayList<>();
+
+        for (String value : values) {
+            for (String pair : StringUtils.tokenizeToStringArray(value, ";")) {
+                int index = pair.indexOf('=');
+                if (index > 0) {
+                    cookies.add(new Cookie(pair.substring(0, index).trim(), pair.substring(index + 1).trim()));
+                }
+            }
+        }
+
+        return cookies.isEmpty() ? null : cookies.toArray(new Cookie[0]);
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String env) {
+        this.characterEncoding = env;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+
+        return new ServletInputStream() {
+
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("non-blocking read is not supported in batch requests");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset()));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        return parameters().getFirst(name);
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        List<String> values = parameters().get(name);
+        return (values != null) ? values.toArray(new String[0]) : null;
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters().keySet());
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+
+        Map<String, String[]> map = new LinkedHashMap<>();
+
+        parameters().forEach((name, values) -> map.put(name, values.toArray(new String[0])));
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(new ArrayList<>(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public HttpServletMapping getHttpServletMapping() {
+        return origin.servletMapping;
+    }
+
+    @Override
+    public String getProtocol() {
+        return origin.protocol;
+    }
+
+    @Override
+    public String getScheme() {
+        return origin.scheme;
+    }
+
+    @Override
+    public String getServerName() {
+        return origin.serverName;
+    }
+
+    @Override
+    public int getServerPort() {
+        return origin.serverPort;
+    }
+
+    @Override
+    public boolean isSecure() {
+        return origin.secure;
+    }
+
+    @Override
+    public String getRemoteAddr() {
+        return origin.remoteAddr;
+    }
+
+    @Override
+    public String getRemoteHost() {
+        return origin.remoteHost;
+    }
+
+    @Override
+    public int getRemotePort() {
+        return origin.remotePort;
+    }
+
+    @Override
+    public String getLocalName() {
+        return origin.localName;
+    }
+
+    @Override
+    public String getLocalAddr() {
+        return origin.localAddr;
+    }
+
+    @Override
+    public int getLocalPort() {
+        return origin.localPort;
+    }
+
+    @Override
+    public Locale getLocale() {
+        return origin.locales.get(0);
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        return Collections.enumeration(origin.locales);
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return origin.servletContext;
+    }
+
+    @Override
+    public HttpSession getSession(boolean create) {
+
+        if (create && origin.session == null) {
+            throw new IllegalStateException("cannot create a session in a batch request");
+        }
+
+        return origin.session;
+    }
+
+    @Override
+    public HttpSession getSession() {
+        return getSession(true);
+    }
+
+    @Override
+    public String changeSessionId() {
+        throw new IllegalStateException("cannot change the session id in a batch request");
+    }
+
+    @Override
+    public String getRequestedSessionId() {
+        return origin.requestedSessionId;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdValid() {
+        return origin.session != null && origin.requestedSessionId != null;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromCookie() {
+        return origin.requestedSessionIdFromCookie;
+    }
+
+    @Override
+    public boolean isRequestedSessionIdFromURL() {
+        return origin.requestedSessionIdFromURL;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean isRequestedSessionIdFromUrl() {
+        return isRequestedSessionIdFromURL();
+    }
+
+    @Override
+    public String getAuthType() {
+        return origin.authType;
+    }
+
+    @Override
+    public String getRemoteUser() {
+        return origin.remoteUser;
+    }
+
+    @Override
+    public Principal getUserPrincipal() {
+        return origin.userPrincipal;
+    }
+
+    @Override
+    public boolean isUserInRole(String role) {
+        return false;
+    }
+
+    @Override
+    public boolean authenticate(HttpServletResponse response) {
+        throw new UnsupportedOperationException("authentication is not supported in batch requests");
+    }
+
+    @Override
+    public void login(String username, String password) {
+        throw new UnsupportedOperationException("login is not supported in batch requests");
+    }
+
+    @Override
+    public void logout() {
+        throw new UnsupportedOperationException("logout is not supported in batch requests");
+    }
+
+    @Override
+    public Collection<Part> getParts() {
+        throw new IllegalStateException("multipart is not supported in batch requests");
+    }
+
+    @Override
+    public Part getPart(String name) {
+        throw new IllegalStateException("multipart is not supported in batch requests");
+    }
+
+    @Override
+    public <T extends HttpUpgradeHandler> T upgrade(Class<T> handlerClass) {
+        throw new UnsupportedOperationException("upgrade is not supported in batch requests");
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(String path) {
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String getRealPath(String path) {
+        return origin.servletContext.getRealPath(path);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return DispatcherType.REQUEST;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("async is not supported in batch requests");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("async is not supported in batch requests");
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("async is not supported in batch requests");
+    }
+
+    /**
+     * 쿼리 + (application/x-www-form-urlencoded 바디) 를 처음 조회할 때 파싱
+     */
+    private MultiValueMap<String, String> parameters() {
+
+        if (parameters == null) {
+
+            MultiValueMap<String, String> parsed = new LinkedMultiValueMap<>();
+
+            parse(queryString, StandardCharsets.UTF_8, parsed);
+
+            MediaType contentType = contentType();
+
+            if (contentType != null && MediaType.APPLICATION_FORM_URLENCODED.includes(contentType)) {
+                parse(new String(body, charset()), charset(), parsed);
+            }
+
+            parameters = parsed;
+        }
+
+        return parameters;
+    }
+
+    private static void parse(String query, Charset charset, MultiValueMap<String, String> parameters) {
+
+        if (!StringUtils.hasLength(query)) {
+            return;
+        }
+
+        for (String pair : StringUtils.tokenizeToStringArray(query, "&")) {
+
+            int index = pair.indexOf('=');
+            String name = (index >= 0) ? pair.substring(0, index) : pair;
+            String value = (index >= 0) ? pair.substring(index + 1) : "";
+
+            parameters.add(decode(name, charset), decode(value, charset));
+        }
+    }
+
+    private static String decode(String value, Charset charset) {
+        return UriUtils.decode(value.replace('+', ' '), charset);
+    }
+
+    private MediaType contentType() {
+
+        String value = headers.getFirst(HttpHeaders.CONTENT_TYPE);
+
+        try {
+            return (value != null) ? MediaType.parseMediaType(value) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Charset charset() {
+        return (characterEncoding != null) ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 하위 요청이 물려받는 바깥 요청의 값 (요청 쓰레드에서 복사, 이후 바깥 요청에 접근하지 않음)
+     */
+    static final class Origin {
+
+        final ServletContext servletContext;
+        final HttpServletMapping servletMapping;
+        final String protocol;
+        final String scheme;
+        final String serverName;
+        final int serverPort;
+        final boolean secure;
+        final String remoteAddr;
+        final String remoteHost;
+        final int remotePort;
+        final String localName;
+        final String localAddr;
+        final int localPort;
+        final String contextPath;
+        final List<Locale> locales;
+        final HttpSession session;
+        final String requestedSessionId;
+        final boolean requestedSessionIdFromCookie;
+        final boolean requestedSessionIdFromURL;
+        final String authType;
+        final String remoteUser;
+        final Principal userPrincipal;
+
+        Origin(HttpServletRequest request) {
+            this.servletContext = request.getServletContext();
+            this.servletMapping = request.getHttpServletMapping();
+            this.protocol = request.getProtocol();
+            this.scheme = request.getScheme();
+            this.serverName = request.getServerName();
+            this.serverPort = request.getServerPort();
+            this.secure = request.isSecure();
+            this.remoteAddr = request.getRemoteAddr();
+            this.remoteHost = request.getRemoteHost();
+            this.remotePort = request.getRemotePort();
+            this.localName = request.getLocalName();
+            this.localAddr = request.getLocalAddr();
+            this.localPort = request.getLocalPort();
+            this.contextPath = request.getContextPath();
+            this.locales = List.copyOf(Collections.list(request.getLocales()));
+            this.session = request.getSession(false);
+            this.requestedSessionId = request.getRequestedSessionId();
+            this.requestedSessionIdFromCookie = request.isRequestedSessionIdFromCookie();
+            this.requestedSessionIdFromURL = request.isRequestedSessionIdFromURL();
+            this.authType = request.getAuthType();
+            this.remoteUser = request.getRemoteUser();
+            this.userPrincipal = request.getUserPrincipal();
+        }
+    }
+}
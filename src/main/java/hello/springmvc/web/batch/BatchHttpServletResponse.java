@@ -0,0 +1,393 @@
+package hello.springmvc.web.batch;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 배치의 하위 응답 (상태, 헤더, 바디를 메모리에 모음)
+ *
+ * 바깥 응답과는 연결되지 않는다. (헤더, 쿠키, 상태 모두 하위 응답에만 기록)
+ * 병렬 실행 시 배치 쓰레드가 만지므로, 스레드 안전하지 않은 바깥 응답을 감싸지 않는다.
+ */
+class BatchHttpServletResponse implements HttpServletResponse {
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+    private int status = SC_OK;
+    private String characterEncoding = StandardCharsets.ISO_8859_1.name();
+    private Locale locale = Locale.getDefault();
+    private boolean committed;
+
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    @Override
+    public void setStatus(int sc) {
+        if (!committed) {
+            status = sc;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void setStatus(int sc, String sm) {
+        setStatus(sc);
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int sc) {
+        sendError(sc, null);
+    }
+
+    /**
+     * 에러 페이지는 렌더링하지 않는다. (상태만 기록)
+     */
+    @Override
+    public void sendError(int sc, String msg) {
+        checkNotCommitted();
+        resetBuffer();
+        status = sc;
+        committed = true;
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        checkNotCommitted();
+        resetBuffer();
+        status = SC_FOUND;
+        headers.set(HttpHeaders.LOCATION, location);
+        committed = true;
+    }
+
+    @Override
+    public String encodeURL(String url) {
+        return url;
+    }
+
+    @Override
+    public String encodeRedirectURL(String url) {
+        return url;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String encodeUrl(String url) {
+        return url;
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String encodeRedirectUrl(String url) {
+        return url;
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return headers.containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        List<String> values = headers.get(name);
+        return (values != null) ? new ArrayList<>(values) : new ArrayList<>();
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return new ArrayList<>(headers.keySet());
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+
+        if (committed) {
+            return;
+        }
+
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else {
+            headers.set(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+
+        if (committed) {
+            return;
+        }
+
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else {
+            headers.add(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, Integer.toString(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        if (!committed) {
+            headers.setDate(name, date);
+        }
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+
+        if (committed) {
+            return;
+        }
+
+        headers.add(name, DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.ofInstant(Instant.ofEpochMilli(date), ZoneOffset.UTC)));
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+
+        StringBuilder value = new StringBuilder(cookie.getName()).append('=').append(cookie.getValue() != null ? cookie.getValue() : "");
+
+        if (cookie.getPath() != null) {
+            value.append("; Path=").append(cookie.getPath());
+        }
+        if (cookie.getDomain() != null) {
+            value.append("; Domain=").append(cookie.getDomain());
+        }
+        if (cookie.getMaxAge() >= 0) {
+            value.append("; Max-Age=").append(cookie.getMaxAge());
+        }
+        if (cookie.getSecure()) {
+            value.append("; Secure");
+        }
+        if (cookie.isHttpOnly()) {
+            value.append("; HttpOnly");
+        }
+
+        addHeader(HttpHeaders.SET_COOKIE, value.toString());
+    }
+
+    @Override
+    public void setContentType(String type) {
+
+        if (committed || type == null) {
+            return;
+        }
+
+        try {
+            Charset charset = MediaType.parseMediaType(type).getCharset();
+            if (charset != null) {
+                characterEncoding = charset.name();
+            }
+        } catch (IllegalArgumentException e) {
+            // 형식이 잘못된 Content-Type 은 그대로 기록
+        }
+
+        headers.set(HttpHeaders.CONTENT_TYPE, type);
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public void setCharacterEncoding(String charset) {
+
+        if (committed || writer != null || charset == null) {
+            return;
+        }
+
+        characterEncoding = charset;
+
+        String contentType = getContentType();
+
+        if (contentType != null) {
+            try {
+                headers.set(HttpHeaders.CONTENT_TYPE, new MediaType(MediaType.parseMediaType(contentType), Charset.forName(charset)).toString());
+            } catch (IllegalArgumentException e) {
+                // 형식이 잘못된 Content-Type 은 그대로 둔다.
+            }
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (!committed) {
+            headers.setContentLength(len);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException("non-blocking write is not supported in batch requests");
+                }
+            };
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(characterEncoding)));
+        }
+
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() {
+        if (writer != null) {
+            writer.flush();
+        }
+        committed = true;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void reset() {
+        checkNotCommitted();
+        resetBuffer();
+        headers.clear();
+        status = SC_OK;
+        characterEncoding = StandardCharsets.ISO_8859_1.name();
+        writer = null;
+        outputStream = null;
+    }
+
+    @Override
+    public void resetBuffer() {
+        checkNotCommitted();
+        if (writer != null) {
+            writer.flush();
+        }
+        body.reset();
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+    }
+
+    @Override
+    public int getBufferSize() {
+        return body.size();
+    }
+
+    @Override
+    public void setLocale(Locale loc) {
+        if (!committed && loc != null) {
+            locale = loc;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+
+    HttpHeaders headers() {
+        return headers;
+    }
+
+    /**
+     * @return 지금까지 쓴 바디 (writer 의 버퍼 포함)
+     */
+    byte[] body() {
+
+        if (writer != null) {
+            writer.flush();
+        }
+
+        return body.toByteArray();
+    }
+
+    private void checkNotCommitted() {
+        if (committed) {
+            throw new IllegalStateException("response has already been committed");
+        }
+    }
+}
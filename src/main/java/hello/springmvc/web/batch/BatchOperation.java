@@ -0,0 +1,24 @@
+package hello.springmvc.web.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 배치에 담긴 하위 요청 하나
+ *
+ *  - method : 기본 GET
+ *  - path : 컨텍스트 경로 뒤의 경로 + 쿼리 (예: /mapping/users/1?limit=10)
+ *  - headers : 바깥 요청 헤더 위에 덮어씀
+ *  - body : JSON 이면 그대로, Content-Type 이 text/* 이고 문자열이면 문자 그대로 전송
+ */
+@Data
+public class BatchOperation {
+
+    private String method = "GET";
+    private String path;
+    private Map<String, String> headers = new LinkedHashMap<>();
+    private JsonNode body;
+}
@@ -0,0 +1,36 @@
+package hello.springmvc.web.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 배치 요청 설정 (hello.mvc.batch.*)
+ */
+@Data
+@ConfigurationProperties("hello.mvc.batch")
+public class BatchProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * 배치 하나에 담을 수 있는 하위 요청 수 (넘으면 400)
+     */
+    private int maxRequests = 20;
+
+    /**
+     * 병렬 실행 (?parallel=true) 쓰레드 수 (애플리케이션 전체)
+     */
+    private int threads = 8;
+
+    /**
+     * 병렬 실행 대기열 크기 (가득 차면 하위 요청은 503)
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * 병렬 실행에서 배치 전체를 기다리는 시간 (끝나지 않은 하위 요청은 504)
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,31 @@
+package hello.springmvc.web.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * 하위 요청 하나의 응답 (요청과 같은 순서)
+ *
+ *  - headers : 값이 여러 개면 ", " 로 연결
+ *  - body : JSON 응답은 JSON 그대로, text 는 문자열, 그 외는 base64 문자열 (bodyEncoding = base64), 없으면 생략
+ *  - durationMicros : 하위 요청 처리 시간 (병렬 실행이면 대기열에서 기다린 시간 제외)
+ */
+@Getter
+@RequiredArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+
+    private final int status;
+    private final Map<String, String> headers;
+    private final JsonNode body;
+    private final String bodyEncoding;
+    private final long durationMicros;
+
+    static BatchResult of(int status) {
+        return new BatchResult(status, Map.of(), null, null, 0);
+    }
+}
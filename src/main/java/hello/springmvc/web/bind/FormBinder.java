@@ -0,0 +1,36 @@
+package hello.springmvc.web.bind;
+
+/**
+ * 폼 객체 하나의 전용 바인더 (@GenerateFormBinder 로 컴파일 시 생성)
+ *
+ * 생성된 클래스는 META-INF/services/hello.springmvc.web.bind.FormBinder 에 등록되고,
+ * GeneratedFormBinderArgumentResolver 가 ServiceLoader 로 읽는다.
+ *
+ * @param <T> 폼 객체 타입
+ */
+public interface FormBinder<T> {
+
+    Class<T> getTargetType();
+
+    /**
+     * 바인딩하는 필드의 프로퍼티 이름 = 요청 파라미터 이름 (setter 순서, 반환한 배열은 수정하지 말 것)
+     */
+    String[] getFieldNames();
+
+    /**
+     * getFieldNames() 와 같은 순서의 필드 타입
+     */
+    Class<?>[] getFieldTypes();
+
+    /**
+     * 기본 생성자로 생성
+     */
+    T create();
+
+    /**
+     * 요청 파라미터를 필드에 설정
+     *
+     * 변환에 실패한 필드는 values.typeMismatch() 로 오류만 남기고 다음 필드를 계속 바인딩한다. (WebDataBinder 와 같음)
+     */
+    void bind(T target, FormValues values);
+}
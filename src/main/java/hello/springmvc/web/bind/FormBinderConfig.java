@@ -0,0 +1,60 @@
+package hello.springmvc.web.bind;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 생성된 FormBinder 사용 설정
+ *
+ * WebMvcConfigurer.addArgumentResolvers 로 추가한 resolver 는 기본 resolver 뒤에 붙으므로
+ * (@ModelAttribute 는 기본 resolver 가 먼저 처리) RequestMappingHandlerAdapter 초기화 후 맨 앞에 넣는다.
+ *
+ * hello.mvc.generated-binders
+ *  - true (기본) : 생성된 FormBinder 가 있는 타입은 GeneratedFormBinderArgumentResolver 로 바인딩
+ *  - false : 항상 스프링 기본 방식 (WebDataBinder)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "hello.mvc", name = "generated-binders", havingValue = "true", matchIfMissing = true)
+public class FormBinderConfig {
+
+    @Bean
+    public static BeanPostProcessor generatedFormBinderRegistrar() {
+
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+                if (!(bean instanceof RequestMappingHandlerAdapter)) {
+                    return bean;
+                }
+
+                RequestMappingHandlerAdapter adapter = (RequestMappingHandlerAdapter) bean;
+                GeneratedFormBinderArgumentResolver resolver = new GeneratedFormBinderArgumentResolver(FormBinderConfig.class.getClassLoader());
+
+                if (resolver.isEmpty() || adapter.getArgumentResolvers() == null) {
+                    return bean;
+                }
+
+                List<HandlerMethodArgumentResolver> resolvers = new ArrayList<>();
+                resolvers.add(resolver);
+                resolvers.addAll(adapter.getArgumentResolvers());
+
+                adapter.setArgumentResolvers(resolvers);
+
+                log.info("generated form binders registered ahead of @ModelAttribute");
+
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package hello.springmvc.web.bind;
+
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.util.NumberUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.WebDataBinder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.beans.PropertyChangeEvent;
+import java.util.Map;
+
+/**
+ * 생성된 FormBinder 가 읽는 요청 값과 변환 함수
+ *
+ * 값 : 요청 파라미터, 없으면 URI 경로 변수 (ExtendedServletRequestDataBinder 와 같은 순서)
+ *
+ * 변환은 WebDataBinder 의 기본 동작 (ConversionService, 기본 PropertyEditor) 과 같은 결과를 낸다.
+ *  - 값이 여러 개 : String 은 쉼표로 연결, 그 외는 첫 번째 값
+ *  - 숫자 : 공백 제거, 16진수 (0x, #) 허용, 빈 값 (공백만 있는 값 포함) 은 wrapper 면 null / primitive 면 변환 오류
+ *  - boolean : true/on/yes/1, false/off/no/0 (대소문자 무시), 빈 문자열은 wrapper 면 null / primitive 면 변환 오류
+ *
+ * 변환 오류는 WebDataBinder 의 BindingErrorProcessor 로 넘겨서 같은 오류 코드 (typeMismatch) 와 메시지로 기록
+ */
+public class FormValues {
+
+    private final HttpServletRequest request;
+    private final Map<String, String> uriVariables;
+    private final WebDataBinder binder;
+
+    public FormValues(HttpServletRequest request, Map<String, String> uriVariables, WebDataBinder binder) {
+        this.request = request;
+        this.uriVariables = uriVariables;
+        this.binder = binder;
+    }
+
+    /**
+     * @return 값이 없으면 null
+     */
+    public String[] get(String name) {
+
+        String[] values = request.getParameterValues(name);
+
+        if (values == null && uriVariables != null) {
+            String value = uriVariables.get(name);
+            if (value != null) {
+                return new String[]{value};
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * 변환 실패 기록
+     *
+     * @param values 요청 값 (하나면 그 값이, 여러 개면 배열이 거부된 값으로 남는다)
+     */
+    public void typeMismatch(Object target, String field, String[] values, Class<?> requiredType, IllegalArgumentException cause) {
+
+        Object value = (values.length == 1) ? values[0] : values;
+        PropertyChangeEvent event = new PropertyChangeEvent(target, field, null, value);
+
+        binder.getBindingErrorProcessor()
+                .processPropertyAccessException(new TypeMismatchException(event, requiredType, cause), binder.getBindingResult());
+    }
+
+    public static String toString(String[] values) {
+        return (values.length == 1) ? values[0] : StringUtils.arrayToCommaDelimitedString(values);
+    }
+
+    public static int toInt(String[] values) {
+        return NumberUtils.parseNumber(first(values), Integer.class);
+    }
+
+    public static Integer toInteger(String[] values) {
+        String value = first(values);
+        return !StringUtils.hasText(value) ? null : NumberUtils.parseNumber(value, Integer.class);
+    }
+
+    public static long toLong(String[] values) {
+        return NumberUtils.parseNumber(first(values), Long.class);
+    }
+
+    public static Long toLongObject(String[] values) {
+        String value = first(values);
+        return !StringUtils.hasText(value) ? null : NumberUtils.parseNumber(value, Long.class);
+    }
+
+    public static double toDouble(String[] values) {
+        return NumberUtils.parseNumber(first(values), Double.class);
+    }
+
+    public static Double toDoubleObject(String[] values) {
+        String value = first(values);
+        return !StringUtils.hasText(value) ? null : NumberUtils.parseNumber(value, Double.class);
+    }
+
+    public static boolean toBoolean(String[] values) {
+
+        Boolean value = toBooleanObject(values);
+
+        if (value == null) {
+            throw new IllegalArgumentException("A null value cannot be assigned to a primitive type");
+        }
+
+        return value;
+    }
+
+    public static Boolean toBooleanObject(String[] values) {
+
+        String value = first(values).trim();
+
+        if (value.isEmpty()) {
+            return null;
+        }
+
+        switch (value.toLowerCase()) {
+            case "true":
+            case "on":
+            case "yes":
+            case "1":
+                return Boolean.TRUE;
+            case "false":
+            case "off":
+            case "no":
+            case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("Invalid boolean value '" + value + "'");
+        }
+    }
+
+    private static String first(String[] values) {
+        return (values.length == 0) ? "" : values[0];
+    }
+}
@@ -0,0 +1,22 @@
+package hello.springmvc.web.bind;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * @ModelAttribute 로 바인딩하는 폼 객체에 붙이면 컴파일 시 전용 FormBinder 를 생성 (FormBinderProcessor)
+ *
+ * 생성되는 클래스 : 같은 패키지의 {클래스 이름}FormBinder
+ *  - 필드마다 요청 파라미터를 읽어서 setter 를 직접 호출 (리플렉션, BeanWrapper 없음)
+ *  - 지원하는 필드 타입 : String, int / Integer, long / Long, double / Double, boolean / Boolean
+ *
+ * 필드 이름으로 setter 를 찾는다. (setUsername, boolean isActive -> setActive)
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateFormBinder {
+}
@@ -0,0 +1,152 @@
+package hello.springmvc.web.bind;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.annotation.ModelFactory;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ServletModelAttributeMethodProcessor;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.annotation.Annotation;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * @ModelAttribute (생략 포함) 폼 객체를 생성된 FormBinder 로 바인딩
+ *
+ * 스프링 기본 방식 (ServletModelAttributeMethodProcessor) 과 같은 순서로 처리하되, 값 설정만 FormBinder 가 한다.
+ *  1. 모델에 같은 이름의 속성이 있으면 그 객체, 없으면 FormBinder.create()
+ *  2. WebDataBinder 생성 (@InitBinder, WebBindingInitializer 적용) - 오류 기록에만 사용
+ *  3. FormBinder.bind() (변환 오류는 BindingResult 에 typeMismatch 로 기록)
+ *  4. 오류가 있고 다음 파라미터가 BindingResult / Errors 가 아니면 BindException (HTTP 400)
+ *  5. 객체와 BindingResult 를 모델에 추가
+ *
+ * 다음 경우는 스프링 기본 방식으로 처리 (결과가 달라질 수 있는 설정)
+ *  - @ModelAttribute 외의 애노테이션 (@Valid, @Validated 등 검증) 이 있거나 binding = false
+ *  - @InitBinder 등으로 allowed / disallowed / required 필드나 필드 타입의 PropertyEditor 를 지정한 경우
+ *  - _필드 (체크박스 마커), !필드 (기본값) 형식의 파라미터가 있는 경우
+ */
+public class GeneratedFormBinderArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final Map<Class<?>, FormBinder<?>> binders = new HashMap<>();
+
+    private final ServletModelAttributeMethodProcessor fallback = new ServletModelAttributeMethodProcessor(false);
+
+    public GeneratedFormBinderArgumentResolver(ClassLoader classLoader) {
+        for (FormBinder<?> binder : ServiceLoader.load(FormBinder.class, classLoader)) {
+            binders.put(binder.getTargetType(), binder);
+        }
+    }
+
+    public boolean isEmpty() {
+        return binders.isEmpty();
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+
+        if (!binders.containsKey(parameter.getParameterType())) {
+            return false;
+        }
+
+        for (Annotation annotation : parameter.getParameterAnnotations()) {
+
+            if (!(annotation instanceof ModelAttribute) || !((ModelAttribute) annotation).binding()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
+
+        FormBinder<Object> formBinder = (FormBinder<Object>) binders.get(parameter.getParameterType());
+        HttpServletRequest request = webRequest.getNativeRequest(HttpServletRequest.class);
+        String name = ModelFactory.getNameForParameter(parameter);
+
+        Object attribute = mavContainer.containsAttribute(name) ? mavContainer.getModel().get(name) : formBinder.create();
+        WebDataBinder binder = binderFactory.createBinder(webRequest, attribute, name);
+
+        if (request == null || !isPlainBinder(binder, formBinder) || hasSpecialParameters(request, binder)) {
+            return fallback.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
+        }
+
+        Map<String, String> uriVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+
+        formBinder.bind(attribute, new FormValues(request, uriVariables, binder));
+
+        BindingResult bindingResult = binder.getBindingResult();
+
+        if (bindingResult.hasErrors() && isBindExceptionRequired(parameter)) {
+            throw new BindException(bindingResult);
+        }
+
+        Map<String, Object> bindingResultModel = bindingResult.getModel();
+        mavContainer.removeAttributes(bindingResultModel);
+        mavContainer.addAllAttributes(bindingResultModel);
+
+        return attribute;
+    }
+
+    private static boolean isPlainBinder(WebDataBinder binder, FormBinder<?> formBinder) {
+
+        if (binder.getAllowedFields() != null || binder.getDisallowedFields() != null || binder.getRequiredFields() != null) {
+            return false;
+        }
+
+        String[] names = formBinder.getFieldNames();
+        Class<?>[] types = formBinder.getFieldTypes();
+
+        for (int i = 0; i < names.length; i++) {
+            if (binder.findCustomEditor(types[i], names[i]) != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean hasSpecialParameters(HttpServletRequest request, WebDataBinder binder) {
+
+        String marker = binder.getFieldMarkerPrefix();
+        String defaultPrefix = binder.getFieldDefaultPrefix();
+        Enumeration<String> names = request.getParameterNames();
+
+        while (names.hasMoreElements()) {
+
+            String name = names.nextElement();
+
+            if ((marker != null && name.startsWith(marker)) || (defaultPrefix != null && name.startsWith(defaultPrefix))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 다음 파라미터가 Errors (BindingResult) 면 예외 대신 오류를 넘긴다.
+     */
+    private static boolean isBindExceptionRequired(MethodParameter parameter) {
+
+        int i = parameter.getParameterIndex();
+        Class<?>[] paramTypes = parameter.getExecutable().getParameterTypes();
+
+        return !(paramTypes.length > (i + 1) && Errors.class.isAssignableFrom(paramTypes[i + 1]));
+    }
+}
@@ -0,0 +1,45 @@
+package hello.springmvc.web.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 캐시에 저장한 응답 (200 응답만 저장)
+ *
+ * Content-Type, 바디와 함께 핸들러가 설정한 나머지 응답 헤더도 저장 (요청마다 달라지는 헤더는 제외, ResponseCacheFilter 참고)
+ */
+@Getter
+@RequiredArgsConstructor
+public class CachedResponse {
+
+    private final String contentType;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    /**
+     * 따옴표를 포함한 강한 ETag, 예) "0a1b..."
+     */
+    private final String etag;
+
+    /**
+     * 유지 시간 (나노초), Long.MAX_VALUE 면 무기한
+     */
+    private final long ttlNanos;
+
+    int weight() {
+
+        int weight = body.length + etag.length() + (contentType != null ? contentType.length() : 0) + 64;
+
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            for (String value : header.getValue()) {
+                weight += header.getKey().length() + value.length() + 16;
+            }
+        }
+
+        return weight;
+    }
+}
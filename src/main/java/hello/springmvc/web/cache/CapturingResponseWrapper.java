@@ -0,0 +1,190 @@
+package hello.springmvc.web.cache;
+
+import org.springframework.util.FastByteArrayOutputStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+
+/**
+ * 필요할 때만 바디를 메모리에 모으는 응답 래퍼
+ *
+ * ContentCachingResponseWrapper 는 항상 바디 전체를 버퍼에 모으지만,
+ * 이 래퍼는 startCapture() 를 호출한 요청 (@ResponseCache 핸들러) 만 모으고 나머지는 그대로 내보낸다.
+ *
+ * 모으는 동안에는 응답이 커밋되지 않도록 Content-Length 설정과 flushBuffer() 를 보류
+ */
+class CapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private FastByteArrayOutputStream capture;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CapturingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * @return 이미 바디를 쓰기 시작했거나 커밋되어서 모을 수 없으면 false
+     */
+    boolean startCapture() {
+
+        if (capture != null) {
+            return true;
+        }
+
+        if (isCommitted() || outputStream != null || writer != null) {
+            return false;
+        }
+
+        capture = new FastByteArrayOutputStream(1024);
+
+        return true;
+    }
+
+    boolean isCapturing() {
+        return capture != null;
+    }
+
+    /**
+     * 모은 바디를 반환하고, 이후 쓰기는 원래 응답으로 보낸다.
+     *
+     * @return
+     */
+    byte[] finishCapture() {
+
+        if (writer != null) {
+            writer.flush();
+        }
+
+        byte[] body = capture.toByteArrayUnsafe();
+
+        capture = null;
+        outputStream = null;
+        writer = null;
+
+        return body;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+
+        if (capture == null) {
+            return super.getOutputStream();
+        }
+
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+
+        if (outputStream == null) {
+            outputStream = new CaptureOutputStream(capture);
+        }
+
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+
+        if (capture == null) {
+            return super.getWriter();
+        }
+
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(capture, getCharacterEncoding()));
+        }
+
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        if (capture == null) {
+            super.setContentLength(len);
+        }
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (capture == null) {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (capture == null || !"Content-Length".equalsIgnoreCase(name)) {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (capture == null || !"Content-Length".equalsIgnoreCase(name)) {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (capture == null) {
+            super.flushBuffer();
+        } else if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (capture != null) {
+            capture.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (capture != null) {
+            capture.reset();
+        }
+        super.reset();
+    }
+
+    private static final class CaptureOutputStream extends ServletOutputStream {
+
+        private final FastByteArrayOutputStream capture;
+
+        CaptureOutputStream(FastByteArrayOutputStream capture) {
+            this.capture = capture;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hello.springmvc.web.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * GET 응답 캐시
+ *
+ * 붙인 핸들러의 200 응답 바이트 (메시지 컨버터 / 뷰 렌더링 결과) 를 저장해 두고,
+ * 같은 요청 (URL + 쿼리 + Accept) 이 오면 핸들러를 호출하지 않고 저장한 바이트로 응답
+ *  - 응답에는 강한 ETag 를 붙이고, If-None-Match 가 같으면 HTTP 304 (바디 없음)
+ *  - 요청마다 결과가 달라지는 핸들러 (회원 조회 등) 에는 붙이면 안 된다.
+ *  - 비동기 반환 타입 (Callable, DeferredResult ...) 은 캐시하지 않는다.
+ *
+ * ResponseCacheConfig 참고
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ResponseCache {
+
+    /**
+     * 저장 후 유지 시간 (초), 0 이면 공간이 부족해서 밀려날 때까지 유지
+     */
+    long ttlSeconds() default 0;
+}
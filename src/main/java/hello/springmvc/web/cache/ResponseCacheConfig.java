@@ -0,0 +1,53 @@
+package hello.springmvc.web.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * @ResponseCache 설정
+ *
+ * ResponseCacheInterceptor : 핸들러 호출 전에 캐시 조회 (hit / 304)
+ * ResponseCacheFilter : 캐시에 없던 응답의 바디를 모아서 저장
+ * ResponseCacheController : 통계 (/internal/response-cache)
+ *
+ * hello.response-cache.enabled=false 면 인터셉터와 필터를 등록하지 않는다. (@ResponseCache 무시)
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig implements WebMvcConfigurer {
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+
+    public ResponseCacheConfig(ResponseCacheProperties properties) {
+        this.properties = properties;
+        this.store = new ResponseCacheStore(properties.getMaximumSize().toBytes());
+    }
+
+    @Bean
+    public ResponseCacheStore responseCacheStore() {
+        return store;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ResponseCacheFilter> responseCacheFilter() {
+
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(store));
+
+        registration.setOrder(0);
+        registration.setEnabled(properties.isEnabled());
+
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(new ResponseCacheInterceptor(store));
+        }
+    }
+}
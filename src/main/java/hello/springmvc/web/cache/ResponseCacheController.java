@@ -0,0 +1,34 @@
+package hello.springmvc.web.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 응답 캐시 통계 / 비우기
+ */
+@RestController
+@RequestMapping("/internal/response-cache")
+@RequiredArgsConstructor
+public class ResponseCacheController {
+
+    private final ResponseCacheStore store;
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        return store.stats();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+
+        store.invalidateAll();
+
+        return ResponseEntity.noContent().build();
+    }
+}
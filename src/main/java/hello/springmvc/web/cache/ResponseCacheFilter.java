@@ -0,0 +1,128 @@
+package hello.springmvc.web.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 응답 캐시 - 저장
+ *
+ * GET 요청의 응답을 CapturingResponseWrapper 로 감싸 두고,
+ * ResponseCacheInterceptor 가 캐시 대상이라고 표시한 요청이면 모인 바디를 저장한 뒤 ETag 와 함께 내보낸다.
+ * (캐시 대상이 아닌 요청은 래퍼가 그대로 통과시키므로 추가 복사가 없다.)
+ *
+ * 응답 헤더는 NOT_CACHED (길이 / 연결 / 날짜 / 쿠키 / 측정값 등 요청마다 달라지는 헤더) 를 빼고 함께 저장
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * 캐시 대상 요청에 ResponseCacheInterceptor 가 남기는 속성 (값 : ResponseCache)
+     */
+    static final String CACHE_KEY_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".KEY";
+    static final String CACHE_ANNOTATION_ATTRIBUTE = ResponseCacheFilter.class.getName() + ".ANNOTATION";
+
+    /**
+     * 저장하지 않는 응답 헤더 (소문자), Content-Type 과 ETag 는 CachedResponse 에 따로 저장
+     */
+    private static final Set<String> NOT_CACHED = Set.of(
+            "content-type", "content-length", "transfer-encoding", "connection", "keep-alive",
+            "date", "etag", "set-cookie", "server-timing", "retry-after");
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheFilter(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    /**
+     * 핸들러가 비동기로 실행되면 (hello.mvc.execution.mode) 응답은 async dispatch 에서 끝나므로, 그때 저장
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // async dispatch 에서는 비동기 시작 시 넘긴 래퍼가 그대로 전달된다.
+        CapturingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CapturingResponseWrapper.class);
+
+        if (wrapper == null) {
+            wrapper = new CapturingResponseWrapper(response);
+        }
+
+        filterChain.doFilter(request, isAsyncDispatch(request) ? response : wrapper);
+
+        if (!request.isAsyncStarted() && wrapper.isCapturing()) {
+            complete(request, (HttpServletResponse) wrapper.getResponse(), wrapper);
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, CapturingResponseWrapper wrapper)
+            throws IOException {
+
+        byte[] body = wrapper.finishCapture();
+        String key = (String) request.getAttribute(CACHE_KEY_ATTRIBUTE);
+        ResponseCache annotation = (ResponseCache) request.getAttribute(CACHE_ANNOTATION_ATTRIBUTE);
+
+        if (response.isCommitted()) {
+            // sendError 등으로 이미 응답이 나간 경우
+            return;
+        }
+
+        if (key == null || annotation == null || response.getStatus() != HttpServletResponse.SC_OK) {
+            writeBody(response, body);
+            return;
+        }
+
+        CachedResponse cached = store.put(key, response.getContentType(), cachedHeaders(response), body, annotation.ttlSeconds());
+
+        if (new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+            store.recordNotModified();
+            return;
+        }
+
+        writeBody(response, body);
+    }
+
+    private static HttpHeaders cachedHeaders(HttpServletResponse response) {
+
+        HttpHeaders headers = new HttpHeaders();
+
+        for (String name : response.getHeaderNames()) {
+            if (!NOT_CACHED.contains(name.toLowerCase(Locale.ROOT)) && !headers.containsKey(name)) {
+                headers.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+
+        return headers;
+    }
+
+    static void writeBody(HttpServletResponse response, byte[] body) throws IOException {
+
+        response.setContentLength(body.length);
+
+        if (body.length > 0) {
+            response.getOutputStream().write(body);
+        }
+
+        response.flushBuffer();
+    }
+}
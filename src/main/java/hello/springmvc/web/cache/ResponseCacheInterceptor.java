@@ -0,0 +1,104 @@
+package hello.springmvc.web.cache;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * 응답 캐시 - 조회
+ *
+ * @ResponseCache 핸들러 호출 전에 캐시를 확인
+ *  - 있으면 : If-None-Match 가 같으면 304, 아니면 저장된 헤더 + 바이트로 응답하고 핸들러는 호출하지 않음
+ *    (저장된 헤더는 304 에도 붙이고, 앞선 필터 등이 이미 설정한 이름이면 덮어쓰지 않는다.)
+ *  - 없으면 : ResponseCacheFilter 의 래퍼에 바디를 모으라고 표시 (저장은 필터가 수행)
+ */
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheInterceptor(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+
+        String method = request.getMethod();
+
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return true;
+        }
+
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        ResponseCache annotation = handlerMethod.getMethodAnnotation(ResponseCache.class);
+
+        if (annotation == null || isAsync(handlerMethod.getReturnType())) {
+            return true;
+        }
+
+        String key = store.key(request);
+        CachedResponse cached = store.get(key);
+
+        if (cached != null) {
+
+            cached.getHeaders().forEach((name, values) -> {
+                if (!response.containsHeader(name)) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+
+            if (new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+                store.recordNotModified();
+                return false;
+            }
+
+            if (cached.getContentType() != null) {
+                response.setContentType(cached.getContentType());
+            }
+
+            if ("HEAD".equals(method)) {
+                response.setContentLength(cached.getBody().length);
+            } else {
+                ResponseCacheFilter.writeBody(response, cached.getBody());
+            }
+
+            return false;
+        }
+
+        CapturingResponseWrapper wrapper = WebUtils.getNativeResponse(response, CapturingResponseWrapper.class);
+
+        if (wrapper != null && wrapper.startCapture()) {
+            request.setAttribute(ResponseCacheFilter.CACHE_KEY_ATTRIBUTE, key);
+            request.setAttribute(ResponseCacheFilter.CACHE_ANNOTATION_ATTRIBUTE, annotation);
+        }
+
+        return true;
+    }
+
+    private static boolean isAsync(MethodParameter returnType) {
+
+        Class<?> type = returnType.getParameterType();
+
+        return Callable.class.isAssignableFrom(type)
+                || DeferredResult.class.isAssignableFrom(type)
+                || WebAsyncTask.class.isAssignableFrom(type)
+                || CompletionStage.class.isAssignableFrom(type)
+                || ResponseBodyEmitter.class.isAssignableFrom(type)
+                || StreamingResponseBody.class.isAssignableFrom(type);
+    }
+}
@@ -0,0 +1,23 @@
+package hello.springmvc.web.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 응답 캐시 설정 (hello.response-cache.*)
+ */
+@Data
+@ConfigurationProperties("hello.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * false 면 @ResponseCache 를 무시
+     */
+    private boolean enabled = true;
+
+    /**
+     * 저장할 응답 바디의 총 크기 상한 (넘으면 W-TinyLFU 정책으로 밀어냄)
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(16);
+}
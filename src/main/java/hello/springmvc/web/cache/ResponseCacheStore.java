@@ -0,0 +1,122 @@
+package hello.springmvc.web.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 캐시 저장소
+ *
+ * Caffeine 캐시 사용
+ *  - 크기 상한은 항목 수가 아니라 바이트 (weigher) 기준
+ *  - 밀어낼 항목은 W-TinyLFU 로 결정 (최근 + 자주 쓰인 항목을 남김)
+ *  - 항목마다 유지 시간이 다를 수 있으므로 Expiry 로 항목별 만료
+ */
+public class ResponseCacheStore {
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final LongAdder notModified = new LongAdder();
+
+    public ResponseCacheStore(long maximumBytes) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return response.getTtlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return response.getTtlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 캐시 키 : URI + 쿼리 + Accept (HTTP 메서드는 GET, HEAD 를 같은 키로 취급)
+     *
+     * @param request
+     * @return
+     */
+    public String key(HttpServletRequest request) {
+
+        String query = request.getQueryString();
+        String accept = request.getHeader("Accept");
+
+        StringBuilder key = new StringBuilder(64).append(request.getRequestURI());
+
+        if (query != null) {
+            key.append('?').append(query);
+        }
+
+        if (accept != null) {
+            key.append('|').append(accept);
+        }
+
+        return key.toString();
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public CachedResponse put(String key, String contentType, HttpHeaders headers, byte[] body, long ttlSeconds) {
+
+        String etag = "\"0" + DigestUtils.md5DigestAsHex(body) + "\"";
+        long ttlNanos = (ttlSeconds > 0) ? TimeUnit.SECONDS.toNanos(ttlSeconds) : Long.MAX_VALUE;
+        CachedResponse response = new CachedResponse(contentType, headers, body, etag, ttlNanos);
+
+        cache.put(key, response);
+
+        return response;
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("notModifiedCount", notModified.sum());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("evictionWeight", stats.evictionWeight());
+        result.put("entries", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            result.put("weightedSize", eviction.weightedSize().orElse(0L));
+            result.put("maximumWeight", eviction.getMaximum());
+        });
+
+        return result;
+    }
+}
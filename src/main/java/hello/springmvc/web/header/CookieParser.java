@@ -0,0 +1,68 @@
+package hello.springmvc.web.header;
+
+/**
+ * Cookie 헤더에서 쿠키 하나만 찾는 파서
+ *
+ * HttpServletRequest.getCookies() 는 모든 쿠키를 Cookie 객체로 만들지만 (@CookieValue 도 이 방식),
+ * 여기서는 헤더 문자열을 훑어서 이름이 같은 쿠키의 값만 잘라낸다. (다른 쿠키는 객체를 만들지 않음)
+ *
+ * 형식 (RFC 6265) : name1=value1; name2="value2"
+ */
+final class CookieParser {
+
+    private CookieParser() {
+    }
+
+    /**
+     * @param header Cookie 헤더 값
+     * @param name 쿠키 이름
+     * @return 쿠키 값 (큰따옴표 제거), 없으면 null
+     */
+    static String find(String header, String name) {
+
+        if (header == null) {
+            return null;
+        }
+
+        int length = header.length();
+        int position = 0;
+
+        while (position < length) {
+
+            // 쿠키 이름 시작 (구분자 뒤 공백 건너뜀)
+            while (position < length && (header.charAt(position) == ' ' || header.charAt(position) == ';')) {
+                position++;
+            }
+
+            int end = header.indexOf(';', position);
+
+            if (end < 0) {
+                end = length;
+            }
+
+            int nameEnd = position + name.length();
+
+            if (header.startsWith(name, position) && nameEnd < end && header.charAt(nameEnd) == '=') {
+                return unquote(header, nameEnd + 1, end);
+            }
+
+            position = end + 1;
+        }
+
+        return null;
+    }
+
+    private static String unquote(String header, int start, int end) {
+
+        while (end > start && header.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        if (end - start >= 2 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+            start++;
+            end--;
+        }
+
+        return header.substring(start, end);
+    }
+}
@@ -0,0 +1,119 @@
+package hello.springmvc.web.header;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 요청 헤더를 필요할 때만 읽는 핸들러 인자
+ *
+ * @RequestHeader MultiValueMap 은 호출마다 모든 헤더를 새 맵에 복사하지만,
+ * 이 객체는 요청을 감싸기만 하고 조회한 헤더만 컨테이너 (Tomcat 헤더 버퍼) 에서 꺼낸다.
+ *  - 쿠키는 Cookie 헤더에서 요청한 이름만 찾는다. (CookieParser)
+ *  - Locale 은 처음 조회할 때 LocaleResolver 로 결정
+ *
+ * 요청 처리 중에만 사용 (요청이 끝난 뒤에는 컨테이너가 버퍼를 재사용)
+ */
+public class RequestHeaders {
+
+    private final HttpServletRequest request;
+
+    private Locale locale;
+
+    public RequestHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * @return 첫 번째 값 (없으면 null)
+     */
+    public String get(String name) {
+        return request.getHeader(name);
+    }
+
+    /**
+     * @return 모든 값 (없으면 빈 목록)
+     */
+    public List<String> getAll(String name) {
+
+        Enumeration<String> values = request.getHeaders(name);
+
+        if (values == null || !values.hasMoreElements()) {
+            return Collections.emptyList();
+        }
+
+        String first = values.nextElement();
+
+        if (!values.hasMoreElements()) {
+            return Collections.singletonList(first);
+        }
+
+        List<String> all = new ArrayList<>(2);
+        all.add(first);
+
+        while (values.hasMoreElements()) {
+            all.add(values.nextElement());
+        }
+
+        return all;
+    }
+
+    public boolean contains(String name) {
+        return request.getHeader(name) != null;
+    }
+
+    /**
+     * @return 헤더 이름 (조회할 때마다 컨테이너에서 새로 읽음)
+     */
+    public Enumeration<String> names() {
+        return request.getHeaderNames();
+    }
+
+    /**
+     * @return 쿠키 값 (없으면 null)
+     */
+    public String cookie(String name) {
+
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.COOKIE);
+
+        if (headers == null) {
+            return null;
+        }
+
+        while (headers.hasMoreElements()) {
+
+            String value = CookieParser.find(headers.nextElement(), name);
+
+            if (value != null) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    public HttpMethod method() {
+        return HttpMethod.resolve(request.getMethod());
+    }
+
+    public Locale locale() {
+
+        if (locale == null) {
+            locale = RequestContextUtils.getLocale(request);
+        }
+
+        return locale;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestHeaders[" + request.getMethod() + " " + request.getRequestURI() + "]";
+    }
+}
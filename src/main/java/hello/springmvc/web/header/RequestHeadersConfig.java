@@ -0,0 +1,19 @@
+package hello.springmvc.web.header;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * RequestHeaders 핸들러 인자 등록
+ */
+@Configuration
+public class RequestHeadersConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new RequestHeadersArgumentResolver());
+    }
+}
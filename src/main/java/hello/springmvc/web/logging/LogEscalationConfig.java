@@ -0,0 +1,31 @@
+package hello.springmvc.web.logging;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * 요청 단위 로그 레벨 상향 설정
+ *
+ * LogEscalationFilter : 요청 쓰레드에 레벨 지정 (다른 필터의 로그도 포함되도록 가장 먼저 실행)
+ * EscalationTurboFilter : 지정된 쓰레드의 로그 출력 (logback-spring.xml)
+ *
+ * hello.logging.escalation.enabled=false 면 필터를 등록하지 않는다.
+ */
+@Configuration
+@EnableConfigurationProperties(LogEscalationProperties.class)
+public class LogEscalationConfig {
+
+    @Bean
+    public FilterRegistrationBean<LogEscalationFilter> logEscalationFilter(LogEscalationProperties properties) {
+
+        FilterRegistrationBean<LogEscalationFilter> registration = new FilterRegistrationBean<>(new LogEscalationFilter(properties));
+
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        registration.setEnabled(properties.isEnabled());
+
+        return registration;
+    }
+}
@@ -0,0 +1,136 @@
+package hello.springmvc.web.logging;
+
+import ch.qos.logback.classic.Level;
+import hello.springmvc.support.logging.LogLevelEscalation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 요청 단위 로그 레벨 상향
+ *
+ * MappingController 의 headers = "mode=debug" / params = "mode=debug" 처럼
+ * 헤더 (log-mode: debug) 나 쿼리 파라미터 (?log-mode=trace) 로 레벨을 지정하면
+ * 이 요청을 처리하는 쓰레드에서만 해당 레벨 로그를 출력한다. (EscalationTurboFilter)
+ *
+ * 허용 목록
+ *  - levels : 요청할 수 있는 레벨
+ *  - allowed-addresses : 레벨을 올릴 수 있는 클라이언트 주소
+ *
+ * 파라미터는 쿼리 문자열에서만 찾는다. (getParameter 는 폼 요청의 바디까지 읽어 버림)
+ */
+public class LogEscalationFilter extends OncePerRequestFilter {
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String header;
+    private final String param;
+    private final Set<String> levels;
+    private final Set<String> allowedAddresses;
+
+    public LogEscalationFilter(LogEscalationProperties properties) {
+        this.header = properties.getHeader();
+        this.param = properties.getParam();
+        this.levels = properties.getLevels().stream()
+                .map(level -> level.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.allowedAddresses = Set.copyOf(properties.getAllowedAddresses());
+    }
+
+    /**
+     * 핸들러가 비동기로 실행되면 (hello.mvc.execution.mode) 반환값 처리는 async dispatch 쓰레드에서 하므로 다시 지정
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Level level = requestedLevel(request);
+
+        if (level == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        LogLevelEscalation.set(level);
+
+        try {
+            log.debug("log level escalated to {} for {} {}", level, request.getMethod(), request.getRequestURI());
+            filterChain.doFilter(request, response);
+        } finally {
+            LogLevelEscalation.clear();
+        }
+    }
+
+    /**
+     * @return 허용된 요청이면 지정한 레벨, 아니면 null
+     */
+    private Level requestedLevel(HttpServletRequest request) {
+
+        String value = request.getHeader(header);
+
+        if (value == null) {
+            value = queryParameter(request.getQueryString(), param);
+        }
+
+        if (value == null) {
+            return null;
+        }
+
+        value = value.toLowerCase(Locale.ROOT);
+
+        if (!levels.contains(value)) {
+            return null;
+        }
+
+        if (!allowedAddresses.isEmpty() && !allowedAddresses.contains(request.getRemoteAddr())) {
+            return null;
+        }
+
+        return Level.toLevel(value, null);
+    }
+
+    /**
+     * @return 쿼리 문자열에서 처음 나오는 name 파라미터 값 (없으면 null)
+     */
+    static String queryParameter(String query, String name) {
+
+        if (query == null || !query.contains(name)) {
+            return null;
+        }
+
+        int start = 0;
+
+        while (start <= query.length()) {
+
+            int end = query.indexOf('&', start);
+
+            if (end < 0) {
+                end = query.length();
+            }
+
+            if (query.startsWith(name, start)
+                    && start + name.length() < end
+                    && query.charAt(start + name.length()) == '=') {
+                return query.substring(start + name.length() + 1, end);
+            }
+
+            start = end + 1;
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,40 @@
+package hello.springmvc.web.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 요청 단위 로그 레벨 상향 설정 (hello.logging.escalation.*)
+ */
+@Data
+@ConfigurationProperties("hello.logging.escalation")
+public class LogEscalationProperties {
+
+    /**
+     * false 면 헤더 / 파라미터를 무시
+     */
+    private boolean enabled = true;
+
+    /**
+     * 레벨을 지정하는 HTTP 헤더 이름 (예: log-mode: debug)
+     */
+    private String header = "log-mode";
+
+    /**
+     * 레벨을 지정하는 쿼리 파라미터 이름 (예: ?log-mode=trace)
+     */
+    private String param = "log-mode";
+
+    /**
+     * 요청할 수 있는 레벨 (이 밖의 값은 무시)
+     */
+    private List<String> levels = new ArrayList<>(List.of("debug", "trace"));
+
+    /**
+     * 레벨을 올릴 수 있는 클라이언트 주소 (비어 있으면 모든 주소)
+     */
+    private List<String> allowedAddresses = new ArrayList<>(List.of("127.0.0.1", "0:0:0:0:0:0:0:1"));
+}
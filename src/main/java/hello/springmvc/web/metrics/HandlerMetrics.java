@@ -0,0 +1,162 @@
+package hello.springmvc.web.metrics;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 핸들러 메서드 하나의 지연 시간 (나노초) / 진행 중 요청 수 / 오류 수
+ *
+ * 요청 쓰레드 (기록)
+ *  - 지연 시간은 HdrHistogram Recorder 에 기록 (wait-free, 할당 없음)
+ *  - 카운터는 LongAdder (쓰레드가 많아도 같은 캐시 라인을 두고 경쟁하지 않음)
+ *
+ * 조회 (snapshot)
+ *  - Recorder 에 쌓인 구간 히스토그램을 꺼내서 누적 히스토그램에 더한다. (조회끼리만 동기화)
+ *
+ * 단계별 시간 (Server-Timing 측정 요청) 은 단계 이름별 HandlerMetrics 에 따로 기록 (처음 기록할 때 생성)
+ */
+public class HandlerMetrics {
+
+    @Getter
+    private final String name;
+
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    private final Recorder recorder;
+
+    /**
+     * 지금까지 기록된 전체 지연 시간 (snapshot 에서만 사용)
+     */
+    private final Histogram total;
+
+    private Histogram interval;
+
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final ConcurrentHashMap<String, HandlerMetrics> phases = new ConcurrentHashMap<>();
+
+    public HandlerMetrics(String name, long highestTrackableValue, int significantDigits) {
+        this.name = name;
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+        this.recorder = new Recorder(highestTrackableValue, significantDigits);
+        this.total = new Histogram(highestTrackableValue, significantDigits);
+    }
+
+    /**
+     * 핸들러 호출 전
+     */
+    public void start() {
+        inFlight.increment();
+    }
+
+    /**
+     * 핸들러 호출 후 (응답 완료)
+     *
+     * @param nanos 지연 시간
+     * @param error 예외 또는 5xx 응답이면 true
+     */
+    public void stop(long nanos, boolean error) {
+
+        inFlight.decrement();
+        record(nanos);
+
+        if (error) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * 지연 시간만 기록 (진행 중 요청 수와 무관)
+     */
+    public void record(long nanos) {
+
+        long value = Math.max(1, Math.min(nanos, highestTrackableValue));
+
+        recorder.recordValue(value);
+        totalNanos.add(nanos);
+    }
+
+    /**
+     * 단계 (lookup, args, handler ...) 시간 기록
+     */
+    public void recordPhase(String phase, long nanos) {
+        phases.computeIfAbsent(phase, key -> new HandlerMetrics(key, highestTrackableValue, significantDigits)).record(nanos);
+    }
+
+    public synchronized Snapshot snapshot() {
+
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+
+        Map<String, Snapshot> phaseSnapshots = Collections.emptyMap();
+
+        if (!phases.isEmpty()) {
+            phaseSnapshots = new TreeMap<>();
+            for (HandlerMetrics phase : phases.values()) {
+                phaseSnapshots.put(phase.getName(), phase.snapshot());
+            }
+        }
+
+        return new Snapshot(
+                name,
+                total.getTotalCount(),
+                errors.sum(),
+                inFlight.sum(),
+                totalNanos.sum(),
+                total.getMaxValue(),
+                total.getValueAtPercentile(50),
+                total.getValueAtPercentile(90),
+                total.getValueAtPercentile(99),
+                total.getValueAtPercentile(99.9),
+                phaseSnapshots);
+    }
+
+    /**
+     * 조회 시점의 값 (지연 시간은 나노초)
+     */
+    @Getter
+    public static class Snapshot {
+
+        private final String name;
+        private final long count;
+        private final long errors;
+        private final long inFlight;
+        private final long sumNanos;
+        private final long maxNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long p999Nanos;
+
+        /**
+         * 단계 이름 -> 단계 시간 (count, 지연 시간만 의미 있음)
+         */
+        private final Map<String, Snapshot> phases;
+
+        Snapshot(String name, long count, long errors, long inFlight, long sumNanos, long maxNanos,
+                 long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos, Map<String, Snapshot> phases) {
+            this.name = name;
+            this.count = count;
+            this.errors = errors;
+            this.inFlight = inFlight;
+            this.sumNanos = sumNanos;
+            this.maxNanos = maxNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.phases = phases;
+        }
+    }
+}
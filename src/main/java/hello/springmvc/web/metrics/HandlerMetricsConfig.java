@@ -0,0 +1,42 @@
+package hello.springmvc.web.metrics;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 핸들러 지연 시간 측정 설정
+ *
+ * HandlerMetricsInterceptor : 핸들러 메서드별 기록
+ * HandlerMetricsController : 조회 (/internal/metrics)
+ *
+ * hello.metrics.enabled=false 면 인터셉터를 등록하지 않는다.
+ */
+@Configuration
+@EnableConfigurationProperties(HandlerMetricsProperties.class)
+public class HandlerMetricsConfig implements WebMvcConfigurer {
+
+    private final HandlerMetricsProperties properties;
+    private final HandlerMetricsRegistry registry;
+
+    public HandlerMetricsConfig(HandlerMetricsProperties properties) {
+        this.properties = properties;
+        this.registry = new HandlerMetricsRegistry(
+                properties.getHighestTrackableLatency().toNanos(), properties.getSignificantDigits());
+    }
+
+    @Bean
+    public HandlerMetricsRegistry handlerMetricsRegistry() {
+        return registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(new HandlerMetricsInterceptor(this.registry)).order(Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package hello.springmvc.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 핸들러 지연 시간 조회
+ *
+ * Accept 헤더로 형식 선택
+ *  - application/json : 핸들러별 count, errors, inFlight, p50 / p90 / p99 / p999 (마이크로초)
+ *  - text/plain : Prometheus text format
+ */
+@RestController
+@RequestMapping("/internal/metrics")
+@RequiredArgsConstructor
+public class HandlerMetricsController {
+
+    static final String PROMETHEUS_TEXT = "text/plain;version=0.0.4;charset=utf-8";
+
+    private final HandlerMetricsRegistry registry;
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> json() {
+        return registry.toMap();
+    }
+
+    @GetMapping(produces = PROMETHEUS_TEXT)
+    public String prometheus() {
+        return registry.toPrometheus();
+    }
+}
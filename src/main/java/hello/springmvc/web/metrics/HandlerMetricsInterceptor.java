@@ -0,0 +1,67 @@
+package hello.springmvc.web.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 핸들러 메서드별 지연 시간 측정
+ *
+ * preHandle ~ afterCompletion (응답 완료) 시간을 HandlerMetrics 에 기록
+ *  - 비동기 처리 (Callable, hello.mvc.execution.mode ...) 는 async dispatch 의 afterCompletion 까지 측정
+ *  - 예외가 발생했거나 5xx 응답이면 오류로 센다.
+ *
+ * 다른 인터셉터가 preHandle 에서 응답을 끝내는 경우 (응답 캐시 hit 등) 도 측정하도록 가장 먼저 등록한다.
+ */
+public class HandlerMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    static final String SAMPLE_ATTRIBUTE = HandlerMetricsInterceptor.class.getName() + ".SAMPLE";
+
+    private final HandlerMetricsRegistry registry;
+
+    public HandlerMetricsInterceptor(HandlerMetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (!(handler instanceof HandlerMethod) || request.getAttribute(SAMPLE_ATTRIBUTE) != null) {
+            // async dispatch 는 처음 preHandle 에서 시작한 측정을 이어간다.
+            return true;
+        }
+
+        HandlerMetrics metrics = registry.get((HandlerMethod) handler);
+        metrics.start();
+
+        request.setAttribute(SAMPLE_ATTRIBUTE, new Sample(metrics, System.nanoTime()));
+
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        Sample sample = (Sample) request.getAttribute(SAMPLE_ATTRIBUTE);
+
+        if (sample == null) {
+            return;
+        }
+
+        request.removeAttribute(SAMPLE_ATTRIBUTE);
+        sample.metrics.stop(System.nanoTime() - sample.startNanos, ex != null || response.getStatus() >= 500);
+    }
+
+    private static final class Sample {
+
+        final HandlerMetrics metrics;
+        final long startNanos;
+
+        Sample(HandlerMetrics metrics, long startNanos) {
+            this.metrics = metrics;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package hello.springmvc.web.metrics;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 핸들러 지연 시간 측정 설정 (hello.metrics.*)
+ */
+@Data
+@ConfigurationProperties("hello.metrics")
+public class HandlerMetricsProperties {
+
+    /**
+     * false 면 측정하지 않는다. (/internal/metrics 는 빈 결과)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 히스토그램에 기록할 수 있는 최대 지연 시간 (넘으면 이 값으로 기록)
+     */
+    private Duration highestTrackableLatency = Duration.ofMinutes(1);
+
+    /**
+     * 히스토그램 유효 자릿수 (2 면 값의 1% 이내 오차)
+     */
+    private int significantDigits = 2;
+}
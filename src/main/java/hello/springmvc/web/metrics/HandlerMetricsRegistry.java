@@ -0,0 +1,197 @@
+package hello.springmvc.web.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 핸들러 메서드별 HandlerMetrics 저장소
+ *
+ * 이름 : 클래스 단순 이름#메서드 이름 (예: MappingController#mappingPath)
+ *  - 같은 이름의 메서드가 여러 개 (오버로딩) 면 파라미터 타입을 붙인다. (예: MappingController#mappingPath(long,long))
+ */
+public class HandlerMetricsRegistry {
+
+    private static final double NANOS_PER_MICRO = 1_000d;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final ConcurrentHashMap<Method, HandlerMetrics> metrics = new ConcurrentHashMap<>();
+
+    private final long highestTrackableValue;
+    private final int significantDigits;
+
+    public HandlerMetricsRegistry(long highestTrackableValue, int significantDigits) {
+        this.highestTrackableValue = highestTrackableValue;
+        this.significantDigits = significantDigits;
+    }
+
+    public HandlerMetrics get(HandlerMethod handlerMethod) {
+
+        Method method = handlerMethod.getMethod();
+        HandlerMetrics found = metrics.get(method);
+
+        if (found != null) {
+            return found;
+        }
+
+        return metrics.computeIfAbsent(method,
+                key -> new HandlerMetrics(name(handlerMethod.getBeanType(), key), highestTrackableValue, significantDigits));
+    }
+
+    static String name(Class<?> beanType, Method method) {
+
+        String name = beanType.getSimpleName() + "#" + method.getName();
+
+        long overloads = Arrays.stream(beanType.getMethods())
+                .filter(candidate -> candidate.getName().equals(method.getName()))
+                .count();
+
+        if (overloads <= 1) {
+            return name;
+        }
+
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", name + "(", ")"));
+    }
+
+    /**
+     * @return 이름 순
+     */
+    public List<HandlerMetrics.Snapshot> snapshots() {
+
+        List<HandlerMetrics.Snapshot> snapshots = new ArrayList<>();
+
+        for (HandlerMetrics handlerMetrics : metrics.values()) {
+            snapshots.add(handlerMetrics.snapshot());
+        }
+
+        snapshots.sort(Comparator.comparing(HandlerMetrics.Snapshot::getName));
+
+        return snapshots;
+    }
+
+    /**
+     * JSON 응답 (지연 시간은 마이크로초)
+     */
+    public Map<String, Object> toMap() {
+
+        Map<String, Object> handlers = new LinkedHashMap<>();
+
+        for (HandlerMetrics.Snapshot snapshot : snapshots()) {
+
+            Map<String, Object> values = new LinkedHashMap<>();
+
+            values.put("count", snapshot.getCount());
+            values.put("errors", snapshot.getErrors());
+            values.put("errorRate", snapshot.getCount() == 0 ? 0d : (double) snapshot.getErrors() / snapshot.getCount());
+            values.put("inFlight", snapshot.getInFlight());
+            putLatencies(values, snapshot);
+
+            if (!snapshot.getPhases().isEmpty()) {
+
+                Map<String, Object> phases = new LinkedHashMap<>();
+
+                for (HandlerMetrics.Snapshot phase : snapshot.getPhases().values()) {
+
+                    Map<String, Object> phaseValues = new LinkedHashMap<>();
+
+                    phaseValues.put("count", phase.getCount());
+                    putLatencies(phaseValues, phase);
+
+                    phases.put(phase.getName(), phaseValues);
+                }
+
+                values.put("phases", phases);
+            }
+
+            handlers.put(snapshot.getName(), values);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("handlers", handlers);
+
+        return result;
+    }
+
+    private static void putLatencies(Map<String, Object> values, HandlerMetrics.Snapshot snapshot) {
+        values.put("meanMicros", snapshot.getCount() == 0 ? 0d : snapshot.getSumNanos() / NANOS_PER_MICRO / snapshot.getCount());
+        values.put("p50Micros", snapshot.getP50Nanos() / NANOS_PER_MICRO);
+        values.put("p90Micros", snapshot.getP90Nanos() / NANOS_PER_MICRO);
+        values.put("p99Micros", snapshot.getP99Nanos() / NANOS_PER_MICRO);
+        values.put("p999Micros", snapshot.getP999Nanos() / NANOS_PER_MICRO);
+        values.put("maxMicros", snapshot.getMaxNanos() / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Prometheus text format (0.0.4, 지연 시간은 초)
+     */
+    public String toPrometheus() {
+
+        List<HandlerMetrics.Snapshot> snapshots = snapshots();
+        StringBuilder out = new StringBuilder(256 + snapshots.size() * 512);
+
+        out.append("# HELP hello_handler_latency_seconds Handler method latency.\n");
+        out.append("# TYPE hello_handler_latency_seconds summary\n");
+
+        for (HandlerMetrics.Snapshot snapshot : snapshots) {
+            quantile(out, snapshot, "0.5", snapshot.getP50Nanos());
+            quantile(out, snapshot, "0.9", snapshot.getP90Nanos());
+            quantile(out, snapshot, "0.99", snapshot.getP99Nanos());
+            quantile(out, snapshot, "0.999", snapshot.getP999Nanos());
+            sample(out, "hello_handler_latency_seconds_sum", snapshot).append(snapshot.getSumNanos() / NANOS_PER_SECOND).append('\n');
+            sample(out, "hello_handler_latency_seconds_count", snapshot).append(snapshot.getCount()).append('\n');
+        }
+
+        out.append("# HELP hello_handler_phase_seconds DispatcherServlet phase latency of Server-Timing requests.\n");
+        out.append("# TYPE hello_handler_phase_seconds summary\n");
+
+        for (HandlerMetrics.Snapshot snapshot : snapshots) {
+            for (HandlerMetrics.Snapshot phase : snapshot.getPhases().values()) {
+                String labels = "{handler=\"" + escape(snapshot.getName()) + "\",phase=\"" + phase.getName() + "\"";
+                out.append("hello_handler_phase_seconds").append(labels).append(",quantile=\"0.5\"} ").append(phase.getP50Nanos() / NANOS_PER_SECOND).append('\n');
+                out.append("hello_handler_phase_seconds").append(labels).append(",quantile=\"0.99\"} ").append(phase.getP99Nanos() / NANOS_PER_SECOND).append('\n');
+                out.append("hello_handler_phase_seconds_sum").append(labels).append("} ").append(phase.getSumNanos() / NANOS_PER_SECOND).append('\n');
+                out.append("hello_handler_phase_seconds_count").append(labels).append("} ").append(phase.getCount()).append('\n');
+            }
+        }
+
+        out.append("# HELP hello_handler_errors_total Handler calls that threw or returned 5xx.\n");
+        out.append("# TYPE hello_handler_errors_total counter\n");
+
+        for (HandlerMetrics.Snapshot snapshot : snapshots) {
+            sample(out, "hello_handler_errors_total", snapshot).append(snapshot.getErrors()).append('\n');
+        }
+
+        out.append("# HELP hello_handler_in_flight Handler calls in progress.\n");
+        out.append("# TYPE hello_handler_in_flight gauge\n");
+
+        for (HandlerMetrics.Snapshot snapshot : snapshots) {
+            sample(out, "hello_handler_in_flight", snapshot).append(snapshot.getInFlight()).append('\n');
+        }
+
+        return out.toString();
+    }
+
+    private static void quantile(StringBuilder out, HandlerMetrics.Snapshot snapshot, String quantile, long nanos) {
+        out.append("hello_handler_latency_seconds{handler=\"").append(escape(snapshot.getName()))
+                .append("\",quantile=\"").append(quantile).append("\"} ")
+                .append(nanos / NANOS_PER_SECOND).append('\n');
+    }
+
+    private static StringBuilder sample(StringBuilder out, String metric, HandlerMetrics.Snapshot snapshot) {
+        return out.append(metric).append("{handler=\"").append(escape(snapshot.getName())).append("\"} ");
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,17 @@
+package hello.springmvc.web.nio;
+
+/**
+ * 다 읽은 요청 바디 -> 핸들러 결과
+ *
+ * 컨테이너 쓰레드 (ReadListener.onAllDataRead) 에서 호출되므로 블로킹 작업은 하지 않는다.
+ */
+@FunctionalInterface
+public interface BodyConverter<T> {
+
+    /**
+     * @param body 요청 바디 전체 (길이 = 바디 크기)
+     * @return DeferredResult 의 결과 (메시지 컨버터로 응답)
+     * @throws Exception DeferredResult 의 오류 결과 (예외 리졸버로 처리)
+     */
+    T convert(byte[] body) throws Exception;
+}
@@ -0,0 +1,104 @@
+package hello.springmvc.web.nio;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 읽을 수 있는 바이트가 있을 때만 (onDataAvailable) 읽어서 모으는 ReadListener
+ *
+ * isReady() 가 false 가 되면 바로 반환해서 컨테이너 쓰레드를 돌려주고,
+ * 다음 바이트가 도착하면 컨테이너가 다시 onDataAvailable 을 호출한다.
+ */
+class BodyReadListener<T> implements ReadListener {
+
+    private final ServletInputStream in;
+    private final DeferredResult<T> result;
+    private final BodyConverter<T> converter;
+    private final int maxSize;
+
+    private byte[] buffer;
+    private int length;
+    private boolean done;
+
+    BodyReadListener(ServletInputStream in, DeferredResult<T> result, BodyConverter<T> converter, int maxSize, int initialSize) {
+        this.in = in;
+        this.result = result;
+        this.converter = converter;
+        this.maxSize = maxSize;
+        this.buffer = new byte[Math.min(initialSize, maxSize + 1)];
+    }
+
+    @Override
+    public void onDataAvailable() throws IOException {
+
+        while (!done && !in.isFinished() && in.isReady()) {
+
+            if (length == buffer.length) {
+                grow();
+            }
+
+            int n = in.read(buffer, length, buffer.length - length);
+
+            if (n < 0) {
+                return;
+            }
+
+            length += n;
+
+            if (length > maxSize) {
+                fail(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "request body exceeds " + maxSize + " bytes"));
+            }
+        }
+    }
+
+    @Override
+    public void onAllDataRead() {
+
+        if (done) {
+            return;
+        }
+
+        done = true;
+
+        byte[] body = (length == buffer.length) ? buffer : Arrays.copyOf(buffer, length);
+        buffer = null;
+
+        try {
+            result.setResult(converter.convert(body));
+        } catch (Exception e) {
+            result.setErrorResult(e);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+
+        if (!done) {
+            fail(t);
+        }
+    }
+
+    /**
+     * 두 배씩, 최대 maxSize + 1 (maxSize 를 넘었는지 알 수 있을 만큼) 까지
+     */
+    private void grow() {
+        buffer = Arrays.copyOf(buffer, (int) Math.min((long) Math.max(buffer.length, 1) * 2, (long) maxSize + 1));
+    }
+
+    /**
+     * 나머지 바디는 읽지 않는다. (응답 후 컨테이너가 버리거나 연결을 닫음)
+     */
+    private void fail(Throwable t) {
+
+        done = true;
+        buffer = null;
+
+        result.setErrorResult(t);
+    }
+}
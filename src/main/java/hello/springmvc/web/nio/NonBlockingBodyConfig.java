@@ -0,0 +1,19 @@
+package hello.springmvc.web.nio;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * NonBlockingBodyReader 빈 등록
+ */
+@Configuration
+@EnableConfigurationProperties(NonBlockingBodyProperties.class)
+public class NonBlockingBodyConfig {
+
+    @Bean
+    public NonBlockingBodyReader nonBlockingBodyReader(NonBlockingBodyProperties properties) {
+        return new NonBlockingBodyReader((int) properties.getMaxSize().toBytes(), (int) properties.getInitialBufferSize().toBytes(),
+                properties.getTimeout());
+    }
+}
@@ -0,0 +1,30 @@
+package hello.springmvc.web.nio;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 논블로킹 바디 읽기 설정 (hello.request-body.non-blocking.*)
+ */
+@Data
+@ConfigurationProperties("hello.request-body.non-blocking")
+public class NonBlockingBodyProperties {
+
+    /**
+     * 바디 최대 크기 (바디를 메모리에 모은 뒤 변환하므로 작게, 넘으면 413)
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(1);
+
+    /**
+     * Content-Length 가 없는 요청 (chunked) 의 처음 버퍼 크기 (모자라면 두 배씩 늘림)
+     */
+    private DataSize initialBufferSize = DataSize.ofBytes(512);
+
+    /**
+     * 바디를 다 받을 때까지 기다리는 최대 시간 (넘으면 408), 0 이하면 제한 없음
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,158 @@
+package hello.springmvc.web.nio;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 서블릿 논블로킹 I/O (ReadListener) 로 요청 바디를 읽는 핸들러용 도구
+ *
+ * 블로킹 읽기 (InputStream, @RequestBody) 는 바디가 다 도착할 때까지 컨테이너 쓰레드를 붙잡는다.
+ * 여기서는 핸들러가 DeferredResult 를 반환해서 비동기를 시작하고, 바이트가 도착할 때만 컨테이너가 쓰레드를 빌려준다.
+ *  1. 핸들러 : read() 가 만든 DeferredResult 를 반환 -> 쓰레드 반납
+ *  2. 비동기 시작 직후 (DeferredResultProcessingInterceptor.preProcess) ReadListener 등록
+ *  3. onDataAvailable : 읽을 수 있는 만큼만 읽고 반환 (isReady() == false)
+ *  4. onAllDataRead : BodyConverter 로 결과를 만들어 DeferredResult 에 설정 -> async dispatch 에서 메시지 컨버터로 응답
+ *
+ * 응답은 스프링의 async dispatch 에서 쓰므로 인터셉터 (지표, Server-Timing) 와 예외 리졸버가 그대로 동작한다.
+ *
+ * 크기 제한 : Content-Length 가 maxSize 보다 크면 읽기 전에, 길이를 모르면 읽은 양이 넘는 순간 413
+ * 시간 제한 : timeout 안에 바디를 다 받지 못하면 408 (바디를 보내다 멈춘 클라이언트가 비동기 요청을 계속 잡고 있지 않도록)
+ * 비동기를 지원하지 않는 요청 (async-supported 가 아닌 필터를 거친 경우) 은 IllegalStateException
+ *
+ * chunked 요청은 블로킹으로 읽는다.
+ *  - Tomcat 9.0.55 의 논블로킹 청크 파서는 청크 데이터 뒤의 CRLF 가 따로 도착하면 Invalid chunk header 로
+ *    응답 없이 연결을 닫는다. (블로킹 읽기는 영향 없음)
+ *  - 이 경우 바디를 받는 동안 요청 쓰레드를 붙잡고, 시간 제한은 timeout 대신 커넥터의 읽기 제한 (connection-timeout) 을 따른다.
+ *  - 청크 파서가 고쳐진 Tomcat 으로 올리면 이 분기를 지울 것
+ */
+public class NonBlockingBodyReader {
+
+    private static final String INTERCEPTOR_KEY = NonBlockingBodyReader.class.getName();
+
+    private final int maxSize;
+    private final int initialBufferSize;
+
+    /**
+     * DeferredResult 제한 시간 (밀리초), -1 이면 제한 없음
+     */
+    private final long timeoutMillis;
+
+    /**
+     * @param timeout 0 이하면 제한 없음
+     */
+    public NonBlockingBodyReader(int maxSize, int initialBufferSize, Duration timeout) {
+        this.maxSize = maxSize;
+        this.initialBufferSize = initialBufferSize;
+        this.timeoutMillis = (timeout == null || timeout.isZero() || timeout.isNegative()) ? -1 : timeout.toMillis();
+    }
+
+    /**
+     * @param request 현재 요청 (핸들러에서 호출)
+     * @param converter 다 읽은 바디 -> 결과
+     * @return 핸들러가 그대로 반환할 DeferredResult
+     */
+    public <T> DeferredResult<T> read(HttpServletRequest request, BodyConverter<T> converter) {
+
+        if (!request.isAsyncSupported()) {
+            throw new IllegalStateException("async is not supported for " + request.getRequestURI());
+        }
+
+        long contentLength = request.getContentLengthLong();
+
+        if (contentLength > maxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "request body exceeds " + maxSize + " bytes");
+        }
+
+        if (contentLength < 0 && isChunked(request)) {
+            return readBlocking(request, converter);
+        }
+
+        // 길이를 알면 딱 맞는 버퍼 (다 읽은 뒤 복사 없음)
+        int initialSize = (contentLength >= 0) ? (int) contentLength : initialBufferSize;
+
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis,
+                () -> new ResponseStatusException(HttpStatus.REQUEST_TIMEOUT, "request body not received within " + timeoutMillis + " ms"));
+
+        // ReadListener 는 비동기가 시작된 뒤에만 등록할 수 있다.
+        WebAsyncUtils.getAsyncManager(request).registerDeferredResultInterceptor(INTERCEPTOR_KEY, new DeferredResultProcessingInterceptor() {
+
+            @Override
+            public <R> void preProcess(NativeWebRequest webRequest, DeferredResult<R> deferredResult) throws IOException {
+
+                if (deferredResult != result) {
+                    return;
+                }
+
+                ServletInputStream in = request.getInputStream();
+
+                in.setReadListener(new BodyReadListener<>(in, result, converter, maxSize, initialSize));
+            }
+        });
+
+        return result;
+    }
+
+    private static boolean isChunked(HttpServletRequest request) {
+
+        String transferEncoding = request.getHeader(HttpHeaders.TRANSFER_ENCODING);
+
+        return transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked");
+    }
+
+    /**
+     * 요청 쓰레드에서 바디를 끝까지 읽고 결과를 바로 설정한 DeferredResult 를 반환
+     */
+    private <T> DeferredResult<T> readBlocking(HttpServletRequest request, BodyConverter<T> converter) {
+
+        byte[] buffer = new byte[Math.min(initialBufferSize, maxSize + 1)];
+        int length = 0;
+
+        try (InputStream in = request.getInputStream()) {
+
+            int n;
+
+            while (length <= maxSize) {
+
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, (int) Math.min((long) Math.max(buffer.length, 1) * 2, (long) maxSize + 1));
+                }
+
+                if ((n = in.read(buffer, length, buffer.length - length)) < 0) {
+                    break;
+                }
+
+                length += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (length > maxSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "request body exceeds " + maxSize + " bytes");
+        }
+
+        DeferredResult<T> result = new DeferredResult<>(timeoutMillis);
+
+        try {
+            result.setResult(converter.convert(Arrays.copyOf(buffer, length)));
+        } catch (Exception e) {
+            result.setErrorResult(e);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,164 @@
+package hello.springmvc.web.param;
+
+import org.springframework.beans.TypeMismatchException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Enumeration;
+
+/**
+ * 요청 파라미터를 필요할 때만 읽는 핸들러 인자 (읽기 전용)
+ *
+ * @RequestParam Map 은 호출마다 모든 파라미터를 새 LinkedHashMap 에 복사하지만,
+ * 이 객체는 요청을 감싸기만 하고 조회한 파라미터만 컨테이너가 파싱해 둔 값 (Tomcat Parameters) 에서 꺼낸다.
+ *  - 숫자, boolean 은 primitive 로 바로 변환 (boxing 없음)
+ *  - 값이 없거나 빈 값 (공백만 있는 값 포함) 이면 기본값 : @RequestParam(defaultValue = ...) 와 같음
+ *  - 변환할 수 없는 값이면 TypeMismatchException (400 Bad Request)
+ *
+ * 요청 처리 중에만 사용 (요청이 끝난 뒤에는 컨테이너가 버퍼를 재사용)
+ */
+public class RequestParams {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final HttpServletRequest request;
+
+    public RequestParams(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * @return 첫 번째 값 (없으면 null)
+     */
+    public String get(String name) {
+        return request.getParameter(name);
+    }
+
+    /**
+     * @return 값이 없으면 defaultValue
+     */
+    public String get(String name, String defaultValue) {
+        String value = request.getParameter(name);
+        return (value != null) ? value : defaultValue;
+    }
+
+    /**
+     * @return 모든 값 (없으면 빈 배열)
+     */
+    public String[] getAll(String name) {
+        String[] values = request.getParameterValues(name);
+        return (values != null) ? values : EMPTY;
+    }
+
+    public boolean contains(String name) {
+        return request.getParameter(name) != null;
+    }
+
+    /**
+     * @return 파라미터 이름 (조회할 때마다 컨테이너에서 새로 읽음)
+     */
+    public Enumeration<String> names() {
+        return request.getParameterNames();
+    }
+
+    public int getInt(String name, int defaultValue) {
+
+        String value = trimmed(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return isHex(value) ? Integer.decode(value) : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw typeMismatch(name, int.class, e);
+        }
+    }
+
+    public long getLong(String name, long defaultValue) {
+
+        String value = trimmed(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return isHex(value) ? Long.decode(value) : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw typeMismatch(name, long.class, e);
+        }
+    }
+
+    public double getDouble(String name, double defaultValue) {
+
+        String value = trimmed(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw typeMismatch(name, double.class, e);
+        }
+    }
+
+    /**
+     * true/on/yes/1, false/off/no/0 (대소문자 무시) - 스프링 기본 변환과 같음
+     */
+    public boolean getBoolean(String name, boolean defaultValue) {
+
+        String value = trimmed(name);
+
+        if (value == null) {
+            return defaultValue;
+        }
+
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("on") || value.equalsIgnoreCase("yes") || value.equals("1")) {
+            return true;
+        }
+
+        if (value.equalsIgnoreCase("false") || value.equalsIgnoreCase("off") || value.equalsIgnoreCase("no") || value.equals("0")) {
+            return false;
+        }
+
+        throw typeMismatch(name, boolean.class, new IllegalArgumentException("Invalid boolean value '" + value + "'"));
+    }
+
+    /**
+     * @return 공백을 제거한 첫 번째 값 (없거나 빈 값이면 null)
+     */
+    private String trimmed(String name) {
+
+        String value = request.getParameter(name);
+
+        if (value == null) {
+            return null;
+        }
+
+        value = value.trim();
+
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 0x1F, #1F, -0x1F (NumberUtils.parseNumber 와 같이 16진수 허용)
+     */
+    private static boolean isHex(String value) {
+        int index = (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        return value.startsWith("0x", index) || value.startsWith("0X", index) || value.startsWith("#", index);
+    }
+
+    private TypeMismatchException typeMismatch(String name, Class<?> requiredType, Throwable cause) {
+        TypeMismatchException exception = new TypeMismatchException(request.getParameter(name), requiredType, cause);
+        exception.initPropertyName(name);
+        return exception;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestParams[" + request.getMethod() + " " + request.getRequestURI() + "]";
+    }
+}
@@ -0,0 +1,28 @@
+package hello.springmvc.web.param;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * RequestParams 타입 핸들러 인자
+ *
+ * @RequestParam 없이 선언 (@RequestParam 을 붙이면 기본 resolver 가 변환을 시도한다)
+ */
+public class RequestParamsArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.getParameterType() == RequestParams.class && !parameter.hasParameterAnnotations();
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        return new RequestParams(webRequest.getNativeRequest(HttpServletRequest.class));
+    }
+}
@@ -0,0 +1,73 @@
+package hello.springmvc.web.resource;
+
+import lombok.Getter;
+import org.springframework.core.io.Resource;
+
+import java.nio.file.Path;
+
+/**
+ * 빌드 시 만든 정적 리소스 하나 (StaticResourceCompiler)
+ *
+ *  - path : 원래 경로 (예: basic/hello-form.html)
+ *  - fingerprintedPath : 지문 경로 (예: basic/hello-form-a09180967d32b759.html)
+ *  - identity / gzip / brotli : 인코딩별 파일 (gzip, brotli 는 없을 수 있음)
+ */
+@Getter
+public class StaticAsset {
+
+    private final String path;
+    private final String fingerprintedPath;
+    private final String contentType;
+
+    /**
+     * 지문 이름의 해시 (ETag 에 사용)
+     */
+    private final String hash;
+
+    private final Variant identity;
+    private final Variant gzip;
+    private final Variant brotli;
+
+    public StaticAsset(String path, String fingerprintedPath, String contentType, String hash,
+                       Variant identity, Variant gzip, Variant brotli) {
+        this.path = path;
+        this.fingerprintedPath = fingerprintedPath;
+        this.contentType = contentType;
+        this.hash = hash;
+        this.identity = identity;
+        this.gzip = gzip;
+        this.brotli = brotli;
+    }
+
+    public boolean hasEncodings() {
+        return gzip != null || brotli != null;
+    }
+
+    /**
+     * 인코딩 하나의 파일
+     */
+    @Getter
+    public static class Variant {
+
+        /**
+         * Content-Encoding 값 (원본은 null)
+         */
+        private final String encoding;
+
+        private final Resource resource;
+
+        private final long length;
+
+        /**
+         * sendfile 로 보낼 파일 (없으면 resource 를 직접 쓴다)
+         */
+        private final Path file;
+
+        public Variant(String encoding, Resource resource, long length, Path file) {
+            this.encoding = encoding;
+            this.resource = resource;
+            this.length = length;
+            this.file = file;
+        }
+    }
+}
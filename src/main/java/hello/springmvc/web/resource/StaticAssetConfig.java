@@ -0,0 +1,151 @@
+package hello.springmvc.web.resource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 미리 압축한 정적 리소스 설정
+ *
+ * 빌드 시 compileStaticResources 태스크가 만든 classpath:/static-assets/manifest.properties 를 읽어서
+ * 원래 경로와 지문 경로마다 StaticAssetHandler 를 등록한다. (정확한 경로만 매핑)
+ *  - RequestMappingHandlerMapping 다음, 스프링 기본 리소스 핸들러보다 먼저 조회
+ *  - manifest 가 없으면 (빌드 태스크 없이 실행) 아무것도 등록하지 않는다. (기본 리소스 핸들러가 처리)
+ *
+ * sendfile 은 파일 시스템의 파일만 가능하므로, jar 안의 리소스는 시작 시 임시 디렉토리로 꺼내 두고 종료 시 지운다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "hello.static-assets", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(StaticAssetProperties.class)
+public class StaticAssetConfig implements DisposableBean {
+
+    static final String LOCATION = "static-assets/";
+    static final String MANIFEST = LOCATION + "manifest.properties";
+
+    private final StaticAssetProperties properties;
+
+    private Path extractDir;
+
+    public StaticAssetConfig(StaticAssetProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public SimpleUrlHandlerMapping staticAssetHandlerMapping() throws IOException {
+
+        Map<String, Object> urlMap = new LinkedHashMap<>();
+        Resource manifest = new ClassPathResource(MANIFEST);
+
+        if (manifest.exists()) {
+
+            Properties entries = PropertiesLoaderUtils.loadProperties(manifest);
+            String immutable = "public, max-age=" + properties.getMaxAge().getSeconds() + ", immutable";
+            boolean sendfile = properties.isSendfile();
+            long sendfileMinSize = properties.getSendfileMinSize().toBytes();
+
+            for (String path : entries.stringPropertyNames()) {
+
+                StaticAsset asset = load(path, entries.getProperty(path));
+
+                urlMap.put("/" + asset.getPath(), new StaticAssetHandler(asset, "no-cache", sendfile, sendfileMinSize));
+                urlMap.put("/" + asset.getFingerprintedPath(), new StaticAssetHandler(asset, immutable, sendfile, sendfileMinSize));
+            }
+
+            log.info("static assets = {} (sendfile = {})", entries.size(), properties.isSendfile());
+        } else {
+            log.info("{} not found, static resources are served by the default resource handler", MANIFEST);
+        }
+
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(urlMap);
+        mapping.setOrder(1);
+
+        return mapping;
+    }
+
+    private StaticAsset load(String path, String fingerprintedPath) throws IOException {
+
+        // {이름}-{해시}.{확장자}
+        int slash = fingerprintedPath.lastIndexOf('/');
+        int dot = fingerprintedPath.lastIndexOf('.');
+
+        if (dot <= slash) {
+            dot = fingerprintedPath.length();
+        }
+
+        String hash = fingerprintedPath.substring(fingerprintedPath.lastIndexOf('-', dot) + 1, dot);
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(path).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        if ("text".equals(mediaType.getType()) || mediaType.includes(MediaType.APPLICATION_JSON)) {
+            mediaType = new MediaType(mediaType, StandardCharsets.UTF_8);
+        }
+
+        return new StaticAsset(path, fingerprintedPath, mediaType.toString(), hash,
+                variant(fingerprintedPath, null),
+                variant(fingerprintedPath + ".gz", "gzip"),
+                variant(fingerprintedPath + ".br", "br"));
+    }
+
+    private StaticAsset.Variant variant(String name, String encoding) throws IOException {
+
+        Resource resource = new ClassPathResource(LOCATION + name);
+
+        if (!resource.exists()) {
+            return null;
+        }
+
+        Path file = null;
+
+        if (resource.isFile()) {
+            file = resource.getFile().toPath().toRealPath();
+        } else if (properties.isSendfile()) {
+            file = extract(resource, name);
+        }
+
+        return new StaticAsset.Variant(encoding, resource, resource.contentLength(), file);
+    }
+
+    private Path extract(Resource resource, String name) throws IOException {
+
+        if (extractDir == null) {
+            extractDir = Files.createTempDirectory("static-assets");
+        }
+
+        Path file = extractDir.resolve(name);
+        Files.createDirectories(file.getParent());
+
+        try (InputStream in = resource.getInputStream()) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        return file.toRealPath();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (extractDir != null) {
+            FileSystemUtils.deleteRecursively(extractDir);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package hello.springmvc.web.resource;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 정적 리소스 하나 (원래 경로 또는 지문 경로) 를 처리
+ *
+ * Accept-Encoding 에 따라 미리 압축한 파일 선택 (br > gzip > 원본), 요청마다 압축하지 않는다.
+ *  - 지문 경로 : Cache-Control: public, max-age=..., immutable (내용이 바뀌면 이름이 바뀜)
+ *  - 원래 경로 : Cache-Control: no-cache (ETag 로 재검증)
+ *
+ * sendfile 을 켰고 (hello.static-assets.sendfile) Tomcat 이 지원하고 파일이 충분히 크면 바디를 직접 쓰지 않고 sendfile 속성만 남긴다.
+ * (커넥터가 파일을 소켓으로 바로 전송, 바디를 버퍼에 모으는 응답 래퍼가 있으면 직접 쓴다)
+ */
+public class StaticAssetHandler implements HttpRequestHandler {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StaticAsset asset;
+    private final String cacheControl;
+    private final boolean sendfile;
+    private final long sendfileMinSize;
+
+    public StaticAssetHandler(StaticAsset asset, String cacheControl, boolean sendfile, long sendfileMinSize) {
+        this.asset = asset;
+        this.cacheControl = cacheControl;
+        this.sendfile = sendfile;
+        this.sendfileMinSize = sendfileMinSize;
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        String method = request.getMethod();
+        boolean head = "HEAD".equals(method);
+
+        if (!head && !"GET".equals(method)) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        StaticAsset.Variant variant = select(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        if (asset.hasEncodings()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+
+        String etag = (variant.getEncoding() == null)
+                ? "\"" + asset.getHash() + "\""
+                : "\"" + asset.getHash() + "-" + variant.getEncoding() + "\"";
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+
+        response.setContentType(asset.getContentType());
+        response.setContentLengthLong(variant.getLength());
+
+        if (variant.getEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, variant.getEncoding());
+        }
+
+        if (head) {
+            return;
+        }
+
+        if (canSendfile(request, response, variant)) {
+            request.setAttribute(SENDFILE_FILENAME, variant.getFile().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, variant.getLength());
+            return;
+        }
+
+        try (InputStream in = variant.getResource().getInputStream()) {
+            StreamUtils.copy(in, response.getOutputStream());
+        }
+    }
+
+    /**
+     * @param acceptEncoding 예) gzip, deflate, br;q=0.9
+     */
+    StaticAsset.Variant select(String acceptEncoding) {
+
+        if (acceptEncoding == null || !asset.hasEncodings()) {
+            return asset.getIdentity();
+        }
+
+        boolean brotli = false;
+        boolean gzip = false;
+
+        for (String token : acceptEncoding.split(",")) {
+
+            int semicolon = token.indexOf(';');
+            String coding = (semicolon < 0 ? token : token.substring(0, semicolon)).trim();
+
+            if (semicolon >= 0 && isZeroQuality(token.substring(semicolon + 1))) {
+                continue;
+            }
+
+            if (coding.equalsIgnoreCase("br") || coding.equals("*")) {
+                brotli = true;
+            }
+            if (coding.equalsIgnoreCase("gzip") || coding.equals("*")) {
+                gzip = true;
+            }
+        }
+
+        if (brotli && asset.getBrotli() != null) {
+            return asset.getBrotli();
+        }
+
+        if (gzip && asset.getGzip() != null) {
+            return asset.getGzip();
+        }
+
+        return asset.getIdentity();
+    }
+
+    private static boolean isZeroQuality(String parameters) {
+
+        String value = parameters.trim();
+
+        if (!value.startsWith("q=")) {
+            return false;
+        }
+
+        try {
+            return Double.parseDouble(value.substring(2).trim()) <= 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private boolean canSendfile(HttpServletRequest request, HttpServletResponse response, StaticAsset.Variant variant) {
+        return sendfile
+                && variant.getFile() != null
+                && variant.getLength() >= sendfileMinSize
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))
+                && WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null;
+    }
+}
@@ -0,0 +1,35 @@
+package hello.springmvc.web.resource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 미리 압축한 정적 리소스 설정 (hello.static-assets.*)
+ */
+@Data
+@ConfigurationProperties("hello.static-assets")
+public class StaticAssetProperties {
+
+    /**
+     * false 면 스프링 기본 리소스 핸들러 (classpath:/static/) 가 그대로 처리
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tomcat sendfile 로 전송 (jar 안의 파일은 시작 시 임시 디렉토리로 꺼낸다)
+     */
+    private boolean sendfile = true;
+
+    /**
+     * 이보다 작은 파일은 sendfile 대신 직접 쓴다. (Tomcat 기본 sendfileSize 와 같은 48KB)
+     */
+    private DataSize sendfileMinSize = DataSize.ofKilobytes(48);
+
+    /**
+     * 지문 이름 요청의 Cache-Control max-age
+     */
+    private Duration maxAge = Duration.ofDays(365);
+}
@@ -0,0 +1,103 @@
+package hello.springmvc.web.timing;
+
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.ServletRequest;
+
+/**
+ * 요청 하나의 DispatcherServlet 단계별 시간 (나노초)
+ *
+ *  lookup : ServerTimingFilter ~ 첫 인터셉터 preHandle (핸들러 조회)
+ *  args : 인자 바인딩 (@RequestBody, @ModelAttribute ...)
+ *  handler : 핸들러 메서드 실행
+ *  convert : 핸들러 반환 ~ postHandle (반환값 처리, 메시지 컨버터)
+ *  render : postHandle ~ afterCompletion (뷰 렌더링)
+ *  total : ServerTimingFilter 전체
+ *
+ * ServerTimingFilter 가 측정을 요청한 요청에만 속성으로 있다. (없으면 측정하지 않음)
+ */
+public class ServerTiming {
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    final long startNanos = System.nanoTime();
+
+    HandlerMethod handlerMethod;
+
+    long lookupEndNanos;
+    long argsNanos;
+    long handlerNanos;
+    long invokeEndNanos;
+    long postHandleNanos;
+    long renderEndNanos;
+
+    /**
+     * @return 측정 대상이 아니면 null
+     */
+    public static ServerTiming get(ServletRequest request) {
+        return (ServerTiming) request.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * 인자 바인딩 시간 (여러 번 호출되면 합산)
+     */
+    public void addArgs(long nanos) {
+        argsNanos += nanos;
+    }
+
+    /**
+     * 핸들러 호출 (인자 바인딩 포함) 종료
+     *
+     * @param invokeNanos 인자 바인딩 포함 호출 시간
+     */
+    public void invoked(long invokeNanos) {
+        handlerNanos += invokeNanos;
+        invokeEndNanos = System.nanoTime();
+    }
+
+    long lookupNanos() {
+        return lookupEndNanos == 0 ? 0 : lookupEndNanos - startNanos;
+    }
+
+    long handlerOnlyNanos() {
+        return Math.max(0, handlerNanos - argsNanos);
+    }
+
+    long convertNanos() {
+        return (invokeEndNanos == 0 || postHandleNanos == 0) ? 0 : Math.max(0, postHandleNanos - invokeEndNanos);
+    }
+
+    long renderNanos() {
+        return (postHandleNanos == 0 || renderEndNanos == 0) ? 0 : renderEndNanos - postHandleNanos;
+    }
+
+    /**
+     * Server-Timing 헤더 값 (밀리초)
+     *
+     * 예) lookup;dur=0.012, args;dur=0.154, handler;dur=0.031, convert;dur=0.098, render;dur=0, total;dur=0.402
+     */
+    String toHeaderValue(long endNanos) {
+
+        StringBuilder value = new StringBuilder(128);
+
+        append(value, "lookup", lookupNanos());
+        append(value, "args", argsNanos);
+        append(value, "handler", handlerOnlyNanos());
+        append(value, "convert", convertNanos());
+        append(value, "render", renderNanos());
+        append(value, "total", endNanos - startNanos);
+
+        return value.toString();
+    }
+
+    private static void append(StringBuilder value, String name, long nanos) {
+
+        if (value.length() > 0) {
+            value.append(", ");
+        }
+
+        value.append(name).append(";dur=").append(Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000d);
+    }
+}
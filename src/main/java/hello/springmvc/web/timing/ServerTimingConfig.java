@@ -0,0 +1,49 @@
+package hello.springmvc.web.timing;
+
+import hello.springmvc.web.metrics.HandlerMetricsRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Server-Timing 단계별 시간 측정 설정
+ *
+ * ServerTimingFilter : 측정 헤더가 있는 요청만 측정 시작, 응답에 Server-Timing 헤더
+ * ServerTimingInterceptor : 핸들러 조회 / 뷰 렌더링 시간
+ * PhaseTimingInvocableHandlerMethod : 인자 바인딩 / 핸들러 실행 시간 (WebMvcRegistrationsConfig)
+ *
+ * hello.mvc.server-timing.enabled=false 면 필터와 인터셉터를 등록하지 않는다.
+ */
+@Configuration
+@EnableConfigurationProperties(ServerTimingProperties.class)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private final ServerTimingProperties properties;
+
+    public ServerTimingConfig(ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(HandlerMetricsRegistry handlerMetricsRegistry) {
+
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(properties, handlerMetricsRegistry));
+
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        registration.setEnabled(properties.isEnabled());
+
+        return registration;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.isEnabled()) {
+            registry.addInterceptor(new ServerTimingInterceptor()).order(Ordered.HIGHEST_PRECEDENCE);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package hello.springmvc.web.timing;
+
+import hello.springmvc.web.metrics.HandlerMetrics;
+import hello.springmvc.web.metrics.HandlerMetricsRegistry;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Server-Timing 단계별 시간 측정
+ *
+ * 측정 헤더 (X-Server-Timing) 가 있는 요청만
+ *  - ServerTiming 을 요청 속성으로 남기고 (ServerTimingInterceptor, PhaseTimingInvocableHandlerMethod 가 기록)
+ *  - 응답 바디를 ContentCachingResponseWrapper 에 모아 둔다. (메시지 컨버터가 flush 해도 커밋되지 않도록)
+ *  - 끝나면 Server-Timing 헤더를 붙이고 바디를 내보낸 뒤, 단계별 시간을 HandlerMetrics 에 기록
+ *
+ * 헤더가 없는 요청은 헤더 하나만 조회하고 그대로 통과 (버퍼링 없음)
+ * 핸들러 조회 직전에 시작하도록 가장 나중에 실행되는 필터로 등록한다.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final String header;
+    private final Set<String> allowedAddresses;
+    private final HandlerMetricsRegistry registry;
+
+    public ServerTimingFilter(ServerTimingProperties properties, HandlerMetricsRegistry registry) {
+        this.header = properties.getHeader();
+        this.allowedAddresses = Set.copyOf(properties.getAllowedAddresses());
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getHeader(header) == null
+                || (!allowedAddresses.isEmpty() && !allowedAddresses.contains(request.getRemoteAddr()));
+    }
+
+    /**
+     * 핸들러가 비동기로 실행되면 응답은 async dispatch 에서 끝나므로, 그때 헤더를 붙인다.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+            request.setAttribute(ServerTiming.ATTRIBUTE, new ServerTiming());
+        }
+
+        filterChain.doFilter(request, isAsyncDispatch(request) ? response : wrapper);
+
+        if (request.isAsyncStarted()) {
+            return;
+        }
+
+        ServerTiming timing = ServerTiming.get(request);
+
+        if (timing != null) {
+            complete(timing, wrapper);
+        }
+
+        wrapper.copyBodyToResponse();
+    }
+
+    private void complete(ServerTiming timing, ContentCachingResponseWrapper wrapper) {
+
+        if (!wrapper.isCommitted()) {
+            wrapper.setHeader(SERVER_TIMING, timing.toHeaderValue(System.nanoTime()));
+        }
+
+        if (timing.handlerMethod == null) {
+            return;
+        }
+
+        HandlerMetrics metrics = registry.get(timing.handlerMethod);
+
+        metrics.recordPhase("lookup", timing.lookupNanos());
+        metrics.recordPhase("args", timing.argsNanos);
+        metrics.recordPhase("handler", timing.handlerOnlyNanos());
+        metrics.recordPhase("convert", timing.convertNanos());
+        metrics.recordPhase("render", timing.renderNanos());
+    }
+}
@@ -0,0 +1,54 @@
+package hello.springmvc.web.timing;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Server-Timing - 핸들러 조회 끝 (preHandle), 뷰 렌더링 시작 (postHandle) / 끝 (afterCompletion) 기록
+ *
+ * 측정 대상이 아닌 요청은 요청 속성 하나만 조회
+ */
+public class ServerTimingInterceptor implements AsyncHandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        ServerTiming timing = ServerTiming.get(request);
+
+        // async dispatch 에서 다시 호출되면 처음 값을 유지
+        if (timing != null && timing.lookupEndNanos == 0) {
+
+            timing.lookupEndNanos = System.nanoTime();
+
+            if (handler instanceof HandlerMethod) {
+                timing.handlerMethod = (HandlerMethod) handler;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) {
+
+        ServerTiming timing = ServerTiming.get(request);
+
+        if (timing != null) {
+            timing.postHandleNanos = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        ServerTiming timing = ServerTiming.get(request);
+
+        if (timing != null) {
+            timing.renderEndNanos = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package hello.springmvc.web.timing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Server-Timing 단계별 시간 측정 설정 (hello.mvc.server-timing.*)
+ */
+@Data
+@ConfigurationProperties("hello.mvc.server-timing")
+public class ServerTimingProperties {
+
+    /**
+     * false 면 요청 헤더를 무시 (기본 RequestMappingHandlerAdapter 사용)
+     */
+    private boolean enabled = true;
+
+    /**
+     * 측정을 요청하는 HTTP 헤더 이름 (값과 무관하게 있으면 측정)
+     */
+    private String header = "X-Server-Timing";
+
+    /**
+     * 측정을 요청할 수 있는 클라이언트 주소 (비어 있으면 모든 주소)
+     */
+    private List<String> allowedAddresses = new ArrayList<>(List.of("127.0.0.1", "0:0:0:0:0:0:0:1"));
+}
@@ -0,0 +1,27 @@
+package hello.springmvc.web.view;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * 빌드 시 ViewTemplateCompiler 가 뷰 템플릿에서 생성하는 렌더 클래스
+ *
+ * 생성된 클래스는 META-INF/services 에 등록되어 PrecompiledViewResolver 가 ServiceLoader 로 읽는다.
+ */
+public interface PrecompiledTemplate {
+
+    /**
+     * @return 뷰 이름 (templates/ 이하 경로, .html 제외) 예) response/hello
+     */
+    String getTemplateName();
+
+    /**
+     * 모델을 사용해서 HTML (UTF-8) 을 out 에 직접 쓴다.
+     *
+     * @param model
+     * @param out
+     * @throws IOException
+     */
+    void render(Map<String, ?> model, OutputStream out) throws IOException;
+}
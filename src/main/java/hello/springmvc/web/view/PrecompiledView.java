@@ -0,0 +1,37 @@
+package hello.springmvc.web.view;
+
+import org.springframework.web.servlet.View;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * PrecompiledTemplate 으로 렌더링하는 뷰
+ *
+ * 템플릿 엔진을 거치지 않고, 생성된 클래스가 응답 OutputStream 에 바로 쓴다.
+ */
+public class PrecompiledView implements View {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    private final PrecompiledTemplate template;
+
+    public PrecompiledView(PrecompiledTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response) throws Exception {
+
+        response.setContentType(CONTENT_TYPE);
+
+        template.render((model != null) ? model : Collections.emptyMap(), response.getOutputStream());
+    }
+}
@@ -0,0 +1,22 @@
+package hello.springmvc.web.view;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 컴파일된 뷰 템플릿 사용 여부
+ *
+ * hello.view.precompiled
+ *  - true (기본) : 컴파일된 템플릿이 있으면 사용, 없으면 Thymeleaf
+ *  - false : 항상 Thymeleaf
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hello.view", name = "precompiled", havingValue = "true", matchIfMissing = true)
+public class PrecompiledViewConfig {
+
+    @Bean
+    public PrecompiledViewResolver precompiledViewResolver() {
+        return new PrecompiledViewResolver(getClass().getClassLoader());
+    }
+}
@@ -0,0 +1,47 @@
+package hello.springmvc.web.view;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * 빌드 시 컴파일된 뷰 템플릿 (PrecompiledTemplate) 을 찾는 뷰 리졸버
+ *
+ * ThymeleafViewResolver 보다 먼저 실행되고, 컴파일된 템플릿이 없는 뷰 이름이면 null 을 반환해서 Thymeleaf 가 처리
+ * (ViewTemplateCompiler 가 지원하지 않는 템플릿은 컴파일되지 않는다.)
+ */
+@Slf4j
+public class PrecompiledViewResolver implements ViewResolver, Ordered {
+
+    private final Map<String, View> views = new HashMap<>();
+
+    public PrecompiledViewResolver(ClassLoader classLoader) {
+
+        for (PrecompiledTemplate template : ServiceLoader.load(PrecompiledTemplate.class, classLoader)) {
+            views.put(template.getTemplateName(), new PrecompiledView(template));
+        }
+
+        log.info("precompiled view templates = {}", views.keySet());
+    }
+
+    @Override
+    public View resolveViewName(String viewName, Locale locale) {
+        return views.get(viewName);
+    }
+
+    /**
+     * ThymeleafViewResolver (LOWEST_PRECEDENCE - 5) 보다 먼저
+     *
+     * @return
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 10;
+    }
+}
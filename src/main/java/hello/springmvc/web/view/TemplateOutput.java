@@ -0,0 +1,42 @@
+package hello.springmvc.web.view;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 생성된 렌더 클래스 (PrecompiledTemplate) 가 사용하는 출력 함수
+ */
+public final class TemplateOutput {
+
+    private TemplateOutput() {
+    }
+
+    /**
+     * 정적 마크업 -> UTF-8 바이트 (클래스 로딩 시 한 번만 변환)
+     *
+     * @param markup
+     * @return
+     */
+    public static byte[] bytes(String markup) {
+        return markup.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * th:text 와 같이 HTML 이스케이프해서 출력 (null 이면 출력 없음)
+     *
+     * @param value
+     * @param out
+     * @throws IOException
+     */
+    public static void text(Object value, OutputStream out) throws IOException {
+
+        if (value == null) {
+            return;
+        }
+
+        out.write(HtmlEscape.escapeHtml4Xml(value.toString()).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,170 @@
+package hello.springmvc.basic.ingest;
+
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 배치 단위 제출, 처리 중인 배치 수 제한 (배압), 작업 실패 전파 확인
+ */
+class HelloDataIngestPipelineTest {
+
+    private HelloDataIngestPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+    }
+
+    @Test
+    void flushesFullAndPartialBatches() throws Exception {
+
+        pipeline = new HelloDataIngestPipeline(10, 2, 2);
+
+        BulkIngestResult result = pipeline.ingest(records(25, new AtomicInteger()));
+
+        assertThat(result.getTotal()).isEqualTo(25);
+        assertThat(result.getBatchCounts()).containsExactly(10, 10, 5);
+    }
+
+    @Test
+    void emptySource() throws Exception {
+
+        pipeline = new HelloDataIngestPipeline(10, 2, 2);
+
+        BulkIngestResult result = pipeline.ingest(() -> null);
+
+        assertThat(result.getTotal()).isZero();
+        assertThat(result.getBatchCounts()).isEmpty();
+    }
+
+    @Test
+    void stopsReadingWhileBatchesAreInFlight() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+
+        pipeline = new HelloDataIngestPipeline(10, 2, 4) {
+            @Override
+            protected int process(List<HelloData> batch) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.process(batch);
+            }
+        };
+
+        AtomicInteger read = new AtomicInteger();
+
+        CompletableFuture<BulkIngestResult> ingest = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pipeline.ingest(records(100, read));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // 처리 중인 배치 2 개 + 제출을 기다리는 배치 1 개 까지만 읽고 멈춘다. (작업 쓰레드가 남아 있어도)
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        while (read.get() < 30 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Thread.sleep(200);
+
+        assertThat(read.get()).isEqualTo(30);
+        assertThat(ingest).isNotDone();
+
+        release.countDown();
+
+        BulkIngestResult result = ingest.get(5, TimeUnit.SECONDS);
+
+        assertThat(read.get()).isEqualTo(100);
+        assertThat(result.getTotal()).isEqualTo(100);
+        assertThat(result.getBatchCounts()).hasSize(10).containsOnly(10);
+    }
+
+    @Test
+    void workerFailureFailsIngestAndReleasesCapacity() throws Exception {
+
+        pipeline = new HelloDataIngestPipeline(10, 1, 1) {
+            @Override
+            protected int process(List<HelloData> batch) {
+                if (batch.get(0).getAge() == 10) {
+                    throw new IllegalArgumentException("bad batch");
+                }
+                return super.process(batch);
+            }
+        };
+
+        assertThatThrownBy(() -> pipeline.ingest(records(25, new AtomicInteger())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("ingest batch failed")
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+
+        // 실패한 배치도 permit 을 반환하므로 다음 요청은 정상 처리된다. (한도 1)
+        BulkIngestResult result = pipeline.ingest(records(5, new AtomicInteger(100)));
+
+        assertThat(result.getBatchCounts()).containsExactly(5);
+    }
+
+    @Test
+    void sourceFailureReportsRecordsBeforeIt() throws Exception {
+
+        pipeline = new HelloDataIngestPipeline(10, 2, 2);
+
+        HelloDataIngestPipeline.RecordSource records = records(25, new AtomicInteger());
+        AtomicInteger read = new AtomicInteger();
+
+        // 13 번째 레코드에서 실패
+        HelloDataIngestPipeline.RecordSource failing = () -> {
+            if (read.incrementAndGet() == 13) {
+                throw new IOException("bad record");
+            }
+            return records.next();
+        };
+
+        assertThatThrownBy(() -> pipeline.ingest(failing))
+                .isInstanceOfSatisfying(BulkIngestException.class, e -> {
+                    assertThat(e.getRecordNumber()).isEqualTo(13);
+                    assertThat(e.getResult().getTotal()).isEqualTo(12);
+                    assertThat(e.getResult().getBatchCounts()).containsExactly(10, 2);
+                })
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    /**
+     * age 가 read 값 (0 부터) 인 레코드를 count 개 만든다.
+     */
+    private static HelloDataIngestPipeline.RecordSource records(int count, AtomicInteger read) {
+
+        int end = read.get() + count;
+
+        return () -> {
+
+            if (read.get() >= end) {
+                return null;
+            }
+
+            HelloData helloData = new HelloData();
+            helloData.setUsername("user");
+            helloData.setAge(read.getAndIncrement());
+
+            return helloData;
+        };
+    }
+}
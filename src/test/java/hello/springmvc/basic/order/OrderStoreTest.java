@@ -0,0 +1,141 @@
+package hello.springmvc.basic.order;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderStore 와 회원별 주문 인덱스 (UserOrderIndex) 의 정렬, 범위 경계 확인
+ */
+class OrderStoreTest {
+
+    private OrderStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderStore();
+    }
+
+    @Test
+    void keepsIdsSortedPerUserAcrossGrowth() {
+
+        // 초기 용량 (8) 을 넘겨서 배열을 여러 번 늘린다.
+        List<Long> first = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            first.add(store.save(1L, "item" + i, 1).getId());
+            store.save(2L, "other" + i, 1);
+        }
+
+        assertThat(store.countByUser(1L)).isEqualTo(50);
+        assertThat(store.countByUser(2L)).isEqualTo(50);
+
+        List<Order> all = store.findRange(1L, 0, Long.MAX_VALUE, 100);
+
+        assertThat(all).extracting(Order::getId).containsExactlyElementsOf(first).isSorted();
+        assertThat(all).extracting(Order::getUserId).containsOnly(1L);
+
+        for (Long id : first) {
+            assertThat(store.findById(1L, id).getId()).isEqualTo(id);
+            assertThat(store.findById(2L, id)).isNull();
+        }
+    }
+
+    @Test
+    void rangeBounds() {
+
+        // 회원 1 의 주문 id 는 다른 회원 주문과 섞여서 1, 3, 5, ... 로 발급된다.
+        for (int i = 0; i < 10; i++) {
+            store.save(1L, "item", 1);
+            store.save(2L, "item", 1);
+        }
+
+        // from, to 모두 포함
+        assertThat(ids(store.findRange(1L, 3, 7, 100))).containsExactly(3L, 5L, 7L);
+
+        // 경계가 다른 회원의 주문 id 면 그 다음 / 이전 주문부터
+        assertThat(ids(store.findRange(1L, 2, 8, 100))).containsExactly(3L, 5L, 7L);
+
+        // from == to
+        assertThat(ids(store.findRange(1L, 5, 5, 100))).containsExactly(5L);
+        assertThat(ids(store.findRange(1L, 4, 4, 100))).isEmpty();
+
+        // limit
+        assertThat(ids(store.findRange(1L, 0, Long.MAX_VALUE, 3))).containsExactly(1L, 3L, 5L);
+
+        // 다음 페이지는 마지막 id + 1 부터
+        assertThat(ids(store.findRange(1L, 6, Long.MAX_VALUE, 3))).containsExactly(7L, 9L, 11L);
+    }
+
+    @Test
+    void emptyRanges() {
+
+        for (int i = 0; i < 5; i++) {
+            store.save(1L, "item", 1);
+        }
+
+        assertThat(store.findRange(1L, 4, 3, 100)).isEmpty();
+        assertThat(store.findRange(1L, 6, Long.MAX_VALUE, 100)).isEmpty();
+        assertThat(store.findRange(1L, Long.MIN_VALUE, 0, 100)).isEmpty();
+        assertThat(store.findRange(1L, 0, Long.MAX_VALUE, 0)).isEmpty();
+        assertThat(store.findRange(1L, 0, Long.MAX_VALUE, -1)).isEmpty();
+    }
+
+    @Test
+    void unknownUser() {
+
+        store.save(1L, "item", 1);
+
+        assertThat(store.findRange(99L, 0, Long.MAX_VALUE, 100)).isEmpty();
+        assertThat(store.findById(99L, 1L)).isNull();
+        assertThat(store.countByUser(99L)).isZero();
+    }
+
+    @Test
+    void concurrentSavesStaySorted() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        store.save(1L, "item", 1);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Order> all = store.findRange(1L, 0, Long.MAX_VALUE, Integer.MAX_VALUE);
+
+        assertThat(all).hasSize(4000);
+        assertThat(ids(all)).isSorted().doesNotHaveDuplicates();
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+
+        List<Long> ids = new ArrayList<>(orders.size());
+
+        for (Order order : orders) {
+            ids.add(order.getId());
+        }
+
+        return ids;
+    }
+}
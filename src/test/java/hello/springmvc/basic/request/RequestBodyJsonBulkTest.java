@@ -0,0 +1,62 @@
+package hello.springmvc.basic.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * NDJSON 대량 등록 - 끝까지 처리 / 중간 실패 시 처리 건수와 실패한 줄 번호
+ */
+@SpringBootTest(properties = "hello.ingest.batch-size=2")
+@AutoConfigureMockMvc
+class RequestBodyJsonBulkTest {
+
+    private static final String RECORD = "{\"username\":\"hello\",\"age\":20}\n";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void ingestsAllRecords() throws Exception {
+
+        bulk(RECORD.repeat(5))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(5))
+                .andExpect(jsonPath("$.batchCounts.length()").value(3))
+                .andExpect(jsonPath("$.failedRecord").doesNotExist());
+    }
+
+    @Test
+    void nullRecordIsRejected() throws Exception {
+
+        bulk(RECORD.repeat(3) + "null\n" + RECORD)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.failedRecord").value(4))
+                .andExpect(jsonPath("$.error").isNotEmpty());
+    }
+
+    @Test
+    void malformedRecordReportsAcceptedCount() throws Exception {
+
+        bulk(RECORD.repeat(3) + "{\"username\":\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.failedRecord").value(4));
+
+        // 첫 줄부터 잘못되면 아무것도 등록되지 않음
+        bulk("not json\n" + RECORD)
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions bulk(String body) throws Exception {
+        return mockMvc.perform(post("/request-body-json-bulk").contentType("application/x-ndjson").content(body));
+    }
+}
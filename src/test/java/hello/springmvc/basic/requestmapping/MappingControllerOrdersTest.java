@@ -0,0 +1,124 @@
+package hello.springmvc.basic.requestmapping;
+
+import hello.springmvc.basic.user.UserStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MappingController 의 주문 등록, 단건 조회, 범위 조회
+ */
+@SpringBootTest(properties = "hello.orders.max-limit=3")
+@AutoConfigureMockMvc
+class MappingControllerOrdersTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    UserStore userStore;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userStore.save("orders", 20).getId();
+    }
+
+    @Test
+    void postAndFindOrders() throws Exception {
+
+        long first = addOrder("{\"itemName\":\"a\",\"quantity\":2}");
+        long second = addOrder("{\"itemName\":\"b\"}");
+        long third = addOrder("{\"itemName\":\"c\",\"quantity\":3}");
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders/{orderId}", userId, second))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemName").value("b"))
+                .andExpect(jsonPath("$.quantity").value(1));
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains((int) first, (int) second, (int) third)));
+
+        // from, to 포함
+        mockMvc.perform(get("/mapping/user/{userId}/orders", userId)
+                        .param("from", String.valueOf(second))
+                        .param("to", String.valueOf(third)))
+                .andExpect(jsonPath("$[*].id").value(contains((int) second, (int) third)));
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders", userId).param("limit", "1"))
+                .andExpect(jsonPath("$[*].id").value(contains((int) first)));
+
+        // 빈 범위
+        mockMvc.perform(get("/mapping/user/{userId}/orders", userId).param("from", String.valueOf(third + 1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders", userId)
+                        .param("from", String.valueOf(third))
+                        .param("to", String.valueOf(first)))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void clampsLimitToMaximum() throws Exception {
+
+        long first = addOrder("{\"itemName\":\"a\"}");
+        long second = addOrder("{\"itemName\":\"b\"}");
+        long third = addOrder("{\"itemName\":\"c\"}");
+        addOrder("{\"itemName\":\"d\"}");
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders", userId).param("limit", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(contains((int) first, (int) second, (int) third)));
+    }
+
+    @Test
+    void unknownUserOrOrder() throws Exception {
+
+        mockMvc.perform(post("/mapping/user/{userId}/orders", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemName\":\"a\"}"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders", Long.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        mockMvc.perform(get("/mapping/user/{userId}/orders/{orderId}", userId, Long.MAX_VALUE))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void rejectsOrderWithoutItemName() throws Exception {
+
+        mockMvc.perform(post("/mapping/user/{userId}/orders", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quantity\":1}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long addOrder(String json) throws Exception {
+
+        String body = mockMvc.perform(post("/mapping/user/{userId}/orders", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.userId").value(userId))
+                .andReturn().getResponse().getContentAsString();
+
+        return Long.parseLong(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+    }
+}
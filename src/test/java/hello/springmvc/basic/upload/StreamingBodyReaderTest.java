@@ -0,0 +1,98 @@
+package hello.springmvc.basic.upload;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingBodyReaderTest {
+
+    @Test
+    void summarizesBodyAcrossChunks() throws Exception {
+
+        byte[] body = "line1\nline2\nlast line without newline".getBytes(StandardCharsets.UTF_8);
+        BodyBufferPool pool = new BodyBufferPool(1, 8);
+        StreamingBodyReader reader = new StreamingBodyReader(pool, 1024, 100, 10);
+
+        ByteArrayOutputStream forwarded = new ByteArrayOutputStream();
+
+        StreamedBody result = reader.read(new ByteArrayInputStream(body), -1, chunk -> {
+            while (chunk.hasRemaining()) {
+                forwarded.write(chunk.get());
+            }
+        });
+
+        CRC32C expected = new CRC32C();
+        expected.update(body);
+
+        assertThat(result.getBytes()).isEqualTo(body.length);
+        assertThat(result.getLines()).isEqualTo(3);
+        assertThat(result.getChecksum()).isEqualTo(String.format("%08x", expected.getValue()));
+        assertThat(result.toString()).isEqualTo("line1\nline...(" + body.length + " bytes)");
+        assertThat(forwarded.toByteArray()).isEqualTo(body);
+        assertThat(pool.available()).isEqualTo(1);
+    }
+
+    @Test
+    void emptyBody() throws Exception {
+
+        StreamingBodyReader reader = new StreamingBodyReader(new BodyBufferPool(1, 8), 1024, 100, 10);
+
+        StreamedBody result = reader.read(new ByteArrayInputStream(new byte[0]), 0, BodySink.DISCARD);
+
+        assertThat(result.getBytes()).isZero();
+        assertThat(result.getLines()).isZero();
+        assertThat(result.toString()).isEmpty();
+    }
+
+    @Test
+    void rejectsDeclaredLengthBeforeReading() {
+
+        StreamingBodyReader reader = new StreamingBodyReader(new BodyBufferPool(1, 8), 16, 100, 0);
+
+        InputStream untouched = new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("body must not be read");
+            }
+        };
+
+        assertThatThrownBy(() -> reader.read(untouched, 17, BodySink.DISCARD))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+    }
+
+    @Test
+    void rejectsUndeclaredLengthWhileReading() {
+
+        BodyBufferPool pool = new BodyBufferPool(1, 8);
+        StreamingBodyReader reader = new StreamingBodyReader(pool, 16, 100, 0);
+
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(new byte[17]), -1, BodySink.DISCARD))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatus()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE));
+
+        assertThat(pool.available()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsWhenNoBufferAvailable() throws Exception {
+
+        BodyBufferPool pool = new BodyBufferPool(1, 8);
+        StreamingBodyReader reader = new StreamingBodyReader(pool, 16, 10, 0);
+
+        pool.acquire(0);
+
+        assertThatThrownBy(() -> reader.read(new ByteArrayInputStream(new byte[1]), 1, BodySink.DISCARD))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+}
@@ -0,0 +1,110 @@
+package hello.springmvc.basic.upload;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 1GB 바디를 실제 HTTP 로 보내서 /request-body-string-v5 가 바디를 메모리에 올리지 않는지 확인
+ *
+ * 1GB 를 String 으로 만들면 (byte[] + 문자) 테스트 JVM 힙을 넘으므로, 성공 자체가 스트리밍의 증거.
+ * 추가로 old 영역 최대 사용량 증가분이 바디 크기와 무관하게 작은지 확인한다. (큰 배열은 old 영역에 바로 할당)
+ *
+ * 1GB 전송 + GC 상태에 민감한 검증이라 기본 test 에서는 제외 (@Tag("load"), ./gradlew loadTagTest)
+ *  - 스트리밍 읽기 자체는 StreamingBodyReaderTest 에서 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "logging.level.hello.springmvc=warn")
+class StreamingUploadTest {
+
+    private static final long BODY_SIZE = 1L << 30;
+    private static final long MAX_OLD_GROWTH = 64L * 1024 * 1024;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Test
+    @Tag("load")
+    void streamsOneGigabyteBody() throws Exception {
+
+        // 64 바이트 줄을 반복 (1GB / 64 = 16M 줄)
+        byte[] line = new byte[64];
+        for (int i = 0; i < line.length - 1; i++) {
+            line[i] = (byte) ('a' + i % 26);
+        }
+        line[line.length - 1] = '\n';
+
+        byte[] chunk = new byte[64 * 1024];
+        for (int i = 0; i < chunk.length; i += line.length) {
+            System.arraycopy(line, 0, chunk, i, line.length);
+        }
+
+        List<MemoryPoolMXBean> oldPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+                .collect(Collectors.toList());
+
+        long oldBefore = 0;
+        for (MemoryPoolMXBean pool : oldPools) {
+            pool.resetPeakUsage();
+            oldBefore += pool.getUsage().getUsed();
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + "/request-body-string-v5").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setFixedLengthStreamingMode(BODY_SIZE);
+        connection.setRequestProperty("Content-Type", "text/plain");
+
+        CRC32C expected = new CRC32C();
+
+        try (OutputStream out = connection.getOutputStream()) {
+            for (long sent = 0; sent < BODY_SIZE; sent += chunk.length) {
+                out.write(chunk);
+                expected.update(chunk);
+            }
+        }
+
+        assertThat(connection.getResponseCode()).isEqualTo(200);
+
+        JsonNode result;
+        try (InputStream in = connection.getInputStream()) {
+            result = objectMapper.readTree(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        assertThat(result.get("bytes").asLong()).isEqualTo(BODY_SIZE);
+        assertThat(result.get("lines").asLong()).isEqualTo(BODY_SIZE / line.length);
+        assertThat(result.get("checksum").asText()).isEqualTo(String.format("%08x", expected.getValue()));
+        assertThat(result.has("prefix")).isFalse();
+
+        long oldPeak = 0;
+        for (MemoryPoolMXBean pool : oldPools) {
+            oldPeak += pool.getPeakUsage().getUsed();
+        }
+
+        if (!oldPools.isEmpty()) {
+            assertThat(oldPeak - oldBefore).isLessThan(MAX_OLD_GROWTH);
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package hello.springmvc.basic.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class UserLogTest {
+
+    @TempDir
+    Path dir;
+
+    private UserLog newLog() {
+        // 세그먼트를 작게 잡아서 roll / 컴팩션이 일어나게 한다.
+        return new UserLog(dir, 16 * 1024, true, Duration.ofHours(1), 2);
+    }
+
+    private static Map<Long, String> snapshot(UserStore store) {
+
+        Map<Long, String> result = new HashMap<>();
+
+        for (User user : store.findAll(Integer.MAX_VALUE)) {
+            result.put(user.getId(), user.getUsername() + ":" + user.getAge());
+        }
+
+        return result;
+    }
+
+    @Test
+    void recoverAfterRestartAndCompaction() throws Exception {
+
+        Map<Long, String> expected;
+
+        try (UserLog log = newLog()) {
+
+            UserStore store = new UserStore(log);
+            Random random = new Random(1);
+
+            for (int i = 0; i < 5_000; i++) {
+
+                long id = 1 + random.nextInt(Math.max(1, store.size() * 2));
+
+                switch (random.nextInt(4)) {
+                    case 0:
+                        store.update(id, form(null, random.nextInt(100)));
+                        break;
+                    case 1:
+                        store.delete(id);
+                        break;
+                    default:
+                        store.save("user" + i, i % 100);
+                }
+            }
+
+            expected = snapshot(store);
+        }
+
+        try (UserLog log = newLog()) {
+
+            UserStore store = new UserStore(log);
+
+            assertThat(snapshot(store)).isEqualTo(expected);
+            assertThat(log.compact()).isTrue();
+        }
+
+        try (UserLog log = newLog()) {
+
+            UserStore store = new UserStore(log);
+
+            assertThat(snapshot(store)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void truncateTornTail() throws Exception {
+
+        try (UserLog log = newLog()) {
+            UserStore store = new UserStore(log);
+            store.save("userA", 10);
+            store.save("userB", 20);
+        }
+
+        Path segment;
+
+        try (Stream<Path> files = Files.list(dir)) {
+            segment = files.filter(file -> file.toString().endsWith(".log"))
+                    .sorted().reduce((first, second) -> second).orElseThrow();
+        }
+
+        // 쓰는 도중 종료된 것처럼 레코드 일부만 덧붙임
+        Files.write(segment, new byte[]{0, 0, 0, 30, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (UserLog log = newLog()) {
+
+            UserStore store = new UserStore(log);
+
+            assertThat(store.size()).isEqualTo(2);
+            assertThat(store.save("userC", 30).getId()).isEqualTo(3);
+        }
+
+        try (UserLog log = newLog()) {
+            assertThat(new UserStore(log).findById(3).getUsername()).isEqualTo("userC");
+        }
+    }
+
+    @Test
+    void rejectSecondWriterOnSameDirectory() throws Exception {
+
+        try (UserLog log = newLog()) {
+
+            new UserStore(log).save("userA", 10);
+
+            assertThatThrownBy(() -> new UserStore(newLog()))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("locked");
+        }
+
+        // 닫으면 잠금이 풀린다.
+        try (UserLog log = newLog()) {
+            assertThat(new UserStore(log).size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void failedWriteLeavesStoreUnchanged() throws Exception {
+
+        AtomicBoolean failing = new AtomicBoolean();
+
+        try (UserLog log = new UserLog(dir, 16 * 1024, true, Duration.ofHours(1), 2) {
+            @Override
+            FileChannel openSegment(long sequence) throws IOException {
+                return new FailingChannel(super.openSegment(sequence), failing);
+            }
+        }) {
+
+            UserStore store = new UserStore(log);
+            store.save("userA", 10);
+
+            failing.set(true);
+
+            assertThatThrownBy(() -> store.update(1, form("changed", 99))).isInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> store.save("userB", 20)).isInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(() -> store.delete(1)).isInstanceOf(UncheckedIOException.class);
+
+            // fsync 가 실패한 변경은 메모리에도 반영되지 않는다.
+            assertThat(snapshot(store)).containsOnly(entry(1L, "userA:10"));
+        }
+
+        try (UserLog log = newLog()) {
+            assertThat(snapshot(new UserStore(log))).containsOnly(entry(1L, "userA:10"));
+        }
+    }
+
+    private static UserForm form(String username, Integer age) {
+
+        UserForm form = new UserForm();
+        form.setUsername(username);
+        form.setAge(age);
+
+        return form;
+    }
+
+    /**
+     * failing 이 true 면 force (fsync) 가 실패하는 채널
+     */
+    private static final class FailingChannel extends FileChannel {
+
+        private final FileChannel delegate;
+        private final AtomicBoolean failing;
+
+        FailingChannel(FileChannel delegate, AtomicBoolean failing) {
+            this.delegate = delegate;
+            this.failing = failing;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+
+            if (failing.get()) {
+                throw new IOException("injected fsync failure");
+            }
+
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
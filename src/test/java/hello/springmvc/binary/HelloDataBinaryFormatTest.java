@@ -0,0 +1,111 @@
+package hello.springmvc.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import hello.springmvc.basic.HelloData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HelloDataBinaryFormatTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void roundTrip() throws Exception {
+
+        assertRoundTrip("hello", 20);
+        assertRoundTrip(null, 0);
+        assertRoundTrip("", -1);
+        assertRoundTrip("안녕 😀", Integer.MIN_VALUE);
+        assertRoundTrip("x".repeat(300), Integer.MAX_VALUE);
+
+        assertThat(HelloDataBinaryFormat.writeAsBytes(helloData("hello", 20)))
+                .containsExactly(0x01, 0x06, 'h', 'e', 'l', 'l', 'o', 0x28);
+    }
+
+    @Test
+    void malformed() {
+
+        byte[] bytes = HelloDataBinaryFormat.writeAsBytes(helloData("hello", 20));
+
+        assertThatThrownBy(() -> HelloDataBinaryFormat.read(new byte[0])).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> HelloDataBinaryFormat.read(Arrays.copyOf(bytes, 4))).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> HelloDataBinaryFormat.read(new byte[]{2, 0, 0})).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> HelloDataBinaryFormat.read(new byte[]{1, (byte) 0xff, (byte) 0xff, 0x7f})).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void contentNegotiation() throws Exception {
+
+        mockMvc.perform(get("/response-body-json-v2"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        byte[] cbor = mockMvc.perform(get("/response-body-json-v2").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new ObjectMapper(new CBORFactory()).readValue(cbor, HelloData.class)).isEqualTo(helloData("userA", 20));
+
+        mockMvc.perform(get("/response-body-json-v1").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"));
+
+        byte[] binary = HelloDataBinaryFormat.writeAsBytes(helloData("hello", 20));
+
+        mockMvc.perform(post("/request-body-json-v5")
+                        .contentType(HelloDataBinaryFormat.MEDIA_TYPE)
+                        .accept(HelloDataBinaryFormat.MEDIA_TYPE)
+                        .content(binary))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue("Content-Length", binary.length))
+                .andExpect(content().bytes(binary));
+
+        mockMvc.perform(post("/request-body-json-v5")
+                        .contentType(HelloDataBinaryFormat.MEDIA_TYPE)
+                        .content(new byte[]{1, 6, 'h'}))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static void assertRoundTrip(String username, int age) throws IOException {
+
+        HelloData helloData = helloData(username, age);
+
+        byte[] bytes = HelloDataBinaryFormat.writeAsBytes(helloData);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HelloDataBinaryFormat.write(out, helloData);
+
+        assertThat(out.toByteArray()).isEqualTo(bytes);
+        assertThat(HelloDataBinaryFormat.size(helloData)).isEqualTo(bytes.length);
+        assertThat(HelloDataBinaryFormat.read(bytes)).isEqualTo(helloData);
+    }
+
+    private static HelloData helloData(String username, int age) {
+
+        HelloData helloData = new HelloData();
+
+        helloData.setUsername(username);
+        helloData.setAge(age);
+
+        return helloData;
+    }
+}
@@ -0,0 +1,133 @@
+package hello.springmvc.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongObjectConcurrentMapTest {
+
+    @Test
+    void putGetRemove() {
+
+        LongObjectConcurrentMap<String> map = new LongObjectConcurrentMap<>(4, 4);
+
+        assertThat(map.put(1L, "a")).isNull();
+        assertThat(map.put(1L, "b")).isEqualTo("a");
+        assertThat(map.putIfAbsent(1L, "c")).isEqualTo("b");
+        assertThat(map.get(1L)).isEqualTo("b");
+
+        assertThat(map.remove(1L)).isEqualTo("b");
+        assertThat(map.get(1L)).isNull();
+        assertThat(map.remove(1L)).isNull();
+
+        // 0 은 빈 슬롯 표시에 쓰이지만 키로도 사용 가능
+        assertThat(map.computeIfAbsent(0L, key -> "zero")).isEqualTo("zero");
+        assertThat(map.get(0L)).isEqualTo("zero");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void sameAsHashMapUnderRandomOperations() {
+
+        LongObjectConcurrentMap<String> map = new LongObjectConcurrentMap<>(4, 4);
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 200_000; i++) {
+
+            long key = random.nextInt(5_000) - 100;
+            String value = "v" + i;
+
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    assertThat(map.put(key, value)).isEqualTo(expected.put(key, value));
+                    break;
+                case 2:
+                    assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(map.computeIfPresent(key, old -> value))
+                            .isEqualTo(expected.computeIfPresent(key, (k, old) -> value));
+            }
+
+            assertThat(map.size()).isEqualTo(expected.size());
+        }
+
+        Map<Long, String> visited = new HashMap<>();
+
+        map.forEachWhile((key, value) -> {
+            visited.put(key, value);
+            return true;
+        });
+
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void readersNeverSeeWrongValueWhileWritersResize() throws Exception {
+
+        LongObjectConcurrentMap<Long> map = new LongObjectConcurrentMap<>(8, 16);
+        int writers = 4;
+        int perWriter = 200_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong wrongValues = new AtomicLong();
+        List<Future<?>> writes = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+
+            long offset = w;
+
+            writes.add(executor.submit(() -> {
+                for (long i = 1; i <= perWriter; i++) {
+
+                    long key = i * writers + offset;
+
+                    map.put(key, key);
+
+                    if (i % 3 == 0) {
+                        map.remove(key);
+                    }
+                }
+            }));
+        }
+
+        for (int r = 0; r < 2; r++) {
+            executor.submit(() -> {
+                Random random = new Random();
+                while (!done.get()) {
+                    long key = 1 + random.nextInt(perWriter * writers);
+                    Long value = map.get(key);
+                    if (value != null && value != key) {
+                        wrongValues.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        for (Future<?> write : writes) {
+            write.get();
+        }
+
+        done.set(true);
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(wrongValues.get()).isZero();
+        assertThat(map.size()).isEqualTo(writers * (perWriter - perWriter / 3));
+    }
+}
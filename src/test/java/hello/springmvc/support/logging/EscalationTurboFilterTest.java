@@ -0,0 +1,78 @@
+package hello.springmvc.support.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EscalationTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @BeforeEach
+    void setUp() {
+
+        EscalationTurboFilter filter = new EscalationTurboFilter();
+        filter.setLoggers("hello.springmvc, other");
+        filter.start();
+
+        context.addTurboFilter(filter);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LogLevelEscalation.clear();
+        context.stop();
+    }
+
+    @Test
+    void escalatesOnlyTheCurrentThread() throws Exception {
+
+        Logger logger = context.getLogger("hello.springmvc.basic.LogTestController");
+
+        assertThat(logger.isDebugEnabled()).isFalse();
+
+        LogLevelEscalation.set(Level.DEBUG);
+
+        assertThat(logger.isDebugEnabled()).isTrue();
+        assertThat(logger.isTraceEnabled()).isFalse();
+        assertThat(CompletableFuture.supplyAsync(logger::isDebugEnabled).get()).isFalse();
+
+        LogLevelEscalation.clear();
+
+        assertThat(logger.isDebugEnabled()).isFalse();
+        assertThat(LogLevelEscalation.isActive()).isFalse();
+    }
+
+    @Test
+    void escalatesOnlyAllowedLoggers() {
+
+        LogLevelEscalation.set(Level.TRACE);
+
+        assertThat(context.getLogger("hello.springmvc").isTraceEnabled()).isTrue();
+        assertThat(context.getLogger("other.Foo").isTraceEnabled()).isTrue();
+        assertThat(context.getLogger("hello.springmvcx.Foo").isTraceEnabled()).isFalse();
+        assertThat(context.getLogger("org.springframework.web").isTraceEnabled()).isFalse();
+    }
+
+    @Test
+    void activeCountIsBalanced() {
+
+        LogLevelEscalation.set(Level.DEBUG);
+        LogLevelEscalation.set(Level.TRACE);
+
+        assertThat(LogLevelEscalation.isActive()).isTrue();
+
+        LogLevelEscalation.clear();
+        LogLevelEscalation.clear();
+
+        assertThat(LogLevelEscalation.isActive()).isFalse();
+    }
+}
@@ -0,0 +1,169 @@
+package hello.springmvc.support.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void blockDeliversEveryEventInOrderPerThread() throws Exception {
+
+        MessageCollector collector = new MessageCollector(0);
+        Logger logger = logger(collector, OverflowPolicy.BLOCK, 16);
+
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    logger.info("{} {}", thread, i);
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+        context.stop();
+
+        assertThat(collector.messages).hasSize(threads * perThread);
+
+        int[] next = new int[threads];
+
+        for (String message : collector.messages) {
+            String[] parts = message.split(" ");
+            int thread = Integer.parseInt(parts[0]);
+            assertThat(Integer.parseInt(parts[1])).isEqualTo(next[thread]++);
+        }
+    }
+
+    @Test
+    void dropDiscardsInfoButKeepsWarn() throws Exception {
+
+        MessageCollector collector = new MessageCollector(1);
+        Logger logger = logger(collector, OverflowPolicy.DROP, 4);
+        RingBufferAppender appender = (RingBufferAppender) context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC");
+
+        for (int i = 0; i < 1_000; i++) {
+            logger.info("info {}", i);
+        }
+        for (int i = 0; i < 10; i++) {
+            logger.warn("warn {}", i);
+        }
+
+        context.stop();
+
+        assertThat(appender.getDroppedCount()).isPositive();
+        assertThat(collector.messages).filteredOn(message -> message.startsWith("warn")).hasSize(10);
+        assertThat(collector.messages).anyMatch(message -> message.contains("log events dropped by [ASYNC]"));
+    }
+
+    @Test
+    void deferFormattingKeepsMutableArgumentsAsLogged() throws Exception {
+
+        MessageCollector collector = new MessageCollector(0);
+        Logger logger = logger(collector, OverflowPolicy.BLOCK, 16);
+        RingBufferAppender appender = (RingBufferAppender) context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC");
+        appender.setDeferFormatting(true);
+
+        // 출력 쓰레드를 잡아 두고 그 사이에 인자를 바꾼다.
+        collector.blocked = new CountDownLatch(1);
+        logger.info("first");
+
+        StringBuilder mutable = new StringBuilder("before");
+        logger.info("mutable {}", mutable);
+        logger.info("immutable {} {}", "text", 1);
+        mutable.setLength(0);
+        mutable.append("after");
+
+        collector.blocked.countDown();
+        context.stop();
+
+        assertThat(collector.messages).containsExactly("first", "mutable before", "immutable text 1");
+    }
+
+    private Logger logger(MessageCollector collector, OverflowPolicy policy, int capacity) {
+
+        collector.setContext(context);
+        collector.start();
+
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setPolicy(policy);
+        appender.setCapacity(capacity);
+        appender.addAppender(collector);
+        appender.start();
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        return context.getLogger("test");
+    }
+
+    /**
+     * 슬롯은 재사용되므로 이벤트 대신 메시지 문자열을 보관
+     */
+    static class MessageCollector extends AppenderBase<ILoggingEvent> {
+
+        final List<String> messages = new ArrayList<>();
+        private final long delayMillis;
+
+        /**
+         * null 이 아니면 첫 이벤트를 받은 뒤 열릴 때까지 대기
+         */
+        volatile CountDownLatch blocked;
+
+        MessageCollector(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+
+            messages.add(event.getFormattedMessage());
+
+            CountDownLatch latch = blocked;
+
+            if (latch != null) {
+                try {
+                    latch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
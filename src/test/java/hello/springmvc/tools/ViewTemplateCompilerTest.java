@@ -0,0 +1,71 @@
+package hello.springmvc.tools;
+
+import hello.springmvc.tools.ViewTemplateCompiler.Part;
+import hello.springmvc.tools.ViewTemplateCompiler.UnsupportedTemplateException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 지원하는 템플릿만 컴파일하고, 나머지는 건너뛰는지 (Thymeleaf 로 렌더링) 확인
+ */
+class ViewTemplateCompilerTest {
+
+    @Test
+    void splitsStaticMarkupAndVariables() {
+
+        List<Part> parts = ViewTemplateCompiler.parse(
+                "<html xmlns:th=\"http://www.thymeleaf.org\"><p class=\"a\" th:text=\"${data}\">empty</p></html>");
+
+        assertThat(parts).extracting(part -> part.literal).containsExactly("<html><p class=\"a\">", null, "</p></html>");
+        assertThat(parts).extracting(part -> part.variable).containsExactly(null, "data", null);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "<th:block th:text=\"${data}\">x</th:block>",
+            "<th:block>x</th:block>",
+            "<TH:BLOCK>x</TH:BLOCK>",
+            "<th-block>x</th-block>",
+            "<ul><li th:each=\"item : ${items}\">x</li></ul>",
+            "<p th:text=\"#{message}\">x</p>",
+            "<p th:text=\"${user.name}\">x</p>",
+            "<p th:text=\"${data}\"><b>x</b></p>",
+            "<p>[[${data}]]</p>",
+            "<!--/* comment */-->"
+    })
+    void rejectsUnsupportedTemplates(String html) {
+
+        assertThatThrownBy(() -> ViewTemplateCompiler.parse(html))
+                .isInstanceOf(UnsupportedTemplateException.class);
+    }
+
+    @Test
+    void skipsUnsupportedTemplates(@TempDir Path dir) throws Exception {
+
+        Path templates = Files.createDirectories(dir.resolve("templates/view"));
+        Files.write(templates.resolve("simple.html"),
+                "<p th:text=\"${data}\">empty</p>".getBytes(StandardCharsets.UTF_8));
+        Files.write(templates.resolve("block.html"),
+                "<th:block th:text=\"${data}\">empty</th:block>".getBytes(StandardCharsets.UTF_8));
+
+        Path sources = dir.resolve("sources");
+        Path resources = dir.resolve("resources");
+
+        ViewTemplateCompiler.main(new String[]{dir.resolve("templates").toString(), sources.toString(), resources.toString()});
+
+        assertThat(sources.resolve("hello/springmvc/web/view/compiled/ViewSimpleTemplate.java")).exists();
+        assertThat(sources.resolve("hello/springmvc/web/view/compiled/ViewBlockTemplate.java")).doesNotExist();
+        assertThat(Files.readAllLines(resources.resolve("META-INF/services/hello.springmvc.web.view.PrecompiledTemplate")))
+                .containsExactly("hello.springmvc.web.view.compiled.ViewSimpleTemplate");
+    }
+}
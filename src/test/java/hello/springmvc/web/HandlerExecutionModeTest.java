@@ -0,0 +1,92 @@
+package hello.springmvc.web;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * hello.mvc.execution.mode 에 따라 핸들러가 실행되는 쓰레드 확인 (실제 Tomcat)
+ *
+ * 테스트 컨트롤러는 hello.springmvc.web 패키지에 있으므로 packages 를 hello.springmvc.web 으로 지정
+ */
+class HandlerExecutionModeTest {
+
+    @Nested
+    @Import(ThreadController.class)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    "hello.mvc.execution.mode=bounded",
+                    "hello.mvc.execution.max-threads=4",
+                    "hello.mvc.execution.packages=hello.springmvc.web",
+                    "hello.mvc.execution.timeout=300ms"
+            })
+    class Bounded {
+
+        @LocalServerPort
+        int port;
+
+        @Test
+        void runsOnExecutorThread() {
+
+            String thread = new TestRestTemplate().getForObject(url(port, "/execution-test/thread"), String.class);
+
+            assertThat(thread).startsWith("handler-");
+        }
+
+        @Test
+        void timesOutWithServiceUnavailable() {
+
+            ResponseEntity<String> response = new TestRestTemplate().getForEntity(url(port, "/execution-test/slow"), String.class);
+
+            assertThat(response.getStatusCodeValue()).isEqualTo(503);
+        }
+    }
+
+    @Nested
+    @Import(ThreadController.class)
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {
+                    "hello.mvc.execution.mode=platform",
+                    "hello.mvc.execution.packages=hello.springmvc.web"
+            })
+    class Platform {
+
+        @LocalServerPort
+        int port;
+
+        @Test
+        void runsOnRequestThread() {
+
+            String thread = new TestRestTemplate().getForObject(url(port, "/execution-test/thread"), String.class);
+
+            assertThat(thread).startsWith("http-nio-");
+        }
+    }
+
+    private static String url(int port, String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    @RestController
+    static class ThreadController {
+
+        @GetMapping("/execution-test/thread")
+        public String thread() {
+            return Thread.currentThread().getName();
+        }
+
+        @GetMapping("/execution-test/slow")
+        public String slow() throws InterruptedException {
+            Thread.sleep(2000);
+            return "late";
+        }
+    }
+}
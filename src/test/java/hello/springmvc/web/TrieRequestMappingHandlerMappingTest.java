@@ -0,0 +1,278 @@
+package hello.springmvc.web;
+
+import org.assertj.core.api.AbstractStringAssert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TrieRequestMappingHandlerMapping 의 조회 결과 (핸들러, 경로 변수, 오류) 가 기본 RequestMappingHandlerMapping 과 같은지 확인
+ */
+class TrieRequestMappingHandlerMappingTest {
+
+    private RequestMappingHandlerMapping stock;
+    private RequestMappingHandlerMapping trie;
+
+    @BeforeEach
+    void setUp() {
+
+        GenericWebApplicationContext context = new GenericWebApplicationContext(new MockServletContext());
+        context.registerBean(Routes.class);
+        context.refresh();
+
+        stock = mapping(new RequestMappingHandlerMapping(), context);
+        trie = mapping(new TrieRequestMappingHandlerMapping(), context);
+    }
+
+    private static RequestMappingHandlerMapping mapping(RequestMappingHandlerMapping mapping, GenericWebApplicationContext context) {
+
+        mapping.setApplicationContext(context);
+        mapping.setPatternParser(new PathPatternParser());
+        mapping.afterPropertiesSet();
+
+        return mapping;
+    }
+
+    @Test
+    void literalAndVariables() throws Exception {
+
+        assertSameLookup("GET", "/users/new").isEqualTo("usersNew");
+        assertSameLookup("GET", "/users/kim").isEqualTo("user");
+        assertSameLookup("GET", "/users/kim/orders/7").isEqualTo("userOrder");
+        assertSameLookup("GET", "/users/kim/").isEqualTo("user");
+        assertSameLookup("GET", "/users//kim");
+        assertSameLookup("GET", "/users");
+        assertSameLookup("GET", "/nothing/here").isEqualTo("404");
+    }
+
+    @Test
+    void regexVariables() throws Exception {
+
+        assertSameLookup("GET", "/items/123").isEqualTo("itemById");
+        assertSameLookup("GET", "/items/abc").isEqualTo("404");
+        assertSameLookup("GET", "/items/all").isEqualTo("allItems");
+    }
+
+    @Test
+    void catchAll() throws Exception {
+
+        assertSameLookup("GET", "/files/special").isEqualTo("specialFile");
+        assertSameLookup("GET", "/files/a/b/c.txt").isEqualTo("files");
+        assertSameLookup("GET", "/files").isEqualTo("files");
+        assertSameLookup("GET", "/docs/guide.html").isEqualTo("html");
+    }
+
+    @Test
+    void encodedSegments() throws Exception {
+
+        // 리터럴 매핑은 디코딩한 세그먼트와 비교한다. (ne%77 -> new)
+        assertSameLookup("GET", "/users/ne%77").isEqualTo("usersNew");
+        assertSameLookup("GET", "/users/%6Bim").isEqualTo("user");
+        assertSameLookup("GET", "/users/k%20m").isEqualTo("user");
+        assertSameLookup("GET", "/users/new;a=1").isEqualTo("usersNew");
+        assertSameLookup("GET", "/items/1%32").isEqualTo("itemById");
+        assertSameLookup("GET", "/items/%61ll").isEqualTo("allItems");
+        assertSameLookup("GET", "/users/a%2Fb").isEqualTo("user");
+    }
+
+    @Test
+    void requestConditions() throws Exception {
+
+        assertSameLookup("POST", "/orders", request -> request.setContentType("application/json")).isEqualTo("jsonOrder");
+        assertSameLookup("POST", "/orders", request -> request.setContentType("text/plain")).isEqualTo("textOrder");
+        assertSameLookup("POST", "/orders", request -> request.setContentType("application/xml"))
+                .isEqualTo("HttpMediaTypeNotSupportedException");
+
+        assertSameLookup("GET", "/report", request -> request.addHeader("Accept", "application/json")).isEqualTo("jsonReport");
+        assertSameLookup("GET", "/report", request -> request.addHeader("Accept", "text/csv")).isEqualTo("csvReport");
+        assertSameLookup("GET", "/report", request -> request.addHeader("Accept", "image/png"))
+                .isEqualTo("HttpMediaTypeNotAcceptableException");
+
+        assertSameLookup("GET", "/mode", request -> request.addHeader("mode", "debug")).isEqualTo("debugMode");
+        assertSameLookup("GET", "/mode", request -> request.setParameter("mode", "trace")).isEqualTo("traceMode");
+        assertSameLookup("GET", "/mode").isEqualTo("defaultMode");
+
+        assertSameLookup("DELETE", "/users/kim").isEqualTo("HttpRequestMethodNotSupportedException");
+        assertSameLookup("OPTIONS", "/users/kim");
+    }
+
+    @Test
+    void registerAndUnregisterAtRuntime() throws Exception {
+
+        // trie 를 만든 뒤 매핑을 추가 / 삭제
+        assertSameLookup("GET", "/runtime/7").isEqualTo("404");
+
+        RequestMappingInfo.BuilderConfiguration options = new RequestMappingInfo.BuilderConfiguration();
+        options.setPatternParser(new PathPatternParser());
+
+        RequestMappingInfo info = RequestMappingInfo.paths("/runtime/{userId}")
+                .methods(RequestMethod.GET)
+                .options(options)
+                .build();
+
+        Method method = Routes.class.getMethod("user", String.class);
+
+        trie.registerMapping(info, new Routes(), method);
+        stock.registerMapping(info, new Routes(), method);
+
+        assertSameLookup("GET", "/runtime/7").isEqualTo("user");
+
+        trie.unregisterMapping(info);
+        stock.unregisterMapping(info);
+
+        // 삭제한 매핑은 trie 에서도 사라진다.
+        assertSameLookup("GET", "/runtime/7").isEqualTo("404");
+        assertSameLookup("GET", "/users/kim").isEqualTo("user");
+    }
+
+    private AbstractStringAssert<?> assertSameLookup(String method, String uri) throws Exception {
+        return assertSameLookup(method, uri, request -> {
+        });
+    }
+
+    /**
+     * @return 핸들러 메서드 이름 (없으면 404, 오류면 예외 클래스 이름)
+     */
+    private AbstractStringAssert<?> assertSameLookup(String method, String uri,
+                                             Consumer<MockHttpServletRequest> customizer) throws Exception {
+
+        Lookup expected = lookup(stock, method, uri, customizer);
+        Lookup actual = lookup(trie, method, uri, customizer);
+
+        assertThat(actual.result).as("%s %s", method, uri).isEqualTo(expected.result);
+        assertThat(actual.uriVariables).as("%s %s uri variables", method, uri).isEqualTo(expected.uriVariables);
+
+        return assertThat(actual.result).as("%s %s", method, uri);
+    }
+
+    private static Lookup lookup(RequestMappingHandlerMapping mapping, String method, String uri,
+                                 Consumer<MockHttpServletRequest> customizer) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        customizer.accept(request);
+
+        ServletRequestPathUtils.parseAndCache(request);
+
+        String result;
+
+        try {
+            HandlerExecutionChain chain = mapping.getHandler(request);
+            result = (chain == null) ? "404" : ((HandlerMethod) chain.getHandler()).getMethod().getName();
+        } catch (Exception e) {
+            result = e.getClass().getSimpleName();
+        }
+
+        return new Lookup(result, request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+    }
+
+    private static final class Lookup {
+
+        final String result;
+        final Object uriVariables;
+
+        Lookup(String result, Object uriVariables) {
+            this.result = result;
+            this.uriVariables = uriVariables;
+        }
+    }
+
+    @RestController
+    static class Routes {
+
+        @GetMapping("/users/new")
+        public String usersNew() {
+            return "new";
+        }
+
+        @GetMapping("/users/{userId}")
+        public String user(@PathVariable String userId) {
+            return userId;
+        }
+
+        @GetMapping("/users/{userId}/orders/{orderId}")
+        public String userOrder(@PathVariable String userId, @PathVariable long orderId) {
+            return userId + orderId;
+        }
+
+        @GetMapping("/items/{id:\\d+}")
+        public String itemById(@PathVariable long id) {
+            return "id";
+        }
+
+        @GetMapping("/items/all")
+        public String allItems() {
+            return "all";
+        }
+
+        @GetMapping("/files/**")
+        public String files() {
+            return "files";
+        }
+
+        @GetMapping("/files/special")
+        public String specialFile() {
+            return "special";
+        }
+
+        @GetMapping("/docs/*.html")
+        public String html() {
+            return "html";
+        }
+
+        @PostMapping(value = "/orders", consumes = "application/json")
+        public String jsonOrder() {
+            return "json";
+        }
+
+        @PostMapping(value = "/orders", consumes = "text/plain")
+        public String textOrder() {
+            return "text";
+        }
+
+        @GetMapping(value = "/report", produces = "application/json")
+        public Map<String, Object> jsonReport() {
+            return Map.of();
+        }
+
+        @GetMapping(value = "/report", produces = "text/csv")
+        public List<String> csvReport() {
+            return List.of();
+        }
+
+        @GetMapping(value = "/mode", headers = "mode=debug")
+        public String debugMode() {
+            return "debug";
+        }
+
+        @GetMapping(value = "/mode", params = "mode=trace")
+        public String traceMode() {
+            return "trace";
+        }
+
+        @GetMapping("/mode")
+        public String defaultMode() {
+            return "default";
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package hello.springmvc.web.admission;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 지연 시간 표본을 직접 넣어서 (시각도 직접 진행) limit 계산 확인
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(20, 2, 100, WINDOW, 5, 1.5, 0.5);
+        now = System.nanoTime();
+    }
+
+    @Test
+    void growsWhileLatencyIsSteadyAndBusy() {
+
+        int previous = limiter.getLimit();
+
+        for (int i = 0; i < 5; i++) {
+            window(limiter.getLimit(), 1, FAST);
+            assertThat(limiter.getLimit()).isGreaterThan(previous);
+            previous = limiter.getLimit();
+        }
+
+        for (int i = 0; i < 50; i++) {
+            window(limiter.getLimit(), 1, FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+
+        window(20, 1, FAST);
+
+        int beforeQueueing = limiter.getLimit();
+
+        window(limiter.getLimit(), 1, SLOW);
+
+        assertThat(limiter.getLimit()).isLessThan(beforeQueueing);
+
+        for (int i = 0; i < 10; i++) {
+            window(limiter.getLimit(), 1, SLOW * 4);
+        }
+
+        assertThat(limiter.getLimit()).isBetween(2, 8);
+
+        // 지연 시간이 돌아오면 다시 늘어난다.
+        int shrunk = limiter.getLimit();
+
+        window(shrunk, 1, FAST);
+
+        assertThat(limiter.getLimit()).isGreaterThan(shrunk);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdle() {
+
+        // 동시에 2 개 (limit 20 의 절반 미만) 씩 10 번
+        window(2, 10, FAST);
+        window(2, 10, FAST);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void waitsForMinSamples() {
+
+        window(20, 1, FAST);
+
+        int limit = limiter.getLimit();
+
+        // 주기가 지나도 표본이 minSamples (5) 보다 적으면 다시 계산하지 않는다.
+        window(4, 1, SLOW * 10);
+
+        assertThat(limiter.getLimit()).isEqualTo(limit);
+
+        window(1, 1, SLOW * 10);
+
+        assertThat(limiter.getLimit()).isLessThan(limit);
+    }
+
+    @Test
+    void rejectsAtLimitAndIgnoresFailedSamples() {
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.stats().get("rejected")).isEqualTo(1L);
+
+        // 예외로 끝난 요청은 permit 만 반환하고 지연 시간은 반영하지 않는다.
+        for (int i = 0; i < 20; i++) {
+            limiter.release(SLOW * 100, false, now + WINDOW);
+        }
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    /**
+     * concurrency 개를 동시에 시작하고 rttNanos 로 끝내기를 rounds 번 반복한 뒤 주기를 넘긴다.
+     * (마지막 요청이 끝나는 시점에 주기가 지나서 limit 을 다시 계산)
+     */
+    private void window(int concurrency, int rounds, long rttNanos) {
+
+        for (int round = 0; round < rounds; round++) {
+
+            for (int i = 0; i < concurrency; i++) {
+                assertThat(limiter.tryAcquire()).isTrue();
+            }
+
+            for (int i = 0; i < concurrency; i++) {
+
+                boolean last = (round == rounds - 1 && i == concurrency - 1);
+
+                if (last) {
+                    now += WINDOW;
+                }
+
+                limiter.release(rttNanos, true, now);
+            }
+        }
+    }
+}
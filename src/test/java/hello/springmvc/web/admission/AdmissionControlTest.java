@@ -0,0 +1,268 @@
+package hello.springmvc.web.admission;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 서버로 확인하는 수용 제어
+ *
+ * 처리량을 넘는 부하에서 goodput (SLO 안에 성공한 응답 수) 이 유지되는지 (@Tag("load"), ./gradlew loadTagTest)
+ *  - 벽시계 시간으로 측정하므로 CPU 가 적은 환경에서는 흔들린다. limit 계산 자체는 AdaptiveConcurrencyLimiterTest 에서 확인
+ *
+ * /admission-test/slow : 동시에 4 개만 처리할 수 있는 20ms 짜리 백엔드 (처리량 약 200 req/s)
+ *  - 제한이 없으면 96 개 클라이언트가 모두 대기열에 쌓여서 지연 시간이 약 480ms (SLO 250ms 를 넘어 goodput 0)
+ *  - 동시 처리 제한이 지연 시간을 보고 limit 을 줄이면 받은 요청은 SLO 안에 처리하고 나머지는 바로 503
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "logging.level.hello.springmvc=warn",
+                "hello.mvc.admission.concurrency.initial-limit=32",
+                "hello.mvc.admission.concurrency.min-limit=2",
+                "hello.mvc.admission.concurrency.max-limit=64",
+                "hello.mvc.admission.concurrency.window=50ms",
+                "hello.mvc.admission.concurrency.min-samples=5",
+                "hello.mvc.admission.concurrency.smoothing=0.5",
+                "hello.mvc.admission.routes.limited.patterns=/admission-test/limited",
+                "hello.mvc.admission.routes.limited.permits-per-second=5",
+                "hello.mvc.admission.routes.limited.burst=5",
+                "hello.mvc.admission.routes.batched.patterns=/admission-test/batched",
+                "hello.mvc.admission.routes.batched.permits-per-second=5",
+                "hello.mvc.admission.routes.batched.burst=5"
+        })
+class AdmissionControlTest {
+
+    private static final long SLO_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    AdmissionFilter admissionFilter;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    @Tag("load")
+    void goodputStaysFlatPastCapacity() throws Exception {
+
+        Result baseline = drive(4, 1);
+        Result overload = drive(96, 2);
+
+        assertThat(baseline.goodput()).isGreaterThan(50);
+        assertThat(overload.goodput()).isGreaterThanOrEqualTo(baseline.goodput() * 0.7);
+
+        assertThat(overload.rejected.get()).isPositive();
+        assertThat(overload.missingRetryAfter.get()).isZero();
+        assertThat(overload.failed.get()).isZero();
+
+        // 처음 limit (32) 이면 지연 시간이 약 160ms, 줄어들었어야 한다.
+        Map<?, ?> concurrency = (Map<?, ?>) admissionFilter.stats().get("concurrency");
+
+        assertThat((Integer) concurrency.get("limit")).isLessThan(32);
+    }
+
+    @Test
+    void routeTokenBucket() throws Exception {
+
+        int accepted = 0;
+        List<String> retryAfter = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+
+            HttpResponse<Void> response = get("/admission-test/limited");
+
+            if (response.statusCode() == 200) {
+                accepted++;
+            } else {
+                assertThat(response.statusCode()).isEqualTo(503);
+                retryAfter.add(response.headers().firstValue("Retry-After").orElse(null));
+            }
+        }
+
+        // burst 5 + 요청하는 동안 다시 생긴 토큰
+        assertThat(accepted).isBetween(5, 8);
+        assertThat(retryAfter).isNotEmpty().containsOnly("1");
+
+        // 다른 경로는 영향 없음
+        assertThat(get("/admission-test/unlimited").statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void batchRequestsChargeRouteTokenBucket() throws Exception {
+
+        StringBuilder batch = new StringBuilder("[");
+
+        for (int i = 0; i < 20; i++) {
+            batch.append(i > 0 ? "," : "").append("{\"path\": \"/admission-test/batched\"}");
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(batch.append("]").toString()))
+                .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+
+        JsonNode results = new ObjectMapper().readTree(response.body());
+        int accepted = 0;
+
+        for (JsonNode result : results) {
+            if (result.get("status").asInt() == 200) {
+                accepted++;
+            } else {
+                assertThat(result.get("status").asInt()).isEqualTo(503);
+                assertThat(result.get("headers").get("Retry-After").asText()).isEqualTo("1");
+            }
+        }
+
+        // 배치 하나로 보내도 경로별 제한은 하위 요청마다 적용된다. (burst 5 + 요청하는 동안 다시 생긴 토큰)
+        assertThat(results.size()).isEqualTo(20);
+        assertThat(accepted).isBetween(5, 8);
+    }
+
+    /**
+     * clients 개 쓰레드가 seconds 동안 쉬지 않고 /admission-test/slow 요청
+     * (거절되면 10ms 쉬고 다시, Retry-After 를 그대로 지키면 부하가 줄어서 과부하가 유지되지 않음)
+     */
+    private Result drive(int clients, int seconds) throws InterruptedException {
+
+        Result result = new Result(seconds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < clients; i++) {
+
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline) {
+                    result.record(this::slowRequest);
+                }
+            });
+
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        return result;
+    }
+
+    private HttpResponse<Void> slowRequest() throws Exception {
+        return get("/admission-test/slow");
+    }
+
+    private HttpResponse<Void> get(String path) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<Void> call() throws Exception;
+    }
+
+    private static class Result {
+
+        private final int seconds;
+
+        private final AtomicInteger good = new AtomicInteger();
+        private final AtomicInteger rejected = new AtomicInteger();
+        private final AtomicInteger missingRetryAfter = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        Result(int seconds) {
+            this.seconds = seconds;
+        }
+
+        void record(Call call) {
+
+            long started = System.nanoTime();
+
+            try {
+                HttpResponse<Void> response = call.call();
+
+                if (response.statusCode() == 503) {
+
+                    rejected.incrementAndGet();
+
+                    if (response.headers().firstValue("Retry-After").isEmpty()) {
+                        missingRetryAfter.incrementAndGet();
+                    }
+
+                    Thread.sleep(10);
+                } else if (response.statusCode() == 200 && System.nanoTime() - started <= SLO_NANOS) {
+                    good.incrementAndGet();
+                }
+            } catch (Exception e) {
+                failed.incrementAndGet();
+            }
+        }
+
+        double goodput() {
+            return (double) good.get() / seconds;
+        }
+    }
+
+    @TestConfiguration
+    static class SlowBackendConfig {
+
+        @Bean
+        SlowBackendController slowBackendController() {
+            return new SlowBackendController();
+        }
+    }
+
+    @RestController
+    static class SlowBackendController {
+
+        private final Semaphore backend = new Semaphore(4, true);
+
+        @GetMapping("/admission-test/slow")
+        public String slow() throws InterruptedException {
+
+            backend.acquire();
+
+            try {
+                Thread.sleep(20);
+            } finally {
+                backend.release();
+            }
+
+            return "ok";
+        }
+
+        @GetMapping({"/admission-test/limited", "/admission-test/unlimited", "/admission-test/batched"})
+        public String fast() {
+            return "ok";
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package hello.springmvc.web.batch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BatchControllerTest {
+
+    private static final String BATCH = "["
+            + "{\"path\": \"/response-body-json-v2\"},"
+            + "{\"path\": \"/response-body-string-v3\"},"
+            + "{\"method\": \"POST\", \"path\": \"/request-body-json-v3\", \"body\": {\"username\": \"hello\", \"age\": 20}},"
+            + "{\"method\": \"POST\", \"path\": \"/request-body-json-v3\", \"body\": \"not json\"},"
+            + "{\"path\": \"/request-param-v3?username=kim&age=20\"},"
+            + "{\"path\": \"/no-such-path\"}"
+            + "]";
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void dispatchSequentially() throws Exception {
+        assertResults(false);
+    }
+
+    @Test
+    void dispatchInParallel() throws Exception {
+        assertResults(true);
+    }
+
+    private void assertResults(boolean parallel) throws Exception {
+
+        mockMvc.perform(post("/batch").param("parallel", String.valueOf(parallel))
+                        .contentType(MediaType.APPLICATION_JSON).content(BATCH))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6))
+                .andExpect(jsonPath("$[0].status").value(200))
+                .andExpect(jsonPath("$[0].body.username").value("userA"))
+                .andExpect(jsonPath("$[0].body.age").value(20))
+                .andExpect(jsonPath("$[0].durationMicros").value(greaterThanOrEqualTo(0)))
+                .andExpect(jsonPath("$[1].status").value(200))
+                .andExpect(jsonPath("$[1].body").value("OK"))
+                .andExpect(jsonPath("$[2].status").value(200))
+                .andExpect(jsonPath("$[2].body").value("OK"))
+                .andExpect(jsonPath("$[3].status").value(400))
+                .andExpect(jsonPath("$[4].status").value(200))
+                .andExpect(jsonPath("$[5].status").value(404));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/batch", "/batch;x=1", "/%62atch", "/./batch", "/foo/../batch", "/batch/"})
+    void rejectNestedBatch(String path) throws Exception {
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\": \"POST\", \"path\": \"" + path + "\", \"body\": []}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectInvalidPath() throws Exception {
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"path\": \"http://example.com/\"}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectTooManyRequests() throws Exception {
+
+        StringBuilder batch = new StringBuilder("[");
+
+        for (int i = 0; i < 21; i++) {
+            batch.append(i == 0 ? "" : ",").append("{\"path\": \"/response-body-string-v3\"}");
+        }
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(batch.append("]").toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void rejectAsyncHandler() throws Exception {
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"method\": \"POST\", \"path\": \"/request-body-json-v6\", \"body\": {\"username\": \"hello\", \"age\": 20}},"
+                                + "{\"method\": \"POST\", \"path\": \"/request-body-json-v3\", \"body\": {\"username\": \"hello\", \"age\": 20}}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value(501))
+                .andExpect(jsonPath("$[0].body").isNotEmpty())
+                .andExpect(jsonPath("$[1].status").value(200));
+    }
+}
@@ -0,0 +1,168 @@
+package hello.springmvc.web.bind;
+
+import hello.springmvc.basic.HelloData;
+import hello.springmvc.basic.HelloDataFormBinder;
+import hello.springmvc.tools.FormBinderProcessor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.format.support.DefaultFormattingConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.ServletRequestDataBinder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class GeneratedFormBinderTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void bindsModelAttribute() throws Exception {
+
+        mockMvc.perform(post("/model-attribute-v1").param("username", "hello").param("age", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("OK"));
+
+        mockMvc.perform(post("/model-attribute-v2").param("username", "hello").param("age", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sameValuesAsWebDataBinder() {
+
+        assertSameResult(request("username", "hello", "age", " 0x1F "));
+        assertSameResult(request("username", "", "age", "20"));
+
+        MockHttpServletRequest multi = request("age", "1");
+        multi.addParameter("username", "a", "b");
+        assertSameResult(multi);
+    }
+
+    @Test
+    void sameErrorsAsWebDataBinder() {
+
+        assertSameResult(request("username", "hello", "age", "abc"));
+        assertSameResult(request("username", "hello", "age", ""));
+    }
+
+    /**
+     * boolean isActive 필드는 setActive 로 바인딩되므로 요청 파라미터 / 에러 필드 이름도 active
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void bindsBooleanIsFieldByPropertyName(@TempDir Path dir) throws Exception {
+
+        Path source = Files.createDirectories(dir.resolve("src/generated")).resolve("ActiveForm.java");
+        Files.writeString(source, "package generated;\n"
+                + "@hello.springmvc.web.bind.GenerateFormBinder\n"
+                + "public class ActiveForm {\n"
+                + "    private boolean isActive;\n"
+                + "    public boolean isActive() { return isActive; }\n"
+                + "    public void setActive(boolean active) { this.isActive = active; }\n"
+                + "}\n");
+
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                    List.of("-classpath", classPathOf(GenerateFormBinder.class), "-d", classes.toString()),
+                    null, fileManager.getJavaFileObjects(source));
+            task.setProcessors(List.of(new FormBinderProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{classes.toUri().toURL()}, getClass().getClassLoader())) {
+
+            FormBinder<Object> formBinder = (FormBinder<Object>) loader.loadClass("generated.ActiveFormFormBinder")
+                    .getDeclaredConstructor().newInstance();
+
+            assertThat(formBinder.getFieldNames()).containsExactly("active");
+
+            for (MockHttpServletRequest request : List.of(request("active", "true"), request("isActive", "true"), request("active", "abc"))) {
+
+                ServletRequestDataBinder stock = new ServletRequestDataBinder(formBinder.create(), "activeForm");
+                stock.bind(request);
+
+                ServletRequestDataBinder errorsOnly = new ServletRequestDataBinder(formBinder.create(), "activeForm");
+                formBinder.bind(errorsOnly.getTarget(), new FormValues(request, null, errorsOnly));
+
+                assertThat(new BeanWrapperImpl(errorsOnly.getTarget()).getPropertyValue("active"))
+                        .isEqualTo(new BeanWrapperImpl(stock.getTarget()).getPropertyValue("active"));
+                assertThat(errorsOnly.getBindingResult().getFieldErrors()).extracting(FieldError::getField)
+                        .isEqualTo(stock.getBindingResult().getFieldErrors().stream().map(FieldError::getField).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    /**
+     * 생성된 바인더가 참조하는 FormBinder, FormValues 가 있는 위치 (main 클래스 디렉토리)
+     */
+    private static String classPathOf(Class<?> type) throws URISyntaxException {
+        return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+    }
+
+    private static void assertSameResult(MockHttpServletRequest request) {
+
+        ServletRequestDataBinder stock = binder(new HelloData());
+        stock.bind(request);
+
+        ServletRequestDataBinder errorsOnly = binder(new HelloData());
+        HelloData generated = (HelloData) errorsOnly.getTarget();
+        new HelloDataFormBinder().bind(generated, new FormValues(request, null, errorsOnly));
+
+        assertThat(generated).isEqualTo(stock.getTarget());
+        assertThat(errorsOnly.getBindingResult().getErrorCount()).isEqualTo(stock.getBindingResult().getErrorCount());
+
+        for (FieldError expected : stock.getBindingResult().getFieldErrors()) {
+
+            FieldError actual = errorsOnly.getBindingResult().getFieldError(expected.getField());
+
+            assertThat(actual).isNotNull();
+            assertThat(actual.getCodes()).containsExactly(expected.getCodes());
+            assertThat(actual.getRejectedValue()).isEqualTo(expected.getRejectedValue());
+            assertThat(actual.isBindingFailure()).isEqualTo(expected.isBindingFailure());
+            assertThat(actual.getDefaultMessage()).isEqualTo(expected.getDefaultMessage());
+        }
+    }
+
+    private static ServletRequestDataBinder binder(HelloData target) {
+        ServletRequestDataBinder binder = new ServletRequestDataBinder(target, "helloData");
+        binder.setConversionService(new DefaultFormattingConversionService());
+        return binder;
+    }
+
+    private static MockHttpServletRequest request(String... nameValues) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/model-attribute-v1");
+
+        for (int i = 0; i < nameValues.length; i += 2) {
+            request.addParameter(nameValues[i], nameValues[i + 1]);
+        }
+
+        return request;
+    }
+}
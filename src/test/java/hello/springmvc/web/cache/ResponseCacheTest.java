@@ -0,0 +1,149 @@
+package hello.springmvc.web.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ResponseCacheTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ResponseCacheStore store;
+
+    @BeforeEach
+    void clear() {
+        store.invalidateAll();
+    }
+
+    /**
+     * Caffeine 통계는 누적값이므로 (컨텍스트를 공유하는 다른 테스트 포함) 테스트 전후 차이로 확인
+     */
+    private long count(String name) {
+        return (Long) store.stats().get(name);
+    }
+
+    @Test
+    void cacheJsonAndAnswerNotModified() throws Exception {
+
+        long hits = count("hitCount");
+        long notModified = count("notModifiedCount");
+
+        MvcResult first = mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+
+        String etag = first.getResponse().getHeader("ETag");
+        String body = first.getResponse().getContentAsString();
+
+        mockMvc.perform(get("/response-body-json-v1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(body));
+
+        mockMvc.perform(get("/response-body-json-v1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertThat(count("hitCount") - hits).isEqualTo(2);
+        assertThat(count("notModifiedCount") - notModified).isEqualTo(1);
+    }
+
+    @Test
+    void cacheRenderedView() throws Exception {
+
+        long hits = count("hitCount");
+
+        String body = mockMvc.perform(get("/response-view-v2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(get("/response-view-v2"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(body));
+
+        assertThat(body).contains("hello!");
+        assertThat(count("hitCount") - hits).isEqualTo(1);
+    }
+
+    @Test
+    void replayHandlerHeaders() throws Exception {
+
+        long hits = count("hitCount");
+
+        MvcResult first = mockMvc.perform(get("/test/response-cache/headers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Greeting", "hello"))
+                .andExpect(header().stringValues("Link", "</a>; rel=prev", "</c>; rel=next"))
+                .andExpect(header().string("Set-Cookie", "visit=1"))
+                .andReturn();
+
+        mockMvc.perform(get("/test/response-cache/headers"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Greeting", "hello"))
+                .andExpect(header().stringValues("Link", "</a>; rel=prev", "</c>; rel=next"))
+                .andExpect(header().string("Cache-Control", "max-age=60"))
+                .andExpect(header().doesNotExist("Set-Cookie"))
+                .andExpect(content().string(first.getResponse().getContentAsString()));
+
+        mockMvc.perform(get("/test/response-cache/headers").header("If-None-Match", first.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Cache-Control", "max-age=60"));
+
+        assertThat(count("hitCount") - hits).isEqualTo(2);
+        assertThat(HeaderController.calls.get()).isEqualTo(1);
+    }
+
+    @TestConfiguration
+    static class HeaderControllerConfig {
+
+        @Bean
+        HeaderController headerController() {
+            return new HeaderController();
+        }
+    }
+
+    @RestController
+    static class HeaderController {
+
+        static final AtomicInteger calls = new AtomicInteger();
+
+        @ResponseCache
+        @GetMapping("/test/response-cache/headers")
+        ResponseEntity<String> headers(HttpServletResponse response) {
+
+            calls.incrementAndGet();
+            response.addHeader("Set-Cookie", "visit=1");
+
+            return ResponseEntity.ok()
+                    .header("X-Greeting", "hello")
+                    .header("Link", "</a>; rel=prev", "</c>; rel=next")
+                    .cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)))
+                    .body("cached");
+        }
+    }
+}
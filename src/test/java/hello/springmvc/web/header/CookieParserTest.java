@@ -0,0 +1,30 @@
+package hello.springmvc.web.header;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CookieParserTest {
+
+    @Test
+    void findsOnlyExactName() {
+
+        String header = "a=1; myCookieX=2; myCookie=hello; b=\"quoted\"";
+
+        assertThat(CookieParser.find(header, "myCookie")).isEqualTo("hello");
+        assertThat(CookieParser.find(header, "myCookieX")).isEqualTo("2");
+        assertThat(CookieParser.find(header, "a")).isEqualTo("1");
+        assertThat(CookieParser.find(header, "b")).isEqualTo("quoted");
+        assertThat(CookieParser.find(header, "Cookie")).isNull();
+        assertThat(CookieParser.find(header, "c")).isNull();
+    }
+
+    @Test
+    void emptyAndMissing() {
+
+        assertThat(CookieParser.find(null, "a")).isNull();
+        assertThat(CookieParser.find("", "a")).isNull();
+        assertThat(CookieParser.find("a=", "a")).isEmpty();
+        assertThat(CookieParser.find("a", "a")).isNull();
+    }
+}
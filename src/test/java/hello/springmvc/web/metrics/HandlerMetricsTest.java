@@ -0,0 +1,64 @@
+package hello.springmvc.web.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class HandlerMetricsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void recordsPerHandlerMethod() throws Exception {
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/hello-basic")).andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/internal/metrics").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.handlers['MappingController#helloBasic'].count", greaterThanOrEqualTo(3)))
+                .andExpect(jsonPath("$.handlers['MappingController#helloBasic'].inFlight").value(0))
+                .andExpect(jsonPath("$.handlers['MappingController#helloBasic'].p99Micros").isNumber());
+    }
+
+    @Test
+    void prometheusText() throws Exception {
+
+        mockMvc.perform(get("/hello-basic")).andExpect(status().isOk());
+
+        String body = mockMvc.perform(get("/internal/metrics").accept(MediaType.TEXT_PLAIN))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body)
+                .contains("# TYPE hello_handler_latency_seconds summary")
+                .contains("hello_handler_latency_seconds{handler=\"MappingController#helloBasic\",quantile=\"0.99\"}")
+                .contains("hello_handler_errors_total{handler=\"MappingController#helloBasic\"} 0");
+    }
+
+    @Test
+    void overloadedMethodsAreNamedWithParameterTypes() throws Exception {
+
+        Class<?> type = hello.springmvc.basic.requestmapping.MappingController.class;
+
+        assertThat(HandlerMetricsRegistry.name(type, type.getMethod("mappingPath", long.class, long.class)))
+                .isEqualTo("MappingController#mappingPath(long,long)");
+        assertThat(HandlerMetricsRegistry.name(type, type.getMethod("helloBasic")))
+                .isEqualTo("MappingController#helloBasic");
+    }
+}
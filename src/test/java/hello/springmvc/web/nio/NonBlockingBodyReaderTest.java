@@ -0,0 +1,158 @@
+package hello.springmvc.web.nio;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc 의 요청은 ReadListener 를 지원하지 않으므로 실제 서버로 확인
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "hello.request-body.non-blocking.max-size=64B",
+                "hello.request-body.non-blocking.timeout=1s"
+        })
+class NonBlockingBodyReaderTest {
+
+    @LocalServerPort
+    int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void readsBodySentInPieces() throws Exception {
+
+        String body = "{\"username\":\"hello\",\"age\":20}";
+
+        assertThat(sendSlowly("/request-body-json-v6", body, true)).startsWith("HTTP/1.1 200").endsWith("OK");
+        assertThat(sendSlowly("/request-body-string-v6", body, true)).startsWith("HTTP/1.1 200").endsWith("OK");
+
+        // 길이를 모르는 요청 (chunked)
+        assertThat(sendSlowly("/request-body-json-v6", body, false)).startsWith("HTTP/1.1 200");
+    }
+
+    @Test
+    void chunkedBodySplitAcrossSegments() throws Exception {
+
+        String body = "{\"username\":\"hello\",\"age\":20}";
+
+        // 청크 크기, 데이터, CRLF 가 각각 따로 도착해도 (Tomcat 9.0.55 논블로킹 청크 파서 문제) 매번 200
+        for (int i = 0; i < 20; i++) {
+            assertThat(sendSlowly("/request-body-json-v6", body, false)).startsWith("HTTP/1.1 200").endsWith("OK");
+        }
+    }
+
+    @Test
+    void errors() throws Exception {
+
+        assertThat(post("/request-body-json-v6", "{\"username\":")).isEqualTo(400);
+        assertThat(post("/request-body-string-v6", "x".repeat(65))).isEqualTo(413);
+        assertThat(post("/request-body-string-v6", "x".repeat(64))).isEqualTo(200);
+
+        // Content-Length 없이 보낸 큰 바디는 읽는 중에 거절
+        assertThat(sendSlowly("/request-body-string-v6", "x".repeat(100), false)).startsWith("HTTP/1.1 413");
+    }
+
+    @Test
+    void stalledBodyTimesOut() throws Exception {
+
+        try (Socket socket = new Socket("localhost", port)) {
+
+            socket.setSoTimeout(10_000);
+
+            // Content-Length 보다 적게 보내고 멈춤
+            String request = "POST /request-body-string-v6 HTTP/1.1\r\n"
+                    + "Host: localhost:" + port + "\r\n"
+                    + "Content-Type: text/plain\r\n"
+                    + "Content-Length: 20\r\n\r\n"
+                    + "hello";
+
+            OutputStream out = socket.getOutputStream();
+            out.write(request.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            long started = System.nanoTime();
+            String response = new String(socket.getInputStream().readNBytes(12), StandardCharsets.US_ASCII);
+
+            assertThat(response).isEqualTo("HTTP/1.1 408");
+            assertThat(System.nanoTime() - started).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        }
+    }
+
+    private int post(String path, String body) throws Exception {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * 헤더, 바디 앞부분, 나머지를 간격을 두고 보낸 뒤 응답 전체를 반환
+     */
+    private String sendSlowly(String path, String body, boolean contentLength) throws Exception {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        int half = bytes.length / 2;
+
+        try (Socket socket = new Socket("localhost", port)) {
+
+            socket.setSoTimeout(10_000);
+
+            OutputStream out = socket.getOutputStream();
+            String header = "POST " + path + " HTTP/1.1\r\n"
+                    + "Host: localhost:" + port + "\r\n"
+                    + "Content-Type: application/json\r\n"
+                    + (contentLength ? "Content-Length: " + bytes.length : "Transfer-Encoding: chunked") + "\r\n"
+                    + "Connection: close\r\n\r\n";
+
+            out.write(header.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            writePart(out, bytes, 0, half, contentLength);
+            Thread.sleep(200);
+            writePart(out, bytes, half, bytes.length - half, contentLength);
+
+            if (!contentLength) {
+                out.write("0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+            }
+            out.flush();
+
+            InputStream in = socket.getInputStream();
+
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+    }
+
+    /**
+     * chunked 면 청크 크기, 데이터, CRLF 를 따로 쓴다. (소켓 쓰기마다 TCP 세그먼트가 나뉠 수 있음)
+     */
+    private static void writePart(OutputStream out, byte[] bytes, int offset, int length, boolean contentLength) throws Exception {
+
+        if (!contentLength) {
+            out.write((Integer.toHexString(length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        }
+
+        out.write(bytes, offset, length);
+
+        if (!contentLength) {
+            out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        out.flush();
+    }
+}
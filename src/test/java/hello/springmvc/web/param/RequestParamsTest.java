@@ -0,0 +1,86 @@
+package hello.springmvc.web.param;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestParamsTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void resolvesHandlerArgument() throws Exception {
+
+        mockMvc.perform(get("/request-param-map-v2").param("username", "hello").param("age", "20"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("OK"));
+
+        mockMvc.perform(get("/request-param-map-v2").param("username", "hello"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/request-param-map-v2").param("age", "abc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void primitiveAccessors() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("age", " 20 ");
+        request.addParameter("hex", "0x1F");
+        request.addParameter("negativeHex", "-#10");
+        request.addParameter("big", "9999999999");
+        request.addParameter("ratio", "0.5");
+        request.addParameter("flag", "on");
+        request.addParameter("blank", "  ");
+        request.addParameter("ids", "a", "b");
+
+        RequestParams params = new RequestParams(request);
+
+        assertThat(params.getInt("age", -1)).isEqualTo(20);
+        assertThat(params.getInt("hex", -1)).isEqualTo(31);
+        assertThat(params.getInt("negativeHex", -1)).isEqualTo(-16);
+        assertThat(params.getLong("big", -1)).isEqualTo(9999999999L);
+        assertThat(params.getDouble("ratio", 0)).isEqualTo(0.5);
+        assertThat(params.getBoolean("flag", false)).isTrue();
+
+        assertThat(params.getInt("missing", -1)).isEqualTo(-1);
+        assertThat(params.getInt("blank", -1)).isEqualTo(-1);
+
+        assertThat(params.get("ids")).isEqualTo("a");
+        assertThat(params.getAll("ids")).containsExactly("a", "b");
+        assertThat(params.getAll("missing")).isEmpty();
+        assertThat(params.get("missing", "guest")).isEqualTo("guest");
+        assertThat(params.contains("blank")).isTrue();
+    }
+
+    @Test
+    void invalidValue() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addParameter("age", "abc");
+        request.addParameter("big", "9999999999");
+        request.addParameter("flag", "maybe");
+
+        RequestParams params = new RequestParams(request);
+
+        assertThatThrownBy(() -> params.getInt("age", -1))
+                .isInstanceOf(TypeMismatchException.class)
+                .satisfies(e -> assertThat(((TypeMismatchException) e).getPropertyName()).isEqualTo("age"));
+        assertThatThrownBy(() -> params.getInt("big", -1)).isInstanceOf(TypeMismatchException.class);
+        assertThatThrownBy(() -> params.getBoolean("flag", false)).isInstanceOf(TypeMismatchException.class);
+    }
+}
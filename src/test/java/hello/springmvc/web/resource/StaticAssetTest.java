@@ -0,0 +1,123 @@
+package hello.springmvc.web.resource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class StaticAssetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void servesPrecompressedVariant() throws Exception {
+
+        MvcResult result = mockMvc.perform(get("/index.html").header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn();
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        String html = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(), StandardCharsets.UTF_8);
+
+        // 다른 정적 리소스 링크는 지문 경로로 바뀌어 있다.
+        assertThat(html).contains("/" + manifest().getProperty("basic/hello-form.html"));
+    }
+
+    @Test
+    void fingerprintedPathIsImmutable() throws Exception {
+
+        String fingerprinted = manifest().getProperty("basic/hello-form.html");
+
+        MvcResult result = mockMvc.perform(get("/" + fingerprinted))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andReturn();
+
+        String etag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/" + fingerprinted).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void selectsByAcceptEncoding() {
+
+        StaticAsset.Variant identity = new StaticAsset.Variant(null, null, 100, null);
+        StaticAsset.Variant gzip = new StaticAsset.Variant("gzip", null, 40, null);
+        StaticAsset.Variant brotli = new StaticAsset.Variant("br", null, 30, null);
+        StaticAssetHandler handler = new StaticAssetHandler(
+                new StaticAsset("a.html", "a-0.html", "text/html", "0", identity, gzip, brotli), "no-cache", true, 0);
+
+        assertThat(handler.select(null)).isSameAs(identity);
+        assertThat(handler.select("gzip, deflate, br")).isSameAs(brotli);
+        assertThat(handler.select("gzip, br;q=0")).isSameAs(gzip);
+        assertThat(handler.select("identity")).isSameAs(identity);
+        assertThat(handler.select("*")).isSameAs(brotli);
+    }
+
+    @Test
+    void sendfileOnlyWhenEnabled(@TempDir Path dir) throws Exception {
+
+        byte[] content = "hello sendfile".getBytes(StandardCharsets.UTF_8);
+        Path file = Files.write(dir.resolve("a.html"), content);
+        StaticAsset.Variant identity = new StaticAsset.Variant(null, new FileSystemResource(file), content.length, file);
+        StaticAsset asset = new StaticAsset("a.html", "a-0.html", "text/html", "0", identity, null, null);
+
+        MockHttpServletRequest request = sendfileRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new StaticAssetHandler(asset, "no-cache", true, 0).handleRequest(request, response);
+
+        assertThat(request.getAttribute(StaticAssetHandler.SENDFILE_FILENAME)).isEqualTo(file.toString());
+        assertThat(response.getContentAsByteArray()).isEmpty();
+
+        // hello.static-assets.sendfile=false 면 파일이어도 직접 쓴다.
+        request = sendfileRequest();
+        response = new MockHttpServletResponse();
+
+        new StaticAssetHandler(asset, "no-cache", false, 0).handleRequest(request, response);
+
+        assertThat(request.getAttribute(StaticAssetHandler.SENDFILE_FILENAME)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+    }
+
+    private static MockHttpServletRequest sendfileRequest() {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/a.html");
+        request.setAttribute(StaticAssetHandler.SENDFILE_SUPPORT, Boolean.TRUE);
+
+        return request;
+    }
+
+    private static Properties manifest() throws Exception {
+        return PropertiesLoaderUtils.loadProperties(new ClassPathResource(StaticAssetConfig.MANIFEST));
+    }
+}
@@ -0,0 +1,55 @@
+package hello.springmvc.web.timing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void reportsPhasesWhenRequested() throws Exception {
+
+        mockMvc.perform(post("/request-body-json-v3")
+                        .header("X-Server-Timing", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"hello\",\"age\":20}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("OK"))
+                .andExpect(header().string("Server-Timing", allOf(
+                        containsString("lookup;dur="),
+                        containsString("args;dur="),
+                        containsString("handler;dur="),
+                        containsString("convert;dur="),
+                        containsString("total;dur="))));
+
+        mockMvc.perform(get("/internal/metrics").accept(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.handlers['RequestBodyJsonController#requestBodyJsonV3'].phases.args.count",
+                        greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void skipsNormalRequests() throws Exception {
+
+        mockMvc.perform(get("/hello-basic"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Server-Timing"));
+    }
+}
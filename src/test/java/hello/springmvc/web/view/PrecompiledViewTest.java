@@ -0,0 +1,85 @@
+package hello.springmvc.web.view;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.thymeleaf.spring5.view.ThymeleafViewResolver;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 컴파일된 템플릿의 출력이 Thymeleaf 와 바이트 단위로 같은지, 지원하지 않는 템플릿은 Thymeleaf 로 넘어가는지 확인
+ *
+ * view-test/each.html (th:each) 은 테스트 리소스에만 있어서 컴파일되지 않는다.
+ */
+@SpringBootTest
+class PrecompiledViewTest {
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    PrecompiledViewResolver precompiledViewResolver;
+
+    @Autowired
+    ThymeleafViewResolver thymeleafViewResolver;
+
+    @Test
+    void sameBytesAsThymeleaf() throws Exception {
+
+        View precompiled = precompiledViewResolver.resolveViewName("response/hello", Locale.KOREAN);
+        View thymeleaf = thymeleafViewResolver.resolveViewName("response/hello", Locale.KOREAN);
+
+        assertThat(precompiled).isInstanceOf(PrecompiledView.class);
+
+        for (Object data : new Object[]{"hello!", "<b class=\"x\">Tom & 'Jerry'</b>", "안녕 ✓", 42, "", null}) {
+
+            Map<String, Object> model = new HashMap<>();
+            model.put("data", data);
+
+            MockHttpServletResponse expected = render(thymeleaf, model);
+            MockHttpServletResponse actual = render(precompiled, model);
+
+            assertThat(actual.getContentAsByteArray()).as("data = %s", data).isEqualTo(expected.getContentAsByteArray());
+            assertThat(actual.getContentType()).isEqualTo(expected.getContentType());
+        }
+    }
+
+    @Test
+    void unsupportedTemplateFallsBackToThymeleaf() throws Exception {
+
+        assertThat(precompiledViewResolver.resolveViewName("view-test/each", Locale.KOREAN)).isNull();
+
+        View thymeleaf = thymeleafViewResolver.resolveViewName("view-test/each", Locale.KOREAN);
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("items", List.of("a", "b"));
+
+        assertThat(render(thymeleaf, model).getContentAsString())
+                .contains("<li>a</li>")
+                .contains("<li>b</li>");
+    }
+
+    private MockHttpServletResponse render(View view, Map<String, Object> model) throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest(context.getServletContext());
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCharacterEncoding("UTF-8");
+
+        view.render(model, request, response);
+
+        return response;
+    }
+}
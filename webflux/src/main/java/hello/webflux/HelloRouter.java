@@ -0,0 +1,62 @@
+package hello.webflux;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PATCH;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.path;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * 함수형 라우팅
+ *
+ * 스프링 MVC 의 @RequestMapping (HTTP 메서드 지정 없음) 은 path(...) 로, @GetMapping / @PostMapping 은 GET(...) / POST(...) 로 옮김
+ */
+@Configuration
+public class HelloRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> requestParamRoutes(RequestParamHandler handler) {
+        return route(path("/request-param-v1"), handler::requestParam)
+                .andRoute(path("/request-param-v2"), handler::requestParam)
+                .andRoute(path("/request-param-v3"), handler::requestParam)
+                .andRoute(path("/request-param-v4"), handler::requestParam)
+                .andRoute(path("/request-param-map"), handler::requestParam)
+                .andRoute(path("/request-param-required"), handler::requestParamRequired)
+                .andRoute(path("/request-param-default"), handler::requestParamDefault)
+                .andRoute(path("/model-attribute-v1"), handler::modelAttribute)
+                .andRoute(path("/model-attribute-v2"), handler::modelAttribute);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> requestBodyJsonRoutes(RequestBodyJsonHandler handler) {
+        return route(POST("/request-body-json-v1"), handler::requestBodyJson)
+                .andRoute(POST("/request-body-json-v2"), handler::requestBodyJson)
+                .andRoute(POST("/request-body-json-v3"), handler::requestBodyJson)
+                .andRoute(POST("/request-body-json-v4"), handler::requestBodyJson)
+                .andRoute(POST("/request-body-json-v5"), handler::requestBodyJsonEcho);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> responseBodyRoutes(ResponseBodyHandler handler) {
+        return route(GET("/response-body-string-v1"), handler::string)
+                .andRoute(GET("/response-body-string-v2"), handler::string)
+                .andRoute(GET("/response-body-string-v3"), handler::string)
+                .andRoute(GET("/response-body-json-v1"), handler::json)
+                .andRoute(GET("/response-body-json-v2"), handler::json);
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> userRoutes(UserHandler handler) {
+        return route(GET("/mapping/users"), handler::list)
+                .andRoute(POST("/mapping/users"), handler::add)
+                .andRoute(GET("/mapping/users/{userId}"), handler::find)
+                .andRoute(PATCH("/mapping/users/{userId}"), handler::update)
+                .andRoute(DELETE("/mapping/users/{userId}"), handler::delete);
+    }
+}
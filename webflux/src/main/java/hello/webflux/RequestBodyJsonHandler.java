@@ -0,0 +1,51 @@
+package hello.webflux;
+
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * RequestBodyJsonController 와 같은 API
+ *
+ * 바디는 이벤트 루프에서 논블로킹으로 읽고, Jackson 으로 HelloData 로 변환
+ */
+@Slf4j
+@Component
+public class RequestBodyJsonHandler {
+
+    /**
+     * /request-body-json-v1 ~ v4 : 변환 후 "OK"
+     */
+    public Mono<ServerResponse> requestBodyJson(ServerRequest request) {
+
+        return helloData(request).flatMap(data -> {
+
+            log.info("username = {}, age = {}", data.getUsername(), data.getAge());
+
+            return ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue("OK");
+        });
+    }
+
+    /**
+     * /request-body-json-v5 : 변환한 객체를 그대로 JSON 으로 반환
+     */
+    public Mono<ServerResponse> requestBodyJsonEcho(ServerRequest request) {
+
+        return helloData(request).flatMap(data -> {
+
+            log.info("username = {}, age = {}", data.getUsername(), data.getAge());
+
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(data);
+        });
+    }
+
+    private static Mono<HelloData> helloData(ServerRequest request) {
+        return request.bodyToMono(HelloData.class)
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Required request body is missing")));
+    }
+}
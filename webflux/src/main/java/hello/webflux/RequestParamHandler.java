@@ -0,0 +1,145 @@
+package hello.webflux;
+
+import hello.springmvc.basic.HelloData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * RequestParamController 와 같은 API
+ *
+ * 스프링 MVC 와 같이 쿼리 파라미터와 HTML Form (POST) 파라미터를 구분없이 조회
+ */
+@Slf4j
+@Component
+public class RequestParamHandler {
+
+    /**
+     * /request-param-v1 ~ v4, /request-param-map
+     */
+    public Mono<ServerResponse> requestParam(ServerRequest request) {
+
+        return params(request).flatMap(params -> {
+
+            String username = params.getFirst("username");
+            int age = parseAge(params.getFirst("age"), null);
+
+            log.info("username = {}", username);
+            log.info("age = {}", age);
+
+            return ok();
+        });
+    }
+
+    /**
+     * /request-param-required : username 은 필수, age 는 선택
+     */
+    public Mono<ServerResponse> requestParamRequired(ServerRequest request) {
+
+        return params(request).flatMap(params -> {
+
+            String username = params.getFirst("username");
+
+            if (username == null) {
+                return Mono.error(new ServerWebInputException("Required request parameter 'username' is not present"));
+            }
+
+            String age = params.getFirst("age");
+
+            log.info("username = {}", username);
+            log.info("age = {}", age);
+
+            return ok();
+        });
+    }
+
+    /**
+     * /request-param-default : 없거나 빈 문자이면 username = guest, age = -1
+     */
+    public Mono<ServerResponse> requestParamDefault(ServerRequest request) {
+
+        return params(request).flatMap(params -> {
+
+            String username = params.getFirst("username");
+
+            if (username == null || username.isEmpty()) {
+                username = "guest";
+            }
+
+            int age = parseAge(params.getFirst("age"), -1);
+
+            log.info("username = {}", username);
+            log.info("age = {}", age);
+
+            return ok();
+        });
+    }
+
+    /**
+     * /model-attribute-v1, v2 : 파라미터를 HelloData 에 바인딩
+     */
+    public Mono<ServerResponse> modelAttribute(ServerRequest request) {
+
+        return params(request).flatMap(params -> {
+
+            HelloData helloData = new HelloData();
+
+            helloData.setUsername(params.getFirst("username"));
+            helloData.setAge(parseAge(params.getFirst("age"), 0));
+
+            log.info("username = {}", helloData.getUsername());
+            log.info("age = {}", helloData.getAge());
+
+            return ok();
+        });
+    }
+
+    private static Mono<ServerResponse> ok() {
+        return ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue("OK");
+    }
+
+    /**
+     * 쿼리 파라미터 + (application/x-www-form-urlencoded 이면) 폼 데이터
+     */
+    private static Mono<MultiValueMap<String, String>> params(ServerRequest request) {
+
+        boolean form = request.headers().contentType()
+                .map(MediaType.APPLICATION_FORM_URLENCODED::isCompatibleWith)
+                .orElse(false);
+
+        if (!form) {
+            return Mono.just(request.queryParams());
+        }
+
+        return request.formData().map(formData -> {
+            MultiValueMap<String, String> params = new LinkedMultiValueMap<>(request.queryParams());
+            params.addAll(formData);
+            return params;
+        });
+    }
+
+    /**
+     * @param defaultValue null 이면 필수
+     */
+    private static int parseAge(String age, Integer defaultValue) {
+
+        if (age == null || age.isEmpty()) {
+            if (defaultValue == null) {
+                throw new ServerWebInputException("Required request parameter 'age' is not present");
+            }
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(age);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid request parameter 'age': " + age);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package hello.webflux;
+
+import hello.springmvc.basic.HelloData;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * ResponseBodyController 와 같은 API
+ */
+@Component
+public class ResponseBodyHandler {
+
+    /**
+     * /response-body-string-v1 ~ v3
+     */
+    public Mono<ServerResponse> string(ServerRequest request) {
+        return ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue("OK");
+    }
+
+    /**
+     * /response-body-json-v1, v2
+     */
+    public Mono<ServerResponse> json(ServerRequest request) {
+
+        HelloData helloData = new HelloData();
+
+        helloData.setUsername("userA");
+        helloData.setAge(20);
+
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(helloData);
+    }
+}
@@ -0,0 +1,97 @@
+package hello.webflux;
+
+import hello.springmvc.basic.user.User;
+import hello.springmvc.basic.user.UserForm;
+import hello.springmvc.basic.user.UserStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+/**
+ * MappingClassController 와 같은 회원 관리 API (/mapping/users)
+ *
+ * UserStore (메모리) 는 잠금 없이 조회하고 짧게만 잠그므로 이벤트 루프에서 바로 호출
+ */
+@Component
+@RequiredArgsConstructor
+public class UserHandler {
+
+    private final UserStore userStore;
+
+    public Mono<ServerResponse> list(ServerRequest request) {
+
+        int limit = request.queryParam("limit").map(UserHandler::parseInt).orElse(100);
+
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(userStore.findAll(limit));
+    }
+
+    public Mono<ServerResponse> add(ServerRequest request) {
+
+        return request.bodyToMono(UserForm.class).flatMap(form -> {
+
+            if (form.getUsername() == null) {
+                return ServerResponse.badRequest().build();
+            }
+
+            int age = (form.getAge() != null) ? form.getAge() : 0;
+            User user = userStore.save(form.getUsername(), age);
+
+            return ServerResponse.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON).bodyValue(user);
+        }).switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> find(ServerRequest request) {
+        return userOrNotFound(userStore.findById(userId(request)));
+    }
+
+    public Mono<ServerResponse> update(ServerRequest request) {
+
+        long userId = userId(request);
+
+        return request.bodyToMono(UserForm.class)
+                .flatMap(form -> userOrNotFound(userStore.update(userId, form)))
+                .switchIfEmpty(ServerResponse.badRequest().build());
+    }
+
+    public Mono<ServerResponse> delete(ServerRequest request) {
+
+        if (userStore.delete(userId(request)) == null) {
+            return ServerResponse.notFound().build();
+        }
+
+        return ServerResponse.noContent().build();
+    }
+
+    private static Mono<ServerResponse> userOrNotFound(User user) {
+
+        if (user == null) {
+            return ServerResponse.notFound().build();
+        }
+
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(user);
+    }
+
+    private static long userId(ServerRequest request) {
+
+        String userId = request.pathVariable("userId");
+
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid path variable 'userId': " + userId);
+        }
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid request parameter 'limit': " + value);
+        }
+    }
+}
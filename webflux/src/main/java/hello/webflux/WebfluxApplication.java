@@ -0,0 +1,18 @@
+package hello.webflux;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * 스프링 MVC 애플리케이션 (hello.springmvc) 의 일부 API 를 WebFlux (Netty) 로 똑같이 제공
+ *
+ * 같은 부하 테스트 (LoadTest target=http://localhost:8081) 로 두 스택의 처리량을 비교하기 위한 모듈
+ */
+@SpringBootApplication
+public class WebfluxApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(WebfluxApplication.class, args);
+	}
+
+}
@@ -0,0 +1,25 @@
+package hello.webflux;
+
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import hello.springmvc.basic.user.UserStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 스프링 MVC 애플리케이션과 같은 JSON 설정, 같은 회원 저장소 (메모리 전용)
+ *
+ * 회원 로그 (UserLog) 는 쓰기마다 fsync 를 기다리므로 이벤트 루프에서 사용하지 않는다.
+ */
+@Configuration
+public class WebfluxConfig {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public UserStore userStore() {
+        return new UserStore();
+    }
+}
@@ -0,0 +1,74 @@
+package hello.webflux;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class HelloRouterTest {
+
+    @Autowired
+    WebTestClient client;
+
+    @Test
+    void requestParam() {
+
+        client.post().uri("/request-param-v1?username=hello")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(BodyInserters.fromFormData("age", "20"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("OK");
+
+        client.get().uri("/request-param-required?age=20")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        client.get().uri("/request-param-default")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void requestBodyJson() {
+
+        client.post().uri("/request-body-json-v5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"hello\",\"age\":20}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.username").isEqualTo("hello")
+                .jsonPath("$.age").isEqualTo(20);
+    }
+
+    @Test
+    void users() {
+
+        client.post().uri("/mapping/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"userA\",\"age\":10}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.username").isEqualTo("userA");
+
+        client.get().uri("/mapping/users/1")
+                .exchange()
+                .expectStatus().isOk();
+
+        client.delete().uri("/mapping/users/1")
+                .exchange()
+                .expectStatus().isNoContent();
+
+        client.get().uri("/mapping/users/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}